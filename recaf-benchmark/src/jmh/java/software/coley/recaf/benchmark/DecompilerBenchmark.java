@@ -0,0 +1,135 @@
+package software.coley.recaf.benchmark;
+
+import jakarta.annotation.Nonnull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import software.coley.recaf.Bootstrap;
+import software.coley.recaf.Recaf;
+import software.coley.recaf.info.JvmClassInfo;
+import software.coley.recaf.services.decompile.DecompileResult;
+import software.coley.recaf.services.decompile.DecompilerManager;
+import software.coley.recaf.services.decompile.JvmDecompiler;
+import software.coley.recaf.services.workspace.io.ResourceImporter;
+import software.coley.recaf.util.io.ByteSources;
+import software.coley.recaf.workspace.model.BasicWorkspace;
+import software.coley.recaf.workspace.model.Workspace;
+import software.coley.recaf.workspace.model.resource.WorkspaceResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how quickly each decompiler handles a fixed corpus of classes.
+ * <ul>
+ *     <li>{@link #throughput()} reports classes decompiled per second.</li>
+ *     <li>{@link #latency()} reports the distribution of time to decompile a single class, including p50/p99.</li>
+ * </ul>
+ * Allocation rate is reported for both when run with the GC profiler, which the build enables by default.
+ * <p>
+ * The default corpus is the ASM jar bundled in the core test fixtures. A different jar can be used by setting
+ * the {@link #CORPUS_PROPERTY} system property to its path.
+ * <p>
+ * The decompilers to run are not listed here, as they are only known once Recaf is running.
+ * {@link DecompilerBenchmarkMain} supplies every decompiler registered in {@link DecompilerManager}, unless specific
+ * decompilers are passed with {@code -p decompilerName=...}.
+ * <p>
+ * Decompilers are called directly rather than through {@link DecompilerManager#decompile(JvmDecompiler, Workspace, JvmClassInfo)}
+ * so that the manager's result caching does not hide the cost of repeated decompilation.
+ *
+ * @author Matt Coley
+ */
+@State(Scope.Benchmark)
+public class DecompilerBenchmark {
+	/** System property to specify a path to a jar to use as the benchmark corpus. */
+	public static final String CORPUS_PROPERTY = "recaf.benchmark.corpus";
+	/** Name of the parameter holding the decompiler to benchmark. */
+	public static final String DECOMPILER_PARAM = "decompilerName";
+	private static final String DEFAULT_CORPUS = "/name-prefix-suffix.jar";
+	@Param
+	public String decompilerName;
+	private Workspace workspace;
+	private JvmDecompiler decompiler;
+	private JvmClassInfo[] classes;
+	private int index;
+	private int failures;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		Bootstrap.enableCoreOnlyDiscovery();
+		Recaf recaf = Bootstrap.get();
+		decompiler = recaf.get(DecompilerManager.class).getJvmDecompiler(decompilerName);
+		if (decompiler == null)
+			throw new IllegalStateException("No JVM decompiler registered with name: " + decompilerName);
+
+		WorkspaceResource resource = loadCorpus(recaf.get(ResourceImporter.class));
+		workspace = new BasicWorkspace(resource);
+
+		// Sort so that every run visits classes in the same order.
+		classes = resource.getJvmClassBundle().values().stream()
+				.sorted(Comparator.comparing(JvmClassInfo::getName))
+				.toArray(JvmClassInfo[]::new);
+		if (classes.length == 0)
+			throw new IllegalStateException("Benchmark corpus contains no classes");
+	}
+
+	@TearDown(Level.Trial)
+	public void teardown() {
+		// Failed decompilations are usually much faster than successful ones, so a high number skews the results.
+		if (failures > 0)
+			System.err.printf("%s failed to decompile %d classes over the trial%n", decompilerName, failures);
+		workspace.close();
+	}
+
+	/**
+	 * @return Result of decompiling the next class in the corpus.
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	@OutputTimeUnit(TimeUnit.SECONDS)
+	public DecompileResult throughput() {
+		return decompileNext();
+	}
+
+	/**
+	 * @return Result of decompiling the next class in the corpus.
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.SampleTime)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public DecompileResult latency() {
+		return decompileNext();
+	}
+
+	@Nonnull
+	private DecompileResult decompileNext() {
+		JvmClassInfo classInfo = classes[index];
+		index = (index + 1) % classes.length;
+		DecompileResult result = decompiler.decompile(workspace, classInfo);
+		if (result.getType() != DecompileResult.ResultType.SUCCESS)
+			failures++;
+		return result;
+	}
+
+	@Nonnull
+	private static WorkspaceResource loadCorpus(@Nonnull ResourceImporter importer) throws IOException {
+		String corpusPath = System.getProperty(CORPUS_PROPERTY);
+		if (corpusPath != null)
+			return importer.importResource(Paths.get(corpusPath));
+		try (InputStream in = DecompilerBenchmark.class.getResourceAsStream(DEFAULT_CORPUS)) {
+			if (in == null)
+				throw new IOException("Default benchmark corpus not found on classpath: " + DEFAULT_CORPUS);
+			return importer.importResource(ByteSources.wrap(in.readAllBytes()));
+		}
+	}
+}
@@ -0,0 +1,51 @@
+package software.coley.recaf.benchmark;
+
+import jakarta.annotation.Nonnull;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import software.coley.recaf.Bootstrap;
+import software.coley.recaf.services.decompile.Decompiler;
+import software.coley.recaf.services.decompile.DecompilerManager;
+
+/**
+ * Entry point for running the benchmarks, accepting the same arguments as JMH's own entry point.
+ * <p>
+ * When no {@value DecompilerBenchmark#DECOMPILER_PARAM} parameter is given, {@link DecompilerBenchmark} is run
+ * against every JVM decompiler registered in {@link DecompilerManager}.
+ *
+ * @author Matt Coley
+ */
+public class DecompilerBenchmarkMain {
+	/**
+	 * @param args
+	 * 		JMH command line arguments.
+	 *
+	 * @throws CommandLineOptionException
+	 * 		When the arguments are not valid JMH arguments.
+	 * @throws RunnerException
+	 * 		When the benchmarks fail to run.
+	 */
+	public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+		CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+		ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLineOptions);
+		if (!commandLineOptions.getParameter(DecompilerBenchmark.DECOMPILER_PARAM).hasValue())
+			options.param(DecompilerBenchmark.DECOMPILER_PARAM, getDecompilerNames());
+		new Runner(options.build()).run();
+
+		// The Recaf instance used to list decompilers is not meant to be shut down, so we exit explicitly.
+		System.exit(0);
+	}
+
+	@Nonnull
+	private static String[] getDecompilerNames() {
+		Bootstrap.enableCoreOnlyDiscovery();
+		return Bootstrap.get().get(DecompilerManager.class).getJvmDecompilers().stream()
+				.map(Decompiler::getName)
+				.sorted()
+				.toArray(String[]::new);
+	}
+}
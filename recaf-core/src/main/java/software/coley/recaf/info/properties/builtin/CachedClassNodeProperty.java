@@ -0,0 +1,99 @@
+package software.coley.recaf.info.properties.builtin;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.objectweb.asm.tree.ClassNode;
+import software.coley.recaf.info.JvmClassInfo;
+import software.coley.recaf.info.properties.BasicProperty;
+import software.coley.recaf.util.ClassNodeCache;
+
+import java.lang.ref.SoftReference;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Built in property to cache parsed {@link ClassNode} models of {@link JvmClassInfo} instances.
+ * Values are softly referenced so that they can be reclaimed under memory pressure.
+ *
+ * @author Matt Coley
+ * @see ClassNodeCache Intended access point for cached nodes.
+ */
+public class CachedClassNodeProperty extends BasicProperty<CachedClassNodeProperty.Cache> {
+	public static final String KEY = "cached-class-node";
+
+	/**
+	 * New empty cache.
+	 */
+	public CachedClassNodeProperty() {
+		super(KEY, new Cache());
+	}
+
+	/**
+	 * @param classInfo
+	 * 		Class to get the node cache of.
+	 *
+	 * @return Node cache of the class, created if it does not already exist.
+	 */
+	@Nonnull
+	public static Cache getOrCreate(@Nonnull JvmClassInfo classInfo) {
+		synchronized (classInfo) {
+			Cache cache = classInfo.getPropertyValueOrNull(KEY);
+			if (cache == null) {
+				CachedClassNodeProperty property = new CachedClassNodeProperty();
+				classInfo.setProperty(property);
+				cache = property.value();
+			}
+			return cache;
+		}
+	}
+
+	/**
+	 * @param info
+	 * 		Info instance.
+	 */
+	public static void remove(@Nonnull JvmClassInfo info) {
+		synchronized (info) {
+			info.removeProperty(KEY);
+		}
+	}
+
+	@Override
+	public boolean persistent() {
+		// Nodes are only valid for the exact bytecode they were read from.
+		return false;
+	}
+
+	/**
+	 * Basic cache of class nodes, keyed by the reader flags used to create them.
+	 */
+	public static class Cache {
+		private final Map<Integer, SoftReference<ClassNode>> flagsToNode = new HashMap<>();
+
+		/**
+		 * @param flags
+		 * 		Reader flags the node was created with.
+		 *
+		 * @return Cached node, or {@code null} if no node exists or it has been reclaimed.
+		 */
+		@Nullable
+		public synchronized ClassNode get(int flags) {
+			SoftReference<ClassNode> ref = flagsToNode.get(flags);
+			if (ref == null)
+				return null;
+			ClassNode node = ref.get();
+			if (node == null)
+				flagsToNode.remove(flags);
+			return node;
+		}
+
+		/**
+		 * @param flags
+		 * 		Reader flags the node was created with.
+		 * @param node
+		 * 		Node to cache.
+		 */
+		public synchronized void save(int flags, @Nonnull ClassNode node) {
+			flagsToNode.put(flags, new SoftReference<>(node));
+		}
+	}
+}
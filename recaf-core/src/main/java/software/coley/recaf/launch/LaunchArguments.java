@@ -84,6 +84,25 @@ public File getScriptInScriptsDirectory() {
 		return directoriesConfig.getScriptsDirectory().resolve(script.getName()).toFile();
 	}
 
+	/**
+	 * @return Output to decompile all classes of the input to on startup.
+	 */
+	@Nullable
+	public File getDecompileOutput() {
+		if (command == null) return null;
+		return command.getDecompileOutput();
+	}
+
+	/**
+	 * @return Name of the decompiler to use for decompiling the input on startup.
+	 * If {@code null} the preferred decompiler should be used.
+	 */
+	@Nullable
+	public String getDecompiler() {
+		if (command == null) return null;
+		return command.getDecompiler();
+	}
+
 	/**
 	 * @return Flag to skip over initializing the UI.
 	 */
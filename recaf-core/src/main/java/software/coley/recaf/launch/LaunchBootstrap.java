@@ -1,6 +1,7 @@
 package software.coley.recaf.launch;
 
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import jakarta.enterprise.inject.spi.Bean;
 import org.slf4j.Logger;
 import software.coley.recaf.Bootstrap;
@@ -8,7 +9,15 @@
 import software.coley.recaf.analytics.logging.Logging;
 import software.coley.recaf.cdi.EagerInitializationExtension;
 import software.coley.recaf.cdi.InitializationEvent;
+import software.coley.recaf.info.ClassInfo;
 import software.coley.recaf.services.compile.CompilerDiagnostic;
+import software.coley.recaf.services.decompile.DecompileResult;
+import software.coley.recaf.services.decompile.DecompilerManager;
+import software.coley.recaf.services.decompile.JvmDecompiler;
+import software.coley.recaf.services.decompile.bulk.BulkDecompilationFeedback;
+import software.coley.recaf.services.decompile.bulk.BulkDecompilationResult;
+import software.coley.recaf.services.decompile.bulk.BulkDecompilationService;
+import software.coley.recaf.services.decompile.bulk.BulkDecompilationSink;
 import software.coley.recaf.services.file.RecafDirectoriesConfig;
 import software.coley.recaf.services.plugin.PluginContainer;
 import software.coley.recaf.services.plugin.PluginException;
@@ -20,6 +29,9 @@
 import software.coley.recaf.services.workspace.io.ResourceImporter;
 import software.coley.recaf.util.threading.ThreadUtil;
 import software.coley.recaf.workspace.model.BasicWorkspace;
+import software.coley.recaf.workspace.model.Workspace;
+import software.coley.recaf.workspace.model.bundle.AndroidClassBundle;
+import software.coley.recaf.workspace.model.resource.WorkspaceResource;
 
 import java.io.File;
 import java.io.FileOutputStream;
@@ -28,6 +40,7 @@
 import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -244,6 +257,53 @@ private void handleInputs() {
 		} catch (Throwable t) {
 			logger.error("Error handling execution of launch script.", t);
 		}
+
+		try {
+			// Done after the script is run so that scripts can prepare the workspace before it is decompiled.
+			File decompileOutput = launchArgs.getDecompileOutput();
+			if (decompileOutput != null)
+				decompileInput(decompileOutput.toPath());
+		} catch (Throwable t) {
+			logger.error("Error handling decompilation of launch workspace content.", t);
+		}
+	}
+
+	private void decompileInput(@Nonnull Path output) throws IOException {
+		WorkspaceManager workspaceManager = recaf.get(WorkspaceManager.class);
+		if (!workspaceManager.hasCurrentWorkspace()) {
+			logger.warn("Cannot decompile to '{}', no input was loaded", output);
+			return;
+		}
+
+		Workspace workspace = workspaceManager.getCurrent();
+		DecompilerManager decompilerManager = recaf.get(DecompilerManager.class);
+		String decompilerName = launchArgs.getDecompiler();
+		JvmDecompiler decompiler = decompilerName == null ?
+				decompilerManager.getTargetJvmDecompiler() : decompilerManager.getJvmDecompiler(decompilerName);
+		if (decompiler == null) {
+			logger.error("Cannot decompile to '{}', no decompiler named '{}' exists, options are: {}", output, decompilerName,
+					decompilerManager.getJvmDecompilers().stream().map(JvmDecompiler::getName).collect(Collectors.joining(", ")));
+			return;
+		}
+
+		logger.info("Decompiling input with {} to '{}'", decompiler.getName(), output);
+		WorkspaceResource primary = workspace.getPrimaryResource();
+		List<ClassInfo> classes = new ArrayList<>(primary.getJvmClassBundle().valuesAsCopy());
+		for (AndroidClassBundle androidBundle : primary.getAndroidClassBundles().values())
+			classes.addAll(androidBundle.valuesAsCopy());
+		BulkDecompilationResult result;
+		try (BulkDecompilationSink sink = BulkDecompilationSink.forPath(output)) {
+			result = recaf.get(BulkDecompilationService.class).decompile(workspace, decompiler, classes, sink, new BulkDecompilationFeedback() {
+				@Override
+				public void onClassCompleted(@Nonnull ClassInfo cls, @Nullable DecompileResult result,
+				                             @Nullable Throwable error, int completed, int total) {
+					if (completed % 1000 == 0)
+						logger.info("Decompiled {}/{} classes", completed, total);
+				}
+			});
+		}
+		logger.info("Decompilation complete: {} written, {} failed, {} timed out",
+				result.written(), result.failed(), result.timedOut());
 	}
 
 	private static void addIfMissing(@Nonnull List<Bean<?>> beans, @Nonnull Bean<?> bean) {
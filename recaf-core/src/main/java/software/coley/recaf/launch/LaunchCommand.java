@@ -36,7 +36,11 @@ public class LaunchCommand implements Callable<Boolean> {
 	private File dataDir;
 	@Option(names = {"-r", "--extraplugins"}, description = "Point to an external location to load additional plugins.")
 	private File extraPluginDirectory;
-	@Option(names = {"-h", "--headless"}, description = "Flag to skip over initializing the UI. Should be paired with -i, -s, or --idle.")
+	@Option(names = {"-o", "--decompile-output"}, description = "Decompile all classes of the input to the given zip/jar file or directory.")
+	private File decompileOutput;
+	@Option(names = {"--decompiler"}, description = "Name of the decompiler to use with --decompile-output. Uses the preferred decompiler if not specified.")
+	private String decompiler;
+	@Option(names = {"-h", "--headless"}, description = "Flag to skip over initializing the UI. Should be paired with -i, -s, -o, or --idle.")
 	private boolean headless;
 	@Option(names = {"--idle"}, description = "Keep headless Recaf running after startup for plugin-hosted services.")
 	private boolean idle;
@@ -117,6 +121,22 @@ public File getScript() {
 		return script;
 	}
 
+	/**
+	 * @return Output to decompile all classes of the input to on startup.
+	 */
+	@Nullable
+	public File getDecompileOutput() {
+		return decompileOutput;
+	}
+
+	/**
+	 * @return Name of the decompiler to use for decompiling the input on startup.
+	 */
+	@Nullable
+	public String getDecompiler() {
+		return decompiler;
+	}
+
 	/**
 	 * @return Flag to skip over initializing the UI.
 	 */
@@ -15,12 +15,14 @@
 import software.coley.recaf.workspace.model.Workspace;
 import software.coley.recaf.workspace.model.WorkspaceModificationListener;
 import software.coley.recaf.workspace.model.bundle.AndroidClassBundle;
+import software.coley.recaf.workspace.model.bundle.BundleChangeSet;
 import software.coley.recaf.workspace.model.bundle.ClassBundle;
 import software.coley.recaf.workspace.model.bundle.JvmClassBundle;
 import software.coley.recaf.workspace.model.resource.ResourceAndroidClassListener;
 import software.coley.recaf.workspace.model.resource.ResourceJvmClassListener;
 import software.coley.recaf.workspace.model.resource.WorkspaceResource;
 
+import java.util.Collection;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
@@ -88,6 +90,25 @@ public MethodVertex getVertex(@Nonnull MethodMember method) {
 		return updater.getVertex(method);
 	}
 
+	/**
+	 * @return Snapshot of all class method containers currently tracked by the graph.
+	 */
+	@Nonnull
+	public Collection<ClassMethodsContainer> getClassMethodsContainers() {
+		return updater.getClassMethodsContainers();
+	}
+
+	/**
+	 * Creates a reachability engine over a snapshot of the graph's current contents.
+	 * Changes made to the graph after this call are not reflected in the returned engine.
+	 *
+	 * @return New reachability engine for querying the current graph state.
+	 */
+	@Nonnull
+	public CallGraphReachability newReachability() {
+		return new CallGraphReachability(this);
+	}
+
 	/**
 	 * Initialize the graph.
 	 */
@@ -192,5 +213,17 @@ public void onUpdateClass(@Nonnull WorkspaceResource resource, @Nonnull AndroidC
 		public void onRemoveClass(@Nonnull WorkspaceResource resource, @Nonnull AndroidClassBundle bundle, @Nonnull AndroidClassInfo cls) {
 			updater.removeClass(cls);
 		}
+
+		@Override
+		public void onBatchUpdate(@Nonnull WorkspaceResource resource, @Nonnull JvmClassBundle bundle,
+		                          @Nonnull BundleChangeSet<JvmClassInfo> changes) {
+			updater.applyBatch(changes);
+		}
+
+		@Override
+		public void onBatchUpdate(@Nonnull WorkspaceResource resource, @Nonnull AndroidClassBundle bundle,
+		                          @Nonnull BundleChangeSet<AndroidClassInfo> changes) {
+			updater.applyBatch(changes);
+		}
 	}
 }
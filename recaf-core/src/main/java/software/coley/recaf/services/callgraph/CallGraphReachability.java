@@ -0,0 +1,369 @@
+package software.coley.recaf.services.callgraph;
+
+import jakarta.annotation.Nonnull;
+import software.coley.recaf.analytics.logging.DebuggingLogger;
+import software.coley.recaf.analytics.logging.Logging;
+import software.coley.recaf.info.ClassInfo;
+import software.coley.recaf.info.member.ClassMember;
+import software.coley.recaf.info.member.MethodMember;
+import software.coley.recaf.path.ClassMemberPathNode;
+import software.coley.recaf.services.analysis.entry.EntryPoint;
+import software.coley.recaf.util.collect.primitive.IntList;
+import software.coley.recaf.util.collect.primitive.Object2IntMap;
+import software.coley.recaf.util.threading.ThreadPoolFactory;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Reachability and slicing queries over a snapshot of a {@link CallGraph}.
+ * <p>
+ * The snapshot flattens the graph's vertices into indices with adjacency arrays for both call directions.
+ * Queries are then a level-synchronous breadth-first search, where large frontiers are split across
+ * a shared thread pool and visitation is tracked in a lock-free bitset.
+ * <ul>
+ *     <li>{@link #reachableFrom(Collection, ReachabilityFeedback)} - What can be called from the given methods?
+ *     Useful for dead-code reports when the roots are {@link EntryPoint entry points}.</li>
+ *     <li>{@link #reachingTo(Collection, ReachabilityFeedback)} - What can call into the given methods?
+ *     Useful for slicing the attack surface leading to some sink method.</li>
+ * </ul>
+ *
+ * @author Matt Coley
+ * @see CallGraph#newReachability()
+ */
+public class CallGraphReachability {
+	private static final DebuggingLogger logger = Logging.get(CallGraphReachability.class);
+	private static final ExecutorService threadPool = ThreadPoolFactory.newFixedThreadPool("call-graph-reachability");
+	private static final int PARALLEL_FRONTIER_THRESHOLD = 2048;
+	private static final int MIN_CHUNK_SIZE = 512;
+	private final List<MethodVertex> vertices = new ArrayList<>();
+	private final Object2IntMap<MethodVertex> vertexToIndex = new Object2IntMap<>();
+	private final Map<MethodRef, MethodVertex> refToVertex = new HashMap<>();
+	private final Map<String, List<MethodVertex>> classToVertices = new HashMap<>();
+	private final int parallelFrontierThreshold;
+	private final int minChunkSize;
+	private final int[][] calls;
+	private final int[][] callers;
+
+	/**
+	 * @param graph
+	 * 		Graph to snapshot.
+	 */
+	CallGraphReachability(@Nonnull CallGraph graph) {
+		this(graph, PARALLEL_FRONTIER_THRESHOLD, MIN_CHUNK_SIZE);
+	}
+
+	/**
+	 * @param graph
+	 * 		Graph to snapshot.
+	 * @param parallelFrontierThreshold
+	 * 		Minimum frontier size to split traversal of a level across the thread pool.
+	 * @param minChunkSize
+	 * 		Minimum number of frontier vertices handled by a single task when splitting a level.
+	 */
+	CallGraphReachability(@Nonnull CallGraph graph, int parallelFrontierThreshold, int minChunkSize) {
+		this.parallelFrontierThreshold = parallelFrontierThreshold;
+		this.minChunkSize = minChunkSize;
+
+		// Assign an index to every method in the graph. We go through the declared methods of each class
+		// so that methods which do not call anything, and are not called by anything, are still included.
+		for (ClassMethodsContainer container : graph.getClassMethodsContainers()) {
+			List<MethodVertex> classVertices = new ArrayList<>();
+			for (MethodMember method : container.getClassInfo().getMethods()) {
+				MethodVertex vertex = container.getVertex(method);
+				classVertices.add(vertex);
+				refToVertex.put(vertex.getMethod(), vertex);
+				if (!vertexToIndex.containsKey(vertex)) {
+					vertexToIndex.put(vertex, vertices.size());
+					vertices.add(vertex);
+				}
+			}
+			classToVertices.put(container.getClassInfo().getName(), classVertices);
+		}
+
+		// Flatten edges in both directions into adjacency arrays.
+		int size = vertices.size();
+		calls = new int[size][];
+		callers = new int[size][];
+		for (int i = 0; i < size; i++) {
+			MethodVertex vertex = vertices.get(i);
+			calls[i] = toIndices(vertex.getCalls());
+			callers[i] = toIndices(vertex.getCallers());
+		}
+	}
+
+	/**
+	 * @param roots
+	 * 		Entry points to start from.
+	 *
+	 * @return Results containing all methods that can be called, directly or transitively, from the given entry points.
+	 */
+	@Nonnull
+	public ReachabilityResult reachableFromEntryPoints(@Nonnull Collection<EntryPoint> roots) {
+		return reachableFromEntryPoints(roots, ReachabilityFeedback.DEFAULT);
+	}
+
+	/**
+	 * @param roots
+	 * 		Entry points to start from.
+	 * 		Entry points targeting a class rather than a member will use all methods in the class as roots.
+	 * @param feedback
+	 * 		Feedback for cancellation and traversal filtering.
+	 *
+	 * @return Results containing all methods that can be called, directly or transitively, from the given entry points.
+	 * Entry points which could not be found in the snapshot are recorded in {@link ReachabilityResult#getUnresolvedRoots()}.
+	 */
+	@Nonnull
+	public ReachabilityResult reachableFromEntryPoints(@Nonnull Collection<EntryPoint> roots,
+	                                                   @Nonnull ReachabilityFeedback feedback) {
+		// Roots are resolved against the snapshot rather than the graph, so that the query does not
+		// create containers or vertices in the live graph for classes it does not know about.
+		Set<MethodVertex> vertexRoots = new LinkedHashSet<>();
+		List<EntryPoint> unresolvedRoots = new ArrayList<>();
+		for (EntryPoint entry : roots) {
+			ClassInfo classInfo = entry.classPath().getValue();
+			ClassMemberPathNode memberPath = entry.memberPath();
+			if (memberPath != null) {
+				ClassMember member = memberPath.getValue();
+				if (member instanceof MethodMember method) {
+					MethodVertex vertex = refToVertex.get(new MethodRef(classInfo.getName(), method.getName(), method.getDescriptor()));
+					if (vertex != null) vertexRoots.add(vertex);
+					else unresolvedRoots.add(entry);
+				} else {
+					unresolvedRoots.add(entry);
+				}
+			} else {
+				List<MethodVertex> classVertices = classToVertices.get(classInfo.getName());
+				if (classVertices != null) vertexRoots.addAll(classVertices);
+				else unresolvedRoots.add(entry);
+			}
+		}
+		return search(vertexRoots, calls, feedback).withUnresolvedRoots(unresolvedRoots);
+	}
+
+	/**
+	 * @param roots
+	 * 		Methods to start from.
+	 *
+	 * @return Results containing all methods that can be called, directly or transitively, from the given methods.
+	 */
+	@Nonnull
+	public ReachabilityResult reachableFrom(@Nonnull Collection<? extends MethodVertex> roots) {
+		return reachableFrom(roots, ReachabilityFeedback.DEFAULT);
+	}
+
+	/**
+	 * @param roots
+	 * 		Methods to start from.
+	 * @param feedback
+	 * 		Feedback for cancellation and traversal filtering.
+	 *
+	 * @return Results containing all methods that can be called, directly or transitively, from the given methods.
+	 */
+	@Nonnull
+	public ReachabilityResult reachableFrom(@Nonnull Collection<? extends MethodVertex> roots,
+	                                        @Nonnull ReachabilityFeedback feedback) {
+		return search(roots, calls, feedback);
+	}
+
+	/**
+	 * @param sinks
+	 * 		Methods to find callers of.
+	 *
+	 * @return Results containing all methods that can call, directly or transitively, into the given methods.
+	 */
+	@Nonnull
+	public ReachabilityResult reachingTo(@Nonnull Collection<? extends MethodVertex> sinks) {
+		return reachingTo(sinks, ReachabilityFeedback.DEFAULT);
+	}
+
+	/**
+	 * @param sinks
+	 * 		Methods to find callers of.
+	 * @param feedback
+	 * 		Feedback for cancellation and traversal filtering.
+	 *
+	 * @return Results containing all methods that can call, directly or transitively, into the given methods.
+	 */
+	@Nonnull
+	public ReachabilityResult reachingTo(@Nonnull Collection<? extends MethodVertex> sinks,
+	                                     @Nonnull ReachabilityFeedback feedback) {
+		return search(sinks, callers, feedback);
+	}
+
+	/**
+	 * @return Number of vertices in the snapshot.
+	 */
+	public int size() {
+		return vertices.size();
+	}
+
+	/**
+	 * @param vertex
+	 * 		Some method vertex.
+	 *
+	 * @return Index of the vertex in the snapshot, or {@code -1} if the vertex is not in the snapshot.
+	 */
+	int indexOf(@Nonnull MethodVertex vertex) {
+		return vertexToIndex.getOrDefault(vertex, -1);
+	}
+
+	/**
+	 * @param index
+	 * 		Index of a vertex in the snapshot.
+	 *
+	 * @return Vertex at the given index.
+	 */
+	@Nonnull
+	MethodVertex vertexAt(int index) {
+		return vertices.get(index);
+	}
+
+	@Nonnull
+	private ReachabilityResult search(@Nonnull Collection<? extends MethodVertex> roots,
+	                                  @Nonnull int[][] edges,
+	                                  @Nonnull ReachabilityFeedback feedback) {
+		AtomicLongArray visited = new AtomicLongArray((vertices.size() + 63) >>> 6);
+		IntList initial = new IntList(roots.size());
+		for (MethodVertex root : roots) {
+			int index = indexOf(root);
+			if (index >= 0 && feedback.doTraverse(root) && mark(visited, index))
+				initial.add(index);
+		}
+
+		int depth = 0;
+		boolean cancelled = false;
+		int[] frontier = initial.toArray();
+		while (frontier.length > 0) {
+			if (feedback.hasRequestedCancellation()) {
+				cancelled = true;
+				break;
+			}
+			try {
+				frontier = frontier.length < parallelFrontierThreshold ?
+						expand(frontier, 0, frontier.length, edges, visited, feedback).toArray() :
+						expandParallel(frontier, edges, visited, feedback);
+			} catch (CancellationException ex) {
+				cancelled = true;
+				break;
+			}
+			depth++;
+		}
+
+		// Copy the visited set into a plain bitset for the result.
+		long[] words = new long[visited.length()];
+		for (int i = 0; i < words.length; i++)
+			words[i] = visited.get(i);
+		return new ReachabilityResult(this, BitSet.valueOf(words), depth, cancelled);
+	}
+
+	@Nonnull
+	private int[] expandParallel(@Nonnull int[] frontier, @Nonnull int[][] edges,
+	                             @Nonnull AtomicLongArray visited, @Nonnull ReachabilityFeedback feedback) {
+		int chunkSize = Math.max(minChunkSize, frontier.length / (Runtime.getRuntime().availableProcessors() * 4));
+		List<Future<IntList>> futures = new ArrayList<>();
+		for (int start = 0; start < frontier.length; start += chunkSize) {
+			int chunkStart = start;
+			int chunkEnd = Math.min(frontier.length, start + chunkSize);
+			futures.add(threadPool.submit(() -> expand(frontier, chunkStart, chunkEnd, edges, visited, feedback)));
+		}
+
+		// Collect the next frontier from all chunks.
+		List<IntList> parts = new ArrayList<>(futures.size());
+		int total = 0;
+		for (Future<IntList> future : futures) {
+			try {
+				IntList part = future.get();
+				parts.add(part);
+				total += part.size();
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				futures.forEach(f -> f.cancel(true));
+				throw new CancellationException();
+			} catch (ExecutionException ex) {
+				futures.forEach(f -> f.cancel(true));
+				if (ex.getCause() instanceof CancellationException cancellation)
+					throw cancellation;
+				logger.error("Reachability traversal failed", ex.getCause());
+				throw new IllegalStateException("Reachability traversal failed", ex.getCause());
+			}
+		}
+		int[] next = new int[total];
+		int offset = 0;
+		for (IntList part : parts) {
+			int[] array = part.toArray();
+			System.arraycopy(array, 0, next, offset, array.length);
+			offset += array.length;
+		}
+		return next;
+	}
+
+	@Nonnull
+	private IntList expand(@Nonnull int[] frontier, int start, int end, @Nonnull int[][] edges,
+	                       @Nonnull AtomicLongArray visited, @Nonnull ReachabilityFeedback feedback) {
+		IntList next = new IntList();
+		for (int i = start; i < end; i++) {
+			// Periodically check for cancellation so large levels do not delay stopping.
+			if ((i & 1023) == 0 && feedback.hasRequestedCancellation())
+				throw new CancellationException();
+			for (int target : edges[frontier[i]]) {
+				if (isMarked(visited, target))
+					continue;
+				if (feedback != ReachabilityFeedback.DEFAULT && !feedback.doTraverse(vertices.get(target)))
+					continue;
+				if (mark(visited, target))
+					next.add(target);
+			}
+		}
+		return next;
+	}
+
+	@Nonnull
+	private int[] toIndices(@Nonnull Collection<MethodVertex> edges) {
+		IntList indices;
+		synchronized (edges) {
+			indices = new IntList(edges.size());
+			for (MethodVertex edge : edges) {
+				int index = vertexToIndex.getOrDefault(edge, -1);
+				if (index >= 0)
+					indices.add(index);
+			}
+		}
+		return indices.toArray();
+	}
+
+	private static boolean isMarked(@Nonnull AtomicLongArray bits, int index) {
+		return (bits.get(index >>> 6) & (1L << index)) != 0;
+	}
+
+	private static boolean mark(@Nonnull AtomicLongArray bits, int index) {
+		int word = index >>> 6;
+		long mask = 1L << index;
+		while (true) {
+			long current = bits.get(word);
+			if ((current & mask) != 0)
+				return false;
+			if (bits.compareAndSet(word, current, current | mask))
+				return true;
+		}
+	}
+
+	/**
+	 * Internal signal to unwind traversal when cancellation is requested.
+	 */
+	private static class CancellationException extends RuntimeException {
+		private CancellationException() {
+			super(null, null, false, false);
+		}
+	}
+}
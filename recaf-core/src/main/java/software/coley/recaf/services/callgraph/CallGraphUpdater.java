@@ -12,7 +12,9 @@
 import software.coley.recaf.services.callgraph.scanner.MethodCallScanner;
 import software.coley.recaf.util.collect.MultiMap;
 import software.coley.recaf.workspace.model.Workspace;
+import software.coley.recaf.workspace.model.bundle.BundleChangeSet;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
@@ -54,6 +56,16 @@ public ClassMethodsContainer getClassMethodsContainer(@Nonnull ClassInfo classIn
 		return classToMethodsContainer.computeIfAbsent(classInfo, ClassMethodsContainer::new);
 	}
 
+	/**
+	 * @return Snapshot of all class method containers currently tracked.
+	 */
+	@Nonnull
+	public Collection<ClassMethodsContainer> getClassMethodsContainers() {
+		synchronized (classToMethodsContainer) {
+			return new ArrayList<>(classToMethodsContainer.values());
+		}
+	}
+
 	/**
 	 * @param method
 	 * 		Method to get the vertex for.
@@ -105,6 +117,28 @@ public synchronized void updateClass(@Nonnull ClassInfo oldCls, @Nonnull ClassIn
 		visitClass(newCls);
 	}
 
+	/**
+	 * Notifies the graph of a batch of changes to a bundle.
+	 * All removed and outdated class models are dropped from the graph before any new models are visited,
+	 * so that calls between classes in the batch are resolved once against their final state rather than
+	 * being repeatedly invalidated and re-resolved as each class in the batch is processed.
+	 *
+	 * @param changes
+	 * 		Coalesced bundle changes.
+	 */
+	public synchronized void applyBatch(@Nonnull BundleChangeSet<? extends ClassInfo> changes) {
+		for (ClassInfo removed : changes.getRemoved().values())
+			removeClass(removed);
+		for (BundleChangeSet.Update<? extends ClassInfo> update : changes.getUpdated().values())
+			removeClass(update.oldValue());
+		for (BundleChangeSet.Update<? extends ClassInfo> update : changes.getUpdated().values())
+			normalizeUnresolvedCalls(update.newValue());
+		for (BundleChangeSet.Update<? extends ClassInfo> update : changes.getUpdated().values())
+			visitClass(update.newValue());
+		for (ClassInfo added : changes.getAdded().values())
+			visitClass(added);
+	}
+
 	/**
 	 * Notifies the graph of the removal of a given class.
 	 *
@@ -0,0 +1,22 @@
+package software.coley.recaf.services.callgraph;
+
+/**
+ * Feedback that allows cancelling a reachability query.
+ *
+ * @author Matt Coley
+ */
+public class CancellableReachabilityFeedback implements ReachabilityFeedback {
+	private volatile boolean cancelled;
+
+	/**
+	 * Mark query as cancelled.
+	 */
+	public void cancel() {
+		cancelled = true;
+	}
+
+	@Override
+	public boolean hasRequestedCancellation() {
+		return cancelled;
+	}
+}
@@ -0,0 +1,43 @@
+package software.coley.recaf.services.callgraph;
+
+import jakarta.annotation.Nonnull;
+
+/**
+ * Outline of reachability query feedback capabilities. Allows for:
+ * <ul>
+ *     <li>In-progress query cancellation</li>
+ *     <li>Filter vertices traversed by the query</li>
+ * </ul>
+ * Implementations are called from multiple threads concurrently, and must be thread-safe.
+ *
+ * @author Matt Coley
+ * @see CancellableReachabilityFeedback Basic cancellable implementation.
+ */
+public interface ReachabilityFeedback {
+	/**
+	 * Default implementation that runs queries to completion, without any filtering.
+	 */
+	ReachabilityFeedback DEFAULT = new ReachabilityFeedback() {
+	};
+
+	/**
+	 * @return {@code true} to request {@link CallGraphReachability} stops traversal to end the query early.
+	 * {@code false} to continue the query.
+	 */
+	default boolean hasRequestedCancellation() {
+		return false;
+	}
+
+	/**
+	 * Called before a newly discovered vertex is expanded.
+	 *
+	 * @param vertex
+	 * 		Vertex to consider for traversal.
+	 *
+	 * @return {@code true} to mark the vertex as reached and continue traversal through it.
+	 * {@code false} to treat the vertex as a dead end, excluding it from the results.
+	 */
+	default boolean doTraverse(@Nonnull MethodVertex vertex) {
+		return true;
+	}
+}
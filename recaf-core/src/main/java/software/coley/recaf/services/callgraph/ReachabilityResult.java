@@ -0,0 +1,138 @@
+package software.coley.recaf.services.callgraph;
+
+import jakarta.annotation.Nonnull;
+import software.coley.recaf.services.analysis.entry.EntryPoint;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of a {@link CallGraphReachability} query.
+ *
+ * @author Matt Coley
+ */
+public class ReachabilityResult {
+	private final CallGraphReachability reachability;
+	private final BitSet reached;
+	private final int depth;
+	private final boolean cancelled;
+	private final List<EntryPoint> unresolvedRoots;
+
+	/**
+	 * @param reachability
+	 * 		Reachability engine the query was run on.
+	 * @param reached
+	 * 		Bitset of reached vertex indices.
+	 * @param depth
+	 * 		Number of traversal levels completed.
+	 * @param cancelled
+	 * 		Flag indicating the query was cancelled before completion.
+	 */
+	ReachabilityResult(@Nonnull CallGraphReachability reachability, @Nonnull BitSet reached,
+	                   int depth, boolean cancelled) {
+		this(reachability, reached, depth, cancelled, Collections.emptyList());
+	}
+
+	/**
+	 * @param reachability
+	 * 		Reachability engine the query was run on.
+	 * @param reached
+	 * 		Bitset of reached vertex indices.
+	 * @param depth
+	 * 		Number of traversal levels completed.
+	 * @param cancelled
+	 * 		Flag indicating the query was cancelled before completion.
+	 * @param unresolvedRoots
+	 * 		Entry points which could not be found in the graph snapshot.
+	 */
+	ReachabilityResult(@Nonnull CallGraphReachability reachability, @Nonnull BitSet reached,
+	                   int depth, boolean cancelled, @Nonnull List<EntryPoint> unresolvedRoots) {
+		this.reachability = reachability;
+		this.reached = reached;
+		this.depth = depth;
+		this.cancelled = cancelled;
+		this.unresolvedRoots = unresolvedRoots;
+	}
+
+	/**
+	 * @param unresolvedRoots
+	 * 		Entry points which could not be found in the graph snapshot.
+	 *
+	 * @return Copy of this result with the given unresolved entry points.
+	 */
+	@Nonnull
+	ReachabilityResult withUnresolvedRoots(@Nonnull List<EntryPoint> unresolvedRoots) {
+		if (unresolvedRoots.isEmpty())
+			return this;
+		return new ReachabilityResult(reachability, reached, depth, cancelled, Collections.unmodifiableList(unresolvedRoots));
+	}
+
+	/**
+	 * @param vertex
+	 * 		Some method vertex.
+	 *
+	 * @return {@code true} when the vertex was reached by the query.
+	 */
+	public boolean isReachable(@Nonnull MethodVertex vertex) {
+		int index = reachability.indexOf(vertex);
+		return index >= 0 && reached.get(index);
+	}
+
+	/**
+	 * @return Number of vertices reached by the query.
+	 */
+	public int getReachableCount() {
+		return reached.cardinality();
+	}
+
+	/**
+	 * @return Vertices reached by the query.
+	 */
+	@Nonnull
+	public List<MethodVertex> getReachable() {
+		List<MethodVertex> list = new ArrayList<>(reached.cardinality());
+		for (int i = reached.nextSetBit(0); i >= 0; i = reached.nextSetBit(i + 1))
+			list.add(reachability.vertexAt(i));
+		return list;
+	}
+
+	/**
+	 * @return Vertices in the graph snapshot that were not reached by the query.
+	 * For forward queries from entry points this is the set of dead-code candidates.
+	 */
+	@Nonnull
+	public List<MethodVertex> getUnreachable() {
+		int size = reachability.size();
+		List<MethodVertex> list = new ArrayList<>(size - reached.cardinality());
+		for (int i = reached.nextClearBit(0); i < size; i = reached.nextClearBit(i + 1))
+			list.add(reachability.vertexAt(i));
+		return list;
+	}
+
+	/**
+	 * @return Number of traversal levels completed. The roots are level {@code 0}.
+	 */
+	public int getDepth() {
+		return depth;
+	}
+
+	/**
+	 * @return {@code true} when the query was cancelled before completion,
+	 * in which case the results only cover a partial traversal.
+	 */
+	public boolean isCancelled() {
+		return cancelled;
+	}
+
+	/**
+	 * @return Entry points given to {@link CallGraphReachability#reachableFromEntryPoints(java.util.Collection)}
+	 * which were not present in the graph snapshot, and thus could not be used as roots.
+	 * Empty for queries started from method vertices.
+	 */
+	@Nonnull
+	public List<EntryPoint> getUnresolvedRoots() {
+		return unresolvedRoots;
+	}
+}
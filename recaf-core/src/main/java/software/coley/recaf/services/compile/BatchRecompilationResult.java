@@ -0,0 +1,30 @@
+package software.coley.recaf.services.compile;
+
+import jakarta.annotation.Nonnull;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Result of a {@link BatchRecompilationService batch recompilation}.
+ *
+ * @param compilerResult
+ * 		Result of the single compilation of all classes in the batch.
+ * @param diagnostics
+ * 		Compiler diagnostics, keyed by the name of the class whose source they apply to.
+ * @param updatedClasses
+ * 		Names of classes updated in the workspace. Empty when the batch was not applied.
+ *
+ * @author Matt Coley
+ */
+public record BatchRecompilationResult(@Nonnull CompilerResult compilerResult,
+                                       @Nonnull Map<String, List<CompilerDiagnostic>> diagnostics,
+                                       @Nonnull Set<String> updatedClasses) {
+	/**
+	 * @return {@code true} when all classes in the batch compiled and the workspace was updated.
+	 */
+	public boolean wasSuccess() {
+		return compilerResult.wasSuccess() && !updatedClasses.isEmpty();
+	}
+}
@@ -0,0 +1,340 @@
+package software.coley.recaf.services.compile;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import software.coley.recaf.analytics.logging.DebuggingLogger;
+import software.coley.recaf.analytics.logging.Logging;
+import software.coley.recaf.info.JvmClassInfo;
+import software.coley.recaf.info.builder.JvmClassInfoBuilder;
+import software.coley.recaf.info.properties.builtin.CachedDecompileProperty;
+import software.coley.recaf.services.Service;
+import software.coley.recaf.services.decompile.DecompileResult;
+import software.coley.recaf.services.decompile.Decompiler;
+import software.coley.recaf.services.workspace.WorkspaceManager;
+import software.coley.recaf.util.JavaVersion;
+import software.coley.recaf.workspace.model.Workspace;
+import software.coley.recaf.workspace.model.bundle.Bundle;
+import software.coley.recaf.workspace.model.bundle.JvmClassBundle;
+
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service for recompiling multiple edited classes together.
+ * <p>
+ * Recompiling edited classes one at a time means each compilation sees the other edited classes only through their
+ * prior bytecode, and pays the full compiler setup each time. Instead, callers can {@link #setPendingSource(Workspace,
+ * PendingSource) record pending edits} as they are made, then {@link #recompilePending(Workspace) recompile} all of
+ * them in a single {@link JavacCompiler} invocation. Phantoms are generated once for the whole batch, and the
+ * results are applied to the workspace as a single {@link Bundle#batch(Runnable) batch update} per bundle.
+ *
+ * @author Matt Coley
+ */
+@ApplicationScoped
+public class BatchRecompilationService implements Service {
+	public static final String SERVICE_ID = "batch-recompilation";
+	private static final DebuggingLogger logger = Logging.get(BatchRecompilationService.class);
+	private final Map<Workspace, Map<String, PendingSource>> pendingSources = new ConcurrentHashMap<>();
+	private final JavacCompiler javac;
+	private final JavacCompilerConfig javacConfig;
+	private final BatchRecompilationServiceConfig config;
+
+	@Inject
+	public BatchRecompilationService(@Nonnull WorkspaceManager workspaceManager,
+	                                 @Nonnull JavacCompiler javac,
+	                                 @Nonnull JavacCompilerConfig javacConfig,
+	                                 @Nonnull BatchRecompilationServiceConfig config) {
+		this.javac = javac;
+		this.javacConfig = javacConfig;
+		this.config = config;
+
+		// Pending edits do not outlive the workspace they belong to.
+		workspaceManager.addWorkspaceCloseListener(pendingSources::remove);
+	}
+
+	/**
+	 * Records an edit to the source of a class, to be included in the next {@link #recompilePending(Workspace)}.
+	 * Replaces any prior pending edit of the same class.
+	 *
+	 * @param workspace
+	 * 		Workspace containing the class.
+	 * @param pending
+	 * 		Pending edit to record.
+	 */
+	public void setPendingSource(@Nonnull Workspace workspace, @Nonnull PendingSource pending) {
+		pendingSources.computeIfAbsent(workspace, w -> new ConcurrentHashMap<>()).put(pending.name(), pending);
+	}
+
+	/**
+	 * @param workspace
+	 * 		Workspace containing the class.
+	 * @param className
+	 * 		Name of class to drop the pending edit of.
+	 */
+	public void clearPendingSource(@Nonnull Workspace workspace, @Nonnull String className) {
+		Map<String, PendingSource> map = pendingSources.get(workspace);
+		if (map != null)
+			map.remove(className);
+	}
+
+	/**
+	 * @param workspace
+	 * 		Workspace to check.
+	 *
+	 * @return Snapshot of pending edits in the workspace, keyed by class name.
+	 */
+	@Nonnull
+	public Map<String, PendingSource> getPendingSources(@Nonnull Workspace workspace) {
+		Map<String, PendingSource> map = pendingSources.get(workspace);
+		if (map == null)
+			return Collections.emptyMap();
+		return Map.copyOf(map);
+	}
+
+	/**
+	 * Recompiles all {@link #getPendingSources(Workspace) pending edits} in the workspace together.
+	 * When successful, the pending edits which were applied are cleared.
+	 *
+	 * @param workspace
+	 * 		Workspace to recompile pending edits of.
+	 *
+	 * @return Result of the batch recompilation.
+	 */
+	@Nonnull
+	public BatchRecompilationResult recompilePending(@Nonnull Workspace workspace) {
+		Map<String, PendingSource> snapshot = getPendingSources(workspace);
+		if (snapshot.isEmpty())
+			return failed(new IllegalStateException("No pending source edits to recompile"));
+
+		BatchRecompilationResult result = recompile(workspace, snapshot.values());
+		if (result.wasSuccess()) {
+			// Only clear edits that were not replaced while we were compiling.
+			Map<String, PendingSource> map = pendingSources.get(workspace);
+			if (map != null)
+				snapshot.forEach((name, source) -> map.computeIfPresent(name, (n, current) -> current == source ? null : current));
+		}
+		return result;
+	}
+
+	/**
+	 * Compiles the given sources in a single compiler invocation, and applies the results to the workspace.
+	 * If any of the sources fail to compile, the workspace is not modified.
+	 *
+	 * @param workspace
+	 * 		Workspace containing the classes.
+	 * @param sources
+	 * 		Sources of classes to recompile.
+	 *
+	 * @return Result of the batch recompilation.
+	 */
+	@Nonnull
+	public BatchRecompilationResult recompile(@Nonnull Workspace workspace, @Nonnull Collection<PendingSource> sources) {
+		if (sources.isEmpty())
+			return failed(new IllegalStateException("No sources to recompile"));
+
+		// Order sources by name so that the primary class of the compilation is consistent.
+		Map<String, PendingSource> sourceMap = new LinkedHashMap<>();
+		sources.stream()
+				.sorted((a, b) -> a.name().compareTo(b.name()))
+				.forEach(source -> sourceMap.put(source.name(), source));
+		Map<String, String> classSources = new LinkedHashMap<>();
+		sourceMap.forEach((name, source) -> classSources.put(name, source.source()));
+
+		// Compile everything together, so each class sees the others by their new source rather than by their old bytecode.
+		boolean debug = config.getEmitDebug().getValue();
+		JavacArguments arguments = new JavacArgumentsBuilder()
+				.withClassSources(classSources)
+				.withVersionTarget(targetVersion(sourceMap.values()))
+				.withDownsampleTarget(javacConfig.getDefaultDownsampleTargetVersion().getValue())
+				.withDebugVariables(debug)
+				.withDebugSourceName(debug)
+				.withDebugLineNumbers(debug)
+				.build();
+		Map<String, List<CompilerDiagnostic>> diagnostics = new HashMap<>();
+		CompilerResult compilerResult = javac.compile(arguments, workspace, null, createDiagnosticListener(diagnostics));
+		if (!compilerResult.wasSuccess()) {
+			logger.debugging(l -> l.warn("Batch recompilation of {} classes failed", sourceMap.size()));
+			return new BatchRecompilationResult(compilerResult, diagnostics, Collections.emptySet());
+		}
+
+		// Renaming is not allowed, as references to the old names elsewhere in the workspace would not be updated.
+		CompileMap compilations = compilerResult.getCompilations();
+		for (String name : sourceMap.keySet())
+			if (!compilations.containsKey(name))
+				return failed(new IllegalStateException("Class '" + name + "' missing from compilation output, " +
+						"classes should only be renamed via mapping operations"));
+
+		// Map compiled classes to updated class models, adapting from existing models where possible.
+		Map<JvmClassBundle, List<JvmClassInfo>> updates = new IdentityHashMap<>();
+		compilations.forEach((name, bytecode) -> {
+			PendingSource owner = findOwner(sourceMap, name);
+			JvmClassBundle bundle = owner.bundle();
+			JvmClassInfo existing = name.equals(owner.name()) ? owner.classInfo() : bundle.get(name);
+			JvmClassInfo updated = existing == null ?
+					new JvmClassInfoBuilder(bytecode).build() :
+					existing.toJvmClassBuilder().adaptFrom(bytecode).build();
+
+			// Record the source we compiled with, so that if the class is decompiled later it can be shown as-is.
+			Decompiler decompiler = owner.decompiler();
+			if (decompiler != null && name.equals(owner.name()))
+				CachedDecompileProperty.set(updated, decompiler,
+						new DecompileResult(owner.source(), decompiler.getConfig().getHash()));
+			updates.computeIfAbsent(bundle, b -> new ArrayList<>()).add(updated);
+		});
+
+		// Apply all updates as one batch, so listeners see a single coalesced change.
+		Set<String> updatedClasses = new TreeSet<>();
+		Bundle.batch(updates.keySet(), () -> updates.forEach((bundle, classes) -> {
+			for (JvmClassInfo updated : classes) {
+				bundle.put(updated);
+				updatedClasses.add(updated.getName());
+			}
+		}));
+		logger.debugging(l -> l.info("Batch recompilation updated {} classes", updatedClasses.size()));
+		return new BatchRecompilationResult(compilerResult, diagnostics, Collections.unmodifiableSet(updatedClasses));
+	}
+
+	/**
+	 * @param sources
+	 * 		Sources being recompiled.
+	 *
+	 * @return Java version to target. Uses the configured default if set, otherwise the highest version of the
+	 * classes being recompiled, so that no class is compiled to a lower version than it was before.
+	 */
+	private int targetVersion(@Nonnull Collection<PendingSource> sources) {
+		int version = javacConfig.getDefaultTargetVersion().getValue();
+		if (version >= 0)
+			return version;
+		int max = sources.stream().mapToInt(source -> source.classInfo().getVersion()).max().orElse(JavaVersion.VERSION_OFFSET);
+		return JavaVersion.adaptFromClassFileVersion(max);
+	}
+
+	/**
+	 * @param sourceMap
+	 * 		Sources being recompiled.
+	 * @param name
+	 * 		Name of a compiled class.
+	 *
+	 * @return Source the class was compiled from. For inner classes this is the source of the outermost class
+	 * being recompiled. Other classes, such as additional top-level classes in a source file, are attributed
+	 * to the first source, which is the most sensible we can do without further information.
+	 */
+	@Nonnull
+	private static PendingSource findOwner(@Nonnull Map<String, PendingSource> sourceMap, @Nonnull String name) {
+		PendingSource source = sourceMap.get(name);
+		if (source != null)
+			return source;
+		PendingSource owner = null;
+		for (PendingSource candidate : sourceMap.values())
+			if (name.startsWith(candidate.name() + '$') &&
+					(owner == null || candidate.name().length() > owner.name().length()))
+				owner = candidate;
+		if (owner != null)
+			return owner;
+		for (PendingSource candidate : sourceMap.values())
+			if (candidate.bundle().containsKey(name))
+				return candidate;
+		return sourceMap.values().iterator().next();
+	}
+
+	/**
+	 * @param diagnostics
+	 * 		Map to record diagnostics into.
+	 *
+	 * @return Listener recording errors, keyed by the name of the class whose source they apply to.
+	 */
+	@Nonnull
+	private static JavacListener createDiagnosticListener(@Nonnull Map<String, List<CompilerDiagnostic>> diagnostics) {
+		return diagnostic -> {
+			if (diagnostic.getKind() != Diagnostic.Kind.ERROR)
+				return;
+			JavaFileObject source = diagnostic.getSource();
+			String name = source == null ? "" : sourceName(source);
+			CompilerDiagnostic mapped = new CompilerDiagnostic(
+					(int) diagnostic.getLineNumber(),
+					(int) diagnostic.getColumnNumber(),
+					(int) diagnostic.getEndPosition() - (int) diagnostic.getPosition(),
+					diagnostic.getMessage(Locale.getDefault()),
+					CompilerDiagnostic.Level.ERROR);
+			synchronized (diagnostics) {
+				diagnostics.computeIfAbsent(name, n -> new ArrayList<>()).add(mapped);
+			}
+		};
+	}
+
+	/**
+	 * @param source
+	 * 		Source file object.
+	 *
+	 * @return Class name of the source.
+	 *
+	 * @see VirtualJavaFileObject
+	 */
+	@Nonnull
+	private static String sourceName(@Nonnull JavaFileObject source) {
+		String path = source.toUri().getPath();
+		if (path == null)
+			return source.getName();
+		if (path.startsWith("/"))
+			path = path.substring(1);
+		String extension = JavaFileObject.Kind.SOURCE.extension;
+		if (path.endsWith(extension))
+			path = path.substring(0, path.length() - extension.length());
+		return path;
+	}
+
+	@Nonnull
+	private static BatchRecompilationResult failed(@Nonnull Throwable t) {
+		return new BatchRecompilationResult(new CompilerResult(t), Collections.emptyMap(), Collections.emptySet());
+	}
+
+	@Nonnull
+	@Override
+	public String getServiceId() {
+		return SERVICE_ID;
+	}
+
+	@Nonnull
+	@Override
+	public BatchRecompilationServiceConfig getServiceConfig() {
+		return config;
+	}
+
+	/**
+	 * @param bundle
+	 * 		Bundle containing the class.
+	 * @param classInfo
+	 * 		Class the source is for.
+	 * @param source
+	 * 		Edited source of the class.
+	 * @param decompiler
+	 * 		Optional decompiler the source originated from.
+	 * 		When provided, the source is recorded as the class's cached decompilation once recompiled.
+	 */
+	public record PendingSource(@Nonnull JvmClassBundle bundle,
+	                            @Nonnull JvmClassInfo classInfo,
+	                            @Nonnull String source,
+	                            @Nullable Decompiler decompiler) {
+		/**
+		 * @return Name of the class the source is for.
+		 */
+		@Nonnull
+		public String name() {
+			return classInfo.getName();
+		}
+	}
+}
@@ -0,0 +1,34 @@
+package software.coley.recaf.services.compile;
+
+import jakarta.annotation.Nonnull;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import software.coley.observables.ObservableBoolean;
+import software.coley.recaf.config.BasicConfigContainer;
+import software.coley.recaf.config.BasicConfigValue;
+import software.coley.recaf.config.ConfigGroups;
+import software.coley.recaf.services.ServiceConfig;
+
+/**
+ * Config for {@link BatchRecompilationService}.
+ *
+ * @author Matt Coley
+ */
+@ApplicationScoped
+public class BatchRecompilationServiceConfig extends BasicConfigContainer implements ServiceConfig {
+	private final ObservableBoolean emitDebug = new ObservableBoolean(true);
+
+	@Inject
+	public BatchRecompilationServiceConfig() {
+		super(ConfigGroups.SERVICE_COMPILE, BatchRecompilationService.SERVICE_ID + CONFIG_SUFFIX);
+		addValue(new BasicConfigValue<>("emit-debug", boolean.class, emitDebug));
+	}
+
+	/**
+	 * @return {@code true} to include debug info in classes compiled as part of a batch.
+	 */
+	@Nonnull
+	public ObservableBoolean getEmitDebug() {
+		return emitDebug;
+	}
+}
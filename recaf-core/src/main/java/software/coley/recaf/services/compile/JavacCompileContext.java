@@ -0,0 +1,206 @@
+package software.coley.recaf.services.compile;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import software.coley.recaf.analytics.logging.DebuggingLogger;
+import software.coley.recaf.analytics.logging.Logging;
+import software.coley.recaf.info.Info;
+import software.coley.recaf.info.JvmClassInfo;
+import software.coley.recaf.services.phantom.GeneratedPhantomWorkspaceResource;
+import software.coley.recaf.workspace.model.Workspace;
+
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Compilation state for a workspace which is kept between calls to {@link JavacCompiler}, so that repeated
+ * compilations against the same workspace do not pay the setup costs each time.
+ * <ul>
+ *     <li>The standard file manager, which holds open the archives of the classpath and platform.</li>
+ *     <li>The {@link VirtualClasspathIndex index} of workspace classes by package.</li>
+ *     <li>Phantoms generated for the classes being compiled, keyed by the content of those classes.</li>
+ * </ul>
+ * The standard file manager is not thread safe, so only one compilation at a time can use it.
+ * Concurrent compilations use their own file manager instead.
+ *
+ * @author Matt Coley
+ */
+public class JavacCompileContext {
+	private static final DebuggingLogger logger = Logging.get(JavacCompileContext.class);
+	private static final int MAX_CACHED_PHANTOMS = 64;
+	private final Map<String, CachedPhantoms> phantoms = new LinkedHashMap<>(16, 0.75F, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, CachedPhantoms> eldest) {
+			return size() > MAX_CACHED_PHANTOMS;
+		}
+	};
+	private final ReentrantLock fileManagerLock = new ReentrantLock();
+	private final VirtualClasspathIndex classpathIndex;
+	private final Workspace workspace;
+	private StandardJavaFileManager fileManager;
+	private boolean closed;
+
+	/**
+	 * @param workspace
+	 * 		Workspace to compile against.
+	 */
+	public JavacCompileContext(@Nonnull Workspace workspace) {
+		this.workspace = workspace;
+		classpathIndex = new VirtualClasspathIndex(workspace);
+		classpathIndex.install();
+	}
+
+	/**
+	 * @return Workspace the context compiles against.
+	 */
+	@Nonnull
+	public Workspace getWorkspace() {
+		return workspace;
+	}
+
+	/**
+	 * @return Index of workspace classes, for listing the virtual classpath.
+	 */
+	@Nonnull
+	public VirtualClasspathIndex getClasspathIndex() {
+		return classpathIndex;
+	}
+
+	/**
+	 * @param classes
+	 * 		Classes scanned for phantom generation.
+	 *
+	 * @return Key for the phantoms generated from the given classes.
+	 */
+	@Nonnull
+	public static String phantomKey(@Nonnull Collection<JvmClassInfo> classes) {
+		Hasher hasher = Hashing.sha256().newHasher();
+		classes.stream().sorted(Comparator.comparing(Info::getName)).forEach(classInfo -> {
+			hasher.putString(classInfo.getName(), StandardCharsets.UTF_8);
+			hasher.putBytes(classInfo.getBytecode());
+		});
+		return hasher.hash().toString();
+	}
+
+	/**
+	 * @param key
+	 * 		Key from {@link #phantomKey(Collection)}.
+	 *
+	 * @return Phantoms previously generated for the key, or {@code null} if there are none,
+	 * or if classes have since been added to or removed from the workspace.
+	 */
+	@Nullable
+	public GeneratedPhantomWorkspaceResource getPhantoms(@Nonnull String key) {
+		synchronized (phantoms) {
+			CachedPhantoms cached = phantoms.get(key);
+			if (cached == null)
+				return null;
+
+			// Which classes are in the workspace decides which references need phantoms,
+			// so results from before an addition or removal cannot be used.
+			if (cached.generation() != classpathIndex.getGeneration()) {
+				phantoms.remove(key);
+				return null;
+			}
+			return cached.resource();
+		}
+	}
+
+	/**
+	 * @param key
+	 * 		Key from {@link #phantomKey(Collection)}.
+	 * @param generation
+	 * 		{@link VirtualClasspathIndex#getGeneration() Index generation} from before the phantoms were generated.
+	 * @param resource
+	 * 		Generated phantoms to cache.
+	 */
+	public void putPhantoms(@Nonnull String key, long generation, @Nonnull GeneratedPhantomWorkspaceResource resource) {
+		// Skip recording results generated while the workspace was changing.
+		if (generation != classpathIndex.getGeneration())
+			return;
+		synchronized (phantoms) {
+			phantoms.put(key, new CachedPhantoms(generation, resource));
+		}
+	}
+
+	/**
+	 * Must be paired with a call to {@link #releaseFileManager()} when the result is not {@code null}.
+	 *
+	 * @param compiler
+	 * 		Compiler to create the file manager with, if one has not yet been created.
+	 *
+	 * @return Shared file manager, or {@code null} if it is in use by another compilation.
+	 */
+	@Nullable
+	public StandardJavaFileManager tryAcquireFileManager(@Nonnull JavaCompiler compiler) {
+		if (!fileManagerLock.tryLock())
+			return null;
+		if (closed) {
+			fileManagerLock.unlock();
+			return null;
+		}
+		if (fileManager == null)
+			fileManager = compiler.getStandardFileManager(null, Locale.getDefault(), UTF_8);
+
+		// Locations from prior compilations' options are held by the manager, so reset the classpath to the default.
+		// If the next compilation specifies a classpath, javac will set it from the options.
+		try {
+			fileManager.setLocation(StandardLocation.CLASS_PATH, null);
+		} catch (IOException ex) {
+			logger.warn("Failed to reset compiler classpath, creating a new file manager", ex);
+			closeFileManager();
+			fileManager = compiler.getStandardFileManager(null, Locale.getDefault(), UTF_8);
+		}
+		return fileManager;
+	}
+
+	/**
+	 * Releases the file manager acquired by {@link #tryAcquireFileManager(JavaCompiler)}.
+	 */
+	public void releaseFileManager() {
+		fileManagerLock.unlock();
+	}
+
+	/**
+	 * Drops all cached state, and stops tracking changes to the workspace.
+	 */
+	public void close() {
+		classpathIndex.uninstall();
+		synchronized (phantoms) {
+			phantoms.clear();
+		}
+		fileManagerLock.lock();
+		try {
+			closed = true;
+			closeFileManager();
+		} finally {
+			fileManagerLock.unlock();
+		}
+	}
+
+	private void closeFileManager() {
+		if (fileManager == null)
+			return;
+		try {
+			fileManager.close();
+		} catch (IOException ex) {
+			logger.warn("Failed to close compiler file manager", ex);
+		}
+		fileManager = null;
+	}
+
+	private record CachedPhantoms(long generation, @Nonnull GeneratedPhantomWorkspaceResource resource) {}
+}
@@ -12,6 +12,7 @@
 import software.coley.recaf.services.phantom.GeneratedPhantomWorkspaceResource;
 import software.coley.recaf.services.phantom.PhantomGenerationException;
 import software.coley.recaf.services.phantom.PhantomGenerator;
+import software.coley.recaf.services.workspace.WorkspaceManager;
 import software.coley.recaf.util.ReflectUtil;
 import software.coley.recaf.workspace.model.Workspace;
 import software.coley.recaf.workspace.model.resource.WorkspaceResource;
@@ -20,6 +21,7 @@
 import javax.tools.JavaCompiler;
 import javax.tools.JavaFileManager;
 import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
 import javax.tools.ToolProvider;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
@@ -52,14 +54,22 @@ public class JavacCompiler implements Service {
 	private final PhantomGenerator phantomGenerator;
 	private final CompileClasspathCache classpathCache;
 	private final JavacCompilerConfig config;
+	private JavacCompileContext context;
 
 	@Inject
-	public JavacCompiler(@Nonnull PhantomGenerator phantomGenerator,
+	public JavacCompiler(@Nonnull WorkspaceManager workspaceManager,
+	                     @Nonnull PhantomGenerator phantomGenerator,
 						 @Nonnull CompileClasspathCache classpathCache,
 	                     @Nonnull JavacCompilerConfig config) {
 		this.phantomGenerator = phantomGenerator;
 		this.classpathCache = classpathCache;
 		this.config = config;
+
+		// Drop the reusable context of workspaces when they are closed, or when reuse is disabled.
+		workspaceManager.addWorkspaceCloseListener(this::closeContext);
+		config.getReuseContext().addChangeListener((ob, old, cur) -> {
+			if (!cur) closeContext(null);
+		});
 	}
 
 	/**
@@ -110,9 +120,17 @@ public CompilerResult compile(@Nonnull JavacArguments arguments,
 		VirtualUnitMap unitMap = new VirtualUnitMap();
 		classSources.forEach(unitMap::addSource);
 
-		// Create a file manager to track files in-memory rather than on-disk
-		List<WorkspaceResource> virtualClassPath = workspace == null ?
-				Collections.emptyList() : workspace.getAllResources(true);
+		// Create a file manager to track files in-memory rather than on-disk.
+		// When we have a reusable context, the workspace's own resources are covered by its classpath index,
+		// leaving only the internal resources to be included directly.
+		JavacCompileContext compileContext = workspace != null && config.getReuseContext().getValue() ? getContext(workspace) : null;
+		List<WorkspaceResource> virtualClassPath;
+		if (workspace == null)
+			virtualClassPath = Collections.emptyList();
+		else if (compileContext != null)
+			virtualClassPath = workspace.getInternalSupportingResources();
+		else
+			virtualClassPath = workspace.getAllResources(true);
 		if (supplementaryResources != null)
 			virtualClassPath = Lists.combine(virtualClassPath, supplementaryResources);
 
@@ -127,12 +145,10 @@ public CompilerResult compile(@Nonnull JavacArguments arguments,
 					.collect(Collectors.toList());
 			if (!classesToScan.isEmpty()) {
 				try {
-					WorkspaceResource phantomResource = phantomGenerator.createPhantomsForClasses(workspace, classesToScan);
+					WorkspaceResource phantomResource = getPhantoms(compileContext, workspace, classesToScan);
 					int generatedCount = phantomResource.getJvmClassBundle().size();
-					if (generatedCount > 0) {
-						logger.debug("Generated {} phantoms for pre-compile", generatedCount);
+					if (generatedCount > 0)
 						virtualClassPath = Lists.add(virtualClassPath, phantomResource);
-					}
 				} catch (PhantomGenerationException ex) {
 					logger.warn("Failed to generate phantoms for compilation against '{}'", className, ex);
 				}
@@ -141,10 +157,13 @@ public CompilerResult compile(@Nonnull JavacArguments arguments,
 
 		List<CompilerDiagnostic> diagnostics = new ArrayList<>();
 		JavacListener listenerWrapper = createRecordingListener(listener, diagnostics);
-		JavaFileManager fmFallback = compiler.getStandardFileManager(listenerWrapper, Locale.getDefault(), UTF_8);
+		StandardJavaFileManager sharedFm = compileContext == null ? null : compileContext.tryAcquireFileManager(compiler);
+		JavaFileManager fmFallback = sharedFm != null ? sharedFm :
+				compiler.getStandardFileManager(listenerWrapper, Locale.getDefault(), UTF_8);
 		String cp = arguments.getClassPath();
 		int target = arguments.getVersionTarget();
-		JavaFileManager fm = new VirtualFileManager(classpathCache, unitMap, virtualClassPath, fmFallback, cp, target);
+		JavaFileManager fm = new VirtualFileManager(classpathCache, unitMap,
+				compileContext == null ? null : compileContext.getClasspathIndex(), virtualClassPath, fmFallback, cp, target);
 
 		// Populate arguments
 		List<String> args = new ArrayList<>();
@@ -185,6 +204,84 @@ else if (downsampleTarget >= 0)
 		} catch (RuntimeException ex) {
 			logger.debugging(l -> l.error("Compilation of '{}' crashed", className, ex));
 			return new CompilerResult(ex);
+		} finally {
+			if (sharedFm != null)
+				compileContext.releaseFileManager();
+		}
+	}
+
+	/**
+	 * @param compileContext
+	 * 		Optional context to cache generated phantoms in.
+	 * @param workspace
+	 * 		Workspace to compile against.
+	 * @param classesToScan
+	 * 		Classes to generate phantoms for.
+	 *
+	 * @return Resource containing generated phantoms.
+	 * When the context has phantoms for the same classes, those are returned without running any analysis.
+	 *
+	 * @throws PhantomGenerationException
+	 * 		When generating phantoms failed.
+	 */
+	@Nonnull
+	private GeneratedPhantomWorkspaceResource getPhantoms(@Nullable JavacCompileContext compileContext,
+	                                                      @Nonnull Workspace workspace,
+	                                                      @Nonnull List<JvmClassInfo> classesToScan) throws PhantomGenerationException {
+		if (compileContext == null)
+			return generatePhantoms(workspace, classesToScan);
+
+		String key = JavacCompileContext.phantomKey(classesToScan);
+		GeneratedPhantomWorkspaceResource phantomResource = compileContext.getPhantoms(key);
+		if (phantomResource != null) {
+			logger.debugging(l -> l.debug("Reusing {} phantoms for pre-compile", phantomResource.getJvmClassBundle().size()));
+			return phantomResource;
+		}
+		long generation = compileContext.getClasspathIndex().getGeneration();
+		GeneratedPhantomWorkspaceResource generated = generatePhantoms(workspace, classesToScan);
+		compileContext.putPhantoms(key, generation, generated);
+		return generated;
+	}
+
+	@Nonnull
+	private GeneratedPhantomWorkspaceResource generatePhantoms(@Nonnull Workspace workspace,
+	                                                           @Nonnull List<JvmClassInfo> classesToScan) throws PhantomGenerationException {
+		GeneratedPhantomWorkspaceResource phantomResource = phantomGenerator.createPhantomsForClasses(workspace, classesToScan);
+		int generatedCount = phantomResource.getJvmClassBundle().size();
+		if (generatedCount > 0)
+			logger.debug("Generated {} phantoms for pre-compile", generatedCount);
+		return phantomResource;
+	}
+
+	/**
+	 * @param workspace
+	 * 		Workspace to compile against.
+	 *
+	 * @return Reusable compilation context for the workspace.
+	 */
+	@Nonnull
+	private synchronized JavacCompileContext getContext(@Nonnull Workspace workspace) {
+		JavacCompileContext current = context;
+		if (current != null && current.getWorkspace() == workspace)
+			return current;
+
+		// Only one context is kept at a time, as typically only one workspace is compiled against.
+		if (current != null)
+			current.close();
+		current = new JavacCompileContext(workspace);
+		context = current;
+		return current;
+	}
+
+	/**
+	 * @param workspace
+	 * 		Workspace to close the context of, or {@code null} to close any context.
+	 */
+	private synchronized void closeContext(@Nullable Workspace workspace) {
+		JavacCompileContext current = context;
+		if (current != null && (workspace == null || current.getWorkspace() == workspace)) {
+			current.close();
+			context = null;
 		}
 	}
 
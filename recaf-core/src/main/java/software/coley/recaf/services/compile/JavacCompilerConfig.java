@@ -23,6 +23,7 @@
 @ApplicationScoped
 public class JavacCompilerConfig extends BasicConfigContainer implements ServiceConfig {
 	private final ObservableBoolean generatePhantoms = new ObservableBoolean(true);
+	private final ObservableBoolean reuseContext = new ObservableBoolean(true);
 	private final ObservableBoolean defaultEmitDebug = new ObservableBoolean(true);
 	private final ObservableInteger defaultTargetVersion = new ObservableInteger(-1);
 	private final ObservableInteger defaultDownsampleTargetVersion = new ObservableInteger(-1);
@@ -31,6 +32,7 @@ public class JavacCompilerConfig extends BasicConfigContainer implements Service
 	public JavacCompilerConfig() {
 		super(ConfigGroups.SERVICE_COMPILE, JavacCompiler.SERVICE_ID + CONFIG_SUFFIX);
 		addValue(new BasicConfigValue<>("generate-phantoms", boolean.class, generatePhantoms));
+		addValue(new BasicConfigValue<>("reuse-context", boolean.class, reuseContext));
 		addValue(new BasicConfigValue<>("default-emit-debug", boolean.class, defaultEmitDebug));
 		addValue(new BasicConfigValue<>("default-compile-target-version", int.class, defaultTargetVersion));
 		addValue(new BasicConfigValue<>("default-downsample-target-version", int.class, defaultDownsampleTargetVersion));
@@ -48,6 +50,15 @@ public ObservableBoolean getGeneratePhantoms() {
 		return generatePhantoms;
 	}
 
+	/**
+	 * @return {@code true} to keep compilation state such as the file manager and classpath index between
+	 * compilations against the same workspace. See {@link JavacCompileContext}.
+	 */
+	@Nonnull
+	public ObservableBoolean getReuseContext() {
+		return reuseContext;
+	}
+
 	/**
 	 * Not enforced internally by {@link JavacCompiler}.
 	 * Callers should check this value and ensure to call {@link JavacArgumentsBuilder#withDebugVariables(boolean)}
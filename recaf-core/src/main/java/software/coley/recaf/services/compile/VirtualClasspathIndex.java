@@ -0,0 +1,228 @@
+package software.coley.recaf.services.compile;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import software.coley.recaf.info.JvmClassInfo;
+import software.coley.recaf.workspace.model.Workspace;
+import software.coley.recaf.workspace.model.WorkspaceModificationListener;
+import software.coley.recaf.workspace.model.bundle.BundleChangeSet;
+import software.coley.recaf.workspace.model.bundle.JvmClassBundle;
+import software.coley.recaf.workspace.model.resource.ResourceJvmClassListener;
+import software.coley.recaf.workspace.model.resource.WorkspaceResource;
+
+import javax.tools.JavaFileObject;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Index of the classes in a workspace by package, for listing the virtual classpath in {@link VirtualFileManager}.
+ * <p>
+ * Without an index, each listing of a package must visit every class in the workspace, and {@code javac} lists
+ * many packages per compilation. Entries refer to the bundle holding a class rather than the class itself,
+ * so updates to existing classes are seen without any changes to the index. Additions and removals are tracked with
+ * resource listeners, and the whole index is dropped when libraries are added to or removed from the workspace.
+ * <p>
+ * Internal resources are not indexed, as they are not observable.
+ *
+ * @author Matt Coley
+ */
+public class VirtualClasspathIndex {
+	private final AtomicLong generation = new AtomicLong();
+	private final ListenerHost host = new ListenerHost();
+	private final Workspace workspace;
+	private volatile Map<String, List<Entry>> packages;
+
+	/**
+	 * @param workspace
+	 * 		Workspace to index.
+	 */
+	public VirtualClasspathIndex(@Nonnull Workspace workspace) {
+		this.workspace = workspace;
+	}
+
+	/**
+	 * Registers listeners on the workspace so that the index tracks changes to it.
+	 */
+	public void install() {
+		workspace.addWorkspaceModificationListener(host);
+		for (WorkspaceResource resource : workspace.getAllResources(false))
+			resource.addResourceJvmClassListener(host);
+	}
+
+	/**
+	 * Removes listeners from the workspace and drops the index.
+	 */
+	public void uninstall() {
+		workspace.removeWorkspaceModificationListener(host);
+		for (WorkspaceResource resource : workspace.getAllResources(false))
+			resource.removeResourceJvmClassListener(host);
+		invalidate();
+	}
+
+	/**
+	 * @param packageName
+	 * 		Package name to list, in the dot-separated format used by {@code javac}.
+	 * @param recurse
+	 *        {@code true} to include subpackages.
+	 *
+	 * @return Class files in the workspace within the given package, in order of resource precedence.
+	 */
+	@Nonnull
+	public Stream<JavaFileObject> list(@Nonnull String packageName, boolean recurse) {
+		Map<String, List<Entry>> map = getPackages();
+		String formatted = packageName.isEmpty() ? "" : packageName.replace('.', '/') + '/';
+		Stream<Entry> entries;
+		if (recurse) {
+			entries = map.entrySet().stream()
+					.filter(e -> e.getKey().startsWith(formatted))
+					.flatMap(e -> e.getValue().stream());
+		} else {
+			entries = map.getOrDefault(formatted, List.of()).stream();
+		}
+		return entries.map(Entry::toFileObject).filter(Objects::nonNull);
+	}
+
+	/**
+	 * The generation changes whenever classes are added to or removed from the workspace. Updates to existing classes
+	 * do not change the generation, as they do not change which classes are available.
+	 *
+	 * @return Current generation of the index.
+	 */
+	public long getGeneration() {
+		return generation.get();
+	}
+
+	/**
+	 * Drops the index, so that it is rebuilt on the next listing.
+	 */
+	public void invalidate() {
+		generation.incrementAndGet();
+		packages = null;
+	}
+
+	@Nonnull
+	private Map<String, List<Entry>> getPackages() {
+		Map<String, List<Entry>> map = packages;
+		if (map != null)
+			return map;
+		synchronized (this) {
+			map = packages;
+			if (map != null)
+				return map;
+
+			long start = generation.get();
+			map = new ConcurrentHashMap<>();
+			for (WorkspaceResource resource : workspace.getAllResources(false)) {
+				Map<String, List<Entry>> finalMap = map;
+				resource.jvmClassBundleStreamRecursive().forEach(bundle -> {
+					for (String name : bundle.keySet())
+						finalMap.computeIfAbsent(packageOf(name), k -> new CopyOnWriteArrayList<>()).add(new Entry(bundle, name));
+				});
+			}
+
+			// Only record the index if no invalidation happened while we were building it.
+			// Otherwise, we use it for this listing but build a new one next time.
+			if (generation.get() == start)
+				packages = map;
+			return map;
+		}
+	}
+
+	private void add(@Nonnull JvmClassBundle bundle, @Nonnull String name) {
+		generation.incrementAndGet();
+		Map<String, List<Entry>> map = packages;
+		if (map == null)
+			return;
+		Entry entry = new Entry(bundle, name);
+		List<Entry> entries = map.computeIfAbsent(packageOf(name), k -> new CopyOnWriteArrayList<>());
+		if (!entries.contains(entry))
+			entries.add(entry);
+	}
+
+	private void remove(@Nonnull JvmClassBundle bundle, @Nonnull String name) {
+		generation.incrementAndGet();
+		Map<String, List<Entry>> map = packages;
+		if (map == null)
+			return;
+		List<Entry> entries = map.get(packageOf(name));
+		if (entries != null)
+			entries.remove(new Entry(bundle, name));
+	}
+
+	@Nonnull
+	private static String packageOf(@Nonnull String name) {
+		int index = name.lastIndexOf('/');
+		return index < 0 ? "" : name.substring(0, index + 1);
+	}
+
+	/**
+	 * @param bundle
+	 * 		Bundle containing the class.
+	 * @param name
+	 * 		Class name.
+	 */
+	private record Entry(@Nonnull JvmClassBundle bundle, @Nonnull String name) {
+		@Nullable
+		JavaFileObject toFileObject() {
+			JvmClassInfo classInfo = bundle.get(name);
+			if (classInfo == null)
+				return null;
+			return new ResourceVirtualJavaFileObject(name, classInfo.getBytecode(), JavaFileObject.Kind.CLASS);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			// Bundles are compared by identity, as bundle equality compares contents.
+			return o instanceof Entry other && bundle == other.bundle && name.equals(other.name);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * System.identityHashCode(bundle) + name.hashCode();
+		}
+	}
+
+	private class ListenerHost implements WorkspaceModificationListener, ResourceJvmClassListener {
+		@Override
+		public void onAddLibrary(@Nonnull Workspace workspace, @Nonnull WorkspaceResource library) {
+			library.addResourceJvmClassListener(this);
+			invalidate();
+		}
+
+		@Override
+		public void onRemoveLibrary(@Nonnull Workspace workspace, @Nonnull WorkspaceResource library) {
+			library.removeResourceJvmClassListener(this);
+			invalidate();
+		}
+
+		@Override
+		public void onNewClass(@Nonnull WorkspaceResource resource, @Nonnull JvmClassBundle bundle, @Nonnull JvmClassInfo cls) {
+			add(bundle, cls.getName());
+		}
+
+		@Override
+		public void onUpdateClass(@Nonnull WorkspaceResource resource, @Nonnull JvmClassBundle bundle,
+		                          @Nonnull JvmClassInfo oldCls, @Nonnull JvmClassInfo newCls) {
+			// Entries look up classes from their bundle, so the new class is already visible.
+		}
+
+		@Override
+		public void onRemoveClass(@Nonnull WorkspaceResource resource, @Nonnull JvmClassBundle bundle, @Nonnull JvmClassInfo cls) {
+			remove(bundle, cls.getName());
+		}
+
+		@Override
+		public void onBatchUpdate(@Nonnull WorkspaceResource resource, @Nonnull JvmClassBundle bundle,
+		                          @Nonnull BundleChangeSet<JvmClassInfo> changes) {
+			// Large batches such as applying mappings move most classes around, so it is cheaper to rebuild.
+			if (changes.getAdded().isEmpty() && changes.getRemoved().isEmpty())
+				return;
+			invalidate();
+		}
+	}
+}
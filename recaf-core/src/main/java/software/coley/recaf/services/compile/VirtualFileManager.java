@@ -14,6 +14,7 @@
 import java.util.List;
 import java.util.Set;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * File manager extension for handling updates to java file object's output stream.
@@ -24,6 +25,7 @@
 public class VirtualFileManager extends ForwardingJavaFileManager<JavaFileManager> {
 	private final CompileClasspathCache classpathCache;
 	private final VirtualUnitMap unitMap;
+	private final VirtualClasspathIndex classpathIndex;
 	private final List<WorkspaceResource> virtualClasspath;
 	private final String classPath;
 	private final int versionTarget;
@@ -48,8 +50,35 @@ public VirtualFileManager(@Nonnull CompileClasspathCache classpathCache,
 	                          @Nonnull JavaFileManager fallback,
 	                          @Nullable String classPath,
 	                          int versionTarget) {
+		this(classpathCache, unitMap, null, virtualClasspath, fallback, classPath, versionTarget);
+	}
+
+	/**
+	 * @param classpathCache
+	 * 		Cache for fallback classpath listings.
+	 * @param unitMap
+	 * 		Class input map.
+	 * @param classpathIndex
+	 * 		Optional index of workspace classes to include in the in-memory classpath.
+	 * @param virtualClasspath
+	 * 		In-memory classpath, for resources not covered by the index.
+	 * @param fallback
+	 * 		Fallback manager.
+	 * @param classPath
+	 * 		Compiler classpath, used to distinguish cached fallback results from other compilations.
+	 * @param versionTarget
+	 * 		Compiler target release, used to distinguish multi-release classpath results.
+	 */
+	public VirtualFileManager(@Nonnull CompileClasspathCache classpathCache,
+	                          @Nonnull VirtualUnitMap unitMap,
+	                          @Nullable VirtualClasspathIndex classpathIndex,
+	                          @Nonnull List<WorkspaceResource> virtualClasspath,
+	                          @Nonnull JavaFileManager fallback,
+	                          @Nullable String classPath,
+	                          int versionTarget) {
 		super(fallback);
 		this.classpathCache = classpathCache;
+		this.classpathIndex = classpathIndex;
 		this.virtualClasspath = virtualClasspath;
 		this.unitMap = unitMap;
 		this.classPath = classPath;
@@ -73,12 +102,16 @@ public Iterable<JavaFileObject> list(@Nonnull Location location, @Nonnull String
 				check = name -> name.startsWith(formatted) &&
 						name.indexOf('/', formatted.length()) == -1;
 			}
-			return () -> new ClassPathIterator(list.iterator(), virtualClasspath.stream()
-					.flatMap(resource -> resource.jvmClassBundleStreamRecursive().flatMap(b -> b.entrySet().stream()))
-					.filter(entry -> check.test(entry.getKey()))
-					.<JavaFileObject>map(entry -> new ResourceVirtualJavaFileObject(entry.getKey(),
-							entry.getValue().getBytecode(), JavaFileObject.Kind.CLASS))
-					.iterator());
+			return () -> {
+				Stream<JavaFileObject> unindexed = virtualClasspath.stream()
+						.flatMap(resource -> resource.jvmClassBundleStreamRecursive().flatMap(b -> b.entrySet().stream()))
+						.filter(entry -> check.test(entry.getKey()))
+						.<JavaFileObject>map(entry -> new ResourceVirtualJavaFileObject(entry.getKey(),
+								entry.getValue().getBytecode(), JavaFileObject.Kind.CLASS));
+				Stream<JavaFileObject> virtual = classpathIndex == null ?
+						unindexed : Stream.concat(classpathIndex.list(packageName, recurse), unindexed);
+				return new ClassPathIterator(list.iterator(), virtual.iterator());
+			};
 		}
 
 		// Defer to the fallback manager for other locations and kinds.
@@ -59,6 +59,11 @@ public boolean removeOutputTextFilter(@Nonnull OutputTextFilter filter) {
 		return textFilters.remove(filter);
 	}
 
+	@Override
+	public boolean hasOutputTextFilters() {
+		return !textFilters.isEmpty();
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) return true;
@@ -7,7 +7,12 @@
 import software.coley.recaf.workspace.model.Workspace;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
 
 /**
  * Basic setup for {@link JvmDecompiler}.
@@ -39,24 +44,87 @@ public boolean removeJvmBytecodeFilter(@Nonnull JvmBytecodeFilter filter) {
 		return bytecodeFilters.remove(filter);
 	}
 
+	@Override
+	public boolean hasJvmBytecodeFilters() {
+		return !bytecodeFilters.isEmpty();
+	}
+
 	@Nonnull
 	@Override
 	public final DecompileResult decompile(@Nonnull Workspace workspace, @Nonnull JvmClassInfo classInfo) {
+		return decompile(workspace, classInfo, this::decompileInternal);
+	}
+
+	/**
+	 * Decompiles the class with the given implementation in place of {@link #decompileInternal(Workspace, JvmClassInfo)},
+	 * while still applying the filters registered to this decompiler. Used to run this decompiler
+	 * outside the current process.
+	 *
+	 * @param workspace
+	 * 		Workspace to pull data from.
+	 * @param classInfo
+	 * 		Class to decompile.
+	 * @param implementation
+	 * 		Decompilation implementation to pass the filtered class to.
+	 *
+	 * @return Decompilation result.
+	 */
+	@Nonnull
+	public final DecompileResult decompile(@Nonnull Workspace workspace, @Nonnull JvmClassInfo classInfo,
+	                                       @Nonnull BiFunction<Workspace, JvmClassInfo, DecompileResult> implementation) {
 		// Get bytecode and run through filters.
 		JvmClassInfo filteredBytecode = JvmBytecodeFilter.applyFilters(workspace, classInfo, bytecodeFilters);
 
 		// Pass to implementation.
-		DecompileResult result = decompileInternal(workspace, filteredBytecode);
+		DecompileResult result = implementation.apply(workspace, filteredBytecode);
 
 		// Adapt output decompilation if output filters are registered.
-		if (result.getType() == DecompileResult.ResultType.SUCCESS && result.getText() != null && !textFilters.isEmpty()) {
-			String text = result.getText();
-			for (OutputTextFilter filter : textFilters)
-				text = filter.filter(workspace, classInfo, text);
-			result = result.withText(text);
+		return applyTextFilters(workspace, classInfo, result);
+	}
+
+	@Override
+	public final void decompileBatch(@Nonnull Workspace workspace, @Nonnull Collection<JvmClassInfo> classes,
+	                                 @Nonnull BiConsumer<JvmClassInfo, DecompileResult> resultConsumer) {
+		// Get bytecode of all classes and run through filters, keeping track of the original models
+		// so that results are reported against the classes the caller passed to us.
+		Map<JvmClassInfo, JvmClassInfo> filteredToOriginal = new IdentityHashMap<>();
+		List<JvmClassInfo> filteredClasses = new ArrayList<>(classes.size());
+		for (JvmClassInfo classInfo : classes) {
+			JvmClassInfo filteredBytecode = JvmBytecodeFilter.applyFilters(workspace, classInfo, bytecodeFilters);
+			filteredToOriginal.put(filteredBytecode, classInfo);
+			filteredClasses.add(filteredBytecode);
 		}
 
-		return result;
+		// Pass to implementation.
+		decompileBatchInternal(workspace, filteredClasses, (filteredBytecode, result) -> {
+			JvmClassInfo classInfo = filteredToOriginal.getOrDefault(filteredBytecode, filteredBytecode);
+			resultConsumer.accept(classInfo, applyTextFilters(workspace, classInfo, result));
+		});
+	}
+
+	/**
+	 * Takes on the work of {@link #decompileBatch(Workspace, Collection, BiConsumer)} after the {@link #bytecodeFilters}
+	 * have been applied to the classes. The default implementation decompiles each class individually.
+	 * Implementations which can share state between classes should override this.
+	 *
+	 * @param workspace
+	 * 		Workspace to pull data from.
+	 * @param classes
+	 * 		Classes to decompile.
+	 * @param resultConsumer
+	 * 		Consumer to pass each class and its decompilation result to.
+	 */
+	protected void decompileBatchInternal(@Nonnull Workspace workspace, @Nonnull List<JvmClassInfo> classes,
+	                                      @Nonnull BiConsumer<JvmClassInfo, DecompileResult> resultConsumer) {
+		for (JvmClassInfo classInfo : classes) {
+			DecompileResult result;
+			try {
+				result = decompileInternal(workspace, classInfo);
+			} catch (Throwable t) {
+				result = new DecompileResult(t, getConfig().getHash());
+			}
+			resultConsumer.accept(classInfo, result);
+		}
 	}
 
 	/**
@@ -72,6 +140,18 @@ public final DecompileResult decompile(@Nonnull Workspace workspace, @Nonnull Jv
 	@Nonnull
 	protected abstract DecompileResult decompileInternal(@Nonnull Workspace workspace, @Nonnull JvmClassInfo classInfo);
 
+	@Nonnull
+	private DecompileResult applyTextFilters(@Nonnull Workspace workspace, @Nonnull JvmClassInfo classInfo,
+	                                         @Nonnull DecompileResult result) {
+		if (result.getType() == DecompileResult.ResultType.SUCCESS && result.getText() != null && !textFilters.isEmpty()) {
+			String text = result.getText();
+			for (OutputTextFilter filter : textFilters)
+				text = filter.filter(workspace, classInfo, text);
+			result = result.withText(text);
+		}
+		return result;
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) return true;
@@ -0,0 +1,240 @@
+package software.coley.recaf.services.decompile;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import software.coley.recaf.analytics.logging.DebuggingLogger;
+import software.coley.recaf.analytics.logging.Logging;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Persistent content-addressed cache of decompiler output.
+ * <p>
+ * Entries are keyed by a hash of the input bytecode, the bytecode of related classes the decompiler may pull in
+ * <i>(such as inner and nest member classes)</i>, the decompiler name and version, and the decompiler's
+ * {@link DecompilerConfig#getHash() config hash}. Because the key is derived from content rather than the identity
+ * of a class model, identical classes share entries across workspaces and across restarts.
+ * <p>
+ * The total size of the cache is bounded. When the bound is exceeded, the least recently used entries are evicted
+ * until the cache is reduced to {@link #EVICTION_TARGET_RATIO a fraction} of the bound, so that eviction passes
+ * do not happen on every write once the cache is full.
+ *
+ * @author Matt Coley
+ * @see DecompilerManager
+ */
+public class DecompilationDiskCache {
+	private static final DebuggingLogger logger = Logging.get(DecompilationDiskCache.class);
+	private static final String ENTRY_SUFFIX = ".java.gz";
+	private static final double EVICTION_TARGET_RATIO = 0.8;
+	private final Path directory;
+	private long totalSize = -1;
+
+	/**
+	 * @param directory
+	 * 		Directory to store cache entries in.
+	 */
+	public DecompilationDiskCache(@Nonnull Path directory) {
+		this.directory = directory;
+	}
+
+	/**
+	 * @param decompiler
+	 * 		Decompiler used to generate the output.
+	 * @param bytecode
+	 * 		Bytecode passed to the decompiler.
+	 *
+	 * @return Key for the cache entry of the given decompiler output.
+	 */
+	@Nonnull
+	public static String key(@Nonnull Decompiler decompiler, @Nonnull byte[] bytecode) {
+		return key(decompiler, bytecode, Collections.emptySortedMap());
+	}
+
+	/**
+	 * @param decompiler
+	 * 		Decompiler used to generate the output.
+	 * @param bytecode
+	 * 		Bytecode passed to the decompiler.
+	 * @param related
+	 * 		Map of class names to bytecode, of classes that contribute to the decompiler output.
+	 * 		For instance, inner classes are emitted as part of the output of their outer class.
+	 *
+	 * @return Key for the cache entry of the given decompiler output.
+	 */
+	@Nonnull
+	public static String key(@Nonnull Decompiler decompiler, @Nonnull byte[] bytecode,
+	                         @Nonnull SortedMap<String, byte[]> related) {
+		Hasher hasher = Hashing.sha256().newHasher()
+				.putString(decompiler.getName(), StandardCharsets.UTF_8)
+				.putString(decompiler.getVersion(), StandardCharsets.UTF_8)
+				.putInt(decompiler.getConfig().getHash())
+				.putInt(bytecode.length)
+				.putBytes(bytecode);
+		related.forEach((name, relatedBytecode) -> hasher
+				.putString(name, StandardCharsets.UTF_8)
+				.putInt(relatedBytecode.length)
+				.putBytes(relatedBytecode));
+		return hasher.hash().toString();
+	}
+
+	/**
+	 * @param key
+	 * 		Entry key, from {@link #key(Decompiler, byte[])}.
+	 *
+	 * @return Cached decompiler output, or {@code null} if no entry exists for the key.
+	 */
+	@Nullable
+	public String get(@Nonnull String key) {
+		Path path = entryPath(key);
+		try (InputStream in = new GZIPInputStream(Files.newInputStream(path))) {
+			String text = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+
+			// Mark the entry as recently used for eviction ordering.
+			Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+			return text;
+		} catch (NoSuchFileException ignored) {
+			return null;
+		} catch (IOException ex) {
+			logger.warn("Failed to read decompilation cache entry '{}', removing it", key, ex);
+			delete(path);
+			return null;
+		}
+	}
+
+	/**
+	 * @param key
+	 * 		Entry key, from {@link #key(Decompiler, byte[])}.
+	 * @param text
+	 * 		Decompiler output to cache.
+	 * @param maxSize
+	 * 		Maximum size of the cache in bytes. If the entry causes the cache to exceed this size, older entries are evicted.
+	 */
+	public void put(@Nonnull String key, @Nonnull String text, long maxSize) {
+		Path path = entryPath(key);
+		try {
+			Files.createDirectories(path.getParent());
+
+			// Write to a temporary file first, then move it into place so that concurrent readers
+			// never observe a partially written entry.
+			Path temp = Files.createTempFile(path.getParent(), key, ".tmp");
+			long size;
+			try {
+				try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp))) {
+					out.write(text.getBytes(StandardCharsets.UTF_8));
+				}
+				size = Files.size(temp);
+				Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} finally {
+				delete(temp);
+			}
+
+			synchronized (this) {
+				if (totalSize < 0)
+					totalSize = computeSize();
+				else
+					totalSize += size;
+				if (totalSize > maxSize)
+					evict((long) (maxSize * EVICTION_TARGET_RATIO));
+			}
+		} catch (IOException ex) {
+			logger.warn("Failed to write decompilation cache entry '{}'", key, ex);
+		}
+	}
+
+	/**
+	 * Removes all entries from the cache.
+	 */
+	public synchronized void clear() {
+		for (Entry entry : listEntries())
+			delete(entry.path());
+		totalSize = 0;
+	}
+
+	/**
+	 * @return Current size of the cache in bytes.
+	 */
+	public synchronized long size() {
+		if (totalSize < 0)
+			totalSize = computeSize();
+		return totalSize;
+	}
+
+	/**
+	 * Removes the least recently used entries until the cache size is at or below the target size.
+	 *
+	 * @param targetSize
+	 * 		Size in bytes to reduce the cache to.
+	 */
+	private void evict(long targetSize) {
+		List<Entry> entries = listEntries();
+		entries.sort(Comparator.comparing(Entry::lastUsed));
+		long size = entries.stream().mapToLong(Entry::size).sum();
+		for (Entry entry : entries) {
+			if (size <= targetSize)
+				break;
+			if (delete(entry.path()))
+				size -= entry.size();
+		}
+		totalSize = size;
+	}
+
+	private long computeSize() {
+		return listEntries().stream().mapToLong(Entry::size).sum();
+	}
+
+	@Nonnull
+	private List<Entry> listEntries() {
+		List<Entry> entries = new ArrayList<>();
+		if (!Files.isDirectory(directory))
+			return entries;
+		try (Stream<Path> stream = Files.walk(directory, 2)) {
+			stream.filter(p -> p.getFileName().toString().endsWith(ENTRY_SUFFIX)).forEach(p -> {
+				try {
+					BasicFileAttributes attributes = Files.readAttributes(p, BasicFileAttributes.class);
+					entries.add(new Entry(p, attributes.size(), attributes.lastModifiedTime()));
+				} catch (IOException ignored) {
+					// Entry was removed while we were walking the directory.
+				}
+			});
+		} catch (IOException ex) {
+			logger.warn("Failed to list decompilation cache entries", ex);
+		}
+		return entries;
+	}
+
+	@Nonnull
+	private Path entryPath(@Nonnull String key) {
+		// Split entries into sub-directories by key prefix to keep directory sizes reasonable.
+		return directory.resolve(key.substring(0, 2)).resolve(key + ENTRY_SUFFIX);
+	}
+
+	private static boolean delete(@Nonnull Path path) {
+		try {
+			return Files.deleteIfExists(path);
+		} catch (IOException ex) {
+			logger.warn("Failed to delete decompilation cache entry: {}", path, ex);
+			return false;
+		}
+	}
+
+	private record Entry(@Nonnull Path path, long size, @Nonnull FileTime lastUsed) {}
+}
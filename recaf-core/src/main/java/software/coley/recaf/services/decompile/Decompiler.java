@@ -53,4 +53,9 @@ public interface Decompiler {
 	 * {@code false} if the filter was not already registered.
 	 */
 	boolean removeOutputTextFilter(@Nonnull OutputTextFilter filter);
+
+	/**
+	 * @return {@code true} when any filters are registered which operate on the decompiler output.
+	 */
+	boolean hasOutputTextFilters();
 }
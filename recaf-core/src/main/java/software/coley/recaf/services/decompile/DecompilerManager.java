@@ -14,11 +14,16 @@
 import software.coley.recaf.analytics.logging.DebuggingLogger;
 import software.coley.recaf.analytics.logging.Logging;
 import software.coley.recaf.info.AndroidClassInfo;
+import software.coley.recaf.info.InnerClassInfo;
 import software.coley.recaf.info.JvmClassInfo;
 import software.coley.recaf.info.properties.builtin.CachedDecompileProperty;
+import software.coley.recaf.path.ClassPathNode;
 import software.coley.recaf.services.Service;
 import software.coley.recaf.services.decompile.filter.JvmBytecodeFilter;
 import software.coley.recaf.services.decompile.filter.OutputTextFilter;
+import software.coley.recaf.services.decompile.worker.DecompilerWorkerPool;
+import software.coley.recaf.services.file.RecafDirectoriesConfig;
+import software.coley.recaf.services.json.GsonProvider;
 import software.coley.recaf.util.threading.ThreadPoolFactory;
 import software.coley.recaf.util.visitors.BogusNameRemovingVisitor;
 import software.coley.recaf.util.visitors.ClassHollowingVisitor;
@@ -30,15 +35,24 @@
 import software.coley.recaf.util.visitors.SyntheticRemovingVisitor;
 import software.coley.recaf.workspace.model.Workspace;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.SortedMap;
+import java.util.SortedSet;
 import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
 
 /**
  * Manager of multiple {@link Decompiler} instances.
@@ -53,10 +67,14 @@ public class DecompilerManager implements Service {
 	private static final NoopAndroidDecompiler NO_OP_ANDROID = NoopAndroidDecompiler.getInstance();
 	private final JvmBytecodeFilter layeredJvmFilter = new LayeredJvmBytecodeFilter();
 	private final ExecutorService decompileThreadPool = ThreadPoolFactory.newFixedThreadPool(SERVICE_ID);
+	private final ExecutorService prefetchThreadPool = ThreadPoolFactory.newSingleThreadExecutor(SERVICE_ID + "-prefetch");
+	private final AtomicLong foregroundGeneration = new AtomicLong();
 	private final List<JvmBytecodeFilter> bytecodeFilters = new CopyOnWriteArrayList<>();
 	private final List<OutputTextFilter> outputTextFilters = new CopyOnWriteArrayList<>();
 	private final Map<String, JvmDecompiler> jvmDecompilers = new TreeMap<>();
 	private final Map<String, AndroidDecompiler> androidDecompilers = new TreeMap<>();
+	private final DecompilationDiskCache diskCache;
+	private final DecompilerWorkerPool workerPool;
 	private final DecompilerManagerConfig config;
 	private final ObservableObject<JvmDecompiler> targetJvmDecompiler;
 	private final ObservableObject<AndroidDecompiler> targetAndroidDecompiler;
@@ -64,13 +82,23 @@ public class DecompilerManager implements Service {
 	/**
 	 * @param config
 	 * 		Config to pull values from.
+	 * @param directories
+	 * 		Directories config, used to locate the on-disk decompilation cache.
+	 * @param gsonProvider
+	 * 		Gson provider, used to pass decompiler config values to decompiler worker processes.
 	 * @param implementations
 	 * 		CDI provider of decompiler implementations.
 	 */
 	@Inject
 	public DecompilerManager(@Nonnull DecompilerManagerConfig config,
+	                         @Nonnull RecafDirectoriesConfig directories,
+	                         @Nonnull GsonProvider gsonProvider,
 	                         @Nonnull Instance<Decompiler> implementations) {
 		this.config = config;
+		this.diskCache = new DecompilationDiskCache(directories.getBaseDirectory().resolve("decompile-cache"));
+		this.workerPool = new DecompilerWorkerPool(gsonProvider.getGson(),
+				directories.getTempDirectory().resolve("decompile-worker"),
+				directories.getLogsDirectory().resolve("decompile-worker.log"));
 
 		// Register implementations
 		for (Decompiler implementation : implementations) {
@@ -132,39 +160,334 @@ public CompletableFuture<DecompileResult> decompile(@Nonnull Workspace workspace
 	 */
 	@Nonnull
 	public CompletableFuture<DecompileResult> decompile(@Nonnull JvmDecompiler decompiler, @Nonnull Workspace workspace, @Nonnull JvmClassInfo classInfo) {
+		foregroundGeneration.incrementAndGet();
+		return CompletableFuture.supplyAsync(() -> decompileNow(decompiler, workspace, classInfo), decompileThreadPool);
+	}
+
+	/**
+	 * Uses the built-in thread-pool to schedule the decompilation of multiple classes as a single task.
+	 * Classes which have not already been decompiled are passed to the decompiler as a
+	 * {@link JvmDecompiler#decompileBatch(Workspace, Collection, BiConsumer) batch}, allowing
+	 * the decompiler to share type resolution between them.
+	 *
+	 * @param decompiler
+	 * 		Decompiler implementation to use.
+	 * @param workspace
+	 * 		Workspace to pull additional information from.
+	 * @param classes
+	 * 		Classes to decompile.
+	 *
+	 * @return Future of decompilation results, keyed by class name.
+	 */
+	@Nonnull
+	public CompletableFuture<Map<String, DecompileResult>> decompile(@Nonnull JvmDecompiler decompiler, @Nonnull Workspace workspace,
+	                                                                 @Nonnull Collection<JvmClassInfo> classes) {
+		return decompile(decompiler, workspace, classes, decompileThreadPool);
+	}
+
+	/**
+	 * Schedules the decompilation of multiple classes as a single task on the given executor.
+	 * This allows callers to run decompilation on threads they control, such as when they need to abandon
+	 * tasks that do not complete in time without holding onto threads of the built-in thread-pool.
+	 *
+	 * @param decompiler
+	 * 		Decompiler implementation to use.
+	 * @param workspace
+	 * 		Workspace to pull additional information from.
+	 * @param classes
+	 * 		Classes to decompile.
+	 * @param executor
+	 * 		Executor to run the decompilation on.
+	 *
+	 * @return Future of decompilation results, keyed by class name.
+	 *
+	 * @see #decompile(JvmDecompiler, Workspace, Collection)
+	 */
+	@Nonnull
+	public CompletableFuture<Map<String, DecompileResult>> decompile(@Nonnull JvmDecompiler decompiler, @Nonnull Workspace workspace,
+	                                                                 @Nonnull Collection<JvmClassInfo> classes,
+	                                                                 @Nonnull Executor executor) {
+		foregroundGeneration.incrementAndGet();
 		return CompletableFuture.supplyAsync(() -> {
-			boolean doCache = config.getCacheDecompilations().getValue();
-			if (doCache) {
-				// Check for cached result, returning the cached result if found
-				// and only if the current config matches the one that yielded the cached result.
-				DecompileResult cachedResult = CachedDecompileProperty.get(classInfo, decompiler);
-				if (cachedResult != null) {
-					if (cachedResult.getConfigHash() == decompiler.getConfig().getHash())
-						return cachedResult;
-
-					// Config changed, void the cache.
-					CachedDecompileProperty.remove(classInfo);
+			Map<String, DecompileResult> results = new HashMap<>();
+			Map<JvmClassInfo, PendingDecompilation> pendingByFilteredClass = new IdentityHashMap<>();
+			for (JvmClassInfo classInfo : classes) {
+				DecompileResult result = getCachedResult(decompiler, classInfo);
+				if (result == null) {
+					PendingDecompilation pending = prepare(decompiler, workspace, classInfo);
+					result = getDiskCachedResult(decompiler, pending);
+					if (result == null) {
+						pendingByFilteredClass.put(pending.filteredClass(), pending);
+						continue;
+					}
+					result = complete(decompiler, workspace, pending, result, false);
+				}
+				results.put(classInfo.getName(), result);
+			}
+			if (!pendingByFilteredClass.isEmpty() && useWorkers(decompiler)) {
+				// Workers handle one class at a time, so there is no shared state to take advantage of with a batch.
+				for (PendingDecompilation pending : pendingByFilteredClass.values()) {
+					if (Thread.currentThread().isInterrupted())
+						break;
+					DecompileResult result = decompileFiltered(decompiler, workspace, pending.filteredClass());
+					results.put(pending.classInfo().getName(), complete(decompiler, workspace, pending, result, true));
 				}
+			} else if (!pendingByFilteredClass.isEmpty()) {
+				List<JvmClassInfo> filteredClasses = new ArrayList<>(pendingByFilteredClass.keySet());
+				decompiler.decompileBatch(workspace, filteredClasses, (filteredClass, result) -> {
+					PendingDecompilation pending = pendingByFilteredClass.get(filteredClass);
+					if (pending != null)
+						results.put(pending.classInfo().getName(), complete(decompiler, workspace, pending, result, true));
+				});
 			}
+			return results;
+		}, executor);
+	}
+
+	/**
+	 * Schedules decompilation of the given classes in the background at a low priority, populating the decompilation
+	 * caches so that later requests for them complete immediately. Any foreground decompilation request made through
+	 * this manager after this call cancels the remaining classes of the prefetch. Decompilers cannot be interrupted,
+	 * so a class that is being decompiled at the time of cancellation is allowed to finish.
+	 * <p>
+	 * Nothing is done when {@link DecompilerManagerConfig#getCacheDecompilations() caching} is disabled,
+	 * as the results would be discarded.
+	 *
+	 * @param decompiler
+	 * 		Decompiler implementation to use.
+	 * @param workspace
+	 * 		Workspace to pull additional information from.
+	 * @param classes
+	 * 		Classes to decompile, in order of priority.
+	 *
+	 * @return Future of the number of classes decompiled, completing when the prefetch completes or is cancelled.
+	 */
+	@Nonnull
+	public CompletableFuture<Integer> prefetch(@Nonnull JvmDecompiler decompiler, @Nonnull Workspace workspace,
+	                                           @Nonnull Collection<JvmClassInfo> classes) {
+		if (classes.isEmpty() || !config.getCacheDecompilations().getValue())
+			return CompletableFuture.completedFuture(0);
+		long generation = foregroundGeneration.get();
+		List<JvmClassInfo> targets = List.copyOf(classes);
+		return CompletableFuture.supplyAsync(() -> {
+			Thread.currentThread().setPriority(Thread.MIN_PRIORITY);
+			int decompiled = 0;
+			for (JvmClassInfo classInfo : targets) {
+				if (foregroundGeneration.get() != generation)
+					break;
+				if (getCachedResult(decompiler, classInfo) != null)
+					continue;
+				try {
+					decompileNow(decompiler, workspace, classInfo);
+					decompiled++;
+				} catch (Throwable t) {
+					logger.debugging(l -> l.warn("Prefetch decompilation of '{}' failed", classInfo.getName(), t));
+				}
+			}
+			return decompiled;
+		}, prefetchThreadPool);
+	}
+
+	/**
+	 * @param decompiler
+	 * 		Decompiler implementation to use.
+	 * @param workspace
+	 * 		Workspace to pull additional information from.
+	 * @param classInfo
+	 * 		Class to decompile.
+	 *
+	 * @return Decompilation result, from the cache if available.
+	 */
+	@Nonnull
+	private DecompileResult decompileNow(@Nonnull JvmDecompiler decompiler, @Nonnull Workspace workspace, @Nonnull JvmClassInfo classInfo) {
+		DecompileResult cachedResult = getCachedResult(decompiler, classInfo);
+		if (cachedResult != null)
+			return cachedResult;
+
+		PendingDecompilation pending = prepare(decompiler, workspace, classInfo);
+		DecompileResult diskResult = getDiskCachedResult(decompiler, pending);
+		if (diskResult != null)
+			return complete(decompiler, workspace, pending, diskResult, false);
+		return complete(decompiler, workspace, pending, decompileFiltered(decompiler, workspace, pending.filteredClass()), true);
+	}
+
+	/**
+	 * @param decompiler
+	 * 		Decompiler implementation to use.
+	 * @param workspace
+	 * 		Workspace to pull additional information from.
+	 * @param filteredClass
+	 * 		Class to decompile, with filters already applied.
+	 *
+	 * @return Decompilation result, from a worker process if {@link DecompilerManagerConfig#getOutOfProcess()} is
+	 * enabled and supported by the decompiler, otherwise from the decompiler in this process.
+	 */
+	@Nonnull
+	private DecompileResult decompileFiltered(@Nonnull JvmDecompiler decompiler, @Nonnull Workspace workspace, @Nonnull JvmClassInfo filteredClass) {
+		if (useWorkers(decompiler) && decompiler instanceof AbstractJvmDecompiler abstractDecompiler)
+			return abstractDecompiler.decompile(workspace, filteredClass, (w, c) -> {
+				// The pool yields 'null' if it could not start a worker, in which case we decompile locally.
+				DecompileResult result = workerPool.decompile(config, decompiler, w, c);
+				return result != null ? result : abstractDecompiler.decompileInternal(w, c);
+			});
+		return decompiler.decompile(workspace, filteredClass);
+	}
+
+	/**
+	 * @param decompiler
+	 * 		Decompiler implementation to use.
+	 *
+	 * @return {@code true} when decompilation should be delegated to worker processes.
+	 */
+	private boolean useWorkers(@Nonnull JvmDecompiler decompiler) {
+		return config.getOutOfProcess().getValue()
+				&& decompiler instanceof AbstractJvmDecompiler
+				&& workerPool.supports(decompiler);
+	}
 
-			// We will use the layered filter manually here so any user requested cleanup is done before we pass the class to the decompiler.
-			// The decompiler base implementation skips some work if there are no registered filters so doing it externally like this is
-			// better for performance. If the user has no filtering enabled then no re-reads and re-writes are necessary.
-			JvmClassInfo filteredClass = JvmBytecodeFilter.applyFilters(workspace, classInfo, Collections.singletonList(layeredJvmFilter));
-
-			// Decompile and cache the results.
-			DecompileResult result = decompiler.decompile(workspace, filteredClass);
-			String decompilation = result.getText();
-			if (decompilation != null && !outputTextFilters.isEmpty()) {
-				// Apply output filters and re-wrap the result with the new output text.
-				for (OutputTextFilter textFilter : outputTextFilters)
-					decompilation = textFilter.filter(workspace, classInfo, decompilation);
-				result = new DecompileResult(decompilation, result.getConfigHash());
+	/**
+	 * @param decompiler
+	 * 		Decompiler implementation to use.
+	 * @param classInfo
+	 * 		Class to decompile.
+	 *
+	 * @return Cached result of decompiling the class with the current config of the decompiler,
+	 * or {@code null} if no such result exists.
+	 */
+	@Nullable
+	private DecompileResult getCachedResult(@Nonnull JvmDecompiler decompiler, @Nonnull JvmClassInfo classInfo) {
+		if (!config.getCacheDecompilations().getValue())
+			return null;
+
+		// Check for cached result, returning the cached result if found
+		// and only if the current config matches the one that yielded the cached result.
+		DecompileResult cachedResult = CachedDecompileProperty.get(classInfo, decompiler);
+		if (cachedResult != null) {
+			if (cachedResult.getConfigHash() == decompiler.getConfig().getHash())
+				return cachedResult;
+
+			// Config changed, void the cache.
+			CachedDecompileProperty.remove(classInfo);
+		}
+		return null;
+	}
+
+	/**
+	 * @param decompiler
+	 * 		Decompiler implementation to use.
+	 * @param workspace
+	 * 		Workspace to pull additional information from.
+	 * @param classInfo
+	 * 		Class to decompile.
+	 *
+	 * @return Wrapper of the class after filtering, ready to be passed to the decompiler.
+	 */
+	@Nonnull
+	private PendingDecompilation prepare(@Nonnull JvmDecompiler decompiler, @Nonnull Workspace workspace, @Nonnull JvmClassInfo classInfo) {
+		// We will use the layered filter manually here so any user requested cleanup is done before we pass the class to the decompiler.
+		// The decompiler base implementation skips some work if there are no registered filters so doing it externally like this is
+		// better for performance. If the user has no filtering enabled then no re-reads and re-writes are necessary.
+		JvmClassInfo filteredClass = JvmBytecodeFilter.applyFilters(workspace, classInfo, Collections.singletonList(layeredJvmFilter));
+
+		// The disk cache is keyed by the filtered bytecode so that any change in filtering yields a different entry.
+		// Inner and nest member classes are decompiled as part of the outer class, so they are part of the key too.
+		// Filters registered on the decompiler itself run after this point, and their behavior cannot be hashed
+		// into the key, so the disk cache is skipped while any are registered.
+		boolean doDiskCache = config.getCacheDecompilations().getValue() && config.getCacheDecompilationsOnDisk().getValue()
+				&& !decompiler.hasJvmBytecodeFilters() && !decompiler.hasOutputTextFilters();
+		String diskKey = doDiskCache ?
+				DecompilationDiskCache.key(decompiler, filteredClass.getBytecode(), getRelatedBytecode(workspace, classInfo)) : null;
+		return new PendingDecompilation(classInfo, filteredClass, diskKey);
+	}
+
+	/**
+	 * @param workspace
+	 * 		Workspace to pull related classes from.
+	 * @param classInfo
+	 * 		Class to decompile.
+	 *
+	 * @return Map of class names to filtered bytecode, for all non-internal classes in the workspace named in the
+	 * {@code InnerClasses} attribute of the given class, excluding itself.
+	 */
+	@Nonnull
+	private SortedMap<String, byte[]> getRelatedBytecode(@Nonnull Workspace workspace, @Nonnull JvmClassInfo classInfo) {
+		List<InnerClassInfo> innerClasses = classInfo.getInnerClasses();
+		if (innerClasses.isEmpty())
+			return Collections.emptySortedMap();
+
+		SortedSet<String> names = new TreeSet<>();
+		for (InnerClassInfo innerClass : innerClasses) {
+			names.add(innerClass.getInnerClassName());
+			String outerName = innerClass.getOuterClassName();
+			if (outerName != null)
+				names.add(outerName);
+		}
+		names.remove(classInfo.getName());
+
+		// Internal resources are skipped, since their contents do not change and commonly
+		// referenced inner classes like 'Map$Entry' would otherwise be loaded for no reason.
+		SortedMap<String, byte[]> related = new TreeMap<>();
+		for (String name : names) {
+			ClassPathNode path = workspace.findJvmClass(false, name);
+			if (path != null) {
+				JvmClassInfo relatedClass = path.getValue().asJvmClass();
+				JvmClassInfo filteredRelatedClass = JvmBytecodeFilter.applyFilters(workspace, relatedClass, Collections.singletonList(layeredJvmFilter));
+				related.put(name, filteredRelatedClass.getBytecode());
 			}
-			if (doCache)
-				CachedDecompileProperty.set(classInfo, decompiler, result);
-			return result;
-		}, decompileThreadPool);
+		}
+		return related;
+	}
+
+	/**
+	 * @param decompiler
+	 * 		Decompiler implementation to use.
+	 * @param pending
+	 * 		Class to decompile.
+	 *
+	 * @return Result from the disk cache, or {@code null} if no entry exists.
+	 */
+	@Nullable
+	private DecompileResult getDiskCachedResult(@Nonnull JvmDecompiler decompiler, @Nonnull PendingDecompilation pending) {
+		String diskKey = pending.diskKey();
+		String diskText = diskKey != null ? diskCache.get(diskKey) : null;
+		return diskText != null ? new DecompileResult(diskText, decompiler.getConfig().getHash()) : null;
+	}
+
+	/**
+	 * @param decompiler
+	 * 		Decompiler implementation used.
+	 * @param workspace
+	 * 		Workspace to pull additional information from.
+	 * @param pending
+	 * 		Class that was decompiled.
+	 * @param result
+	 * 		Raw decompiler output, either from the decompiler or the disk cache.
+	 * @param storeOnDisk
+	 * 		Flag to store the raw output in the disk cache, if it is in use.
+	 *
+	 * @return Final result, after output text filters are applied.
+	 */
+	@Nonnull
+	private DecompileResult complete(@Nonnull JvmDecompiler decompiler, @Nonnull Workspace workspace,
+	                                 @Nonnull PendingDecompilation pending, @Nonnull DecompileResult result,
+	                                 boolean storeOnDisk) {
+		// We store output prior to applying output text filters, so that filters which
+		// depend on the current workspace state are always re-applied.
+		String diskKey = pending.diskKey();
+		if (storeOnDisk && diskKey != null && result.getType() == DecompileResult.ResultType.SUCCESS && result.getText() != null)
+			diskCache.put(diskKey, result.getText(), config.getCacheDecompilationsOnDiskLimitMb().getValue() * 1024L * 1024L);
+
+		JvmClassInfo classInfo = pending.classInfo();
+		String decompilation = result.getText();
+		if (decompilation != null && !outputTextFilters.isEmpty()) {
+			// Apply output filters and re-wrap the result with the new output text.
+			for (OutputTextFilter textFilter : outputTextFilters)
+				decompilation = textFilter.filter(workspace, classInfo, decompilation);
+			result = new DecompileResult(decompilation, result.getConfigHash());
+		}
+		if (config.getCacheDecompilations().getValue())
+			CachedDecompileProperty.set(classInfo, decompiler, result);
+		return result;
 	}
 
 	/**
@@ -196,9 +519,17 @@ public CompletableFuture<DecompileResult> decompile(@Nonnull Workspace workspace
 	 */
 	@Nonnull
 	public CompletableFuture<DecompileResult> decompile(@Nonnull AndroidDecompiler decompiler, @Nonnull Workspace workspace, @Nonnull AndroidClassInfo classInfo) {
+		foregroundGeneration.incrementAndGet();
 		return CompletableFuture.supplyAsync(() -> decompiler.decompile(workspace, classInfo), decompileThreadPool);
 	}
 
+	/**
+	 * Removes all entries from the on-disk decompilation cache.
+	 */
+	public void clearDiskCache() {
+		diskCache.clear();
+	}
+
 	/**
 	 * Adds an input bytecode filter to all {@link JvmDecompiler} instances.
 	 *
@@ -321,6 +652,17 @@ public DecompilerManagerConfig getServiceConfig() {
 		return config;
 	}
 
+	/**
+	 * @param classInfo
+	 * 		Class to decompile.
+	 * @param filteredClass
+	 * 		Class after bytecode filtering, to pass to the decompiler.
+	 * @param diskKey
+	 * 		Key of the class in the disk cache, or {@code null} if the disk cache is not in use.
+	 */
+	private record PendingDecompilation(@Nonnull JvmClassInfo classInfo, @Nonnull JvmClassInfo filteredClass,
+	                                    @Nullable String diskKey) {}
+
 	/**
 	 * JVM bytecode filter that applies multiple other filters:
 	 * <ol>
@@ -23,6 +23,13 @@ public class DecompilerManagerConfig extends BasicConfigContainer implements Ser
 	private final ObservableString preferredJvmDecompiler = new ObservableString(null);
 	private final ObservableString preferredAndroidDecompiler = new ObservableString(null);
 	private final ObservableBoolean cacheDecompilations = new ObservableBoolean(true);
+	private final ObservableBoolean cacheDecompilationsOnDisk = new ObservableBoolean(true);
+	private final ObservableInteger cacheDecompilationsOnDiskLimitMb = new ObservableInteger(256);
+	private final ObservableBoolean outOfProcess = new ObservableBoolean(false);
+	private final ObservableInteger outOfProcessWorkers = new ObservableInteger(2);
+	private final ObservableInteger outOfProcessHeapMb = new ObservableInteger(1024);
+	private final ObservableInteger outOfProcessClassesPerWorker = new ObservableInteger(500);
+	private final ObservableInteger outOfProcessTimeoutSeconds = new ObservableInteger(60);
 	private final ObservableBoolean filterDebug = new ObservableBoolean(false);
 	private final ObservableBoolean filterHollow = new ObservableBoolean(false);
 	private final ObservableBoolean filterIllegalAnnotations = new ObservableBoolean(false);
@@ -42,6 +49,13 @@ public DecompilerManagerConfig() {
 		addValue(new BasicConfigValue<>(KEY_PREF_JVM_DECOMPILER, String.class, preferredJvmDecompiler));
 		addValue(new BasicConfigValue<>(KEY_PREF_ANDROID_DECOMPILER, String.class, preferredAndroidDecompiler));
 		addValue(new BasicConfigValue<>("cache-decompilations", boolean.class, cacheDecompilations));
+		addValue(new BasicConfigValue<>("cache-decompilations-disk", boolean.class, cacheDecompilationsOnDisk));
+		addValue(new BasicConfigValue<>("cache-decompilations-disk-limit-mb", int.class, cacheDecompilationsOnDiskLimitMb));
+		addValue(new BasicConfigValue<>("out-of-process", boolean.class, outOfProcess));
+		addValue(new BasicConfigValue<>("out-of-process-workers", int.class, outOfProcessWorkers));
+		addValue(new BasicConfigValue<>("out-of-process-heap-mb", int.class, outOfProcessHeapMb));
+		addValue(new BasicConfigValue<>("out-of-process-classes-per-worker", int.class, outOfProcessClassesPerWorker));
+		addValue(new BasicConfigValue<>("out-of-process-timeout-seconds", int.class, outOfProcessTimeoutSeconds));
 		addValue(new BasicConfigValue<>("filter-strip-debug", boolean.class, filterDebug));
 		addValue(new BasicConfigValue<>("filter-hollow", boolean.class, filterHollow));
 		addValue(new BasicConfigValue<>("filter-annotations-illegal", boolean.class, filterIllegalAnnotations));
@@ -79,6 +93,65 @@ public ObservableBoolean getCacheDecompilations() {
 		return cacheDecompilations;
 	}
 
+	/**
+	 * @return {@code true} to additionally persist the results of decompilation tasks to disk,
+	 * allowing them to be re-used across restarts and between identical classes in different workspaces.
+	 * Only used when {@link #getCacheDecompilations()} is also enabled.
+	 */
+	@Nonnull
+	public ObservableBoolean getCacheDecompilationsOnDisk() {
+		return cacheDecompilationsOnDisk;
+	}
+
+	/**
+	 * @return Maximum size in megabytes of the on-disk decompilation cache.
+	 */
+	@Nonnull
+	public ObservableInteger getCacheDecompilationsOnDiskLimitMb() {
+		return cacheDecompilationsOnDiskLimitMb;
+	}
+
+	/**
+	 * @return {@code true} to run supported decompilers in separate worker processes, so that their memory use
+	 * and run time does not affect the rest of Recaf.
+	 */
+	@Nonnull
+	public ObservableBoolean getOutOfProcess() {
+		return outOfProcess;
+	}
+
+	/**
+	 * @return Maximum number of decompiler worker processes to run at once.
+	 */
+	@Nonnull
+	public ObservableInteger getOutOfProcessWorkers() {
+		return outOfProcessWorkers;
+	}
+
+	/**
+	 * @return Maximum heap size in megabytes of each decompiler worker process.
+	 */
+	@Nonnull
+	public ObservableInteger getOutOfProcessHeapMb() {
+		return outOfProcessHeapMb;
+	}
+
+	/**
+	 * @return Number of classes a decompiler worker process decompiles before it is replaced with a fresh process.
+	 */
+	@Nonnull
+	public ObservableInteger getOutOfProcessClassesPerWorker() {
+		return outOfProcessClassesPerWorker;
+	}
+
+	/**
+	 * @return Number of seconds a decompiler worker process can spend on a single class before it is killed.
+	 */
+	@Nonnull
+	public ObservableInteger getOutOfProcessTimeoutSeconds() {
+		return outOfProcessTimeoutSeconds;
+	}
+
 	/**
 	 * @return {@code true} to filter out <i>all</i> debug information including generics, line numbers, variable names, etc.
 	 */
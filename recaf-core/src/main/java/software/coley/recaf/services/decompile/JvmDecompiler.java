@@ -5,6 +5,9 @@
 import software.coley.recaf.services.decompile.filter.JvmBytecodeFilter;
 import software.coley.recaf.workspace.model.Workspace;
 
+import java.util.Collection;
+import java.util.function.BiConsumer;
+
 /**
  * Outline for decompilers targeting {@link JvmClassInfo}.
  *
@@ -33,6 +36,12 @@ public interface JvmDecompiler extends Decompiler {
 	 */
 	boolean removeJvmBytecodeFilter(@Nonnull JvmBytecodeFilter filter);
 
+	/**
+	 * @return {@code true} when any filters are registered which operate on the bytecode of classes
+	 * before passing it along to the decompiler.
+	 */
+	boolean hasJvmBytecodeFilters();
+
 	/**
 	 * @param workspace
 	 * 		Workspace to pull data from.
@@ -43,4 +52,23 @@ public interface JvmDecompiler extends Decompiler {
 	 */
 	@Nonnull
 	DecompileResult decompile(@Nonnull Workspace workspace, @Nonnull JvmClassInfo classInfo);
+
+	/**
+	 * Decompiles multiple classes. Implementations may share state between the classes, such as types resolved from
+	 * the workspace, which makes this much faster than decompiling each class individually when there are many classes.
+	 * <p>
+	 * A failure to decompile one class does not prevent decompilation of the others.
+	 *
+	 * @param workspace
+	 * 		Workspace to pull data from.
+	 * @param classes
+	 * 		Classes to decompile.
+	 * @param resultConsumer
+	 * 		Consumer to pass each class and its decompilation result to, on the calling thread.
+	 */
+	default void decompileBatch(@Nonnull Workspace workspace, @Nonnull Collection<JvmClassInfo> classes,
+	                            @Nonnull BiConsumer<JvmClassInfo, DecompileResult> resultConsumer) {
+		for (JvmClassInfo classInfo : classes)
+			resultConsumer.accept(classInfo, decompile(workspace, classInfo));
+	}
 }
@@ -0,0 +1,73 @@
+package software.coley.recaf.services.decompile.bulk;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import software.coley.recaf.info.ClassInfo;
+import software.coley.recaf.services.decompile.DecompileResult;
+
+/**
+ * Outline of bulk decompilation feedback capabilities. Allows for:
+ * <ul>
+ *     <li>In-progress decompilation cancellation</li>
+ *     <li>Filter classes decompiled</li>
+ *     <li>Progress reporting</li>
+ * </ul>
+ * All methods besides {@link #hasRequestedCancellation()} are called from the thread which
+ * invoked the {@link BulkDecompilationService}.
+ *
+ * @author Matt Coley
+ * @see CancellableBulkDecompilationFeedback Basic cancellable implementation.
+ */
+public interface BulkDecompilationFeedback {
+	/**
+	 * Default implementation that runs decompilation to completion, without any filtering.
+	 */
+	BulkDecompilationFeedback DEFAULT = new BulkDecompilationFeedback() {
+	};
+
+	/**
+	 * @return {@code true} to request {@link BulkDecompilationService} stops scheduling classes to end decompilation early.
+	 * {@code false} to continue decompilation.
+	 */
+	default boolean hasRequestedCancellation() {
+		return false;
+	}
+
+	/**
+	 * Called before scheduling decompilation of a class.
+	 *
+	 * @param cls
+	 * 		Class to consider for decompilation.
+	 *
+	 * @return {@code true} to decompile the class.
+	 * {@code false} to skip.
+	 */
+	default boolean doDecompile(@Nonnull ClassInfo cls) {
+		return true;
+	}
+
+	/**
+	 * Called when the decompilation of a class completes, after its output has been written.
+	 *
+	 * @param cls
+	 * 		Class that was decompiled.
+	 * @param result
+	 * 		Decompilation result, or {@code null} if the decompilation failed to complete.
+	 * @param error
+	 * 		Error preventing decompilation from completing, such as a timeout.
+	 * @param completed
+	 * 		Number of classes completed so far.
+	 * @param total
+	 * 		Total number of classes to decompile.
+	 */
+	default void onClassCompleted(@Nonnull ClassInfo cls, @Nullable DecompileResult result, @Nullable Throwable error,
+	                              int completed, int total) {}
+
+	/**
+	 * Called when the bulk decompilation completes.
+	 *
+	 * @param result
+	 * 		Summary of the bulk decompilation.
+	 */
+	default void onCompletion(@Nonnull BulkDecompilationResult result) {}
+}
@@ -0,0 +1,24 @@
+package software.coley.recaf.services.decompile.bulk;
+
+/**
+ * Summary of a bulk decompilation.
+ *
+ * @param written
+ * 		Number of classes with output written to the sink.
+ * @param failed
+ * 		Number of classes which failed to decompile.
+ * @param timedOut
+ * 		Number of classes which did not finish decompiling within the time limit.
+ * @param cancelled
+ * 		Flag indicating the decompilation was cancelled before all classes were scheduled.
+ *
+ * @author Matt Coley
+ */
+public record BulkDecompilationResult(int written, int failed, int timedOut, boolean cancelled) {
+	/**
+	 * @return Total number of classes handled.
+	 */
+	public int total() {
+		return written + failed + timedOut;
+	}
+}
@@ -0,0 +1,381 @@
+package software.coley.recaf.services.decompile.bulk;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.slf4j.Logger;
+import software.coley.recaf.analytics.logging.Logging;
+import software.coley.recaf.info.ClassInfo;
+import software.coley.recaf.info.JvmClassInfo;
+import software.coley.recaf.services.Service;
+import software.coley.recaf.services.decompile.DecompileResult;
+import software.coley.recaf.services.decompile.DecompilerManager;
+import software.coley.recaf.services.decompile.JvmDecompiler;
+import software.coley.recaf.util.threading.ThreadPoolFactory;
+import software.coley.recaf.workspace.model.Workspace;
+import software.coley.recaf.workspace.model.bundle.ClassBundle;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
+
+/**
+ * Service for decompiling many classes at once, such as an entire bundle, to a {@link BulkDecompilationSink}.
+ * <p>
+ * Classes are grouped into {@link BulkDecompilationServiceConfig#getBatchSize() batches} which are decompiled as a
+ * single {@link JvmDecompiler#decompileBatch(Workspace, Collection, BiConsumer) batch} so that the decompiler can
+ * share type resolution state between them. The number of batches in-flight at once is bounded by
+ * {@link BulkDecompilationServiceConfig#getMaxConcurrentTasks()}. A slot is only freed once all outputs of a batch
+ * have been written to the sink, so the memory used by a bulk decompilation does not scale with the number of classes
+ * being decompiled. Batches are also subject to a timeout of {@link BulkDecompilationServiceConfig#getTimeoutSeconds()}
+ * per class in the batch, so that a single class which the decompiler gets stuck on does not stall the whole operation.
+ * When a batch fails or times out, its classes are retried individually.
+ * <p>
+ * Batches run on a thread-pool dedicated to each bulk decompilation. When a batch times out its thread is interrupted
+ * and abandoned, so that decompilers which do not respond to interruption do not hold onto threads which other
+ * decompilation requests depend on. The pool is shut down once the bulk decompilation completes.
+ * <p>
+ * Decompilation is delegated to {@link DecompilerManager}, so its filters and caches are respected.
+ *
+ * @author Matt Coley
+ */
+@ApplicationScoped
+public class BulkDecompilationService implements Service {
+	public static final String SERVICE_ID = "decompile-bulk";
+	private static final Logger logger = Logging.get(BulkDecompilationService.class);
+	private static final long POLL_INTERVAL_MS = 50;
+	private final DecompilerManager decompilerManager;
+	private final BulkDecompilationServiceConfig config;
+
+	/**
+	 * @param decompilerManager
+	 * 		Manager to delegate decompilation of individual classes to.
+	 * @param config
+	 * 		Bulk decompilation config options.
+	 */
+	@Inject
+	public BulkDecompilationService(@Nonnull DecompilerManager decompilerManager,
+	                                @Nonnull BulkDecompilationServiceConfig config) {
+		this.decompilerManager = decompilerManager;
+		this.config = config;
+	}
+
+	/**
+	 * @param workspace
+	 * 		Workspace to pull additional information from.
+	 * @param decompiler
+	 * 		Decompiler implementation to use.
+	 * @param bundle
+	 * 		Bundle of classes to decompile.
+	 * @param output
+	 * 		Output path to write to. See {@link BulkDecompilationSink#forPath(Path)} for how the output type is chosen.
+	 * @param feedback
+	 * 		Feedback for filtering classes, progress reporting, and cancellation.
+	 *
+	 * @return Summary of the bulk decompilation.
+	 *
+	 * @throws IOException
+	 * 		When the output cannot be written to.
+	 */
+	@Nonnull
+	public BulkDecompilationResult decompile(@Nonnull Workspace workspace, @Nonnull JvmDecompiler decompiler,
+	                                         @Nonnull ClassBundle<?> bundle, @Nonnull Path output,
+	                                         @Nonnull BulkDecompilationFeedback feedback) throws IOException {
+		try (BulkDecompilationSink sink = BulkDecompilationSink.forPath(output)) {
+			return decompile(workspace, decompiler, bundle.valuesAsCopy(), sink, feedback);
+		}
+	}
+
+	/**
+	 * Decompiles the given classes, blocking until all outputs have been written to the sink.
+	 * The sink is not closed by this method.
+	 * <p>
+	 * Inner classes and special classes like {@code module-info} are skipped, as their contents are included in the
+	 * outputs of other classes, or are not supported by decompilers. Android classes are converted to JVM classes.
+	 *
+	 * @param workspace
+	 * 		Workspace to pull additional information from.
+	 * @param decompiler
+	 * 		Decompiler implementation to use.
+	 * @param classes
+	 * 		Classes to decompile.
+	 * @param sink
+	 * 		Sink to write outputs to.
+	 * @param feedback
+	 * 		Feedback for filtering classes, progress reporting, and cancellation.
+	 *
+	 * @return Summary of the bulk decompilation.
+	 *
+	 * @throws IOException
+	 * 		When the sink cannot be written to. Remaining classes are not scheduled once this occurs.
+	 */
+	@Nonnull
+	public BulkDecompilationResult decompile(@Nonnull Workspace workspace, @Nonnull JvmDecompiler decompiler,
+	                                         @Nonnull Collection<? extends ClassInfo> classes,
+	                                         @Nonnull BulkDecompilationSink sink,
+	                                         @Nonnull BulkDecompilationFeedback feedback) throws IOException {
+		List<ClassInfo> targets = new ArrayList<>();
+		for (ClassInfo cls : classes)
+			if (isDecompilationTarget(cls) && feedback.doDecompile(cls))
+				targets.add(cls);
+
+		int batchSize = Math.max(1, config.getBatchSize().getValue());
+		long timeoutSeconds = Math.max(1, config.getTimeoutSeconds().getValue());
+		Semaphore slots = new Semaphore(Math.max(1, config.getMaxConcurrentTasks().getValue()));
+		BlockingQueue<Completion> completions = new LinkedBlockingQueue<>();
+		Progress progress = new Progress(targets.size());
+		ExecutorService executor = ThreadPoolFactory.newCachedThreadPool(SERVICE_ID, true);
+		int scheduled = 0;
+		boolean cancelled = false;
+		try {
+			for (int i = 0; i < targets.size(); i += batchSize) {
+				if (feedback.hasRequestedCancellation()) {
+					cancelled = true;
+					break;
+				}
+
+				// Write completed outputs while we wait for a free slot.
+				while (!slots.tryAcquire(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS))
+					drain(completions, slots, sink, feedback, progress);
+				List<ClassInfo> batch = targets.subList(i, Math.min(targets.size(), i + batchSize));
+				schedule(workspace, decompiler, batch, timeoutSeconds, executor, completions);
+				scheduled += batch.size();
+				drain(completions, slots, sink, feedback, progress);
+			}
+
+			// Wait on remaining in-flight classes.
+			while (progress.completed < scheduled)
+				handle(completions.take(), slots, sink, feedback, progress);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			logger.warn("Bulk decompilation interrupted, {}/{} classes completed", progress.completed, targets.size());
+			cancelled = true;
+		} finally {
+			// Interrupts any batches which are stuck, or still running after cancellation.
+			executor.shutdownNow();
+		}
+
+		BulkDecompilationResult result = new BulkDecompilationResult(progress.written, progress.failed, progress.timedOut, cancelled);
+		feedback.onCompletion(result);
+		return result;
+	}
+
+	/**
+	 * @param cls
+	 * 		Some class.
+	 *
+	 * @return {@code true} when the class should be decompiled on its own.
+	 * {@code false} for inner classes and special classes like {@code module-info} and {@code package-info}.
+	 */
+	public static boolean isDecompilationTarget(@Nonnull ClassInfo cls) {
+		if (cls.isInnerClass())
+			return false;
+		String name = cls.getName();
+		return cls.getSuperName() != null && !name.equals("module-info") && !name.endsWith("package-info");
+	}
+
+	private void schedule(@Nonnull Workspace workspace, @Nonnull JvmDecompiler decompiler, @Nonnull List<ClassInfo> batch,
+	                      long timeoutSeconds, @Nonnull ExecutorService executor, @Nonnull BlockingQueue<Completion> completions) {
+		Task task = new Task(batch.size());
+		List<ClassInfo> classes = new ArrayList<>(batch.size());
+		List<JvmClassInfo> jvmClasses = new ArrayList<>(batch.size());
+		for (ClassInfo cls : batch) {
+			try {
+				jvmClasses.add(cls.asJvmClass());
+				classes.add(cls);
+			} catch (Throwable t) {
+				completions.add(new Completion(cls, null, t, task));
+			}
+		}
+		if (jvmClasses.isEmpty())
+			return;
+
+		submit(workspace, decompiler, jvmClasses, timeoutSeconds, executor)
+				.whenComplete((results, error) -> {
+					if (error == null) {
+						for (ClassInfo cls : classes)
+							completions.add(new Completion(cls, results.get(cls.getName()), null, task));
+					} else if (classes.size() == 1) {
+						completions.add(new Completion(classes.getFirst(), null, error, task));
+					} else {
+						// Retry each class on its own, so that one problematic class does not fail the others.
+						logger.debug("Batch of {} classes did not complete, retrying individually", classes.size(), error);
+						for (int i = 0; i < classes.size(); i++) {
+							ClassInfo cls = classes.get(i);
+							submit(workspace, decompiler, List.of(jvmClasses.get(i)), timeoutSeconds, executor)
+									.whenComplete((classResults, classError) -> {
+										DecompileResult result = classResults == null ? null : classResults.get(cls.getName());
+										completions.add(new Completion(cls, result, classError, task));
+									});
+						}
+					}
+				});
+	}
+
+	/**
+	 * @param workspace
+	 * 		Workspace to pull additional information from.
+	 * @param decompiler
+	 * 		Decompiler implementation to use.
+	 * @param classes
+	 * 		Classes to decompile.
+	 * @param timeoutSeconds
+	 * 		Timeout per class.
+	 * @param executor
+	 * 		Executor to run the decompilation on.
+	 *
+	 * @return Future of decompilation results, keyed by class name.
+	 * Completes exceptionally with a {@link TimeoutException} when the classes do not complete in time,
+	 * in which case the thread decompiling them is interrupted.
+	 */
+	@Nonnull
+	private CompletableFuture<Map<String, DecompileResult>> submit(@Nonnull Workspace workspace, @Nonnull JvmDecompiler decompiler,
+	                                                               @Nonnull List<JvmClassInfo> classes, long timeoutSeconds,
+	                                                               @Nonnull ExecutorService executor) {
+		RunningThread running = new RunningThread();
+		return decompilerManager.decompile(decompiler, workspace, classes, command -> executor.execute(() -> running.run(command)))
+				.orTimeout(timeoutSeconds * classes.size(), TimeUnit.SECONDS)
+				.whenComplete((results, error) -> {
+					if (error instanceof TimeoutException)
+						running.interrupt();
+				});
+	}
+
+	private static void drain(@Nonnull BlockingQueue<Completion> completions, @Nonnull Semaphore slots,
+	                          @Nonnull BulkDecompilationSink sink, @Nonnull BulkDecompilationFeedback feedback,
+	                          @Nonnull Progress progress) throws IOException {
+		Completion completion;
+		while ((completion = completions.poll()) != null)
+			handle(completion, slots, sink, feedback, progress);
+	}
+
+	private static void handle(@Nonnull Completion completion, @Nonnull Semaphore slots,
+	                           @Nonnull BulkDecompilationSink sink, @Nonnull BulkDecompilationFeedback feedback,
+	                           @Nonnull Progress progress) throws IOException {
+		ClassInfo cls = completion.cls();
+		String name = cls.getName();
+		DecompileResult result = completion.result();
+		Throwable error = completion.error();
+		if (error instanceof CompletionException && error.getCause() != null)
+			error = error.getCause();
+		try {
+			if (error instanceof TimeoutException) {
+				logger.warn("Decompilation of '{}' timed out", name);
+				progress.timedOut++;
+			} else if (error != null) {
+				logger.error("Failed to decompile '{}'", name, error);
+				progress.failed++;
+			} else if (result != null && result.getException() != null) {
+				logger.error("Failed to decompile '{}'", name, result.getException());
+				progress.failed++;
+			} else if (result == null || result.getText() == null) {
+				logger.error("Failed to decompile '{}', no output was produced", name);
+				progress.failed++;
+			} else {
+				if (sink.write(name, result.getText())) {
+					progress.written++;
+				} else {
+					logger.warn("Skipped output of '{}', its name cannot be written to the output", name);
+					progress.failed++;
+				}
+			}
+		} finally {
+			progress.completed++;
+			if (--completion.task().remaining == 0)
+				slots.release();
+		}
+		feedback.onClassCompleted(cls, result, error, progress.completed, progress.total);
+	}
+
+	@Nonnull
+	@Override
+	public String getServiceId() {
+		return SERVICE_ID;
+	}
+
+	@Nonnull
+	@Override
+	public BulkDecompilationServiceConfig getServiceConfig() {
+		return config;
+	}
+
+	/**
+	 * @param cls
+	 * 		Class that was decompiled.
+	 * @param result
+	 * 		Decompilation result, if decompilation completed.
+	 * @param error
+	 * 		Error preventing decompilation from completing.
+	 * @param task
+	 * 		Task the class was decompiled in.
+	 */
+	private record Completion(@Nonnull ClassInfo cls, @Nullable DecompileResult result, @Nullable Throwable error,
+	                          @Nonnull Task task) {}
+
+	/**
+	 * Tracks the thread running a task, so that it can be interrupted if the task times out.
+	 */
+	private static class RunningThread {
+		private Thread thread;
+
+		private void run(@Nonnull Runnable command) {
+			synchronized (this) {
+				thread = Thread.currentThread();
+			}
+			try {
+				command.run();
+			} finally {
+				// Clear any interrupt which arrived as the task completed so that it does not leak into the next task.
+				synchronized (this) {
+					thread = null;
+					Thread.interrupted();
+				}
+			}
+		}
+
+		private synchronized void interrupt() {
+			if (thread != null)
+				thread.interrupt();
+		}
+	}
+
+	/**
+	 * Tracks the number of classes of a task which have yet to be written, only accessed from the thread
+	 * which invoked the service.
+	 */
+	private static class Task {
+		private int remaining;
+
+		private Task(int remaining) {
+			this.remaining = remaining;
+		}
+	}
+
+	/**
+	 * Counters of a single bulk decompilation, only accessed from the thread which invoked the service.
+	 */
+	private static class Progress {
+		private final int total;
+		private int completed;
+		private int written;
+		private int failed;
+		private int timedOut;
+
+		private Progress(int total) {
+			this.total = total;
+		}
+	}
+}
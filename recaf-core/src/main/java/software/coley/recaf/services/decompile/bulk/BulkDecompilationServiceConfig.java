@@ -0,0 +1,57 @@
+package software.coley.recaf.services.decompile.bulk;
+
+import jakarta.annotation.Nonnull;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import software.coley.observables.ObservableInteger;
+import software.coley.recaf.config.BasicConfigContainer;
+import software.coley.recaf.config.BasicConfigValue;
+import software.coley.recaf.config.ConfigGroups;
+import software.coley.recaf.services.ServiceConfig;
+
+/**
+ * Config for {@link BulkDecompilationService}
+ *
+ * @author Matt Coley
+ */
+@ApplicationScoped
+public class BulkDecompilationServiceConfig extends BasicConfigContainer implements ServiceConfig {
+	private final ObservableInteger maxConcurrentTasks = new ObservableInteger(Math.max(1, Runtime.getRuntime().availableProcessors()));
+	private final ObservableInteger batchSize = new ObservableInteger(16);
+	private final ObservableInteger timeoutSeconds = new ObservableInteger(60);
+
+	@Inject
+	public BulkDecompilationServiceConfig() {
+		super(ConfigGroups.SERVICE_DECOMPILE, BulkDecompilationService.SERVICE_ID + CONFIG_SUFFIX);
+
+		addValue(new BasicConfigValue<>("max-concurrent-tasks", int.class, maxConcurrentTasks));
+		addValue(new BasicConfigValue<>("batch-size", int.class, batchSize));
+		addValue(new BasicConfigValue<>("timeout-seconds", int.class, timeoutSeconds));
+	}
+
+	/**
+	 * @return Maximum number of decompilation tasks which can be in-flight at once. Together with the
+	 * {@link #getBatchSize() batch size}, this bounds the number of completed outputs held in memory before they are written.
+	 */
+	@Nonnull
+	public ObservableInteger getMaxConcurrentTasks() {
+		return maxConcurrentTasks;
+	}
+
+	/**
+	 * @return Number of classes to decompile per task. Classes in the same task share the decompiler's type
+	 * resolution state, so larger batches are faster, but a batch which fails or times out must be retried class by class.
+	 */
+	@Nonnull
+	public ObservableInteger getBatchSize() {
+		return batchSize;
+	}
+
+	/**
+	 * @return Number of seconds to wait on a single class before giving up on it.
+	 */
+	@Nonnull
+	public ObservableInteger getTimeoutSeconds() {
+		return timeoutSeconds;
+	}
+}
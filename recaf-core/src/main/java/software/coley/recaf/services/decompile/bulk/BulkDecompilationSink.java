@@ -0,0 +1,130 @@
+package software.coley.recaf.services.decompile.bulk;
+
+import jakarta.annotation.Nonnull;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Destination for the output of a {@link BulkDecompilationService bulk decompilation}.
+ * Outputs are written as soon as they become available, so the sink never needs to hold more than one output at a time.
+ * <p>
+ * Writes are only ever made from a single thread.
+ *
+ * @author Matt Coley
+ */
+public interface BulkDecompilationSink extends Closeable {
+	/**
+	 * @param className
+	 * 		Internal name of the decompiled class.
+	 * @param source
+	 * 		Decompiled source of the class.
+	 *
+	 * @return {@code true} when the output was written.
+	 * {@code false} when the output was skipped, such as when the class name cannot be mapped to a valid output location.
+	 *
+	 * @throws IOException
+	 * 		When the output cannot be written.
+	 */
+	boolean write(@Nonnull String className, @Nonnull String source) throws IOException;
+
+	/**
+	 * @param path
+	 * 		Output path. Paths ending in {@code .zip} or {@code .jar} are written as archives, anything else as a directory.
+	 *
+	 * @return Sink writing to the given path.
+	 *
+	 * @throws IOException
+	 * 		When the output cannot be opened.
+	 */
+	@Nonnull
+	static BulkDecompilationSink forPath(@Nonnull Path path) throws IOException {
+		String name = path.getFileName() == null ? "" : path.getFileName().toString().toLowerCase();
+		if (name.endsWith(".zip") || name.endsWith(".jar"))
+			return zip(path);
+		return directory(path);
+	}
+
+	/**
+	 * @param path
+	 * 		Path of archive to write.
+	 *
+	 * @return Sink writing each class as a {@code .java} entry in the archive.
+	 *
+	 * @throws IOException
+	 * 		When the archive cannot be created.
+	 */
+	@Nonnull
+	static BulkDecompilationSink zip(@Nonnull Path path) throws IOException {
+		Path parent = path.toAbsolutePath().getParent();
+		if (parent != null)
+			Files.createDirectories(parent);
+		ZipOutputStream zos = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(path)));
+		Set<String> written = new HashSet<>();
+		return new BulkDecompilationSink() {
+			@Override
+			public boolean write(@Nonnull String className, @Nonnull String source) throws IOException {
+				// Duplicate entries are illegal in archives, which can happen if multiple bundles are decompiled together.
+				String entryName = className + ".java";
+				if (!written.add(entryName))
+					return false;
+				zos.putNextEntry(new ZipEntry(entryName));
+				zos.write(source.getBytes(StandardCharsets.UTF_8));
+				zos.closeEntry();
+				return true;
+			}
+
+			@Override
+			public void close() throws IOException {
+				zos.close();
+			}
+		};
+	}
+
+	/**
+	 * @param root
+	 * 		Root directory to write to.
+	 *
+	 * @return Sink writing each class as a {@code .java} file in the directory, with packages as sub-directories.
+	 *
+	 * @throws IOException
+	 * 		When the directory cannot be created.
+	 */
+	@Nonnull
+	static BulkDecompilationSink directory(@Nonnull Path root) throws IOException {
+		Path normalizedRoot = root.toAbsolutePath().normalize();
+		Files.createDirectories(normalizedRoot);
+		return new BulkDecompilationSink() {
+			@Override
+			public boolean write(@Nonnull String className, @Nonnull String source) throws IOException {
+				// Class names are not trusted input, so we must not allow them to escape the root directory.
+				// Such names are skipped rather than failing the whole output.
+				Path path;
+				try {
+					path = normalizedRoot.resolve(className + ".java").normalize();
+				} catch (InvalidPathException ex) {
+					return false;
+				}
+				if (!path.startsWith(normalizedRoot))
+					return false;
+				Files.createDirectories(path.getParent());
+				Files.writeString(path, source, StandardCharsets.UTF_8);
+				return true;
+			}
+
+			@Override
+			public void close() {
+				// no-op
+			}
+		};
+	}
+}
@@ -0,0 +1,22 @@
+package software.coley.recaf.services.decompile.bulk;
+
+/**
+ * Feedback that allows cancelling a bulk decompilation.
+ *
+ * @author Matt Coley
+ */
+public class CancellableBulkDecompilationFeedback implements BulkDecompilationFeedback {
+	private volatile boolean cancelled;
+
+	/**
+	 * Mark decompilation as cancelled.
+	 */
+	public void cancel() {
+		cancelled = true;
+	}
+
+	@Override
+	public boolean hasRequestedCancellation() {
+		return cancelled;
+	}
+}
@@ -16,7 +16,11 @@
 
 import java.lang.reflect.Field;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.BiConsumer;
 
 /**
  * CFR decompiler implementation.
@@ -50,13 +54,38 @@ public CfrDecompiler(@Nonnull WorkspaceManager workspaceManager, @Nonnull CfrCon
 	@Override
 	protected DecompileResult decompileInternal(@Nonnull Workspace workspace, @Nonnull JvmClassInfo classInfo) {
 		String name = classInfo.getName();
-		byte[] bytecode = classInfo.getBytecode();
-		ClassSource source = new ClassSource(workspace, name, bytecode);
+		ClassSource source = new ClassSource(workspace, name, classInfo.getBytecode());
+		return decompile(source, config.toMap(), name);
+	}
+
+	@Override
+	protected void decompileBatchInternal(@Nonnull Workspace workspace, @Nonnull List<JvmClassInfo> classes,
+	                                      @Nonnull BiConsumer<JvmClassInfo, DecompileResult> resultConsumer) {
+		// CFR resets its analysis state for each class, even when given multiple classes in one driver.
+		// But we can still share the class source between classes so workspace lookups are only done once per batch.
+		Map<String, byte[]> targets = new HashMap<>();
+		for (JvmClassInfo classInfo : classes)
+			targets.put(classInfo.getName(), classInfo.getBytecode());
+		ClassSource source = new ClassSource(workspace, targets);
+		Map<String, String> options = config.toMap();
+		for (JvmClassInfo classInfo : classes) {
+			DecompileResult result;
+			try {
+				result = decompile(source, options, classInfo.getName());
+			} catch (Throwable t) {
+				result = new DecompileResult(t, getConfig().getHash());
+			}
+			resultConsumer.accept(classInfo, result);
+		}
+	}
+
+	@Nonnull
+	private DecompileResult decompile(@Nonnull ClassSource source, @Nonnull Map<String, String> options, @Nonnull String name) {
 		SinkFactoryImpl sink = new SinkFactoryImpl();
 		CfrDriver driver = new CfrDriver.Builder()
 				.withClassFileSource(source)
 				.withOutputSink(sink)
-				.withOptions(config.toMap())
+				.withOptions(options)
 				.build();
 		driver.analyse(Collections.singletonList(name));
 		String decompile = sink.getDecompilation();
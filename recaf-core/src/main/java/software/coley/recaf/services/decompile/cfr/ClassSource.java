@@ -8,6 +8,8 @@
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * CFR class source. Provides access to workspace clases.
@@ -15,9 +17,9 @@
  * @author Matt Coley
  */
 public class ClassSource implements ClassFileSource {
+	private final Map<String, byte[]> workspaceLookups = new HashMap<>();
 	private final Workspace workspace;
-	private final String targetClassName;
-	private final byte[] targetClassBytecode;
+	private final Map<String, byte[]> targets;
 
 	/**
 	 * Constructs a CFR class source.
@@ -31,9 +33,20 @@ public class ClassSource implements ClassFileSource {
 	 */
 	public ClassSource(@Nonnull Workspace workspace, @Nonnull String targetClassName,
 	                   @Nonnull byte[] targetClassBytecode) {
+		this(workspace, Map.of(targetClassName, targetClassBytecode));
+	}
+
+	/**
+	 * Constructs a CFR class source.
+	 *
+	 * @param workspace
+	 * 		Workspace to pull classes from.
+	 * @param targets
+	 * 		Map of class names to bytecode to override.
+	 */
+	public ClassSource(@Nonnull Workspace workspace, @Nonnull Map<String, byte[]> targets) {
 		this.workspace = workspace;
-		this.targetClassName = targetClassName;
-		this.targetClassBytecode = targetClassBytecode;
+		this.targets = targets;
 	}
 
 	@Override
@@ -54,12 +67,14 @@ public String getPossiblyRenamedPath(String path) {
 	public Pair<byte[], String> getClassFileContent(String inputPath) {
 		int endIndex = inputPath.indexOf(".class");
 		String className = endIndex > 0 ? inputPath.substring(0, endIndex) : inputPath;
-		byte[] code;
-		if (className.equals(targetClassName)) {
-			code = targetClassBytecode;
-		} else {
-			ClassPathNode result = workspace.findClass(className);
-			code = result == null ? null : result.getValue().asJvmClass().getBytecode();
+		byte[] code = targets.get(className);
+		if (code == null) {
+			// CFR discards its own class caches between each class it analyses, so when this source is shared
+			// across many classes we remember what we pulled from the workspace to not look it up repeatedly.
+			code = workspaceLookups.computeIfAbsent(className, n -> {
+				ClassPathNode result = workspace.findClass(n);
+				return result == null ? null : result.getValue().asJvmClass().getBytecode();
+			});
 		}
 		return new Pair<>(code, inputPath);
 	}
@@ -0,0 +1,230 @@
+package software.coley.recaf.services.decompile.prefetch;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.MethodVisitor;
+import software.coley.recaf.RecafConstants;
+import software.coley.recaf.info.JvmClassInfo;
+import software.coley.recaf.path.ClassPathNode;
+import software.coley.recaf.services.Service;
+import software.coley.recaf.services.decompile.DecompilerManager;
+import software.coley.recaf.services.decompile.JvmDecompiler;
+import software.coley.recaf.services.inheritance.InheritanceGraph;
+import software.coley.recaf.services.inheritance.InheritanceGraphService;
+import software.coley.recaf.services.inheritance.InheritanceVertex;
+import software.coley.recaf.workspace.model.Workspace;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Service for speculatively decompiling the classes a user is likely to open next, so that opening them is instant.
+ * <p>
+ * When a class is decompiled for display, its neighbors are ranked and passed to
+ * {@link DecompilerManager#prefetch(JvmDecompiler, Workspace, Collection)}, which decompiles them at a low priority
+ * into the decompilation cache. Neighbors are ranked in the following order:
+ * <ol>
+ *     <li>Outer class of the class.</li>
+ *     <li>Classes declaring methods the class calls, ordered by the number of call sites.</li>
+ *     <li>Direct parents and children of the class in the workspace.</li>
+ *     <li>Any other classes the class references.</li>
+ * </ol>
+ * Only classes in the primary resource and its non-internal supporting resources are considered.
+ * Inner classes are decompiled as part of their outermost class, so they are mapped to that class.
+ * Any foreground decompilation request cancels a prefetch in progress.
+ *
+ * @author Matt Coley
+ */
+@ApplicationScoped
+public class DecompilationPrefetchService implements Service {
+	public static final String SERVICE_ID = "decompile-prefetch";
+	private final DecompilerManager decompilerManager;
+	private final InheritanceGraphService graphService;
+	private final DecompilationPrefetchServiceConfig config;
+
+	/**
+	 * @param decompilerManager
+	 * 		Manager to schedule prefetch decompilations with.
+	 * @param graphService
+	 * 		Inheritance graph service, used to find parents and children of classes.
+	 * @param config
+	 * 		Prefetch config options.
+	 */
+	@Inject
+	public DecompilationPrefetchService(@Nonnull DecompilerManager decompilerManager,
+	                                    @Nonnull InheritanceGraphService graphService,
+	                                    @Nonnull DecompilationPrefetchServiceConfig config) {
+		this.decompilerManager = decompilerManager;
+		this.graphService = graphService;
+		this.config = config;
+	}
+
+	/**
+	 * Schedules background decompilation of the classes most likely to be viewed after the given class.
+	 * Does nothing if prefetching is disabled.
+	 *
+	 * @param workspace
+	 * 		Workspace containing the class.
+	 * @param decompiler
+	 * 		Decompiler implementation to use.
+	 * @param classInfo
+	 * 		Class that was just decompiled.
+	 *
+	 * @return Future of the number of classes decompiled.
+	 */
+	@Nonnull
+	public CompletableFuture<Integer> prefetchNeighbors(@Nonnull Workspace workspace, @Nonnull JvmDecompiler decompiler,
+	                                                   @Nonnull JvmClassInfo classInfo) {
+		int limit = config.getMaxClasses().getValue();
+		if (!config.getEnabled().getValue() || limit <= 0)
+			return CompletableFuture.completedFuture(0);
+		return decompilerManager.prefetch(decompiler, workspace, getNeighbors(workspace, classInfo, limit));
+	}
+
+	/**
+	 * @param workspace
+	 * 		Workspace containing the class.
+	 * @param classInfo
+	 * 		Class to find neighbors of.
+	 * @param limit
+	 * 		Maximum number of neighbors to yield.
+	 *
+	 * @return Classes in the workspace related to the given class, ordered by likelihood of being viewed next.
+	 */
+	@Nonnull
+	public List<JvmClassInfo> getNeighbors(@Nonnull Workspace workspace, @Nonnull JvmClassInfo classInfo, int limit) {
+		String name = classInfo.getName();
+		Set<String> candidates = new LinkedHashSet<>();
+
+		// Inner classes are usually viewed alongside their outer class.
+		// Our own inner classes are not included, as they are a part of our own decompilation.
+		String outerName = classInfo.getOuterClassName();
+		if (outerName != null)
+			candidates.add(outerName);
+
+		// Classes of invoked methods, most frequently called first.
+		Map<String, Integer> callCounts = countCallSites(classInfo);
+		callCounts.entrySet().stream()
+				.sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+				.forEach(e -> candidates.add(e.getKey()));
+
+		// Direct type hierarchy.
+		InheritanceGraph graph = graphService.getCurrentWorkspaceInheritanceGraph();
+		InheritanceVertex vertex = graph == null ? null : graph.getVertex(name);
+		if (vertex != null) {
+			for (InheritanceVertex parent : vertex.getParents())
+				if (!parent.isLibraryVertex() && !parent.isJavaLangObject())
+					candidates.add(parent.getName());
+			for (InheritanceVertex child : vertex.getChildren())
+				if (!child.isLibraryVertex())
+					candidates.add(child.getName());
+		}
+
+		// Everything else the class refers to.
+		candidates.addAll(classInfo.getReferencedClasses());
+
+		Set<String> added = new HashSet<>();
+		List<JvmClassInfo> neighbors = new ArrayList<>(Math.min(limit, candidates.size()));
+		for (String candidate : candidates) {
+			if (neighbors.size() >= limit)
+				break;
+			JvmClassInfo neighbor = findTopLevelClass(workspace, candidate);
+			if (neighbor == null)
+				continue;
+			String neighborName = neighbor.getName();
+			if (!neighborName.equals(name) && added.add(neighborName))
+				neighbors.add(neighbor);
+		}
+		return neighbors;
+	}
+
+	/**
+	 * @param workspace
+	 * 		Workspace to find classes in.
+	 * @param name
+	 * 		Name of a class.
+	 *
+	 * @return The class, or its outermost class if the class is an inner class.
+	 * {@code null} if the class, or its outermost class, is not in the workspace.
+	 */
+	@Nullable
+	private static JvmClassInfo findTopLevelClass(@Nonnull Workspace workspace, @Nonnull String name) {
+		JvmClassInfo classInfo = findClass(workspace, name);
+		if (classInfo == null || !classInfo.isInnerClass())
+			return classInfo;
+
+		// Obfuscated classes may have outer class info that loops or points to other inner classes, in which case
+		// we will not have anything to prefetch that would also yield the inner class.
+		JvmClassInfo topLevel = findClass(workspace, getTopLevelName(classInfo));
+		return topLevel == null || topLevel.isInnerClass() ? null : topLevel;
+	}
+
+	/**
+	 * @param classInfo
+	 * 		Some class.
+	 *
+	 * @return Name of the outermost class of the given class, or its own name if it is not an inner class.
+	 */
+	@Nonnull
+	private static String getTopLevelName(@Nonnull JvmClassInfo classInfo) {
+		List<String> breadcrumbs = classInfo.getOuterClassBreadcrumbs();
+		if (!breadcrumbs.isEmpty())
+			return breadcrumbs.getFirst();
+		String outerName = classInfo.getOuterClassName();
+		return outerName == null ? classInfo.getName() : outerName;
+	}
+
+	@Nullable
+	private static JvmClassInfo findClass(@Nonnull Workspace workspace, @Nonnull String name) {
+		ClassPathNode path = workspace.findJvmClass(false, name);
+		return path != null && path.getValue().isJvmClass() ? path.getValue().asJvmClass() : null;
+	}
+
+	/**
+	 * @param classInfo
+	 * 		Class to scan.
+	 *
+	 * @return Map of method owner names to the number of call sites to methods of that owner in the class.
+	 */
+	@Nonnull
+	private static Map<String, Integer> countCallSites(@Nonnull JvmClassInfo classInfo) {
+		Map<String, Integer> counts = new HashMap<>();
+		classInfo.getClassReader().accept(new ClassVisitor(RecafConstants.getAsmVersion()) {
+			@Override
+			public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+				return new MethodVisitor(RecafConstants.getAsmVersion()) {
+					@Override
+					public void visitMethodInsn(int opcode, String owner, String name, String descriptor, boolean isInterface) {
+						// Array types can be method owners (ie, clone calls) but are not classes we can decompile.
+						if (owner.charAt(0) != '[')
+							counts.merge(owner, 1, Integer::sum);
+					}
+				};
+			}
+		}, ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+		return counts;
+	}
+
+	@Nonnull
+	@Override
+	public String getServiceId() {
+		return SERVICE_ID;
+	}
+
+	@Nonnull
+	@Override
+	public DecompilationPrefetchServiceConfig getServiceConfig() {
+		return config;
+	}
+}
@@ -0,0 +1,46 @@
+package software.coley.recaf.services.decompile.prefetch;
+
+import jakarta.annotation.Nonnull;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import software.coley.observables.ObservableBoolean;
+import software.coley.observables.ObservableInteger;
+import software.coley.recaf.config.BasicConfigContainer;
+import software.coley.recaf.config.BasicConfigValue;
+import software.coley.recaf.config.ConfigGroups;
+import software.coley.recaf.services.ServiceConfig;
+
+/**
+ * Config for {@link DecompilationPrefetchService}
+ *
+ * @author Matt Coley
+ */
+@ApplicationScoped
+public class DecompilationPrefetchServiceConfig extends BasicConfigContainer implements ServiceConfig {
+	private final ObservableBoolean enabled = new ObservableBoolean(true);
+	private final ObservableInteger maxClasses = new ObservableInteger(8);
+
+	@Inject
+	public DecompilationPrefetchServiceConfig() {
+		super(ConfigGroups.SERVICE_DECOMPILE, DecompilationPrefetchService.SERVICE_ID + CONFIG_SUFFIX);
+
+		addValue(new BasicConfigValue<>("enabled", boolean.class, enabled));
+		addValue(new BasicConfigValue<>("max-classes", int.class, maxClasses));
+	}
+
+	/**
+	 * @return {@code true} to decompile classes related to the one being viewed in the background.
+	 */
+	@Nonnull
+	public ObservableBoolean getEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * @return Maximum number of related classes to decompile in the background after a class is decompiled.
+	 */
+	@Nonnull
+	public ObservableInteger getMaxClasses() {
+		return maxClasses;
+	}
+}
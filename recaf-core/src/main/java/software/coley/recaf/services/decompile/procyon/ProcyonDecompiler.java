@@ -28,6 +28,10 @@
 
 import java.io.IOException;
 import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
 
 /**
  * Procyon decompiler implementation.
@@ -69,14 +73,47 @@ public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
 	@Override
 	protected DecompileResult decompileInternal(@Nonnull Workspace workspace, @Nonnull JvmClassInfo classInfo) {
 		String name = classInfo.getName();
-		byte[] bytecode = classInfo.getBytecode();
 		ITypeLoader loader = new CompositeTypeLoader(
-				new TargetedTypeLoader(name, bytecode),
+				new TargetedTypeLoader(Map.of(name, classInfo.getBytecode())),
 				new WorkspaceTypeLoader(workspace)
 		);
+		return decompile(new MetadataSystem(loader), newSettings(loader), name);
+	}
+
+	@Override
+	protected void decompileBatchInternal(@Nonnull Workspace workspace, @Nonnull List<JvmClassInfo> classes,
+	                                      @Nonnull BiConsumer<JvmClassInfo, DecompileResult> resultConsumer) {
+		// All classes in the batch share a single metadata system, so types referenced by multiple
+		// classes in the batch only need to be loaded and resolved once.
+		Map<String, byte[]> targets = new HashMap<>();
+		for (JvmClassInfo classInfo : classes)
+			targets.put(classInfo.getName(), classInfo.getBytecode());
+		ITypeLoader loader = new CompositeTypeLoader(
+				new TargetedTypeLoader(targets),
+				new WorkspaceTypeLoader(workspace)
+		);
+		MetadataSystem system = new MetadataSystem(loader);
+		DecompilerSettings settings = newSettings(loader);
+		for (JvmClassInfo classInfo : classes) {
+			DecompileResult result;
+			try {
+				result = decompile(system, settings, classInfo.getName());
+			} catch (Throwable t) {
+				result = new DecompileResult(t, getConfig().getHash());
+			}
+			resultConsumer.accept(classInfo, result);
+		}
+	}
+
+	@Nonnull
+	private DecompilerSettings newSettings(@Nonnull ITypeLoader loader) {
 		DecompilerSettings settings = config.toSettings();
 		settings.setTypeLoader(loader);
-		MetadataSystem system = new MetadataSystem(loader);
+		return settings;
+	}
+
+	@Nonnull
+	private DecompileResult decompile(@Nonnull MetadataSystem system, @Nonnull DecompilerSettings settings, @Nonnull String name) {
 		TypeReference ref = system.lookupType(name);
 		DecompilationOptions decompilationOptions = new DecompilationOptions();
 		decompilationOptions.setSettings(settings);
@@ -90,15 +127,15 @@ protected DecompileResult decompileInternal(@Nonnull Workspace workspace, @Nonnu
 	}
 
 	/**
-	 * Type loader to load a single class file.
+	 * Type loader to load the class files being decompiled.
 	 * Used as the first loader within a {@link CompositeTypeLoader} such that it overrides any
 	 * following type loader that could also procure the same class info.
 	 */
-	private record TargetedTypeLoader(String name, byte[] data) implements ITypeLoader {
+	private record TargetedTypeLoader(Map<String, byte[]> targets) implements ITypeLoader {
 		@Override
 		public boolean tryLoadType(String internalName, Buffer buffer) {
-			if (internalName.equals(name)) {
-				byte[] data = this.data;
+			byte[] data = targets.get(internalName);
+			if (data != null) {
 				buffer.position(0);
 				buffer.putByteArray(data, 0, data.length);
 				buffer.position(0);
@@ -8,6 +8,10 @@
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Base Vineflower class/library source.
@@ -15,7 +19,7 @@
  * @author therathatter
  */
 public abstract class BaseSource implements IContextSource {
-	protected final JvmClassInfo targetInfo;
+	protected final Map<String, JvmClassInfo> targets;
 	protected final Workspace workspace;
 
 	/**
@@ -25,8 +29,20 @@ public abstract class BaseSource implements IContextSource {
 	 * 		Target class to decompile.
 	 */
 	protected BaseSource(@Nonnull Workspace workspace, @Nonnull JvmClassInfo targetInfo) {
+		this(workspace, List.of(targetInfo));
+	}
+
+	/**
+	 * @param workspace
+	 * 		Workspace to pull class files from.
+	 * @param targetInfos
+	 * 		Target classes to decompile. Their bytecode takes precedence over the same classes in the workspace.
+	 */
+	protected BaseSource(@Nonnull Workspace workspace, @Nonnull Collection<JvmClassInfo> targetInfos) {
 		this.workspace = workspace;
-		this.targetInfo = targetInfo;
+		this.targets = new HashMap<>();
+		for (JvmClassInfo targetInfo : targetInfos)
+			targets.put(targetInfo.getName(), targetInfo);
 	}
 
 	@Override
@@ -37,7 +53,8 @@ public String getName() {
 	@Override
 	public InputStream getInputStream(String resource) {
 		String name = resource.substring(0, resource.length() - IContextSource.CLASS_SUFFIX.length());
-		if (name.equals(targetInfo.getName()))
+		JvmClassInfo targetInfo = targets.get(name);
+		if (targetInfo != null)
 			return new ByteArrayInputStream(targetInfo.getBytecode());
 
 		ClassPathNode node = workspace.findClass(name);
@@ -8,7 +8,9 @@
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Single class source for Vineflower.
@@ -17,7 +19,9 @@
  * @author therathatter
  */
 public class ClassSource extends BaseSource {
+	private final JvmClassInfo targetInfo;
 	private final DecompiledOutputSink sink;
+	private final List<Entry> entries;
 
 	/**
 	 * @param workspace
@@ -26,8 +30,40 @@ public class ClassSource extends BaseSource {
 	 * 		Target class to decompile.
 	 */
 	protected ClassSource(@Nonnull Workspace workspace, @Nonnull JvmClassInfo targetInfo) {
+		this(workspace, targetInfo, new HashSet<>());
+	}
+
+	/**
+	 * @param workspace
+	 * 		Workspace to pull class files from.
+	 * @param targetInfo
+	 * 		Target class to decompile.
+	 * @param claimedEntries
+	 * 		Names of classes already supplied by other sources in the same decompilation context.
+	 * 		Inner classes in this set are not supplied again by this source, and inner classes supplied by this source
+	 * 		are added to the set.
+	 */
+	protected ClassSource(@Nonnull Workspace workspace, @Nonnull JvmClassInfo targetInfo, @Nonnull Set<String> claimedEntries) {
 		super(workspace, targetInfo);
+		this.targetInfo = targetInfo;
 		sink = new DecompiledOutputSink(targetInfo);
+
+		// TODO: Bug in Vineflower makes it so that 'addLibrary' doesn't yield inner info for a class provided with 'addSource'
+		//  So for now until this is fixed upstream we will also supply inners here.
+		//  This will make Vineflower decompile each inner class separately as well, but its the best fix for now without
+		//  too much of a perf hit.
+		String targetName = targetInfo.getName();
+		claimedEntries.add(targetName);
+		entries = new ArrayList<>();
+		entries.add(new Entry(targetName, Entry.BASE_VERSION));
+		for (InnerClassInfo innerClass : targetInfo.getInnerClasses()) {
+			// Only add entry if it exists in the workspace, and has not been supplied already.
+			String innerName = innerClass.getInnerClassName();
+			if (!claimedEntries.contains(innerName) && workspace.findClass(innerName) != null) {
+				claimedEntries.add(innerName);
+				entries.add(new Entry(innerName, Entry.BASE_VERSION));
+			}
+		}
 	}
 
 	/**
@@ -40,17 +76,6 @@ protected DecompiledOutputSink getSink() {
 
 	@Override
 	public Entries getEntries() {
-		// TODO: Bug in Vineflower makes it so that 'addLibrary' doesn't yield inner info for a class provided with 'addSource'
-		//  So for now until this is fixed upstream we will also supply inners here.
-		//  This will make Vineflower decompile each inner class separately as well, but its the best fix for now without
-		//  too much of a perf hit.
-		List<Entry> entries = new ArrayList<>();
-		entries.add(new Entry(targetInfo.getName(), Entry.BASE_VERSION));
-		for (InnerClassInfo innerClass : targetInfo.getInnerClasses()) {
-			// Only add entry if it exists in the workspace.
-			if (workspace.findClass(innerClass.getInnerClassName()) != null)
-				entries.add(new Entry(innerClass.getName(), Entry.BASE_VERSION));
-		}
 		return new Entries(entries, Collections.emptyList(), Collections.emptyList());
 	}
 
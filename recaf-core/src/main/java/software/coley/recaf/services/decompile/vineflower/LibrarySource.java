@@ -5,6 +5,7 @@
 import software.coley.recaf.info.JvmClassInfo;
 import software.coley.recaf.workspace.model.Workspace;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 
@@ -30,6 +31,19 @@ protected LibrarySource(@Nonnull List<IContextSource.Entry> entries, @Nonnull Wo
 		this.entries = entries;
 	}
 
+	/**
+	 * @param entries
+	 * 		List of context entries in the given workspace.
+	 * @param workspace
+	 * 		Workspace to pull class files from.
+	 * @param targetInfos
+	 * 		Target classes to decompile.
+	 */
+	protected LibrarySource(@Nonnull List<IContextSource.Entry> entries, @Nonnull Workspace workspace, @Nonnull Collection<JvmClassInfo> targetInfos) {
+		super(workspace, targetInfos);
+		this.entries = entries;
+	}
+
 	@Override
 	public Entries getEntries() {
 		return new Entries(entries, Collections.emptyList(), Collections.emptyList());
@@ -11,6 +11,12 @@
 import software.coley.recaf.services.decompile.DecompileResult;
 import software.coley.recaf.workspace.model.Workspace;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
 /**
  * Vineflower decompiler implementation.
  *
@@ -58,4 +64,44 @@ public DecompileResult decompileInternal(@Nonnull Workspace workspace, @Nonnull
 			return new DecompileResult(e, config.getHash());
 		}
 	}
+
+	@Override
+	protected void decompileBatchInternal(@Nonnull Workspace workspace, @Nonnull List<JvmClassInfo> classes,
+	                                      @Nonnull BiConsumer<JvmClassInfo, DecompileResult> resultConsumer) {
+		// All classes in the batch are decompiled within a single context, so library classes referenced by
+		// multiple classes in the batch only need to be loaded once. Inner classes shared between classes in the
+		// batch are also only supplied once.
+		Fernflower fernflower = new Fernflower(dummySaver, config.getFernflowerProperties(), logger);
+		List<ClassSource> sources = new ArrayList<>(classes.size());
+		Set<String> claimedEntries = new HashSet<>();
+		for (JvmClassInfo info : classes)
+			claimedEntries.add(info.getName());
+		try {
+			for (JvmClassInfo info : classes) {
+				ClassSource source = new ClassSource(workspace, info, claimedEntries);
+				sources.add(source);
+				fernflower.addSource(source);
+			}
+			fernflower.addLibrary(new LibrarySource(workspaceEntriesCache.getCachedEntries(workspace), workspace, classes));
+			fernflower.decompileContext();
+		} catch (Exception e) {
+			// The context as a whole failed, so decompile each class on its own so that the failure
+			// is isolated to the classes that caused it.
+			for (JvmClassInfo info : classes)
+				resultConsumer.accept(info, decompileInternal(workspace, info));
+			return;
+		}
+
+		for (int i = 0; i < classes.size(); i++) {
+			JvmClassInfo info = classes.get(i);
+			String decompiled = sources.get(i).getSink().getDecompiledOutput().get();
+
+			// Vineflower skips classes it fails on within a context, so we decompile those on their own
+			// to get the failure specific to the class.
+			DecompileResult result = decompiled == null || decompiled.isEmpty() ?
+					decompileInternal(workspace, info) :
+					new DecompileResult(decompiled, config.getHash());
+			resultConsumer.accept(info, result);
+		}
+	}
 }
@@ -0,0 +1,191 @@
+package software.coley.recaf.services.decompile.worker;
+
+import jakarta.annotation.Nonnull;
+import software.coley.recaf.info.JvmClassInfo;
+import software.coley.recaf.services.decompile.worker.DecompilerWorkerProtocol.Request;
+import software.coley.recaf.services.decompile.worker.DecompilerWorkerProtocol.Response;
+import software.coley.recaf.workspace.model.Workspace;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Handle to a single decompiler worker process running {@link DecompilerWorkerMain}.
+ * A worker handles one request at a time.
+ *
+ * @author Matt Coley
+ */
+final class DecompilerWorker implements Closeable {
+	private final Process process;
+	private final DataOutputStream out;
+	private final DataInputStream in;
+	private final Map<String, byte[]> sentClasses = new HashMap<>();
+	private WeakReference<Workspace> contextWorkspace = new WeakReference<>(null);
+	private volatile boolean killed;
+	private int decompiled;
+
+	private DecompilerWorker(@Nonnull Process process) {
+		this.process = process;
+		this.out = new DataOutputStream(new BufferedOutputStream(process.getOutputStream()));
+		this.in = new DataInputStream(new BufferedInputStream(process.getInputStream()));
+	}
+
+	/**
+	 * @param heapMb
+	 * 		Maximum heap size of the worker process in megabytes.
+	 * @param recafDirectory
+	 * 		Recaf directory for the worker process to use, kept separate from the main process
+	 * 		so that the worker never writes to the user's config.
+	 * @param logPath
+	 * 		File to append the worker's error output to.
+	 * @param timeoutSeconds
+	 * 		Time to wait for the worker to start.
+	 * @param watchdog
+	 * 		Executor to schedule the startup timeout on.
+	 *
+	 * @return Started worker, ready to accept requests.
+	 *
+	 * @throws IOException
+	 * 		When the worker process could not be started, or did not start in time.
+	 */
+	@Nonnull
+	static DecompilerWorker start(int heapMb, @Nonnull Path recafDirectory, @Nonnull Path logPath,
+	                              int timeoutSeconds, @Nonnull ScheduledExecutorService watchdog) throws IOException {
+		List<String> command = new ArrayList<>();
+		command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+		command.add("-Xmx" + heapMb + "m");
+		command.add("-DRECAF_DIR=" + recafDirectory);
+		command.add("-cp");
+		command.add(System.getProperty("java.class.path"));
+		command.add(DecompilerWorkerMain.class.getName());
+		Process process = new ProcessBuilder(command)
+				.redirectError(ProcessBuilder.Redirect.appendTo(logPath.toFile()))
+				.start();
+
+		DecompilerWorker worker = new DecompilerWorker(process);
+		ScheduledFuture<?> kill = watchdog.schedule(worker::kill, timeoutSeconds, TimeUnit.SECONDS);
+		try {
+			if (worker.in.readInt() != DecompilerWorkerProtocol.HANDSHAKE)
+				throw new IOException("Decompiler worker sent an invalid handshake");
+			return worker;
+		} catch (IOException ex) {
+			worker.close();
+			throw worker.killed ? new IOException("Decompiler worker did not start within " + timeoutSeconds + " seconds", ex) : ex;
+		} finally {
+			kill.cancel(false);
+		}
+	}
+
+	/**
+	 * @param request
+	 * 		Request to send.
+	 * @param timeoutSeconds
+	 * 		Time to wait for the response. If exceeded, the worker is killed.
+	 * @param watchdog
+	 * 		Executor to schedule the timeout on.
+	 *
+	 * @return Response from the worker.
+	 *
+	 * @throws IOException
+	 * 		When communication with the worker fails. The worker should be discarded.
+	 * @throws TimeoutException
+	 * 		When the worker did not respond in time. The worker has been killed.
+	 */
+	@Nonnull
+	Response decompile(@Nonnull Request request, int timeoutSeconds,
+	                   @Nonnull ScheduledExecutorService watchdog) throws IOException, TimeoutException {
+		ScheduledFuture<?> kill = watchdog.schedule(this::kill, timeoutSeconds, TimeUnit.SECONDS);
+		try {
+			request.write(out);
+			Response response = Response.read(in);
+			decompiled++;
+			return response;
+		} catch (IOException ex) {
+			if (killed)
+				throw new TimeoutException("Decompiler worker did not complete within " + timeoutSeconds + " seconds");
+			throw ex;
+		} finally {
+			kill.cancel(false);
+		}
+	}
+
+	/**
+	 * Workers keep the classes sent to them between requests. When a request for a different workspace is made,
+	 * the classes kept by the worker must be discarded.
+	 *
+	 * @param workspace
+	 * 		Workspace of the next request.
+	 *
+	 * @return {@code true} when the workspace differs from that of the prior request,
+	 * and the worker's classes should be reset.
+	 */
+	boolean resetContextIfChanged(@Nonnull Workspace workspace) {
+		if (contextWorkspace.get() == workspace)
+			return false;
+		contextWorkspace = new WeakReference<>(workspace);
+		sentClasses.clear();
+		return true;
+	}
+
+	/**
+	 * @param classInfo
+	 * 		Class to be sent to the worker.
+	 *
+	 * @return {@code true} when the class has not been sent to the worker before, or has changed since it was last sent.
+	 * {@code false} when the worker already has this class.
+	 */
+	boolean markSent(@Nonnull JvmClassInfo classInfo) {
+		// Class models are immutable, so changed classes will always have a different bytecode array.
+		byte[] bytecode = classInfo.getBytecode();
+		return sentClasses.put(classInfo.getName(), bytecode) != bytecode;
+	}
+
+	/**
+	 * @return Number of classes this worker has decompiled.
+	 */
+	int getDecompiled() {
+		return decompiled;
+	}
+
+	/**
+	 * @return {@code true} when the worker process is still running.
+	 */
+	boolean isAlive() {
+		return !killed && process.isAlive();
+	}
+
+	private void kill() {
+		killed = true;
+		process.destroyForcibly();
+	}
+
+	@Override
+	public void close() {
+		// Closing the input of the worker makes it exit on its own, but if it is stuck we do not want to wait on it.
+		try {
+			out.close();
+		} catch (IOException ignored) {
+			// Already closed
+		}
+		if (!process.isAlive())
+			return;
+		process.onExit().completeOnTimeout(null, 1, TimeUnit.SECONDS).thenRun(() -> {
+			if (process.isAlive())
+				process.destroyForcibly();
+		});
+	}
+}
@@ -0,0 +1,18 @@
+package software.coley.recaf.services.decompile.worker;
+
+import jakarta.annotation.Nonnull;
+
+/**
+ * Exception attached to decompilation results that failed in, or due to, a decompiler worker process.
+ *
+ * @author Matt Coley
+ */
+public class DecompilerWorkerException extends Exception {
+	/**
+	 * @param message
+	 * 		Failure message. For failures inside the worker this is the stack trace of the worker's exception.
+	 */
+	public DecompilerWorkerException(@Nonnull String message) {
+		super(message);
+	}
+}
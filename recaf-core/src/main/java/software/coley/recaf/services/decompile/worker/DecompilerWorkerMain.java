@@ -0,0 +1,137 @@
+package software.coley.recaf.services.decompile.worker;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import jakarta.annotation.Nonnull;
+import software.coley.recaf.Bootstrap;
+import software.coley.recaf.Recaf;
+import software.coley.recaf.config.ConfigValue;
+import software.coley.recaf.info.JvmClassInfo;
+import software.coley.recaf.info.builder.JvmClassInfoBuilder;
+import software.coley.recaf.services.decompile.DecompileResult;
+import software.coley.recaf.services.decompile.DecompilerConfig;
+import software.coley.recaf.services.decompile.DecompilerManager;
+import software.coley.recaf.services.decompile.JvmDecompiler;
+import software.coley.recaf.services.decompile.worker.DecompilerWorkerProtocol.Request;
+import software.coley.recaf.services.decompile.worker.DecompilerWorkerProtocol.Response;
+import software.coley.recaf.services.decompile.worker.DecompilerWorkerProtocol.WireClass;
+import software.coley.recaf.services.json.GsonProvider;
+import software.coley.recaf.util.StringUtil;
+import software.coley.recaf.workspace.model.BasicWorkspace;
+import software.coley.recaf.workspace.model.Workspace;
+import software.coley.recaf.workspace.model.bundle.BasicJvmClassBundle;
+import software.coley.recaf.workspace.model.resource.WorkspaceResourceBuilder;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Entry point of decompiler worker processes started by {@link DecompilerWorkerPool}.
+ * Requests are read from standard input, and responses are written to standard output.
+ *
+ * @author Matt Coley
+ */
+public class DecompilerWorkerMain {
+	private final Map<String, String> appliedConfigs = new HashMap<>();
+	private final DecompilerManager decompilerManager;
+	private final Gson gson;
+	private BasicJvmClassBundle contextBundle;
+	private Workspace contextWorkspace;
+
+	private DecompilerWorkerMain(@Nonnull Recaf recaf) {
+		decompilerManager = recaf.get(DecompilerManager.class);
+		gson = recaf.get(GsonProvider.class).getGson();
+	}
+
+	/**
+	 * @param args
+	 * 		Unused.
+	 *
+	 * @throws IOException
+	 * 		When communication with the parent process fails.
+	 */
+	public static void main(String[] args) throws IOException {
+		// Standard output is reserved for responses, so anything else printed by decompilers or logging
+		// must go to standard error instead. This must be done before logging is initialized.
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out)));
+		DataInputStream in = new DataInputStream(new BufferedInputStream(System.in));
+		System.setOut(System.err);
+
+		Bootstrap.enableCoreOnlyDiscovery();
+		DecompilerWorkerMain worker = new DecompilerWorkerMain(Bootstrap.get());
+		out.writeInt(DecompilerWorkerProtocol.HANDSHAKE);
+		out.flush();
+
+		// Handle requests until the parent process closes our input.
+		while (true) {
+			Request request;
+			try {
+				request = Request.read(in);
+			} catch (EOFException ex) {
+				break;
+			}
+			worker.handle(request).write(out);
+		}
+
+		// Skip shutdown hooks, we do not want the container to persist anything on shutdown.
+		Runtime.getRuntime().halt(0);
+	}
+
+	@Nonnull
+	private Response handle(@Nonnull Request request) {
+		try {
+			String name = request.decompilerName();
+			JvmDecompiler decompiler = decompilerManager.getJvmDecompiler(name);
+			if (decompiler == null)
+				return new Response(DecompileResult.ResultType.FAILURE, null, "No decompiler in worker named: " + name);
+			if (!request.configJson().equals(appliedConfigs.get(name))) {
+				applyConfig(decompiler.getConfig(), request.configJson());
+				appliedConfigs.put(name, request.configJson());
+			}
+
+			// Context classes are kept between requests, so the pool only sends classes we have not seen yet.
+			JvmClassInfo target = toClass(request.target());
+			if (request.resetContext() || contextWorkspace == null) {
+				contextBundle = new BasicJvmClassBundle();
+				for (WireClass cls : request.context())
+					contextBundle.initialPut(toClass(cls));
+				contextBundle.initialPut(target);
+				contextWorkspace = new BasicWorkspace(new WorkspaceResourceBuilder().withJvmClassBundle(contextBundle).build());
+			} else {
+				for (WireClass cls : request.context())
+					contextBundle.put(toClass(cls));
+				contextBundle.put(target);
+			}
+
+			DecompileResult result = decompiler.decompile(contextWorkspace, target);
+			Throwable exception = result.getException();
+			return new Response(result.getType(), result.getText(), exception == null ? null : StringUtil.traceToString(exception));
+		} catch (Throwable t) {
+			return new Response(DecompileResult.ResultType.FAILURE, null, StringUtil.traceToString(t));
+		}
+	}
+
+	@SuppressWarnings({"raw", "rawtypes", "unchecked"})
+	private void applyConfig(@Nonnull DecompilerConfig config, @Nonnull String configJson) {
+		JsonObject json = gson.fromJson(configJson, JsonObject.class);
+		for (ConfigValue value : config.getValues().values()) {
+			JsonElement element = json.get(value.getId());
+			if (element != null)
+				value.setValue(gson.fromJson(element, value.getType()));
+		}
+	}
+
+	@Nonnull
+	private static JvmClassInfo toClass(@Nonnull WireClass cls) {
+		return new JvmClassInfoBuilder(cls.bytecode(), cls.readerFlags()).build();
+	}
+}
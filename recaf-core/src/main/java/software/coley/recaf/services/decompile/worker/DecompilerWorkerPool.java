@@ -0,0 +1,268 @@
+package software.coley.recaf.services.decompile.worker;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import software.coley.recaf.analytics.logging.DebuggingLogger;
+import software.coley.recaf.analytics.logging.Logging;
+import software.coley.recaf.config.ConfigValue;
+import software.coley.recaf.info.JvmClassInfo;
+import software.coley.recaf.path.ClassPathNode;
+import software.coley.recaf.services.decompile.DecompileResult;
+import software.coley.recaf.services.decompile.DecompilerManager;
+import software.coley.recaf.services.decompile.DecompilerManagerConfig;
+import software.coley.recaf.services.decompile.JvmDecompiler;
+import software.coley.recaf.services.decompile.worker.DecompilerWorkerProtocol.Request;
+import software.coley.recaf.services.decompile.worker.DecompilerWorkerProtocol.Response;
+import software.coley.recaf.services.decompile.worker.DecompilerWorkerProtocol.WireClass;
+import software.coley.recaf.util.threading.ThreadPoolFactory;
+import software.coley.recaf.workspace.model.Workspace;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Pool of decompiler worker processes. Running decompilers in separate processes means that classes which make a
+ * decompiler allocate excessively or run for a long time do not cause GC pauses or contention in the main process.
+ * <ul>
+ *     <li>Each worker has its own {@link DecompilerManagerConfig#getOutOfProcessHeapMb() heap limit}.</li>
+ *     <li>Workers are replaced after {@link DecompilerManagerConfig#getOutOfProcessClassesPerWorker() a number of classes}
+ *     so that state built up in decompilers does not grow without bound.</li>
+ *     <li>Workers which exceed the {@link DecompilerManagerConfig#getOutOfProcessTimeoutSeconds() timeout} are killed.</li>
+ * </ul>
+ * Workers are sent the class to decompile along with the workspace classes it refers to and their parents, so that
+ * the decompiler can resolve type information. Workers keep these classes between requests, so each class is only
+ * sent to a worker once unless it changes. Classes of the Java runtime are available in the worker already.
+ * <p>
+ * Only decompilers which are part of Recaf itself are supported, as plugins are not loaded in workers.
+ * If a worker process cannot be started, the pool disables itself and callers should decompile in-process.
+ *
+ * @author Matt Coley
+ * @see DecompilerWorkerMain
+ */
+public class DecompilerWorkerPool {
+	private static final DebuggingLogger logger = Logging.get(DecompilerWorkerPool.class);
+	private static final int MAX_CONTEXT_CLASSES = 2048;
+	private final ScheduledExecutorService watchdog = ThreadPoolFactory.newScheduledThreadPool("decompile-worker-watchdog", true);
+	private final Deque<DecompilerWorker> idleWorkers = new ArrayDeque<>();
+	private final Gson gson;
+	private final Path recafDirectory;
+	private final Path logPath;
+	private volatile boolean available = true;
+	private int liveWorkers;
+
+	/**
+	 * @param gson
+	 * 		Gson instance to serialize decompiler config values with.
+	 * @param recafDirectory
+	 * 		Recaf directory for worker processes to use.
+	 * @param logPath
+	 * 		File to append the error output of worker processes to.
+	 */
+	public DecompilerWorkerPool(@Nonnull Gson gson, @Nonnull Path recafDirectory, @Nonnull Path logPath) {
+		this.gson = gson;
+		this.recafDirectory = recafDirectory;
+		this.logPath = logPath;
+	}
+
+	/**
+	 * @param decompiler
+	 * 		Decompiler to check.
+	 *
+	 * @return {@code true} when the decompiler can be run in a worker process.
+	 */
+	public boolean supports(@Nonnull JvmDecompiler decompiler) {
+		// Plugins are not loaded in workers, so only decompilers that ship with Recaf can be used.
+		return available && decompiler.getClass().getClassLoader() == DecompilerManager.class.getClassLoader();
+	}
+
+	/**
+	 * @param config
+	 * 		Config to pull worker options from.
+	 * @param decompiler
+	 * 		Decompiler to use.
+	 * @param workspace
+	 * 		Workspace to pull type information from.
+	 * @param classInfo
+	 * 		Class to decompile. Any filtering should already be applied.
+	 *
+	 * @return Decompilation result, or {@code null} if no worker could be started.
+	 * In that case the pool is disabled, and the caller should decompile in-process.
+	 */
+	@Nullable
+	public DecompileResult decompile(@Nonnull DecompilerManagerConfig config, @Nonnull JvmDecompiler decompiler,
+	                                 @Nonnull Workspace workspace, @Nonnull JvmClassInfo classInfo) {
+		int configHash = decompiler.getConfig().getHash();
+		DecompilerWorker worker;
+		try {
+			worker = acquire(config);
+		} catch (IOException ex) {
+			available = false;
+			logger.warn("Failed to start decompiler worker, falling back to in-process decompilation", ex);
+			return null;
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			return new DecompileResult(ex, configHash);
+		}
+
+		boolean resetContext = worker.resetContextIfChanged(workspace);
+		worker.markSent(classInfo);
+		Request request = new Request(decompiler.getName(), serializeConfig(decompiler), resetContext, toWire(classInfo),
+				collectContext(worker, workspace, classInfo));
+		try {
+			Response response = worker.decompile(request, config.getOutOfProcessTimeoutSeconds().getValue(), watchdog);
+			release(config, worker);
+			return toResult(response, configHash);
+		} catch (IOException | TimeoutException ex) {
+			discard(worker);
+			logger.debugging(l -> l.warn("Decompiler worker failed on '{}'", classInfo.getName(), ex));
+			return new DecompileResult(new DecompilerWorkerException(ex.getMessage() == null ?
+					ex.getClass().getSimpleName() : ex.getMessage()), configHash);
+		}
+	}
+
+	/**
+	 * Stops all idle workers. Workers in use are stopped once their current request completes.
+	 */
+	public void shutdown() {
+		available = false;
+		List<DecompilerWorker> workers;
+		synchronized (this) {
+			workers = new ArrayList<>(idleWorkers);
+			idleWorkers.clear();
+		}
+		workers.forEach(this::discard);
+	}
+
+	@Nonnull
+	private DecompilerWorker acquire(@Nonnull DecompilerManagerConfig config) throws IOException, InterruptedException {
+		while (true) {
+			DecompilerWorker worker;
+			synchronized (this) {
+				// Wait until there is an idle worker, or we are under the limit and can start a new one.
+				while ((worker = idleWorkers.poll()) == null &&
+						liveWorkers >= Math.max(1, config.getOutOfProcessWorkers().getValue()))
+					wait();
+				if (worker == null)
+					liveWorkers++;
+			}
+			if (worker != null) {
+				if (worker.isAlive())
+					return worker;
+				discard(worker);
+				continue;
+			}
+
+			try {
+				return DecompilerWorker.start(config.getOutOfProcessHeapMb().getValue(), recafDirectory, logPath,
+						config.getOutOfProcessTimeoutSeconds().getValue(), watchdog);
+			} catch (IOException ex) {
+				synchronized (this) {
+					liveWorkers--;
+					notifyAll();
+				}
+				throw ex;
+			}
+		}
+	}
+
+	private void release(@Nonnull DecompilerManagerConfig config, @Nonnull DecompilerWorker worker) {
+		boolean recycle = !available || !worker.isAlive() ||
+				worker.getDecompiled() >= config.getOutOfProcessClassesPerWorker().getValue();
+		if (!recycle) {
+			synchronized (this) {
+				// Drop workers if the worker limit has been lowered since they were started.
+				recycle = liveWorkers > Math.max(1, config.getOutOfProcessWorkers().getValue());
+			}
+		}
+		if (recycle) {
+			discard(worker);
+		} else {
+			synchronized (this) {
+				idleWorkers.add(worker);
+				notifyAll();
+			}
+		}
+	}
+
+	private void discard(@Nonnull DecompilerWorker worker) {
+		worker.close();
+		synchronized (this) {
+			liveWorkers--;
+			notifyAll();
+		}
+	}
+
+	@Nonnull
+	private String serializeConfig(@Nonnull JvmDecompiler decompiler) {
+		JsonObject json = new JsonObject();
+		for (ConfigValue<?> value : decompiler.getConfig().getValues().values())
+			json.add(value.getId(), gson.toJsonTree(value.getValue()));
+		return gson.toJson(json);
+	}
+
+	/**
+	 * @param worker
+	 * 		Worker the context will be sent to.
+	 * @param workspace
+	 * 		Workspace to pull classes from.
+	 * @param classInfo
+	 * 		Class being decompiled.
+	 *
+	 * @return Workspace classes referenced by the given class, and the parents of those classes,
+	 * which the worker does not already have.
+	 */
+	@Nonnull
+	private static List<WireClass> collectContext(@Nonnull DecompilerWorker worker, @Nonnull Workspace workspace,
+	                                              @Nonnull JvmClassInfo classInfo) {
+		Map<String, JvmClassInfo> context = new LinkedHashMap<>();
+		Deque<String> queue = new ArrayDeque<>(classInfo.getReferencedClasses());
+		while (!queue.isEmpty() && context.size() < MAX_CONTEXT_CLASSES) {
+			String name = queue.poll();
+			if (name.equals(classInfo.getName()) || context.containsKey(name))
+				continue;
+
+			// Only non-internal classes are needed, the runtime is available in the worker.
+			ClassPathNode path = workspace.findJvmClass(false, name);
+			if (path == null || !path.getValue().isJvmClass())
+				continue;
+			JvmClassInfo referenced = path.getValue().asJvmClass();
+			context.put(name, referenced);
+			if (referenced.getSuperName() != null)
+				queue.add(referenced.getSuperName());
+			queue.addAll(referenced.getInterfaces());
+		}
+
+		List<WireClass> wireClasses = new ArrayList<>();
+		for (JvmClassInfo cls : context.values())
+			if (worker.markSent(cls))
+				wireClasses.add(toWire(cls));
+		return wireClasses;
+	}
+
+	@Nonnull
+	private static WireClass toWire(@Nonnull JvmClassInfo classInfo) {
+		return new WireClass(classInfo.getBytecode(), classInfo.getClassReaderFlags());
+	}
+
+	@Nonnull
+	private static DecompileResult toResult(@Nonnull Response response, int configHash) {
+		String text = response.text();
+		String trace = response.trace();
+		return switch (response.type()) {
+			case SUCCESS -> new DecompileResult(text == null ? "" : text, configHash);
+			case SKIPPED -> text == null ? new DecompileResult(configHash) : new DecompileResult(configHash).withText(text);
+			case FAILURE -> new DecompileResult(new DecompilerWorkerException(trace == null ?
+					"Decompile failed in worker, but no trace was attached" : trace), configHash);
+		};
+	}
+}
@@ -0,0 +1,137 @@
+package software.coley.recaf.services.decompile.worker;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import software.coley.recaf.services.decompile.DecompileResult;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Wire format for messages exchanged between {@link DecompilerWorkerPool} and {@link DecompilerWorkerMain}.
+ * <p>
+ * Once started, a worker writes {@link #HANDSHAKE} to signal that it is ready. Then for each {@link Request} written
+ * by the pool the worker replies with a {@link Response}. The worker exits when its input is closed.
+ *
+ * @author Matt Coley
+ */
+final class DecompilerWorkerProtocol {
+	static final int HANDSHAKE = 0x52434657;
+
+	private DecompilerWorkerProtocol() {}
+
+	/**
+	 * @param decompilerName
+	 * 		Name of the decompiler to use.
+	 * @param configJson
+	 * 		Decompiler config values, as a JSON object of value ids to values.
+	 * @param resetContext
+	 * 		{@code true} to discard classes sent in prior requests, such as when the workspace has changed.
+	 * @param target
+	 * 		Class to decompile.
+	 * @param context
+	 * 		Additional classes for the decompiler to pull type information from, which are kept by the worker for
+	 * 		later requests. Only classes which are new to the worker, or have changed since they were last sent,
+	 * 		need to be included.
+	 */
+	record Request(@Nonnull String decompilerName, @Nonnull String configJson, boolean resetContext,
+	               @Nonnull WireClass target, @Nonnull List<WireClass> context) {
+		void write(@Nonnull DataOutputStream out) throws IOException {
+			out.writeUTF(decompilerName);
+			writeString(out, configJson);
+			out.writeBoolean(resetContext);
+			target.write(out);
+			out.writeInt(context.size());
+			for (WireClass cls : context)
+				cls.write(out);
+			out.flush();
+		}
+
+		@Nonnull
+		static Request read(@Nonnull DataInputStream in) throws IOException {
+			String decompilerName = in.readUTF();
+			String configJson = readString(in);
+			boolean resetContext = in.readBoolean();
+			WireClass target = WireClass.read(in);
+			int count = in.readInt();
+			List<WireClass> context = new ArrayList<>(count);
+			for (int i = 0; i < count; i++)
+				context.add(WireClass.read(in));
+			return new Request(decompilerName, configJson, resetContext, target, context);
+		}
+	}
+
+	/**
+	 * @param type
+	 * 		Result type.
+	 * @param text
+	 * 		Decompiled text, if any.
+	 * @param trace
+	 * 		Stack trace of the failure in the worker, if any.
+	 */
+	record Response(@Nonnull DecompileResult.ResultType type, @Nullable String text, @Nullable String trace) {
+		void write(@Nonnull DataOutputStream out) throws IOException {
+			out.writeByte(type.ordinal());
+			writeNullableString(out, text);
+			writeNullableString(out, trace);
+			out.flush();
+		}
+
+		@Nonnull
+		static Response read(@Nonnull DataInputStream in) throws IOException {
+			DecompileResult.ResultType type = DecompileResult.ResultType.values()[in.readUnsignedByte()];
+			return new Response(type, readNullableString(in), readNullableString(in));
+		}
+	}
+
+	/**
+	 * @param bytecode
+	 * 		Class bytecode.
+	 * @param readerFlags
+	 * 		Flags to read the class with.
+	 */
+	record WireClass(@Nonnull byte[] bytecode, int readerFlags) {
+		void write(@Nonnull DataOutputStream out) throws IOException {
+			out.writeInt(readerFlags);
+			out.writeInt(bytecode.length);
+			out.write(bytecode);
+		}
+
+		@Nonnull
+		static WireClass read(@Nonnull DataInputStream in) throws IOException {
+			int readerFlags = in.readInt();
+			byte[] bytecode = new byte[in.readInt()];
+			in.readFully(bytecode);
+			return new WireClass(bytecode, readerFlags);
+		}
+	}
+
+	// Strings are written as length-prefixed UTF-8 rather than with 'writeUTF', which is limited to 64kb.
+	private static void writeString(@Nonnull DataOutputStream out, @Nonnull String value) throws IOException {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	@Nonnull
+	private static String readString(@Nonnull DataInputStream in) throws IOException {
+		byte[] bytes = new byte[in.readInt()];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static void writeNullableString(@Nonnull DataOutputStream out, @Nullable String value) throws IOException {
+		out.writeBoolean(value != null);
+		if (value != null)
+			writeString(out, value);
+	}
+
+	@Nullable
+	private static String readNullableString(@Nonnull DataInputStream in) throws IOException {
+		return in.readBoolean() ? readString(in) : null;
+	}
+}
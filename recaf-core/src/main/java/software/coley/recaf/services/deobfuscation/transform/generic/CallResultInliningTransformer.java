@@ -21,6 +21,7 @@
 import software.coley.recaf.services.transform.TransformationException;
 import software.coley.recaf.util.ClassMethodPair;
 import software.coley.recaf.util.analysis.eval.EvaluationResult;
+import software.coley.recaf.util.analysis.eval.EvaluationResultCache;
 import software.coley.recaf.util.analysis.eval.EvaluationYieldResult;
 import software.coley.recaf.util.analysis.eval.Evaluator;
 import software.coley.recaf.util.analysis.eval.FieldCacheManager;
@@ -33,8 +34,17 @@
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * A transformer that inlines method calls that can be fully evaluated.
@@ -46,10 +56,15 @@ public class CallResultInliningTransformer implements JvmClassTransformer {
 	/** Key for the maximum number of steps to allow when evaluating a method. */
 	public static final String KEY_MAX_STEPS = "call-result-inlining.max-steps";
 	private static final int DEFAULT_MAX_STEPS = 20_000;
+	/** Key for toggling reuse of results from evaluating the same pure methods with the same arguments. */
+	public static final String KEY_CACHE_RESULTS = "call-result-inlining.cache-results";
+	/** Key for toggling evaluation of independent call sites in parallel. */
+	public static final String KEY_PARALLEL_EVALUATION = "call-result-inlining.parallel-evaluation";
 
 	private final InheritanceGraphService graphService;
 
 	private InheritanceGraph inheritanceGraph;
+	private EvaluationResultCache resultCache;
 
 	@Inject
 	public CallResultInliningTransformer(@Nonnull InheritanceGraphService graphService) {
@@ -59,23 +74,23 @@ public CallResultInliningTransformer(@Nonnull InheritanceGraphService graphServi
 	@Override
 	public void setup(@Nonnull JvmTransformerContext context, @Nonnull Workspace workspace) {
 		inheritanceGraph = graphService.getOrCreateInheritanceGraph(workspace);
+
+		// Unlike the field cache, results of pure method evaluations do not depend on any evaluator state,
+		// so they can be safely shared across all classes transformed in this run.
+		resultCache = context.getParameters().getBoolean(KEY_CACHE_RESULTS, true) ? new EvaluationResultCache() : null;
 	}
 
 	@Override
 	public void transform(@Nonnull JvmTransformerContext context, @Nonnull Workspace workspace,
 	                      @Nonnull WorkspaceResource resource, @Nonnull JvmClassBundle bundle,
 	                      @Nonnull JvmClassInfo initialClassState) throws TransformationException {
-		boolean dirty = false;
-		String className = initialClassState.getName();
 		ClassNode node = context.getNode(bundle, initialClassState);
-
-		// The transformer instance is shared across classes transformed in parallel, so the evaluator
-		// and its field cache must be scoped to this invocation rather than stored as instance state.
-		// We used to have a shared evaluator + cache, but that caused issues with the parallel evaluation
-		// of multiple classes, where the field cache would be polluted by other threads.
 		int maxSteps = context.getParameters().getInt(KEY_MAX_STEPS, DEFAULT_MAX_STEPS);
-		FieldCacheManager fieldCacheManager = new FieldCacheManager();
-		Evaluator evaluator = new Evaluator(workspace, context.newInterpreter(inheritanceGraph), fieldCacheManager, maxSteps, false, false);
+
+		// Collect all call sites in the class that are candidates for inlining before evaluating any of them.
+		// This allows evaluation of independent call sites to happen in parallel, with the results patched in afterward.
+		Evaluator checkEvaluator = newEvaluator(context, workspace, new FieldCacheManager(), maxSteps);
+		Map<ClassMethodPair, List<CallSite>> sitesByTarget = new LinkedHashMap<>();
 		for (MethodNode method : node.methods) {
 			// Skip if abstract.
 			InsnList instructions = method.instructions;
@@ -104,31 +119,60 @@ public void transform(@Nonnull JvmTransformerContext context, @Nonnull Workspace
 					ClassMethodPair target = context.resolveMethod(min);
 					if (target == null)
 						continue;
-					if (!evaluator.canEvaluate(target.methodNode()))
+					if (!checkEvaluator.canEvaluate(target.methodNode()))
 						continue;
 
-					// Reset instance support before each evaluation to prevent state pollution.
-					fieldCacheManager.reset();
-
-					// Seed the call stack so trace-dependent operations can be evaluated at depth [1].
-					evaluator.setCallStackSeed(List.of(new ClassMethodPair(node, method)));
-
-					// Attempt evaluation. If it yields a value, replace the call with the result.
-					EvaluationResult result = evaluator.evaluate(target.classNode(), target.methodNode(), null, arguments);
-					if (result instanceof EvaluationYieldResult(ReValue retVal)) {
-						AbstractInsnNode replacement = OpaqueConstantFoldingTransformer.toInsn(retVal);
-						if (replacement != null) {
-							for (int arg = arguments.size() - 1; arg >= 0; arg--) {
-								ReValue argValue = arguments.get(arg);
-								if (argValue instanceof LongValue || argValue instanceof DoubleValue)
-									instructions.insertBefore(min, new InsnNode(Opcodes.POP2));
-								else
-									instructions.insertBefore(min, new InsnNode(Opcodes.POP));
-							}
-							instructions.set(min, replacement);
-							dirty = true;
-						}
+					sitesByTarget.computeIfAbsent(target, t -> new ArrayList<>())
+							.add(new CallSite(method, instructions, min, arguments));
+				}
+			}
+		}
+		if (sitesByTarget.isEmpty())
+			return;
+
+		// Evaluate each group of call sites sharing a target method. Each group gets its own evaluator and
+		// field cache, so when run in parallel no evaluation state is shared between threads.
+		Map<CallSite, ReValue> results = new ConcurrentHashMap<>();
+		List<Callable<Void>> tasks = new ArrayList<>(sitesByTarget.size());
+		sitesByTarget.forEach((target, sites) -> tasks.add(() -> {
+			evaluateSites(context, workspace, node, target, sites, maxSteps, results);
+			return null;
+		}));
+		if (tasks.size() > 1 && context.getParameters().getBoolean(KEY_PARALLEL_EVALUATION, true)) {
+			runShared(context.getExecutor(), tasks);
+		} else {
+			for (Callable<Void> task : tasks) {
+				try {
+					task.call();
+				} catch (Exception ex) {
+					throw new TransformationException("Failed evaluating call sites", ex);
+				}
+			}
+		}
+		if (results.isEmpty())
+			return;
+
+		// Patch all evaluated call sites with their results.
+		boolean dirty = false;
+		for (List<CallSite> sites : sitesByTarget.values()) {
+			for (CallSite site : sites) {
+				ReValue retVal = results.get(site);
+				if (retVal == null)
+					continue;
+				AbstractInsnNode replacement = OpaqueConstantFoldingTransformer.toInsn(retVal);
+				if (replacement != null) {
+					InsnList instructions = site.instructions();
+					MethodInsnNode min = site.invocation();
+					List<ReValue> arguments = site.arguments();
+					for (int arg = arguments.size() - 1; arg >= 0; arg--) {
+						ReValue argValue = arguments.get(arg);
+						if (argValue instanceof LongValue || argValue instanceof DoubleValue)
+							instructions.insertBefore(min, new InsnNode(Opcodes.POP2));
+						else
+							instructions.insertBefore(min, new InsnNode(Opcodes.POP));
 					}
+					instructions.set(min, replacement);
+					dirty = true;
 				}
 			}
 		}
@@ -136,6 +180,101 @@ public void transform(@Nonnull JvmTransformerContext context, @Nonnull Workspace
 			context.setNode(bundle, initialClassState, node);
 	}
 
+	/**
+	 * @param context
+	 * 		Transformation context.
+	 * @param workspace
+	 * 		Workspace containing the class being transformed.
+	 * @param node
+	 * 		Class being transformed.
+	 * @param target
+	 * 		Method invoked by all the given call sites.
+	 * @param sites
+	 * 		Call sites to evaluate.
+	 * @param maxSteps
+	 * 		Maximum number of steps to allow per evaluation.
+	 * @param results
+	 * 		Map to record values yielded by evaluating each call site in.
+	 */
+	private void evaluateSites(@Nonnull JvmTransformerContext context, @Nonnull Workspace workspace,
+	                           @Nonnull ClassNode node, @Nonnull ClassMethodPair target, @Nonnull List<CallSite> sites,
+	                           int maxSteps, @Nonnull Map<CallSite, ReValue> results) {
+		// The transformer instance is shared across classes transformed in parallel, so the evaluator
+		// and its field cache must be scoped to this invocation rather than stored as instance state.
+		// We used to have a shared evaluator + cache, but that caused issues with the parallel evaluation
+		// of multiple classes, where the field cache would be polluted by other threads.
+		FieldCacheManager fieldCacheManager = new FieldCacheManager();
+		Evaluator evaluator = newEvaluator(context, workspace, fieldCacheManager, maxSteps);
+		for (CallSite site : sites) {
+			// Reset instance support before each evaluation to prevent state pollution.
+			fieldCacheManager.reset();
+
+			// Seed the call stack so trace-dependent operations can be evaluated at depth [1].
+			evaluator.setCallStackSeed(List.of(new ClassMethodPair(node, site.caller())));
+
+			// Attempt evaluation. If it yields a value, record it so the call can be replaced with the result.
+			EvaluationResult result = evaluator.evaluate(target.classNode(), target.methodNode(), null, site.arguments());
+			if (result instanceof EvaluationYieldResult(ReValue retVal))
+				results.put(site, retVal);
+		}
+	}
+
+	/**
+	 * Runs the given tasks on the executor of the transformation, which is shared with the tasks transforming
+	 * other classes. Tasks the executor has not started by the time they are all queued are run on the calling thread,
+	 * so waiting on them never depends on the executor having free threads, and no threads beyond those
+	 * of the transformation are used.
+	 *
+	 * @param executor
+	 * 		Executor to share tasks with.
+	 * @param tasks
+	 * 		Tasks to run.
+	 *
+	 * @throws TransformationException
+	 * 		When any of the tasks fail.
+	 */
+	private static void runShared(@Nonnull Executor executor, @Nonnull List<Callable<Void>> tasks) throws TransformationException {
+		List<Runnable> runners = new ArrayList<>(tasks.size());
+		List<CompletableFuture<Void>> futures = new ArrayList<>(tasks.size());
+		for (Callable<Void> task : tasks) {
+			// Each task is claimed by whichever thread gets to it first, the executor or the caller.
+			AtomicBoolean claimed = new AtomicBoolean();
+			CompletableFuture<Void> future = new CompletableFuture<>();
+			Runnable runner = () -> {
+				if (!claimed.compareAndSet(false, true))
+					return;
+				try {
+					future.complete(task.call());
+				} catch (Throwable t) {
+					future.completeExceptionally(t);
+				}
+			};
+			runners.add(runner);
+			futures.add(future);
+			try {
+				executor.execute(runner);
+			} catch (RejectedExecutionException ignored) {
+				// Will be run by the caller below.
+			}
+		}
+		for (Runnable runner : runners)
+			runner.run();
+		try {
+			for (CompletableFuture<Void> future : futures)
+				future.join();
+		} catch (CompletionException ex) {
+			throw new TransformationException("Failed evaluating call sites", ex.getCause());
+		}
+	}
+
+	@Nonnull
+	private Evaluator newEvaluator(@Nonnull JvmTransformerContext context, @Nonnull Workspace workspace,
+	                               @Nonnull FieldCacheManager fieldCacheManager, int maxSteps) {
+		Evaluator evaluator = new Evaluator(workspace, context.newInterpreter(inheritanceGraph), fieldCacheManager, maxSteps, false, false);
+		evaluator.setResultCache(resultCache);
+		return evaluator;
+	}
+
 	@Nonnull
 	@Override
 	public Set<Class<? extends ClassTransformer>> recommendedSuccessors() {
@@ -150,4 +289,27 @@ public String name() {
 		return "Call result inlining";
 	}
 
+	/**
+	 * @param caller
+	 * 		Method containing the call.
+	 * @param instructions
+	 * 		Instructions of the calling method.
+	 * @param invocation
+	 * 		Call instruction.
+	 * @param arguments
+	 * 		Known values of the arguments passed to the call.
+	 */
+	private record CallSite(@Nonnull MethodNode caller, @Nonnull InsnList instructions,
+	                        @Nonnull MethodInsnNode invocation, @Nonnull List<ReValue> arguments) {
+		// Call sites are unique by their instruction, and argument values do not need to be compared.
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof CallSite other && invocation == other.invocation;
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(invocation);
+		}
+	}
 }
@@ -5,29 +5,25 @@
 import org.objectweb.asm.tree.AbstractInsnNode;
 import org.objectweb.asm.tree.ClassNode;
 import org.objectweb.asm.tree.InsnList;
-import org.objectweb.asm.tree.JumpInsnNode;
 import org.objectweb.asm.tree.LabelNode;
 import org.objectweb.asm.tree.LocalVariableNode;
-import org.objectweb.asm.tree.LookupSwitchInsnNode;
 import org.objectweb.asm.tree.MethodNode;
-import org.objectweb.asm.tree.TableSwitchInsnNode;
 import org.objectweb.asm.tree.TryCatchBlockNode;
 import software.coley.recaf.info.JvmClassInfo;
 import software.coley.recaf.services.transform.ClassTransformer;
 import software.coley.recaf.services.transform.JvmClassTransformer;
 import software.coley.recaf.services.transform.JvmTransformerContext;
 import software.coley.recaf.services.transform.TransformationException;
-import software.coley.recaf.util.AsmInsnUtil;
+import software.coley.recaf.util.analysis.ControlFlowGraph;
 import software.coley.recaf.workspace.model.Workspace;
 import software.coley.recaf.workspace.model.bundle.JvmClassBundle;
 import software.coley.recaf.workspace.model.resource.WorkspaceResource;
 
-import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Queue;
 import java.util.Set;
 
 import static org.objectweb.asm.Opcodes.NOP;
@@ -76,12 +72,19 @@ public boolean prune(@Nonnull ClassNode node, @Nonnull MethodNode method) throws
 		boolean dirty = false;
 		try {
 			// Compute which instructions are visited by walking the method's control flow.
+			// Handlers are walked from as well, so their code is kept for as long as their try-catch blocks are.
+			ControlFlowGraph graph = ControlFlowGraph.of(method);
+			List<ControlFlowGraph.Block> flowStarts = new ArrayList<>();
+			flowStarts.add(graph.getEntry());
+			for (TryCatch tryCatch : tryCatches) {
+				ControlFlowGraph.Block handler = graph.getBlock(tryCatch.block.handler);
+				if (handler != null)
+					flowStarts.add(handler);
+			}
 			Set<AbstractInsnNode> visited = Collections.newSetFromMap(new IdentityHashMap<>());
-			List<AbstractInsnNode> flowStarts = new ArrayList<>();
-			flowStarts.add(instructions.getFirst());
-			for (TryCatch tryCatch : tryCatches)
-				flowStarts.add(tryCatch.block.handler);
-			visit(visited, flowStarts);
+			BitSet reachable = graph.reachableFrom(flowStarts);
+			for (int i = reachable.nextSetBit(0); i >= 0; i = reachable.nextSetBit(i + 1))
+				visited.addAll(graph.getBlocks().get(i).getInstructions());
 
 			// Prune any instructions not visited.
 			int end = instructions.size() - 1;
@@ -138,43 +141,6 @@ public boolean prune(@Nonnull ClassNode node, @Nonnull MethodNode method) throws
 		return dirty;
 	}
 
-	private static void visit(@Nonnull Set<AbstractInsnNode> visited, @Nonnull List<AbstractInsnNode> startingPoints) {
-		Queue<AbstractInsnNode> todo = new ArrayDeque<>(startingPoints);
-		while (!todo.isEmpty()) {
-			AbstractInsnNode insn = todo.remove();
-			while (insn != null && visited.add(insn)) {
-				handleNext:
-				{
-					switch (insn.getType()) {
-						case AbstractInsnNode.INSN -> {
-							if (AsmInsnUtil.isTerminalOrAlwaysTakeFlowControl(insn.getOpcode()))
-								break handleNext;
-						}
-						case AbstractInsnNode.JUMP_INSN -> {
-							JumpInsnNode jin = (JumpInsnNode) insn;
-							todo.add(jin.label);
-							if (AsmInsnUtil.isTerminalOrAlwaysTakeFlowControl(jin.getOpcode()))
-								break handleNext;
-						}
-						case AbstractInsnNode.TABLESWITCH_INSN -> {
-							TableSwitchInsnNode tsin = (TableSwitchInsnNode) insn;
-							todo.add(tsin.dflt);
-							todo.addAll(tsin.labels);
-							break handleNext;
-						}
-						case AbstractInsnNode.LOOKUPSWITCH_INSN -> {
-							LookupSwitchInsnNode lsin = (LookupSwitchInsnNode) insn;
-							todo.add(lsin.dflt);
-							todo.addAll(lsin.labels);
-							break handleNext;
-						}
-					}
-					insn = insn.getNext();
-				}
-			}
-		}
-	}
-
 	@Nonnull
 	@Override
 	public Set<Class<? extends ClassTransformer>> recommendedPredecessors() {
@@ -183,6 +149,11 @@ public Set<Class<? extends ClassTransformer>> recommendedPredecessors() {
 		return Collections.singleton(OpaquePredicateFoldingTransformer.class);
 	}
 
+	@Override
+	public boolean isClassLocal() {
+		return true;
+	}
+
 	@Nonnull
 	@Override
 	public String name() {
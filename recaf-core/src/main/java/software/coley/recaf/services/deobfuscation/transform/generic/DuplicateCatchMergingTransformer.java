@@ -140,6 +140,11 @@ private static boolean hasExternalFlowIntoCatchBlock(@Nonnull MethodNode method,
 		return hasInboundFlowReferences(method, block);
 	}
 
+	@Override
+	public boolean isClassLocal() {
+		return true;
+	}
+
 	@Nonnull
 	@Override
 	public String name() {
@@ -49,6 +49,11 @@ public void transform(@Nonnull JvmTransformerContext context, @Nonnull Workspace
 		context.setRecomputeFrames(initialClassState.getName());
 	}
 
+	@Override
+	public boolean isClassLocal() {
+		return true;
+	}
+
 	@Nonnull
 	@Override
 	public String name() {
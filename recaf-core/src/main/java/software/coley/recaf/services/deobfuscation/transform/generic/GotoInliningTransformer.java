@@ -19,6 +19,7 @@
 import software.coley.recaf.services.transform.JvmClassTransformer;
 import software.coley.recaf.services.transform.JvmTransformerContext;
 import software.coley.recaf.services.transform.TransformationException;
+import software.coley.recaf.util.analysis.ControlFlowGraph;
 import software.coley.recaf.workspace.model.Workspace;
 import software.coley.recaf.workspace.model.bundle.JvmClassBundle;
 import software.coley.recaf.workspace.model.resource.WorkspaceResource;
@@ -114,45 +115,10 @@ public void transform(@Nonnull JvmTransformerContext context, @Nonnull Workspace
 
 			// Lastly record implicit flow into labels.
 			// This just means if the code flows linearly from "A" into "B".
-			for (int i = 0; i < instructions.size(); i++) {
-				AbstractInsnNode insn = instructions.get(i);
-				if (insn instanceof LabelNode targetLabel) {
-					AbstractInsnNode prev = targetLabel.getPrevious();
-
-					// If the target label has no previous instruction then it must be the first label of the method.
-					// Thus, it makes sense to say "yeah, we can flow here".
-					if (prev == null) {
-						visitCounters.of(targetLabel).markImplicitFlow();
-						continue;
-					}
-
-					// We want to see if we can naturally flow into this position.
-					// Begin walking backwards linearly and see if we can end up at this target label.
-					while (true) {
-						// If we encounter an instruction that terminates linear flow we will stop walking backward.
-						// This should imply that the target label cannot naturally be flowed into.
-						if (isTerminalOrAlwaysTakeFlowControl(prev.getOpcode()))
-							break;
-
-						// If we encounter another label that is visited at least once while walking backwards
-						// then the flow should continue from there to our target label.
-						if (prev instanceof LabelNode prevLabel && visitCounters.of(prevLabel).isVisited()) {
-							visitCounters.of(targetLabel).markImplicitFlow();
-							break;
-						}
-
-						// Step backwards.
-						prev = prev.getPrevious();
-
-						// Same check that we had before the while loop. If we hit the start of the method,
-						// then of course we can flow to here.
-						if (prev == null) {
-							visitCounters.of(targetLabel).markImplicitFlow();
-							break;
-						}
-					}
-				}
-			}
+			ControlFlowGraph graph = ControlFlowGraph.of(method);
+			for (AbstractInsnNode insn = instructions.getFirst(); insn != null; insn = insn.getNext())
+				if (insn instanceof LabelNode targetLabel && isFlowedIntoLinearly(graph, targetLabel))
+					visitCounters.of(targetLabel).markImplicitFlow();
 
 			// Check for super-simple goto instruction patterns that can be inlined easily.
 			boolean localDirty = false;
@@ -315,6 +281,11 @@ public Set<Class<? extends ClassTransformer>> dependencies() {
 		return Collections.singleton(DeadCodeRemovingTransformer.class);
 	}
 
+	@Override
+	public boolean isClassLocal() {
+		return true;
+	}
+
 	@Nonnull
 	@Override
 	public String name() {
@@ -339,6 +310,31 @@ public void visitFrame(int type, int numLocal, Object[] local, int numStack, Obj
 		return copy;
 	}
 
+	/**
+	 * @param graph
+	 * 		Control flow graph of the method containing the label.
+	 * @param label
+	 * 		Some label in the method.
+	 *
+	 * @return {@code true} when code before the label can flow into it without a jump.
+	 */
+	private static boolean isFlowedIntoLinearly(@Nonnull ControlFlowGraph graph, @Nonnull LabelNode label) {
+		ControlFlowGraph.Block block = graph.getBlock(label);
+		if (block == null)
+			return false;
+
+		// The method entry is always flowed into, and labels within a block are flowed into by the code before them
+		// as long as the block itself is ever executed.
+		if (block.getIndex() == 0)
+			return true;
+		if (block.getFirst() != label)
+			return block.isReachable();
+
+		// Labels starting a block are flowed into when the block before them does not end by leaving linear flow.
+		ControlFlowGraph.Block previous = graph.getBlocks().get(block.getIndex() - 1);
+		return previous.isReachable() && !isTerminalOrAlwaysTakeFlowControl(previous.getLast().getOpcode());
+	}
+
 	/**
 	 * @param op
 	 * 		Instruction opcode.
@@ -47,6 +47,11 @@ public void transform(@Nonnull JvmTransformerContext context, @Nonnull Workspace
 			context.setBytecode(bundle, initialClassState, writer.toByteArray());
 	}
 
+	@Override
+	public boolean isClassLocal() {
+		return true;
+	}
+
 	@Nonnull
 	@Override
 	public String name() {
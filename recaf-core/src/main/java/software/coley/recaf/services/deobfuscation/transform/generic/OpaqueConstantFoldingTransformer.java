@@ -15,6 +15,7 @@
 import org.objectweb.asm.tree.MethodInsnNode;
 import org.objectweb.asm.tree.MethodNode;
 import org.objectweb.asm.tree.VarInsnNode;
+import org.objectweb.asm.tree.analysis.AnalyzerException;
 import org.objectweb.asm.tree.analysis.Frame;
 import software.coley.collections.Lists;
 import software.coley.recaf.info.JvmClassInfo;
@@ -24,6 +25,7 @@
 import software.coley.recaf.services.transform.JvmClassTransformer;
 import software.coley.recaf.services.transform.JvmTransformerContext;
 import software.coley.recaf.services.transform.TransformationException;
+import software.coley.recaf.util.analysis.ConditionalConstantAnalyzer;
 import software.coley.recaf.util.analysis.ReFrame;
 import software.coley.recaf.util.analysis.eval.EvaluationResult;
 import software.coley.recaf.util.analysis.eval.EvaluationYieldResult;
@@ -313,6 +315,34 @@ private boolean pass1StackManipulation(@Nonnull JvmTransformerContext context, @
 		return dirty;
 	}
 
+	/**
+	 * @param context
+	 * 		Transformation context.
+	 * @param node
+	 * 		Class defining the method.
+	 * @param method
+	 * 		Method to analyze.
+	 *
+	 * @return Frames of the method, where instructions only reachable through never-taken branches have no frame.
+	 *
+	 * @throws TransformationException
+	 * 		When the method cannot be analyzed.
+	 */
+	@Nonnull
+	private Frame<ReValue>[] analyzeConstants(@Nonnull JvmTransformerContext context, @Nonnull ClassNode node,
+	                                          @Nonnull MethodNode method) throws TransformationException {
+		// Conditional constant propagation does not merge in values from paths that never run,
+		// so values where such paths join back with live code can still be folded.
+		if (ConditionalConstantAnalyzer.isSupported(method)) {
+			try {
+				return new ConditionalConstantAnalyzer(context.newInterpreter(inheritanceGraph)).analyze(node.name, method).getFrames();
+			} catch (AnalyzerException ex) {
+				throw new TransformationException("Error encountered when computing method frames", ex);
+			}
+		}
+		return context.analyze(inheritanceGraph, node, method);
+	}
+
 	/**
 	 * Detects sequences of instructions that are passed to an "operation" like {@code iadd/dmul/fcml/etc}.
 	 * Once a sequence is validated such that the inputs are aligned to the expected stack state of the operation inputs
@@ -336,7 +366,7 @@ private boolean pass2SequenceFolding(@Nonnull JvmTransformerContext context, @No
 	                                     @Nonnull MethodNode method, @Nonnull InsnList instructions) throws TransformationException {
 		boolean dirty = false;
 		List<AbstractInsnNode> sequence = new ArrayList<>();
-		Frame<ReValue>[] frames = context.analyze(inheritanceGraph, node, method);
+		Frame<ReValue>[] frames = analyzeConstants(context, node, method);
 		int endIndex = instructions.size() - 1;
 		int unknownState = -1;
 		for (int i = 1; i < endIndex; i++) {
@@ -733,6 +763,11 @@ private static boolean shouldContinueSequence(@Nonnull List<AbstractInsnNode> se
 		return netStackChange > consumed || netStackChange != produced;
 	}
 
+	@Override
+	public boolean isClassLocal() {
+		return true;
+	}
+
 	@Nonnull
 	@Override
 	public String name() {
@@ -11,6 +11,7 @@
 import org.objectweb.asm.tree.LookupSwitchInsnNode;
 import org.objectweb.asm.tree.MethodNode;
 import org.objectweb.asm.tree.TableSwitchInsnNode;
+import org.objectweb.asm.tree.analysis.AnalyzerException;
 import org.objectweb.asm.tree.analysis.Frame;
 import software.coley.recaf.info.JvmClassInfo;
 import software.coley.recaf.services.inheritance.InheritanceGraph;
@@ -20,6 +21,7 @@
 import software.coley.recaf.services.transform.JvmTransformerContext;
 import software.coley.recaf.services.transform.TransformationException;
 import software.coley.recaf.util.AsmInsnUtil;
+import software.coley.recaf.util.analysis.ConditionalConstantAnalyzer;
 import software.coley.recaf.util.analysis.value.IntValue;
 import software.coley.recaf.util.analysis.value.ObjectValue;
 import software.coley.recaf.util.analysis.value.ReValue;
@@ -107,7 +109,7 @@ public void transform(@Nonnull JvmTransformerContext context, @Nonnull Workspace
 
 			try {
 				boolean localDirty = false;
-				Frame<ReValue>[] frames = context.analyze(inheritanceGraph, node, method);
+				Frame<ReValue>[] frames = analyze(context, className, node, method);
 				for (int i = 1; i < instructions.size() - 1; i++) {
 					AbstractInsnNode instruction = instructions.get(i);
 
@@ -268,6 +270,31 @@ public void transform(@Nonnull JvmTransformerContext context, @Nonnull Workspace
 		}
 	}
 
+	/**
+	 * @param context
+	 * 		Transformation context.
+	 * @param className
+	 * 		Name of class defining the method.
+	 * @param node
+	 * 		Class defining the method.
+	 * @param method
+	 * 		Method to analyze.
+	 *
+	 * @return Frames of the method, where instructions only reachable through never-taken branches have no frame.
+	 *
+	 * @throws AnalyzerException
+	 * 		When the method cannot be analyzed.
+	 */
+	@Nonnull
+	private Frame<ReValue>[] analyze(@Nonnull JvmTransformerContext context, @Nonnull String className,
+	                                 @Nonnull ClassNode node, @Nonnull MethodNode method) throws AnalyzerException {
+		// Conditional constant propagation resolves every predicate in the method in a single solve, since values
+		// from paths behind other folded predicates never pollute the values at the predicates that follow them.
+		if (ConditionalConstantAnalyzer.isSupported(method))
+			return new ConditionalConstantAnalyzer(context.newInterpreter(inheritanceGraph)).analyze(className, method).getFrames();
+		return context.analyze(inheritanceGraph, node, method);
+	}
+
 	private static boolean replaceIntValue(@Nonnull InsnList instructions,
 	                                       @Nonnull AbstractInsnNode stackValueProducerInsn,
 	                                       @Nonnull ReValue stackTopValue,
@@ -431,6 +458,11 @@ public Set<Class<? extends ClassTransformer>> dependencies() {
 		return Collections.singleton(DeadCodeRemovingTransformer.class);
 	}
 
+	@Override
+	public boolean isClassLocal() {
+		return true;
+	}
+
 	@Nonnull
 	@Override
 	public String name() {
@@ -25,12 +25,12 @@
 import software.coley.recaf.services.transform.TransformationException;
 import software.coley.recaf.util.AsmInsnUtil;
 import software.coley.recaf.util.Types;
+import software.coley.recaf.util.analysis.ControlFlowGraph;
 import software.coley.recaf.util.analysis.value.ArrayValue;
 import software.coley.recaf.util.analysis.value.IntValue;
 import software.coley.recaf.util.analysis.value.LongValue;
 import software.coley.recaf.util.analysis.value.ObjectValue;
 import software.coley.recaf.util.analysis.value.ReValue;
-import software.coley.recaf.util.collect.primitive.Int2ObjectMap;
 import software.coley.recaf.workspace.model.Workspace;
 import software.coley.recaf.workspace.model.bundle.JvmClassBundle;
 import software.coley.recaf.workspace.model.resource.WorkspaceResource;
@@ -153,8 +153,11 @@ private boolean pruneRedundantTryCatches(@Nonnull JvmTransformerContext context,
 		tryCatches = removeShadowedRanges(instructions, tryCatches);
 
 		// Last pass requires frame analysis, so we do it after the cheaper passes to minimize the number of frames we need to analyze.
+		// The control flow graph is shared across all the try-catches we check, since the passes above
+		// only build new try-catch lists, and do not touch the method's instructions.
 		Frame<ReValue>[] frames = context.analyze(inheritanceGraph, declaringClass, method);
-		tryCatches = removeImpossibleCatches(instructions, frames, tryCatches);
+		ControlFlowGraph graph = ControlFlowGraph.of(method);
+		tryCatches = removeImpossibleCatches(instructions, frames, graph, tryCatches);
 
 		// If the final state is the same as the original state, we don't need to update anything.
 		List<TryCatchState> updatedState = snapshotStates(instructions, tryCatches);
@@ -357,6 +360,8 @@ private List<TryCatchBlockNode> removeShadowedRanges(@Nonnull InsnList instructi
 	 * 		Method instructions.
 	 * @param frames
 	 * 		Method stack frames.
+	 * @param graph
+	 * 		Method control flow graph.
 	 * @param tryCatches
 	 * 		Method try-catches.
 	 *
@@ -365,10 +370,11 @@ private List<TryCatchBlockNode> removeShadowedRanges(@Nonnull InsnList instructi
 	@Nonnull
 	private List<TryCatchBlockNode> removeImpossibleCatches(@Nonnull InsnList instructions,
 	                                                        @Nonnull Frame<ReValue>[] frames,
+	                                                        @Nonnull ControlFlowGraph graph,
 	                                                        @Nonnull List<TryCatchBlockNode> tryCatches) {
 		List<TryCatchBlockNode> kept = new ArrayList<>(tryCatches.size());
 		for (TryCatchBlockNode tryCatch : tryCatches)
-			if (canCatchBeUsed(instructions, frames, tryCatch))
+			if (canCatchBeUsed(instructions, frames, graph, tryCatch))
 				kept.add(tryCatch);
 		return kept;
 	}
@@ -378,6 +384,8 @@ private List<TryCatchBlockNode> removeImpossibleCatches(@Nonnull InsnList instru
 	 * 		Method instructions.
 	 * @param frames
 	 * 		Method stack frames.
+	 * @param graph
+	 * 		Method control flow graph.
 	 * @param tryCatch
 	 * 		Try-catch entry to inspect.
 	 *
@@ -385,6 +393,7 @@ private List<TryCatchBlockNode> removeImpossibleCatches(@Nonnull InsnList instru
 	 */
 	private boolean canCatchBeUsed(@Nonnull InsnList instructions,
 	                               @Nonnull Frame<ReValue>[] frames,
+	                               @Nonnull ControlFlowGraph graph,
 	                               @Nonnull TryCatchBlockNode tryCatch) {
 		// If the catch type is a type defined in the workspace, but never thrown in the workspace,
 		// then it can't be caught at runtime, and we can remove the try-catch block.
@@ -402,7 +411,7 @@ private boolean canCatchBeUsed(@Nonnull InsnList instructions,
 			return false;
 
 		// Determine which instructions in the protected range are reachable by normal control-flow (ignoring exception edges).
-		boolean[] visited = computeVisitedInstructions(instructions, frames, start, end);
+		boolean[] visited = computeVisitedInstructions(graph, instructions.size(), start, end);
 
 		// Check each instruction in the protected range to see if any of them can
 		// throw an exception that would be caught by this try-catch block.
@@ -462,10 +471,10 @@ private boolean canCatchBeUsed(@Nonnull InsnList instructions,
 	 * }
 	 * }</pre>
 	 *
-	 * @param instructions
-	 * 		Method instructions.
-	 * @param frames
-	 * 		Method stack frames.
+	 * @param graph
+	 * 		Method control flow graph.
+	 * @param size
+	 * 		Number of method instructions.
 	 * @param start
 	 * 		Protected range start.
 	 * @param end
@@ -474,54 +483,41 @@ private boolean canCatchBeUsed(@Nonnull InsnList instructions,
 	 * @return Boolean array of the same length as instructions,
 	 * where each index is the visited state within the protected range.
 	 */
-	private static boolean[] computeVisitedInstructions(@Nonnull InsnList instructions,
-	                                                    @Nonnull Frame<ReValue>[] frames,
-	                                                    int start, int end) {
-		// Build normal control-flow adjacency using the shared helper (no exception edges).
-		Int2ObjectMap<List<Integer>> successorMap = new Int2ObjectMap<>();
-		Int2ObjectMap<List<Integer>> predecessorMap = new Int2ObjectMap<>();
-
-		// Wrap instructions into a temporary MethodNode so populateFlowMaps can operate.
-		MethodNode temp = new MethodNode();
-		temp.instructions = instructions;
-		temp.tryCatchBlocks = Collections.emptyList();
-
-		// Populate flow maps without exception edges.
-		AsmInsnUtil.populateFlowMaps(temp, successorMap, predecessorMap, false);
-
-		// Determine entry nodes into the [start, end) range:
-		// any node in range that has a predecessor outside the range, or the range start itself.
-		int size = instructions.size();
+	private static boolean[] computeVisitedInstructions(@Nonnull ControlFlowGraph graph, int size, int start, int end) {
+		// Determine entry points into the [start, end) range: the range start itself, and the start of any block
+		// in the range that normal control flow (ignoring exception edges) reaches from outside the range.
 		Deque<Integer> queue = new ArrayDeque<>();
 		boolean[] visited = new boolean[size];
-		for (int i = start; i < end && i < size; i++) {
-			boolean hasOutsidePredecessor = false;
-			for (int predecessor : predecessorMap.getOrDefault(i, Collections.emptyList())) {
-				if (predecessor < start || predecessor >= end) {
-					hasOutsidePredecessor = true;
+		queue.add(start);
+		for (ControlFlowGraph.Block block : graph.getBlocks()) {
+			int blockStart = block.getStartIndex();
+			if (blockStart <= start || blockStart >= end)
+				continue;
+			for (ControlFlowGraph.Block predecessor : block.getPredecessors()) {
+				int predecessorLast = predecessor.getEndIndex() - 1;
+				if ((predecessorLast < start || predecessorLast >= end) && predecessor.getSuccessors().contains(block)) {
+					queue.add(blockStart);
 					break;
 				}
 			}
-			if (hasOutsidePredecessor || i == start) {
-				queue.add(i);
-				visited[i] = true;
-			}
 		}
 
-		// If we found no entry but the start instruction is reachable according to frames, include it.
-		if (queue.isEmpty() && start < frames.length && frames[start] != null) {
-			queue.add(start);
-			visited[start] = true;
-		}
-
-		// BFS within the protected range following normal control-flow only.
+		// Walk within the protected range following normal control flow only.
+		// Within a block the flow is linear, so we only need to look at successors at the end of each block.
 		while (!queue.isEmpty()) {
 			int cur = queue.removeFirst();
-			for (int to : successorMap.getOrDefault(cur, Collections.emptyList())) {
-				if (to >= start && to < end && !visited[to]) {
-					visited[to] = true;
+			if (visited[cur])
+				continue;
+			ControlFlowGraph.Block block = graph.getBlock(cur);
+			int blockEnd = block.getEndIndex();
+			for (int i = cur; i < blockEnd && i < end && !visited[i]; i++)
+				visited[i] = true;
+			if (blockEnd > end)
+				continue;
+			for (ControlFlowGraph.Block successor : block.getSuccessors()) {
+				int to = successor.getStartIndex();
+				if (to >= start && to < end && !visited[to])
 					queue.addLast(to);
-				}
 			}
 		}
 
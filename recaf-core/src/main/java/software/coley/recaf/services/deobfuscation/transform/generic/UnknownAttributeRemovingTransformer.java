@@ -50,6 +50,11 @@ public void transform(@Nonnull JvmTransformerContext context, @Nonnull Workspace
 		}
 	}
 
+	@Override
+	public boolean isClassLocal() {
+		return true;
+	}
+
 	@Nonnull
 	@Override
 	public String name() {
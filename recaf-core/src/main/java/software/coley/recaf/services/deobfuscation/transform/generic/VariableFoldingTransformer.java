@@ -486,6 +486,11 @@ public Set<Class<? extends ClassTransformer>> recommendedSuccessors() {
 		return Collections.singleton(OpaqueConstantFoldingTransformer.class);
 	}
 
+	@Override
+	public boolean isClassLocal() {
+		return true;
+	}
+
 	@Nonnull
 	@Override
 	public String name() {
@@ -113,6 +113,11 @@ public void transform(@Nonnull JvmTransformerContext context, @Nonnull Workspace
 			context.setNode(bundle, initialClassState, node);
 	}
 
+	@Override
+	public boolean isClassLocal() {
+		return true;
+	}
+
 	@Nonnull
 	@Override
 	public String name() {
@@ -16,6 +16,7 @@
 import software.coley.recaf.workspace.model.WorkspaceModificationListener;
 import software.coley.recaf.workspace.model.bundle.AndroidClassBundle;
 import software.coley.recaf.workspace.model.bundle.Bundle;
+import software.coley.recaf.workspace.model.bundle.BundleChangeSet;
 import software.coley.recaf.workspace.model.bundle.JvmClassBundle;
 import software.coley.recaf.workspace.model.resource.ResourceAndroidClassListener;
 import software.coley.recaf.workspace.model.resource.ResourceJvmClassListener;
@@ -45,6 +46,8 @@ public class InheritanceGraph {
 	/** Vertex used for classes that are not found in the workspace. */
 	private static final InheritanceVertex STUB = new InheritanceStubVertex();
 	private static final String OBJECT = "java/lang/Object";
+	/** Minimum number of changes in a batch before a full index rebuild is preferred over individual updates. */
+	private static final int BULK_REBUILD_THRESHOLD = 256;
 	private final Map<String, Set<String>> parentToChild;
 	private final Map<String, InheritanceVertex> vertices;
 	private final Set<String> stubs = ConcurrentHashMap.newKeySet();
@@ -613,6 +616,37 @@ private ClassInfo resolveClass(@Nonnull String name,
 		return path != null ? path.getValue() : null;
 	}
 
+	/**
+	 * Handles a batch of changes to a bundle. Small batches are applied change by change, but once a batch makes up
+	 * a significant portion of the graph it is cheaper to update the vertices in place and rebuild the
+	 * parent-to-child index once than to incrementally patch edges and invalidate vertex caches for every class.
+	 *
+	 * @param changes
+	 * 		Changes to apply.
+	 */
+	private void onBatchUpdateImpl(@Nonnull BundleChangeSet<? extends ClassInfo> changes) {
+		int size = changes.size();
+		if (size < BULK_REBUILD_THRESHOLD || size < vertices.size() / 10) {
+			changes.getRemoved().values().forEach(this::removeClass);
+			changes.getUpdated().values().forEach(update -> onUpdateClassImpl(update.oldValue(), update.newValue()));
+			changes.getAdded().values().forEach(this::indexClassParents);
+			return;
+		}
+
+		changes.getRemoved().keySet().forEach(vertices::remove);
+		changes.getUpdated().forEach((name, update) -> {
+			InheritanceVertex vertex = vertices.get(name);
+			if (vertex != null)
+				vertex.setValue(update.newValue());
+		});
+		changes.getAdded().keySet().forEach(name -> {
+			// Vertices previously created as stubs for this name need to be re-created with the new class.
+			stubs.remove(name);
+			vertices.remove(name);
+		});
+		rebuildParentChildIndex();
+	}
+
 	private void onUpdateClassImpl(@Nonnull ClassInfo oldValue, @Nonnull ClassInfo newValue) {
 		String name = oldValue.getName();
 		if (!newValue.getName().equals(name))
@@ -678,6 +712,18 @@ public void onRemoveClass(@Nonnull WorkspaceResource resource, @Nonnull AndroidC
 			removeClass(cls);
 		}
 
+		@Override
+		public void onBatchUpdate(@Nonnull WorkspaceResource resource, @Nonnull JvmClassBundle bundle,
+		                          @Nonnull BundleChangeSet<JvmClassInfo> changes) {
+			onBatchUpdateImpl(changes);
+		}
+
+		@Override
+		public void onBatchUpdate(@Nonnull WorkspaceResource resource, @Nonnull AndroidClassBundle bundle,
+		                          @Nonnull BundleChangeSet<AndroidClassInfo> changes) {
+			onBatchUpdateImpl(changes);
+		}
+
 		@Override
 		public void onAddLibrary(@Nonnull Workspace workspace, @Nonnull WorkspaceResource library) {
 			rebuildParentChildIndex();
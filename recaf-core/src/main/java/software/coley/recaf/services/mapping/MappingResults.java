@@ -15,8 +15,11 @@
 import software.coley.recaf.workspace.model.bundle.ClassBundle;
 import software.coley.recaf.workspace.model.resource.WorkspaceResource;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.stream.Stream;
@@ -145,9 +148,18 @@ public void apply() {
 			}
 		}
 
-		// Apply changes in sorted order.
-		for (ApplicationEntry entry : applicationEntries)
-			entry.applicationRunnable().run();
+		// Apply changes in sorted order. Changes are batched per bundle so that listeners
+		// receive a single coalesced update rather than a callback for each mapped class.
+		Set<Bundle<?>> bundles = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (ApplicationEntry entry : applicationEntries) {
+			Bundle<?> bundle = entry.post().getValueOfType(Bundle.class);
+			if (bundle != null)
+				bundles.add(bundle);
+		}
+		Bundle.batch(bundles, () -> {
+			for (ApplicationEntry entry : applicationEntries)
+				entry.applicationRunnable().run();
+		});
 
 		// Log in console how many classes got mapped.
 		logger.info("Applied mapping to {} classes", preMappingPaths.size());
@@ -13,6 +13,7 @@
 import software.coley.recaf.services.compile.JavacArguments;
 import software.coley.recaf.services.compile.JavacArgumentsBuilder;
 import software.coley.recaf.services.compile.JavacCompiler;
+import software.coley.recaf.services.file.RecafDirectoriesConfig;
 import software.coley.recaf.services.plugin.CdiClassAllocator;
 import software.coley.recaf.util.CancelSignal;
 import software.coley.recaf.util.ReflectUtil;
@@ -43,13 +44,16 @@ public class JavacScriptEngine implements ScriptEngine {
 	private final ExecutorService runPool = ThreadPoolFactory.newCachedThreadPool("script-runner");
 	private final JavacCompiler compiler;
 	private final CdiClassAllocator allocator;
+	private final ScriptCompileCache diskCache;
 	private final ScriptEngineConfig config;
 
 	@Inject
-	public JavacScriptEngine(JavacCompiler compiler, CdiClassAllocator allocator, ScriptEngineConfig config) {
+	public JavacScriptEngine(JavacCompiler compiler, CdiClassAllocator allocator,
+	                         RecafDirectoriesConfig directories, ScriptEngineConfig config) {
 		this.compiler = compiler;
 		this.allocator = allocator;
 		this.config = config;
+		this.diskCache = new ScriptCompileCache(directories.getBaseDirectory().resolve("script-cache"));
 	}
 
 	@Nonnull
@@ -127,7 +131,22 @@ private ScriptResult handleExecute(@Nonnull GenerateResult result) {
 
 	/**
 	 * Maps an input script to a full Java source file, and compiles it.
-	 * Delegates to either:
+	 * Compilations are kept in memory for the lifetime of the engine.
+	 *
+	 * @param script
+	 * 		Initial source of the script.
+	 *
+	 * @return Compiler result wrapper containing the loaded class reference.
+	 */
+	@Nonnull
+	private GenerateResult generate(@Nonnull String script) {
+		int hash = script.hashCode();
+		return scriptResultMap.computeIfAbsent(hash, n -> generateTemplate(script).generateResult());
+	}
+
+	/**
+	 * Checks the {@link ScriptCompileCache disk cache} for a prior compilation of the script before compiling it.
+	 * Successful compilations are recorded in the cache. Otherwise, delegates to either:
 	 * <ul>
 	 *     <li>{@link #generateScriptClass(String, String)}</li>
 	 *     <li>{@link #generateStandardClass(String)}</li>
@@ -136,21 +155,31 @@ private ScriptResult handleExecute(@Nonnull GenerateResult result) {
 	 * @param script
 	 * 		Initial source of the script.
 	 *
-	 * @return Compiler result wrapper containing the loaded class reference.
+	 * @return Script wrapper containing the compiled classes.
 	 */
 	@Nonnull
-	private GenerateResult generate(@Nonnull String script) {
-		int hash = script.hashCode();
-		GenerateResult result;
+	private ScriptTemplate generateTemplate(@Nonnull String script) {
+		String key = config.getCacheCompiledScripts().getValue() ? ScriptCompileCache.key(script) : null;
+		if (key != null) {
+			ScriptTemplate.Generated cached = diskCache.get(key);
+			if (cached != null) {
+				logger.debugging(l -> l.info("Loaded compiled script from cache"));
+				return cached;
+			}
+		}
+
+		ScriptTemplate template;
 		if (ScriptSourceAugmentation.isClassScript(script)) {
 			logger.debugging(l -> l.info("Compiling script as class"));
-			result = scriptResultMap.computeIfAbsent(hash, n -> generateStandardClass(script).generateResult());
+			template = generateStandardClass(script);
 		} else {
 			logger.debugging(l -> l.info("Compiling script as function"));
-			String className = "Script" + Math.abs(hash);
-			result = scriptResultMap.computeIfAbsent(hash, n -> generateScriptClass(className, script).generateResult());
+			String className = "Script" + Math.abs(script.hashCode());
+			template = generateScriptClass(className, script);
 		}
-		return result;
+		if (key != null && template instanceof ScriptTemplate.Generated generated)
+			diskCache.put(key, generated);
+		return template;
 	}
 
 	/**
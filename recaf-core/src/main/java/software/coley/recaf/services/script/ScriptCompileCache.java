@@ -0,0 +1,220 @@
+package software.coley.recaf.services.script;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import software.coley.recaf.RecafBuildConfig;
+import software.coley.recaf.analytics.logging.DebuggingLogger;
+import software.coley.recaf.analytics.logging.Logging;
+import software.coley.recaf.services.compile.CompilerDiagnostic;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Persistent cache of compiled scripts, allowing new processes to run a script without invoking {@code javac}.
+ * <p>
+ * Entries are keyed by a hash of the script source, the Recaf version, and a fingerprint of the classpath
+ * the script was compiled against. Only successful compilations are recorded. The number of entries is bounded,
+ * with the least recently used entries being evicted first.
+ *
+ * @author Matt Coley
+ * @see JavacScriptEngine
+ */
+class ScriptCompileCache {
+	private static final DebuggingLogger logger = Logging.get(ScriptCompileCache.class);
+	private static final String ENTRY_SUFFIX = ".script";
+	private static final int FORMAT_VERSION = 1;
+	private static final int MAX_ENTRIES = 256;
+	private static String classpathFingerprint;
+	private final Path directory;
+
+	/**
+	 * @param directory
+	 * 		Directory to store cache entries in.
+	 */
+	ScriptCompileCache(@Nonnull Path directory) {
+		this.directory = directory;
+	}
+
+	/**
+	 * @param source
+	 * 		Original script source.
+	 *
+	 * @return Key for the cache entry of the given script.
+	 */
+	@Nonnull
+	public static String key(@Nonnull String source) {
+		return Hashing.sha256().newHasher()
+				.putString(source, StandardCharsets.UTF_8)
+				.putString(RecafBuildConfig.VERSION, StandardCharsets.UTF_8)
+				.putString(RecafBuildConfig.GIT_SHA, StandardCharsets.UTF_8)
+				.putString(getClasspathFingerprint(), StandardCharsets.UTF_8)
+				.hash()
+				.toString();
+	}
+
+	/**
+	 * @param key
+	 * 		Entry key, from {@link #key(String)}.
+	 *
+	 * @return Cached compilation of the script, or {@code null} if no entry exists for the key.
+	 */
+	@Nullable
+	public ScriptTemplate.Generated get(@Nonnull String key) {
+		Path path = entryPath(key);
+		try (DataInputStream in = new DataInputStream(Files.newInputStream(path))) {
+			if (in.readInt() != FORMAT_VERSION)
+				throw new IOException("Unsupported cache entry format");
+			String className = in.readUTF();
+			int diagnosticCount = in.readInt();
+			List<CompilerDiagnostic> diagnostics = new ArrayList<>(diagnosticCount);
+			for (int i = 0; i < diagnosticCount; i++)
+				diagnostics.add(new CompilerDiagnostic(in.readInt(), in.readInt(), in.readInt(), in.readUTF(),
+						CompilerDiagnostic.Level.valueOf(in.readUTF())));
+			int classCount = in.readInt();
+			Map<String, byte[]> classes = new HashMap<>(classCount);
+			for (int i = 0; i < classCount; i++) {
+				String name = in.readUTF();
+				byte[] bytecode = new byte[in.readInt()];
+				in.readFully(bytecode);
+				classes.put(name, bytecode);
+			}
+
+			// Mark the entry as recently used for eviction ordering.
+			Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+			return new ScriptTemplate.Generated(className, Map.copyOf(classes), List.copyOf(diagnostics));
+		} catch (NoSuchFileException ignored) {
+			return null;
+		} catch (IOException | IllegalArgumentException ex) {
+			logger.warn("Failed to read script cache entry '{}', removing it", key, ex);
+			delete(path);
+			return null;
+		}
+	}
+
+	/**
+	 * @param key
+	 * 		Entry key, from {@link #key(String)}.
+	 * @param generated
+	 * 		Compiled script to cache.
+	 */
+	public void put(@Nonnull String key, @Nonnull ScriptTemplate.Generated generated) {
+		Path path = entryPath(key);
+		try {
+			Files.createDirectories(directory);
+
+			// Write to a temporary file first, then move it into place so that concurrent
+			// processes never observe a partially written entry.
+			Path temp = Files.createTempFile(directory, key, ".tmp");
+			try {
+				try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(temp))) {
+					out.writeInt(FORMAT_VERSION);
+					out.writeUTF(generated.className());
+					out.writeInt(generated.diagnostics().size());
+					for (CompilerDiagnostic diagnostic : generated.diagnostics()) {
+						out.writeInt(diagnostic.line());
+						out.writeInt(diagnostic.column());
+						out.writeInt(diagnostic.length());
+						out.writeUTF(diagnostic.message());
+						out.writeUTF(diagnostic.level().name());
+					}
+					out.writeInt(generated.classMap().size());
+					for (Map.Entry<String, byte[]> entry : generated.classMap().entrySet()) {
+						out.writeUTF(entry.getKey());
+						out.writeInt(entry.getValue().length);
+						out.write(entry.getValue());
+					}
+				}
+				Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} finally {
+				delete(temp);
+			}
+			evict();
+		} catch (IOException ex) {
+			logger.warn("Failed to write script cache entry '{}'", key, ex);
+		}
+	}
+
+	/**
+	 * Removes the least recently used entries until the cache is within its bounds.
+	 */
+	private synchronized void evict() throws IOException {
+		List<Path> entries;
+		try (Stream<Path> stream = Files.list(directory)) {
+			entries = new ArrayList<>(stream.filter(p -> p.getFileName().toString().endsWith(ENTRY_SUFFIX)).toList());
+		}
+		if (entries.size() <= MAX_ENTRIES)
+			return;
+		entries.sort(Comparator.comparing(ScriptCompileCache::lastUsed));
+		for (int i = 0; i < entries.size() - MAX_ENTRIES; i++)
+			delete(entries.get(i));
+	}
+
+	@Nonnull
+	private Path entryPath(@Nonnull String key) {
+		return directory.resolve(key + ENTRY_SUFFIX);
+	}
+
+	/**
+	 * Scripts are compiled against the runtime classpath, so a different JDK or changes to the jars on the
+	 * classpath <i>(such as in development builds)</i> should not reuse prior compilations.
+	 *
+	 * @return Fingerprint of the runtime and classpath.
+	 */
+	@Nonnull
+	private static synchronized String getClasspathFingerprint() {
+		if (classpathFingerprint == null) {
+			Hasher hasher = Hashing.sha256().newHasher();
+			hasher.putString(Runtime.version().toString(), StandardCharsets.UTF_8);
+			String classPath = System.getProperty("java.class.path", "");
+			for (String entry : classPath.split(File.pathSeparator)) {
+				hasher.putString(entry, StandardCharsets.UTF_8);
+				try {
+					Path path = Paths.get(entry);
+					if (Files.isRegularFile(path)) {
+						hasher.putLong(Files.size(path));
+						hasher.putLong(Files.getLastModifiedTime(path).toMillis());
+					}
+				} catch (Exception ignored) {
+					// Entry is not a valid path, the name alone will do.
+				}
+			}
+			classpathFingerprint = hasher.hash().toString();
+		}
+		return classpathFingerprint;
+	}
+
+	@Nonnull
+	private static FileTime lastUsed(@Nonnull Path path) {
+		try {
+			return Files.getLastModifiedTime(path);
+		} catch (IOException ex) {
+			return FileTime.fromMillis(0);
+		}
+	}
+
+	private static void delete(@Nonnull Path path) {
+		try {
+			Files.deleteIfExists(path);
+		} catch (IOException ex) {
+			logger.warn("Failed to delete script cache entry: {}", path, ex);
+		}
+	}
+}
@@ -1,8 +1,11 @@
 package software.coley.recaf.services.script;
 
+import jakarta.annotation.Nonnull;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import software.coley.observables.ObservableBoolean;
 import software.coley.recaf.config.BasicConfigContainer;
+import software.coley.recaf.config.BasicConfigValue;
 import software.coley.recaf.config.ConfigGroups;
 import software.coley.recaf.services.ServiceConfig;
 
@@ -13,8 +16,20 @@
  */
 @ApplicationScoped
 public class ScriptEngineConfig extends BasicConfigContainer implements ServiceConfig {
+	private final ObservableBoolean cacheCompiledScripts = new ObservableBoolean(true);
+
 	@Inject
 	public ScriptEngineConfig() {
 		super(ConfigGroups.SERVICE_PLUGIN, ScriptEngine.SERVICE_ID + CONFIG_SUFFIX);
+		addValue(new BasicConfigValue<>("cache-compiled-scripts", boolean.class, cacheCompiledScripts));
+	}
+
+	/**
+	 * @return {@code true} to store compiled scripts on disk, so that later runs of the same script
+	 * <i>(including in new processes)</i> do not need to be compiled again.
+	 */
+	@Nonnull
+	public ObservableBoolean getCacheCompiledScripts() {
+		return cacheCompiledScripts;
 	}
 }
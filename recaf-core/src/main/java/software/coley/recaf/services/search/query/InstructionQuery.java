@@ -10,6 +10,7 @@
 import software.coley.recaf.path.JvmInstructionPathNode;
 import software.coley.recaf.services.search.JvmClassSearchVisitor;
 import software.coley.recaf.services.search.match.StringPredicate;
+import software.coley.recaf.util.ClassNodeCache;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -34,8 +35,7 @@ public InstructionQuery(@Nonnull List<StringPredicate> predicates) {
 	@Override
 	public JvmClassSearchVisitor visitor(@Nullable JvmClassSearchVisitor delegate) {
 		return (resultSink, classPath, classInfo) -> {
-			ClassNode node = new ClassNode();
-			classInfo.getClassReader().accept(node, ClassReader.SKIP_FRAMES);
+			ClassNode node = ClassNodeCache.getShared(classInfo, ClassReader.SKIP_FRAMES);
 			List<String> matched = new ArrayList<>(predicates.size());
 			for (MethodNode method : node.methods) {
 				if (method.instructions == null)
@@ -11,6 +11,7 @@
 import software.coley.recaf.services.search.query.structure.InsnMatcher;
 import software.coley.recaf.services.search.query.structure.MethodMatcher;
 import software.coley.recaf.services.search.query.structure.TryCatchBlockMatcher;
+import software.coley.recaf.util.ClassNodeCache;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -40,8 +41,7 @@ public static boolean matches(@Nonnull ClassQuery query, @Nonnull JvmClassInfo c
 				return false;
 
 			// Read into node structure for matching.
-			ClassNode classNode = new ClassNode();
-			classInfo.getClassReader().accept(classNode, classInfo.getClassReaderFlags());
+			ClassNode classNode = ClassNodeCache.getShared(classInfo);
 
 			// Read methods into a list of candidates for matching.
 			List<JvmMethodCandidate> methods = new ArrayList<>();
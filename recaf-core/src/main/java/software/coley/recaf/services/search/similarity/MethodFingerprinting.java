@@ -11,6 +11,7 @@
 import software.coley.recaf.info.ClassInfo;
 import software.coley.recaf.info.JvmClassInfo;
 import software.coley.recaf.info.member.MethodMember;
+import software.coley.recaf.util.ClassNodeCache;
 
 import java.util.HashMap;
 import java.util.HashSet;
@@ -44,8 +45,7 @@ public static Lookup lookupFor(@Nonnull ClassInfo classInfo) {
 	private static Map<String, MethodNode> extractMethodNodes(@Nonnull JvmClassInfo classInfo) {
 		// Read node structure (skipping debug info) for method instruction analysis.
 		int flags = classInfo.getClassReaderFlags() | ClassReader.SKIP_DEBUG;
-		ClassNode node = new ClassNode();
-		classInfo.getClassReader().accept(node, flags);
+		ClassNode node = ClassNodeCache.getShared(classInfo, flags);
 
 		// Build map of methods by key.
 		Map<String, MethodNode> methods = new HashMap<>(node.methods.size());
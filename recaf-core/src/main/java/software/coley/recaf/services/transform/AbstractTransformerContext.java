@@ -13,6 +13,7 @@
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
 /**
  * Context for holding a number of class transformers and shared state for transformation.
@@ -26,6 +27,7 @@
 	private final TransformationParameters parameters;
 	protected final Workspace workspace;
 	protected final WorkspaceResource resource;
+	private volatile Executor executor = Runnable::run;
 
 	/**
 	 * Constructs a new context from an array of transformers.
@@ -85,6 +87,28 @@ public TransformationParameters getParameters() {
 		return parameters;
 	}
 
+	/**
+	 * Transformers may submit their own sub-tasks to this executor rather than creating their own thread pools.
+	 * Since the executor's threads are also busy running the transformation itself, submitted sub-tasks
+	 * may not start for some time. Transformers waiting on sub-tasks should run any that have not yet started
+	 * on the waiting thread, instead of blocking until the executor gets to them.
+	 *
+	 * @return Executor running the transformation. Runs tasks on the calling thread when the transformation is not run
+	 * by a {@link TransformationApplier}.
+	 */
+	@Nonnull
+	public Executor getExecutor() {
+		return executor;
+	}
+
+	/**
+	 * @param executor
+	 * 		Executor running the transformation.
+	 */
+	void setExecutor(@Nonnull Executor executor) {
+		this.executor = executor;
+	}
+
 	/**
 	 * @return Workspace containing the classes to transform.
 	 */
@@ -25,6 +25,19 @@ default boolean pruneAfterNoWork() {
 		return false;
 	}
 
+	/**
+	 * Class-local transformers only read and modify the class they are given. They do not look at the transformed
+	 * state of other classes, or at data collected by other transformers across all classes. Consecutive class-local
+	 * transformers can run back-to-back on each class, without waiting for all other classes to be transformed
+	 * in between each transformer.
+	 *
+	 * @return {@code true} if this transformer is class-local.
+	 * {@code false} if this transformer must observe the results of prior transformers on all classes before running.
+	 */
+	default boolean isClassLocal() {
+		return false;
+	}
+
 	/**
 	 * @return Set of transformer classes that are recommended to be run before this one, but not strictly required.
 	 *
@@ -3,12 +3,16 @@
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
 import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.tree.AbstractInsnNode;
 import org.objectweb.asm.tree.ClassNode;
 import org.objectweb.asm.tree.MethodInsnNode;
 import org.objectweb.asm.tree.MethodNode;
 import org.objectweb.asm.tree.analysis.Frame;
 import org.slf4j.Logger;
+import software.coley.recaf.RecafConstants;
 import software.coley.recaf.analytics.logging.Logging;
 import software.coley.recaf.info.JvmClassInfo;
 import software.coley.recaf.path.ClassPathNode;
@@ -19,6 +23,7 @@
 import software.coley.recaf.services.inheritance.InheritanceGraph;
 import software.coley.recaf.services.mapping.aggregate.AggregatedMappings;
 import software.coley.recaf.util.ClassMethodPair;
+import software.coley.recaf.util.ClassNodeCache;
 import software.coley.recaf.util.analysis.ReAnalyzer;
 import software.coley.recaf.util.analysis.ReInterpreter;
 import software.coley.recaf.util.analysis.lookup.BasicGetStaticLookup;
@@ -37,7 +42,11 @@
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -50,9 +59,16 @@
  */
 public class JvmTransformerContext extends AbstractTransformerContext<JvmClassTransformer> {
 	private static final Logger logger = Logging.get(JvmTransformerContext.class);
+	private static final int MAX_CACHED_ANALYSES = 512;
 	private final AggregatedMappings mappings;
 	private final Map<String, JvmClassData> classData = new ConcurrentHashMap<>();
 	private final Set<String> recomputeFrameClasses = ConcurrentHashMap.newKeySet();
+	private final Map<AnalysisKey, Frame<ReValue>[]> analysisCache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<AnalysisKey, Frame<ReValue>[]> eldest) {
+			return size() > MAX_CACHED_ANALYSES;
+		}
+	});
 	private Supplier<GetFieldLookup> getFieldLookupSupplier = () -> null;
 	private Supplier<GetStaticLookup> getStaticLookupSupplier = BasicGetStaticLookup::new;
 	private Supplier<InvokeVirtualLookup> invokeVirtualLookupSupplier = BasicInvokeVirtualLookup::new;
@@ -130,15 +146,25 @@ protected Map<ClassPathNode, JvmClassInfo> buildChangeMap(@Nonnull InheritanceGr
 			if (data.isDirty()) {
 				if (data.node != null) {
 					// Emit bytecode from the current node
-					boolean recompute = recomputeFrameClasses.contains(data.node.name);
-					int flags = recompute && !dropFaultyClasses ? ClassWriter.COMPUTE_FRAMES : 0;
+					ClassNode node = data.node;
+					boolean recompute = recomputeFrameClasses.contains(node.name);
 					ClassReader reader = data.initialClass.getClassReader(); // Copy const-pool + bootstrap methods
-					ClassWriter writer = new WorkspaceClassWriter(inheritanceGraph, reader, flags);
 					try {
+						// Frames only need to be computed for methods that have changed, as the frames of the remaining
+						// methods are still valid. When only some methods changed we compute frames for just those.
+						Set<String> changedMethods = recompute && !dropFaultyClasses ? getChangedMethods(data.initialClass, node) : null;
+						if (changedMethods != null) {
+							if (!changedMethods.isEmpty())
+								node = withRecomputedFrames(inheritanceGraph, node, changedMethods);
+							recompute = false;
+						}
+
+						int flags = recompute && !dropFaultyClasses ? ClassWriter.COMPUTE_FRAMES : 0;
+						ClassWriter writer = new WorkspaceClassWriter(inheritanceGraph, reader, flags);
 						if (recompute)
-							data.node.accept(new FrameSkippingVisitor(writer));
+							node.accept(new FrameSkippingVisitor(writer));
 						else
-							data.node.accept(writer);
+							node.accept(writer);
 
 						// Update output map
 						byte[] modifiedBytes = writer.toByteArray();
@@ -154,7 +180,7 @@ protected Map<ClassPathNode, JvmClassInfo> buildChangeMap(@Nonnull InheritanceGr
 							logger.warn("Error writing class '{}', skipping", data.initialClass.getName(), t);
 							continue;
 						}
-						throw new TransformationException("ClassNode --> byte[] failed for class '" + data.node.name + "'", t);
+						throw new TransformationException("ClassNode --> byte[] failed for class '" + node.name + "'", t);
 					}
 				} else {
 					// Update output map if the bytecode is not the same as the initial state
@@ -174,6 +200,101 @@ protected Map<ClassPathNode, JvmClassInfo> buildChangeMap(@Nonnull InheritanceGr
 		return map;
 	}
 
+	/**
+	 * @param initialClass
+	 * 		Initial state of a class before transformation.
+	 * @param node
+	 * 		Current state of the class.
+	 *
+	 * @return Keys <i>({@code name + desc})</i> of methods with code that differs from the initial state of the class,
+	 * including differences in frames. {@code null} when every method with code has changed.
+	 */
+	@Nullable
+	private static Set<String> getChangedMethods(@Nonnull JvmClassInfo initialClass, @Nonnull ClassNode node) {
+		ClassNode initialNode = ClassNodeCache.getCopy(initialClass, 0);
+		Map<String, MethodNode> initialMethods = new HashMap<>();
+		for (MethodNode method : initialNode.methods)
+			initialMethods.put(method.name + method.desc, method);
+
+		int methodsWithCode = 0;
+		Set<String> changed = new HashSet<>();
+		for (MethodNode method : node.methods) {
+			if (method.instructions == null || method.instructions.size() == 0)
+				continue;
+			methodsWithCode++;
+			String key = method.name + method.desc;
+			MethodNode initialMethod = initialMethods.get(key);
+			if (initialMethod == null) {
+				changed.add(key);
+				continue;
+			}
+			byte[] initialBytes = toMethodBytes(node, initialMethod);
+			byte[] currentBytes = toMethodBytes(node, method);
+			if (initialBytes == null || currentBytes == null || !Arrays.equals(initialBytes, currentBytes))
+				changed.add(key);
+		}
+		return changed.size() == methodsWithCode && methodsWithCode > 0 ? null : changed;
+	}
+
+	/**
+	 * @param owner
+	 * 		Class declaring the method.
+	 * @param method
+	 * 		Method to write.
+	 *
+	 * @return Bytecode of a class containing only the given method, as-is, or {@code null} if it could not be written.
+	 */
+	@Nullable
+	private static byte[] toMethodBytes(@Nonnull ClassNode owner, @Nonnull MethodNode method) {
+		try {
+			// A fresh writer assigns constant pool entries in order of use, so equal methods yield equal output.
+			ClassWriter writer = new ClassWriter(0);
+			writer.visit(owner.version, owner.access, owner.name, null, owner.superName, null);
+			method.accept(writer);
+			writer.visitEnd();
+			return writer.toByteArray();
+		} catch (Throwable t) {
+			return null;
+		}
+	}
+
+	/**
+	 * @param inheritanceGraph
+	 * 		Inheritance graph of workspace.
+	 * @param node
+	 * 		Class to compute frames for.
+	 * @param methods
+	 * 		Keys <i>({@code name + desc})</i> of methods to compute frames for.
+	 *
+	 * @return Copy of the class where the given methods have newly computed frames.
+	 */
+	@Nonnull
+	private static ClassNode withRecomputedFrames(@Nonnull InheritanceGraph inheritanceGraph,
+	                                              @Nonnull ClassNode node,
+	                                              @Nonnull Set<String> methods) {
+		// Write a class containing only the given methods so that frames are not computed for any other method.
+		ClassWriter writer = new WorkspaceClassWriter(inheritanceGraph, ClassWriter.COMPUTE_FRAMES);
+		node.accept(new ClassVisitor(RecafConstants.getAsmVersion(), new FrameSkippingVisitor(writer)) {
+			@Override
+			public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+				if (!methods.contains(name + descriptor))
+					return null;
+				return super.visitMethod(access, name, descriptor, signature, exceptions);
+			}
+		});
+		ClassNode computed = new ClassNode();
+		new ClassReader(writer.toByteArray()).accept(computed, 0);
+		Map<String, MethodNode> computedMethods = new HashMap<>();
+		for (MethodNode method : computed.methods)
+			computedMethods.put(method.name + method.desc, method);
+
+		// Swap the computed methods into a copy of the class.
+		ClassNode copy = new ClassNode();
+		node.accept(copy);
+		copy.methods.replaceAll(method -> computedMethods.getOrDefault(method.name + method.desc, method));
+		return copy;
+	}
+
 	/**
 	 * @param inheritanceGraph
 	 * 		Inheritance graph of workspace.
@@ -183,6 +304,8 @@ protected Map<ClassPathNode, JvmClassInfo> buildChangeMap(@Nonnull InheritanceGr
 	 * 		Method to analyze.
 	 *
 	 * @return Analyzed frames of the given method.
+	 * The frames may be shared with other callers analyzing the same method content, and <b>must not be modified</b>.
+	 * Lookups provided by the lookup suppliers are assumed to be consistent for the duration of a transformation run.
 	 *
 	 * @throws TransformationException
 	 * 		When the analyzer throws an exception when computing the frames of the given method.
@@ -191,9 +314,20 @@ protected Map<ClassPathNode, JvmClassInfo> buildChangeMap(@Nonnull InheritanceGr
 	public Frame<ReValue>[] analyze(@Nonnull InheritanceGraph inheritanceGraph,
 	                                @Nonnull ClassNode cls,
 	                                @Nonnull MethodNode method) throws TransformationException {
+		// Multiple transformers often analyze the same method without changing it in-between.
+		// The results of analysis only depend on the method's contents, so we can re-use them when the content matches.
+		AnalysisKey key = AnalysisKey.of(inheritanceGraph, cls, method);
+		if (key != null) {
+			Frame<ReValue>[] cached = analysisCache.get(key);
+			if (cached != null)
+				return cached;
+		}
 		try {
 			ReAnalyzer analyzer = newAnalyzer(inheritanceGraph, cls, method);
-			return analyzer.analyze(cls.name, method);
+			Frame<ReValue>[] frames = analyzer.analyze(cls.name, method);
+			if (key != null)
+				analysisCache.put(key, frames);
+			return frames;
 		} catch (Throwable t) {
 			throw new TransformationException("Error encountered when computing method frames", t);
 		}
@@ -440,6 +574,7 @@ public void setGetFieldLookupSupplier(@Nullable Supplier<GetFieldLookup> supplie
 		if (supplier == null)
 			supplier = () -> null;
 		getFieldLookupSupplier = supplier;
+		analysisCache.clear();
 	}
 
 	/**
@@ -450,6 +585,7 @@ public void setGetStaticLookupSupplier(@Nullable Supplier<GetStaticLookup> suppl
 		if (supplier == null)
 			supplier = () -> null;
 		getStaticLookupSupplier = supplier;
+		analysisCache.clear();
 	}
 
 	/**
@@ -460,6 +596,7 @@ public void setInvokeVirtualLookupSupplier(@Nullable Supplier<InvokeVirtualLooku
 		if (supplier == null)
 			supplier = () -> null;
 		invokeVirtualLookupSupplier = supplier;
+		analysisCache.clear();
 	}
 
 	/**
@@ -470,6 +607,7 @@ public void setInvokeStaticLookupSupplier(@Nullable Supplier<InvokeStaticLookup>
 		if (supplier == null)
 			supplier = () -> null;
 		invokeStaticLookupSupplier = supplier;
+		analysisCache.clear();
 	}
 
 	@Nonnull
@@ -477,6 +615,51 @@ private JvmClassData getJvmClassData(@Nonnull JvmClassBundle bundle, @Nonnull Jv
 		return classData.computeIfAbsent(info.getName(), ignored -> new JvmClassData(bundle, info));
 	}
 
+	/**
+	 * Key of a method's analysis results, matching methods with the same content.
+	 *
+	 * @param inheritanceGraph
+	 * 		Inheritance graph the analysis uses.
+	 * @param owner
+	 * 		Name of class defining the method.
+	 * @param code
+	 * 		Bytecode of the method.
+	 * @param structure
+	 * 		Types of each node in the method's instruction list.
+	 * 		Analysis results are indexed by node, so nodes that are not written to bytecode such as unused labels must match too.
+	 */
+	private record AnalysisKey(@Nonnull InheritanceGraph inheritanceGraph, @Nonnull String owner,
+	                           @Nonnull byte[] code, @Nonnull byte[] structure) {
+		@Nullable
+		private static AnalysisKey of(@Nonnull InheritanceGraph inheritanceGraph, @Nonnull ClassNode cls, @Nonnull MethodNode method) {
+			byte[] code = toMethodBytes(cls, method);
+			if (code == null)
+				return null;
+			byte[] structure = new byte[method.instructions.size()];
+			int i = 0;
+			for (AbstractInsnNode insn : method.instructions)
+				structure[i++] = (byte) insn.getType();
+			return new AnalysisKey(inheritanceGraph, cls.name, code, structure);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof AnalysisKey other
+					&& inheritanceGraph == other.inheritanceGraph
+					&& owner.equals(other.owner)
+					&& Arrays.equals(code, other.code)
+					&& Arrays.equals(structure, other.structure);
+		}
+
+		@Override
+		public int hashCode() {
+			int result = owner.hashCode();
+			result = 31 * result + Arrays.hashCode(code);
+			result = 31 * result + Arrays.hashCode(structure);
+			return result;
+		}
+	}
+
 	/**
 	 * Container of per-class transformation state.
 	 * <p>
@@ -508,9 +691,15 @@ public JvmClassData(@Nonnull JvmClassBundle bundle, @Nonnull JvmClassInfo initia
 		@Nonnull
 		public synchronized ClassNode getOrCreateNode() {
 			if (node == null) {
-				node = new ClassNode();
 				int readerFlags = getOptionalTransformer(FrameRemovingTransformer.class) == null ?
 						0 : ClassReader.SKIP_FRAMES; // Can bypass reading frames if this transformer is active.
+
+				// Classes that have not been changed yet can be copied from the shared node cache,
+				// so that they are not parsed again in every transformation run.
+				if (!dirty)
+					return ClassNodeCache.getCopy(initialClass, readerFlags);
+
+				node = new ClassNode();
 				new ClassReader(bytecode).accept(node, readerFlags);
 			}
 
@@ -10,11 +10,13 @@
 import software.coley.recaf.path.PathNodes;
 import software.coley.recaf.path.ResourcePathNode;
 import software.coley.recaf.services.inheritance.InheritanceGraph;
+import software.coley.recaf.services.inheritance.InheritanceVertex;
 import software.coley.recaf.services.mapping.IntermediateMappings;
 import software.coley.recaf.services.mapping.MappingApplier;
 import software.coley.recaf.services.mapping.MappingResults;
 import software.coley.recaf.util.threading.ThreadPoolFactory;
 import software.coley.recaf.workspace.model.Workspace;
+import software.coley.recaf.workspace.model.bundle.Bundle;
 import software.coley.recaf.workspace.model.bundle.JvmClassBundle;
 import software.coley.recaf.workspace.model.resource.WorkspaceResource;
 
@@ -22,14 +24,18 @@
 import java.util.Collection;
 import java.util.Collections;
 import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import static software.coley.collections.Unchecked.cast;
@@ -42,6 +48,8 @@
  * @see TransformationManager
  */
 public class TransformationApplier {
+	/** Default maximum number of classes to sample in {@link #estimateJvmImpact(List)}. */
+	public static final int DEFAULT_ESTIMATE_SAMPLE_SIZE = 250;
 	private static final DebuggingLogger logger = Logging.get(TransformationApplier.class);
 	private final TransformationManager transformationManager;
 	private final TransformationApplierConfig transformApplyConfig;
@@ -187,84 +195,115 @@ public JvmTransformResult transformJvm(@Nonnull List<Class<? extends JvmClassTra
 		try (ExecutorService service = transformApplyConfig.doParallelize().getValue() ?
 				ThreadPoolFactory.newFixedThreadPool("transform-apply") :
 				ThreadPoolFactory.newSingleThreadExecutor("transform-apply")) {
+			context.setExecutor(service);
 			resource.jvmAllClassBundleStreamRecursive().forEach(bundle -> {
 				List<Callable<Void>> tasks = new ArrayList<>(bundle.size());
 				BundlePathNode bundlePathNode = resourcePath.child(bundle);
-				for (int pass = 1; pass <= getMaxPasses(); pass++) {
+				ClassWorklist worklist = new ClassWorklist(bundle, inheritanceGraph);
+
+				// The first pass visits all classes. Later passes only visit classes that were modified in
+				// the prior pass, plus the classes that depend on them. Anything else would see the exact same
+				// inputs as it did in the prior pass, so transformers would not find any new work to do in them.
+				Set<String> passClasses = new LinkedHashSet<>(bundle.keySet());
+				for (int pass = 1; pass <= getMaxPasses() && !passClasses.isEmpty(); pass++) {
 					finalPass.set(pass);
-					AtomicBoolean anyWorkDone = new AtomicBoolean(false);
-					for (JvmClassTransformer transformer : transformers) {
-						AtomicBoolean transformerWorkDone = new AtomicBoolean(false);
+					Set<String> passModifiedClasses = ConcurrentHashMap.newKeySet();
+					for (List<JvmClassTransformer> stage : buildStages(transformers)) {
+						Map<JvmClassTransformer, Set<String>> stageModifiedClasses = new IdentityHashMap<>();
+						for (JvmClassTransformer transformer : stage)
+							stageModifiedClasses.put(transformer, ConcurrentHashMap.newKeySet());
 						final int currentPass = pass;
 
-						// Transformers can be run in parallel per each pass across all classes in the bundle.
+						// Stages can be run in parallel per each pass across all queued classes in the bundle.
+						// Each task carries its class through all transformers in the stage, in order.
 						tasks.clear();
-						for (JvmClassInfo cls : bundle)
+						for (String className : passClasses) {
+							JvmClassInfo cls = bundle.get(className);
+							if (cls == null)
+								continue;
 							tasks.add(() -> {
-								// Skip if transformation has been cancelled
-								if (feedback.hasRequestedCancellation())
-									return null;
-
-								// Skip if the class does not pass the predicate
-								if (!feedback.shouldTransform(workspace, resource, bundle, cls, transformer, currentPass))
-									return null;
-
-								try {
-									context.resetTransformerTracking();
-									transformer.transform(context, workspace, resource, bundle, cls);
-									boolean didWork = context.didTransformerDoWork();
-									if (didWork) {
-										// Transformer modified this class, record the interaction
-										anyWorkDone.set(true);
-										transformerWorkDone.set(true);
-										Collection<ClassPathNode> paths = transformerToModifiedClasses.computeIfAbsent(transformer.getClass(),
-												t -> Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>())));
-
-										// Only keep one path (since we may have repeated passes)
-										synchronized (paths) {
-											if (paths.stream().noneMatch(p -> p.getValue().getName().equals(cls.getName()))) {
-												ClassPathNode path = bundlePathNode.child(cls.getPackageName()).child(cls);
-												paths.add(path);
+								for (JvmClassTransformer transformer : stage) {
+									// Skip if transformation has been cancelled
+									if (feedback.hasRequestedCancellation())
+										return null;
+
+									// Skip if the class does not pass the predicate
+									if (!feedback.shouldTransform(workspace, resource, bundle, cls, transformer, currentPass))
+										continue;
+
+									try {
+										context.resetTransformerTracking();
+										transformer.transform(context, workspace, resource, bundle, cls);
+										boolean didWork = context.didTransformerDoWork();
+										if (didWork) {
+											// Transformer modified this class, record the interaction
+											stageModifiedClasses.get(transformer).add(cls.getName());
+											Collection<ClassPathNode> paths = transformerToModifiedClasses.computeIfAbsent(transformer.getClass(),
+													t -> Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>())));
+
+											// Only keep one path (since we may have repeated passes)
+											synchronized (paths) {
+												if (paths.stream().noneMatch(p -> p.getValue().getName().equals(cls.getName()))) {
+													ClassPathNode path = bundlePathNode.child(cls.getPackageName()).child(cls);
+													paths.add(path);
+												}
 											}
+											feedback.onTransformed(workspace, resource, bundle, cls, transformer, currentPass);
+										} else {
+											feedback.onTransformedWithoutWork(workspace, resource, bundle, cls, transformer, currentPass);
 										}
-										feedback.onTransformed(workspace, resource, bundle, cls, transformer, currentPass);
-									} else {
-										feedback.onTransformedWithoutWork(workspace, resource, bundle, cls, transformer, currentPass);
+										logger.debugging(l -> l.debug("Pass {}: Transformer {} didWork={}",
+												currentPass, transformer.getClass().getSimpleName(), didWork));
+
+									} catch (Throwable t) {
+										logger.error("Transformer '{}' failed on class '{}'", transformer.name(), cls.getName(), t);
+										feedback.onTransformFailure(workspace, resource, bundle, cls,  transformer,currentPass, t);
+										ClassPathNode path = bundlePathNode.child(cls.getPackageName()).child(cls);
+										var transformerToThrowable = transformJvmFailures.computeIfAbsent(path, p -> Collections.synchronizedMap(new IdentityHashMap<>()));
+										transformerToThrowable.put(transformer.getClass(), t);
 									}
-									logger.debugging(l -> l.debug("Pass {}: Transformer {} didWork={}",
-											currentPass, transformer.getClass().getSimpleName(), didWork));
-
-								} catch (Throwable t) {
-									logger.error("Transformer '{}' failed on class '{}'", transformer.name(), cls.getName(), t);
-									feedback.onTransformFailure(workspace, resource, bundle, cls,  transformer,currentPass, t);
-									ClassPathNode path = bundlePathNode.child(cls.getPackageName()).child(cls);
-									var transformerToThrowable = transformJvmFailures.computeIfAbsent(path, p -> Collections.synchronizedMap(new IdentityHashMap<>()));
-									transformerToThrowable.put(transformer.getClass(), t);
 								}
 								return null;
 							});
+						}
 
-						// Invoke and wait for all classes in this bundle to be visited/transformed.
+						// Invoke and wait for all queued classes in this bundle to be visited/transformed.
 						try {
 							service.invokeAll(tasks);
 						} catch (InterruptedException ex) {
 							throw new RuntimeException("Interrupt", ex);
 						}
 
-						// If a transformer is prunable (they no longer execute after a full pass without any work completed)
-						// schedule it for removal so that it will not be executed in following passes.
-						if (!transformerWorkDone.get() && transformer.pruneAfterNoWork()) {
-							logger.debug("Pruning transformer '{}' after pass {} completed with no work done", transformer.name(), pass);
-							prunedTransformers.add(transformer);
+						for (JvmClassTransformer transformer : stage) {
+							Set<String> transformerModifiedClasses = stageModifiedClasses.get(transformer);
+
+							// Transformers in later stages should also visit classes depending on the ones modified here,
+							// as they would have seen those changes if the pass visited all classes.
+							if (!transformerModifiedClasses.isEmpty()) {
+								passModifiedClasses.addAll(transformerModifiedClasses);
+								passClasses.addAll(worklist.withDependents(transformerModifiedClasses));
+							}
+
+							// If a transformer is prunable (they no longer execute after a full pass without any work completed)
+							// schedule it for removal so that it will not be executed in following passes.
+							if (transformerModifiedClasses.isEmpty() && transformer.pruneAfterNoWork()) {
+								logger.debug("Pruning transformer '{}' after pass {} completed with no work done", transformer.name(), pass);
+								prunedTransformers.add(transformer);
+							}
 						}
 					}
 
 					// Remove pruned transformers.
 					transformers.removeAll(prunedTransformers);
 
-					// Break if this transformer has done no work has been done this pass.
-					if (!anyWorkDone.get())
-						break;
+					// Queue up the classes modified in this pass, and their dependents, for the next pass.
+					// Modifications may have introduced new references, so those need to be recorded first.
+					worklist.updateReferences(context, passModifiedClasses);
+					passClasses = worklist.withDependents(passModifiedClasses);
+					int completedPass = pass;
+					int queuedCount = passClasses.size();
+					logger.debugging(l -> l.debug("Pass {}: Modified {} classes, queued {} classes for the next pass",
+							completedPass, passModifiedClasses.size(), queuedCount));
 				}
 			});
 			feedback.onCompletion();
@@ -313,19 +352,29 @@ public Map<Class<? extends JvmClassTransformer>, Collection<ClassPathNode>> getM
 
 			@Override
 			public void apply() {
-				// Dump transformed classes into the workspace
-				checkedForEach(transformedJvmClasses, (path, cls) -> {
-					JvmClassBundle bundle = path.getValueOfType(JvmClassBundle.class);
-					if (bundle != null)
-						bundle.put(cls);
-				}, (path, cls, t) -> logger.error("Exception thrown handling transform application", t));
-
-				// Delete classes that are marked for removal
-				for (ClassPathNode path : getClassesToRemove()) {
-					JvmClassBundle bundle = path.getValueOfType(JvmClassBundle.class);
-					if (bundle != null)
-						bundle.remove(path.getValue().getName());
-				}
+				// Collect the bundles being modified so listeners are notified of changes in a single batch per bundle.
+				Set<ClassPathNode> classesToRemove = getClassesToRemove();
+				Set<JvmClassBundle> bundles = Collections.newSetFromMap(new IdentityHashMap<>());
+				for (ClassPathNode path : transformedJvmClasses.keySet())
+					addBundle(bundles, path);
+				for (ClassPathNode path : classesToRemove)
+					addBundle(bundles, path);
+
+				Bundle.batch(bundles, () -> {
+					// Dump transformed classes into the workspace
+					checkedForEach(transformedJvmClasses, (path, cls) -> {
+						JvmClassBundle bundle = path.getValueOfType(JvmClassBundle.class);
+						if (bundle != null)
+							bundle.put(cls);
+					}, (path, cls, t) -> logger.error("Exception thrown handling transform application", t));
+
+					// Delete classes that are marked for removal
+					for (ClassPathNode path : classesToRemove) {
+						JvmClassBundle bundle = path.getValueOfType(JvmClassBundle.class);
+						if (bundle != null)
+							bundle.remove(path.getValue().getName());
+					}
+				});
 
 				// Apply mappings if they exist
 				IntermediateMappings mappings = context.getMappings();
@@ -337,6 +386,222 @@ public void apply() {
 		};
 	}
 
+	/**
+	 * Estimates the impact of the given transformers with a dry-run over at most
+	 * {@link #DEFAULT_ESTIMATE_SAMPLE_SIZE} classes.
+	 *
+	 * @param transformerClasses
+	 * 		JVM class transformers to estimate.
+	 *
+	 * @return Estimates for each transformer, in the same order as the given transformer types.
+	 *
+	 * @throws TransformationException
+	 * 		When a transformer cannot be created or set up.
+	 * @see #estimateJvmImpact(List, int)
+	 */
+	@Nonnull
+	public List<TransformerImpactEstimate> estimateJvmImpact(@Nonnull List<Class<? extends JvmClassTransformer>> transformerClasses) throws TransformationException {
+		return estimateJvmImpact(transformerClasses, DEFAULT_ESTIMATE_SAMPLE_SIZE);
+	}
+
+	/**
+	 * Estimates the impact of the given transformers, without the cost of running the full transformation chain.
+	 * <p>
+	 * Each transformer is run against a sample of classes spread evenly across the primary resource, with its own
+	 * context, so that the given transformers do not see each other's changes. Any transformers the estimated
+	 * transformer depends on are first run over the sample in the order they would run in a full transformation,
+	 * but their time and changes are not counted towards the estimate. Since only a single pass is run, the estimate
+	 * is a lower bound for transformers that benefit from repeated passes. Nothing is applied to the workspace.
+	 *
+	 * @param transformerClasses
+	 * 		JVM class transformers to estimate.
+	 * @param maxSampledClasses
+	 * 		Maximum number of classes to run each transformer against.
+	 *
+	 * @return Estimates for each transformer, in the same order as the given transformer types.
+	 *
+	 * @throws TransformationException
+	 * 		When a transformer cannot be created or set up.
+	 */
+	@Nonnull
+	public List<TransformerImpactEstimate> estimateJvmImpact(@Nonnull List<Class<? extends JvmClassTransformer>> transformerClasses,
+	                                                         int maxSampledClasses) throws TransformationException {
+		WorkspaceResource resource = workspace.getPrimaryResource();
+		List<Map.Entry<JvmClassBundle, JvmClassInfo>> classes = new ArrayList<>();
+		resource.jvmAllClassBundleStreamRecursive().forEach(bundle -> {
+			for (JvmClassInfo cls : bundle.values())
+				classes.add(Map.entry(bundle, cls));
+		});
+
+		// Pick classes at a fixed stride so that the sample is spread across all packages.
+		List<Map.Entry<JvmClassBundle, JvmClassInfo>> sample;
+		int sampleSize = Math.max(0, Math.min(maxSampledClasses, classes.size()));
+		if (sampleSize == classes.size()) {
+			sample = classes;
+		} else {
+			sample = new ArrayList<>(sampleSize);
+			double stride = (double) classes.size() / sampleSize;
+			for (int i = 0; i < sampleSize; i++)
+				sample.add(classes.get((int) (i * stride)));
+		}
+
+		// Each transformer gets its own instances and context, so that they can be estimated in isolation.
+		int transformerCount = transformerClasses.size();
+		List<List<JvmClassTransformer>> chains = new ArrayList<>(transformerCount);
+		List<JvmClassTransformer> targets = new ArrayList<>(transformerCount);
+		List<JvmTransformerContext> contexts = new ArrayList<>(transformerCount);
+		for (Class<? extends JvmClassTransformer> transformerClass : transformerClasses) {
+			List<JvmClassTransformer> transformers = buildQueue(List.of(transformerClass)).getTransformers();
+			chains.add(transformers);
+			targets.add(transformers.getLast());
+			contexts.add(new JvmTransformerContext(workspace, resource, transformers, TransformationParameters.empty()));
+		}
+
+		long[] setupNanos = new long[transformerCount];
+		AtomicLong[] transformNanos = new AtomicLong[transformerCount];
+		AtomicInteger[] affected = new AtomicInteger[transformerCount];
+		AtomicInteger[] failed = new AtomicInteger[transformerCount];
+		try (ExecutorService service = transformApplyConfig.doParallelize().getValue() ?
+				ThreadPoolFactory.newFixedThreadPool("transform-estimate") :
+				ThreadPoolFactory.newSingleThreadExecutor("transform-estimate")) {
+			for (JvmTransformerContext context : contexts)
+				context.setExecutor(service);
+			// Set up all transformers, along with any dependencies they may pull from the context.
+			List<Future<Void>> setups = new ArrayList<>(transformerCount);
+			for (int i = 0; i < transformerCount; i++) {
+				int index = i;
+				List<JvmClassTransformer> chain = chains.get(i);
+				JvmTransformerContext context = contexts.get(i);
+				setups.add(service.submit(() -> {
+					long start = System.nanoTime();
+					for (JvmClassTransformer transformer : chain)
+						transformer.setup(context, workspace);
+					setupNanos[index] = System.nanoTime() - start;
+					return null;
+				}));
+			}
+			for (int i = 0; i < transformerCount; i++) {
+				try {
+					setups.get(i).get();
+				} catch (ExecutionException ex) {
+					String message = "Transformer '" + targets.get(i).name() + "' failed on setup";
+					logger.error(message, ex.getCause());
+					throw new TransformationException(message, ex.getCause());
+				}
+			}
+
+			// Run the dependencies of each transformer against the sampled classes first, stage by stage in the
+			// same order as a full transformation, so that each transformer sees the work it relies on.
+			// Only the work of the transformer being estimated itself is measured.
+			List<List<List<JvmClassTransformer>>> dependencyStages = new ArrayList<>(transformerCount);
+			int maxStages = 0;
+			for (List<JvmClassTransformer> chain : chains) {
+				List<List<JvmClassTransformer>> stages = buildStages(chain.subList(0, chain.size() - 1));
+				dependencyStages.add(stages);
+				maxStages = Math.max(maxStages, stages.size());
+			}
+			for (int stageIndex = 0; stageIndex < maxStages; stageIndex++) {
+				List<Callable<Void>> dependencyTasks = new ArrayList<>();
+				for (int i = 0; i < transformerCount; i++) {
+					List<List<JvmClassTransformer>> stages = dependencyStages.get(i);
+					if (stageIndex >= stages.size())
+						continue;
+					List<JvmClassTransformer> stage = stages.get(stageIndex);
+					JvmTransformerContext context = contexts.get(i);
+					for (Map.Entry<JvmClassBundle, JvmClassInfo> entry : sample) {
+						dependencyTasks.add(() -> {
+							JvmClassInfo cls = entry.getValue();
+							for (JvmClassTransformer dependency : stage) {
+								try {
+									dependency.transform(context, workspace, resource, entry.getKey(), cls);
+								} catch (Throwable t) {
+									logger.debugging(l -> l.debug("Transformer '{}' failed on class '{}' during estimation",
+											dependency.name(), cls.getName(), t));
+								}
+							}
+							return null;
+						});
+					}
+				}
+				service.invokeAll(dependencyTasks);
+			}
+
+			// Run every transformer against every sampled class.
+			List<Callable<Void>> tasks = new ArrayList<>(transformerCount * sample.size());
+			for (int i = 0; i < transformerCount; i++) {
+				JvmClassTransformer transformer = targets.get(i);
+				JvmTransformerContext context = contexts.get(i);
+				AtomicLong nanos = transformNanos[i] = new AtomicLong();
+				AtomicInteger affectedCount = affected[i] = new AtomicInteger();
+				AtomicInteger failedCount = failed[i] = new AtomicInteger();
+				for (Map.Entry<JvmClassBundle, JvmClassInfo> entry : sample) {
+					tasks.add(() -> {
+						JvmClassInfo cls = entry.getValue();
+						long start = System.nanoTime();
+						try {
+							context.resetTransformerTracking();
+							transformer.transform(context, workspace, resource, entry.getKey(), cls);
+							if (context.didTransformerDoWork())
+								affectedCount.incrementAndGet();
+						} catch (Throwable t) {
+							logger.debugging(l -> l.debug("Transformer '{}' failed on class '{}' during estimation",
+									transformer.name(), cls.getName(), t));
+							failedCount.incrementAndGet();
+						} finally {
+							nanos.addAndGet(System.nanoTime() - start);
+						}
+						return null;
+					});
+				}
+			}
+			service.invokeAll(tasks);
+		} catch (InterruptedException ex) {
+			throw new TransformationException("Interrupted while estimating transformer impact", ex);
+		}
+
+		List<TransformerImpactEstimate> estimates = new ArrayList<>(transformerCount);
+		for (int i = 0; i < transformerCount; i++)
+			estimates.add(new TransformerImpactEstimate(transformerClasses.get(i), classes.size(), sample.size(),
+					affected[i].get(), failed[i].get(), setupNanos[i], transformNanos[i].get()));
+		return estimates;
+	}
+
+	/**
+	 * Groups transformers into stages, where all classes are run through one stage before any class is run
+	 * through the next. Consecutive {@link ClassTransformer#isClassLocal() class-local} transformers share a stage,
+	 * allowing each class to be carried through all of them at once. All other transformers get their own stage,
+	 * so that they can observe the results of prior transformers on all classes.
+	 *
+	 * @param transformers
+	 * 		Transformers in the order they are to be run.
+	 *
+	 * @return Stages of transformers, in the order they are to be run.
+	 */
+	@Nonnull
+	private static List<List<JvmClassTransformer>> buildStages(@Nonnull List<JvmClassTransformer> transformers) {
+		List<List<JvmClassTransformer>> stages = new ArrayList<>();
+		List<JvmClassTransformer> localStage = null;
+		for (JvmClassTransformer transformer : transformers) {
+			if (transformer.isClassLocal()) {
+				if (localStage == null) {
+					localStage = new ArrayList<>();
+					stages.add(localStage);
+				}
+				localStage.add(transformer);
+			} else {
+				localStage = null;
+				stages.add(List.of(transformer));
+			}
+		}
+		return stages;
+	}
+
+	private static void addBundle(@Nonnull Set<JvmClassBundle> bundles, @Nonnull ClassPathNode path) {
+		JvmClassBundle bundle = path.getValueOfType(JvmClassBundle.class);
+		if (bundle != null)
+			bundles.add(bundle);
+	}
+
 	@Nonnull
 	private TransformerQueue buildQueue(@Nonnull List<Class<? extends ClassTransformer>> transformerClasses) throws TransformationException {
 		TransformerQueue queue = new TransformerQueue();
@@ -367,6 +632,87 @@ private void insert(@Nonnull TransformerQueue queue, @Nonnull Class<? extends Cl
 		queue.add(transformer);
 	}
 
+	/**
+	 * Tracks which classes in a bundle depend on one another, so that only classes affected by prior transformations
+	 * need to be revisited in later passes.
+	 * <p>
+	 * A class depends on another if it references it <i>(See {@link JvmClassInfo#getReferencedClasses()})</i>
+	 * or if it is a direct child type of it <i>(See {@link InheritanceGraph})</i>.
+	 */
+	private static class ClassWorklist {
+		private final Map<String, Set<String>> referencingClasses = new ConcurrentHashMap<>();
+		private final JvmClassBundle bundle;
+		private final InheritanceGraph inheritanceGraph;
+
+		/**
+		 * @param bundle
+		 * 		Bundle containing classes to transform.
+		 * @param inheritanceGraph
+		 * 		Inheritance graph to pull child types from.
+		 */
+		private ClassWorklist(@Nonnull JvmClassBundle bundle, @Nonnull InheritanceGraph inheritanceGraph) {
+			this.bundle = bundle;
+			this.inheritanceGraph = inheritanceGraph;
+			for (JvmClassInfo cls : bundle)
+				addReferences(cls.getName(), cls.getReferencedClasses());
+		}
+
+		/**
+		 * Records references that modified classes may have gained since the last pass.
+		 * References that were removed are not tracked, as they only lead to classes being needlessly revisited.
+		 *
+		 * @param context
+		 * 		Transformer context holding the current state of classes.
+		 * @param modifiedClasses
+		 * 		Names of classes that were modified in the last pass.
+		 */
+		private void updateReferences(@Nonnull JvmTransformerContext context, @Nonnull Collection<String> modifiedClasses) {
+			for (String name : modifiedClasses) {
+				JvmClassInfo cls = bundle.get(name);
+				if (cls == null)
+					continue;
+				try {
+					JvmClassInfo modifiedClass = cls.toJvmClassBuilder()
+							.adaptFrom(context.getBytecode(bundle, cls))
+							.build();
+					addReferences(name, modifiedClass.getReferencedClasses());
+				} catch (Throwable t) {
+					// The class will be reported as failing when the change map is built.
+					logger.debug("Could not update references of transformed class '{}'", name, t);
+				}
+			}
+		}
+
+		/**
+		 * @param classes
+		 * 		Names of classes in the bundle.
+		 *
+		 * @return Set of the given classes, and the classes in the bundle that directly reference or extend them.
+		 * Classes further out are only queued if one of these dependents is modified in turn.
+		 */
+		@Nonnull
+		private Set<String> withDependents(@Nonnull Collection<String> classes) {
+			Set<String> dependents = new LinkedHashSet<>(classes);
+			for (String name : classes) {
+				Set<String> referencing = referencingClasses.get(name);
+				if (referencing != null)
+					dependents.addAll(referencing);
+				InheritanceVertex vertex = inheritanceGraph.getVertex(name);
+				if (vertex != null)
+					for (InheritanceVertex child : vertex.getChildren())
+						if (bundle.containsKey(child.getName()))
+							dependents.add(child.getName());
+			}
+			return dependents;
+		}
+
+		private void addReferences(@Nonnull String name, @Nonnull Collection<String> references) {
+			for (String reference : references)
+				if (!reference.equals(name) && bundle.containsKey(reference))
+					referencingClasses.computeIfAbsent(reference, r -> ConcurrentHashMap.newKeySet()).add(name);
+		}
+	}
+
 	/**
 	 * Wrapper holding which transformers to run.
 	 */
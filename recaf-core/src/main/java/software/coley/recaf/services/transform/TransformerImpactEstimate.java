@@ -0,0 +1,61 @@
+package software.coley.recaf.services.transform;
+
+import jakarta.annotation.Nonnull;
+import software.coley.recaf.workspace.model.Workspace;
+
+import java.util.List;
+
+/**
+ * Estimate of the impact of running a transformer over a workspace, extrapolated from a dry-run over a sample of classes.
+ *
+ * @param transformerClass
+ * 		Type of transformer estimated.
+ * @param totalClasses
+ * 		Number of classes in the workspace's primary resource.
+ * @param sampledClasses
+ * 		Number of classes the transformer was run against.
+ * @param affectedClasses
+ * 		Number of sampled classes the transformer modified.
+ * @param failedClasses
+ * 		Number of sampled classes the transformer failed on.
+ * @param setupNanos
+ * 		Time spent in {@link JvmClassTransformer#setup(JvmTransformerContext, Workspace)}.
+ * @param transformNanos
+ * 		Total time spent transforming the sampled classes.
+ *
+ * @author Matt Coley
+ * @see TransformationApplier#estimateJvmImpact(List, int)
+ */
+public record TransformerImpactEstimate(@Nonnull Class<? extends JvmClassTransformer> transformerClass,
+                                        int totalClasses, int sampledClasses, int affectedClasses, int failedClasses,
+                                        long setupNanos, long transformNanos) {
+	/**
+	 * @return Ratio of sampled classes modified by the transformer, from {@code 0} to {@code 1}.
+	 */
+	public double affectedRatio() {
+		return sampledClasses == 0 ? 0 : (double) affectedClasses / sampledClasses;
+	}
+
+	/**
+	 * @return Estimated number of classes in the workspace the transformer would modify.
+	 */
+	public long estimatedAffectedClasses() {
+		return Math.round(affectedRatio() * totalClasses);
+	}
+
+	/**
+	 * @return Estimated time in nanoseconds to run the transformer over all classes in the workspace, for a single pass.
+	 */
+	public long estimatedNanos() {
+		if (sampledClasses == 0)
+			return setupNanos;
+		return setupNanos + (long) ((double) transformNanos / sampledClasses * totalClasses);
+	}
+
+	/**
+	 * @return {@code true} when the transformer did not modify any sampled class, and is likely not worth running.
+	 */
+	public boolean isLikelyUseless() {
+		return affectedClasses == 0;
+	}
+}
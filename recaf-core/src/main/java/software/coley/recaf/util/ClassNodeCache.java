@@ -0,0 +1,87 @@
+package software.coley.recaf.util;
+
+import jakarta.annotation.Nonnull;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.tree.ClassNode;
+import software.coley.recaf.info.JvmClassInfo;
+import software.coley.recaf.info.properties.builtin.CachedClassNodeProperty;
+
+/**
+ * Shared cache of {@link ClassNode} models for {@link JvmClassInfo} instances.
+ * <p>
+ * Nodes are cached on the class model they were read from, so the cache lives exactly as long as the class model.
+ * When a class is updated in a workspace the new class model starts with an empty cache, and when a workspace is closed
+ * its cached nodes become unreachable along with its classes. Cached nodes are softly referenced, so they can also
+ * be reclaimed under memory pressure while the class is still in use.
+ * <p>
+ * Nodes from {@link #getShared(JvmClassInfo, int)} are shared between all callers and <b>must not be modified</b>.
+ * Callers that intend to modify the node should use {@link #getCopy(JvmClassInfo, int)}.
+ *
+ * @author Matt Coley
+ */
+public class ClassNodeCache {
+	private ClassNodeCache() {}
+
+	/**
+	 * @param classInfo
+	 * 		Class to get the node model of.
+	 *
+	 * @return Shared read-only node of the class, read with {@link JvmClassInfo#getClassReaderFlags() default flags}.
+	 */
+	@Nonnull
+	public static ClassNode getShared(@Nonnull JvmClassInfo classInfo) {
+		return getShared(classInfo, classInfo.getClassReaderFlags());
+	}
+
+	/**
+	 * @param classInfo
+	 * 		Class to get the node model of.
+	 * @param flags
+	 * 		{@link ClassReader} flags to read the class with.
+	 *
+	 * @return Shared read-only node of the class.
+	 */
+	@Nonnull
+	public static ClassNode getShared(@Nonnull JvmClassInfo classInfo, int flags) {
+		CachedClassNodeProperty.Cache cache = CachedClassNodeProperty.getOrCreate(classInfo);
+		synchronized (cache) {
+			ClassNode node = cache.get(flags);
+			if (node == null) {
+				node = new ClassNode();
+				classInfo.getClassReader().accept(node, flags);
+				cache.save(flags, node);
+			}
+			return node;
+		}
+	}
+
+	/**
+	 * @param classInfo
+	 * 		Class to get the node model of.
+	 * @param flags
+	 * 		{@link ClassReader} flags to read the class with.
+	 *
+	 * @return New node of the class, owned by the caller and safe to modify.
+	 */
+	@Nonnull
+	public static ClassNode getCopy(@Nonnull JvmClassInfo classInfo, int flags) {
+		// Copying a tree through the visitor API temporarily stores state in the label nodes of the source.
+		// Copies of the same shared node thus must be made one at a time.
+		CachedClassNodeProperty.Cache cache = CachedClassNodeProperty.getOrCreate(classInfo);
+		synchronized (cache) {
+			ClassNode copy = new ClassNode();
+			getShared(classInfo, flags).accept(copy);
+			return copy;
+		}
+	}
+
+	/**
+	 * Drops any cached nodes of the given class.
+	 *
+	 * @param classInfo
+	 * 		Class to invalidate cached nodes of.
+	 */
+	public static void invalidate(@Nonnull JvmClassInfo classInfo) {
+		CachedClassNodeProperty.remove(classInfo);
+	}
+}
@@ -0,0 +1,385 @@
+package software.coley.recaf.util.analysis;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.InsnList;
+import org.objectweb.asm.tree.JumpInsnNode;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.LookupSwitchInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.TableSwitchInsnNode;
+import org.objectweb.asm.tree.TryCatchBlockNode;
+import org.objectweb.asm.tree.analysis.AnalyzerException;
+import org.objectweb.asm.tree.analysis.Frame;
+import software.coley.recaf.util.analysis.value.IntValue;
+import software.coley.recaf.util.analysis.value.ObjectValue;
+import software.coley.recaf.util.analysis.value.ReValue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Conditional constant propagation over the {@link ReValue enhanced value types} of a method.
+ * <p>
+ * Unlike {@link ReAnalyzer}, which visits every path and then hides jump targets it could prove are never
+ * branched to, this analysis only ever propagates along control flow edges that are executable. A conditional
+ * jump or switch whose operands are known only marks the single path it takes as executable, so values flowing
+ * in from paths that can never execute do not widen the values at join points. The method is solved in a single
+ * worklist pass, where each instruction is only revisited when the values flowing into it lose precision.
+ * <p>
+ * Instructions with no frame in the {@link Result} are never executed.
+ * Methods using {@code jsr}/{@code ret} subroutines are not supported.
+ *
+ * @author Matt Coley
+ */
+public class ConditionalConstantAnalyzer implements Opcodes {
+	private final ReInterpreter interpreter;
+
+	/**
+	 * @param interpreter
+	 * 		Enhanced interpreter.
+	 */
+	public ConditionalConstantAnalyzer(@Nonnull ReInterpreter interpreter) {
+		this.interpreter = interpreter;
+	}
+
+	/**
+	 * @return Interpreter backing this analyzer.
+	 */
+	@Nonnull
+	public ReInterpreter getInterpreter() {
+		return interpreter;
+	}
+
+	/**
+	 * @param method
+	 * 		Some method.
+	 *
+	 * @return {@code true} when the method can be analyzed by this analyzer.
+	 * {@code false} when it contains {@code jsr}/{@code ret} subroutines.
+	 */
+	public static boolean isSupported(@Nonnull MethodNode method) {
+		if (method.instructions == null)
+			return false;
+		for (AbstractInsnNode insn : method.instructions) {
+			int op = insn.getOpcode();
+			if (op == JSR || op == RET)
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * @param owner
+	 * 		Internal name of class defining the method.
+	 * @param method
+	 * 		Method to analyze.
+	 *
+	 * @return Analysis results of the method.
+	 *
+	 * @throws AnalyzerException
+	 * 		When the method contains subroutines, or the method's code is not valid.
+	 */
+	@Nonnull
+	public Result analyze(@Nonnull String owner, @Nonnull MethodNode method) throws AnalyzerException {
+		if (!isSupported(method))
+			throw new AnalyzerException(null, "Subroutines are not supported");
+
+		InsnList instructions = method.instructions;
+		int size = instructions.size();
+		ReFrame[] frames = new ReFrame[size];
+		Result result = new Result(instructions, frames);
+		if (size == 0)
+			return result;
+
+		// Map each instruction to the try-catch blocks covering it.
+		List<List<TryCatchBlockNode>> handlers = new ArrayList<>(size);
+		for (int i = 0; i < size; i++)
+			handlers.add(null);
+		if (method.tryCatchBlocks != null) {
+			for (TryCatchBlockNode block : method.tryCatchBlocks) {
+				int start = instructions.indexOf(block.start);
+				int end = instructions.indexOf(block.end);
+				for (int i = start; i < end; i++) {
+					List<TryCatchBlockNode> covering = handlers.get(i);
+					if (covering == null)
+						handlers.set(i, covering = new ArrayList<>(2));
+					covering.add(block);
+				}
+			}
+		}
+
+		// Only the method entry is executable to begin with.
+		Worklist worklist = new Worklist(size);
+		merge(frames, worklist, 0, initialFrame(owner, method));
+		while (!worklist.isEmpty()) {
+			int index = worklist.pop();
+			AbstractInsnNode insn = instructions.get(index);
+			ReFrame frame = frames[index];
+			try {
+				// Any instruction in a try range may transfer control to its handlers.
+				List<TryCatchBlockNode> covering = handlers.get(index);
+				if (covering != null) {
+					for (TryCatchBlockNode block : covering) {
+						Type catchType = Type.getObjectType(block.type == null ? "java/lang/Throwable" : block.type);
+						ReFrame handler = new ReFrame(null, frame);
+						handler.clearStack();
+						handler.push(interpreter.newExceptionValue(block, handler, catchType));
+						merge(frames, worklist, instructions.indexOf(block.handler), handler);
+					}
+				}
+
+				int op = insn.getOpcode();
+				if (op == -1) {
+					// Labels, line numbers and frames do not modify state.
+					if (index + 1 < size)
+						merge(frames, worklist, index + 1, frame);
+					continue;
+				}
+
+				// Only mark edges executable which the current operands allow to be taken.
+				ReFrame next = new ReFrame(null, frame);
+				next.execute(insn, interpreter);
+				if (insn instanceof JumpInsnNode jin) {
+					Branching branching = branching(jin, frame);
+					if (branching != Branching.NOT_TAKEN)
+						merge(frames, worklist, instructions.indexOf(jin.label), next);
+					if (op != GOTO && branching != Branching.TAKEN)
+						merge(frames, worklist, index + 1, next);
+				} else if (insn instanceof TableSwitchInsnNode || insn instanceof LookupSwitchInsnNode) {
+					LabelNode target = switchTarget(insn, frame);
+					if (target != null) {
+						merge(frames, worklist, instructions.indexOf(target), next);
+					} else if (insn instanceof TableSwitchInsnNode tswitch) {
+						merge(frames, worklist, instructions.indexOf(tswitch.dflt), next);
+						for (LabelNode label : tswitch.labels)
+							merge(frames, worklist, instructions.indexOf(label), next);
+					} else {
+						LookupSwitchInsnNode lswitch = (LookupSwitchInsnNode) insn;
+						merge(frames, worklist, instructions.indexOf(lswitch.dflt), next);
+						for (LabelNode label : lswitch.labels)
+							merge(frames, worklist, instructions.indexOf(label), next);
+					}
+				} else if (op != ATHROW && (op < IRETURN || op > RETURN)) {
+					if (index + 1 >= size)
+						throw new AnalyzerException(insn, "Execution can fall off the end of the code");
+					merge(frames, worklist, index + 1, next);
+				}
+			} catch (AnalyzerException ex) {
+				throw new AnalyzerException(ex.node, "Error at instruction " + index + ": " + ex.getMessage(), ex);
+			} catch (RuntimeException ex) {
+				throw new AnalyzerException(insn, "Error at instruction " + index + ": " + ex.getMessage(), ex);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @param jump
+	 * 		Some conditional jump.
+	 * @param frame
+	 * 		Frame before execution of the jump.
+	 *
+	 * @return Branching behavior of the jump given the frame's operands.
+	 */
+	@Nonnull
+	public static Branching branching(@Nonnull JumpInsnNode jump, @Nonnull Frame<ReValue> frame) {
+		int op = jump.getOpcode();
+		if (op == GOTO)
+			return Branching.TAKEN;
+		int stackSize = frame.getStackSize();
+		if (op >= IFEQ && op <= IFLE) {
+			if (!(frame.getStack(stackSize - 1) instanceof IntValue top) || !top.hasKnownValue())
+				return Branching.UNKNOWN;
+			boolean taken = switch (op) {
+				case IFEQ -> top.isEqualTo(0);
+				case IFNE -> top.isNotEqualTo(0);
+				case IFLT -> top.isLessThan(0);
+				case IFGE -> top.isGreaterThanOrEqual(0);
+				case IFGT -> top.isGreaterThan(0);
+				default -> top.isLessThanOrEqual(0);
+			};
+			return taken ? Branching.TAKEN : Branching.NOT_TAKEN;
+		} else if (op >= IF_ICMPEQ && op <= IF_ICMPLE) {
+			if (!(frame.getStack(stackSize - 2) instanceof IntValue left) || !left.hasKnownValue()
+					|| !(frame.getStack(stackSize - 1) instanceof IntValue right) || !right.hasKnownValue())
+				return Branching.UNKNOWN;
+			boolean taken = switch (op) {
+				case IF_ICMPEQ -> left.isEqualTo(right);
+				case IF_ICMPNE -> left.isNotEqualTo(right);
+				case IF_ICMPLT -> left.isLessThan(right);
+				case IF_ICMPGE -> left.isGreaterThanOrEqual(right);
+				case IF_ICMPGT -> left.isGreaterThan(right);
+				default -> left.isLessThanOrEqual(right);
+			};
+			return taken ? Branching.TAKEN : Branching.NOT_TAKEN;
+		} else if (op == IFNULL || op == IFNONNULL) {
+			if (!(frame.getStack(stackSize - 1) instanceof ObjectValue top) || top.nullness() == Nullness.UNKNOWN)
+				return Branching.UNKNOWN;
+			Branching branching = top.isNull() ? Branching.TAKEN : Branching.NOT_TAKEN;
+			return op == IFNULL ? branching : branching.invert();
+		} else if (op == IF_ACMPEQ || op == IF_ACMPNE) {
+			if (!(frame.getStack(stackSize - 2) instanceof ObjectValue left)
+					|| !(frame.getStack(stackSize - 1) instanceof ObjectValue right))
+				return Branching.UNKNOWN;
+
+			// Only nullness can tell us anything about reference equality.
+			Branching branching;
+			if (left.isNull() && right.isNull())
+				branching = Branching.TAKEN;
+			else if ((left.isNull() && right.isNotNull()) || (left.isNotNull() && right.isNull()))
+				branching = Branching.NOT_TAKEN;
+			else
+				return Branching.UNKNOWN;
+			return op == IF_ACMPEQ ? branching : branching.invert();
+		}
+		return Branching.UNKNOWN;
+	}
+
+	/**
+	 * @param insn
+	 * 		Some switch instruction.
+	 * @param frame
+	 * 		Frame before execution of the switch.
+	 *
+	 * @return The only label the switch can branch to given the frame's operands,
+	 * or {@code null} if the key is not known.
+	 */
+	@Nullable
+	public static LabelNode switchTarget(@Nonnull AbstractInsnNode insn, @Nonnull Frame<ReValue> frame) {
+		if (!(frame.getStack(frame.getStackSize() - 1) instanceof IntValue key) || key.value().isEmpty())
+			return null;
+		int value = key.value().getAsInt();
+		if (insn instanceof TableSwitchInsnNode tswitch) {
+			if (value < tswitch.min || value > tswitch.max)
+				return tswitch.dflt;
+			return tswitch.labels.get(value - tswitch.min);
+		} else if (insn instanceof LookupSwitchInsnNode lswitch) {
+			int keyIndex = lswitch.keys.indexOf(value);
+			return keyIndex < 0 ? lswitch.dflt : lswitch.labels.get(keyIndex);
+		}
+		return null;
+	}
+
+	@Nonnull
+	private ReFrame initialFrame(@Nonnull String owner, @Nonnull MethodNode method) {
+		ReFrame frame = new ReFrame(null, method.maxLocals, method.maxStack);
+		frame.setReturn(interpreter.newReturnTypeValue(Type.getReturnType(method.desc)));
+
+		int local = 0;
+		boolean isInstanceMethod = (method.access & ACC_STATIC) == 0;
+		if (isInstanceMethod)
+			frame.setLocal(local, interpreter.newParameterValue(true, local++, Type.getObjectType(owner)));
+		for (Type argumentType : Type.getArgumentTypes(method.desc)) {
+			frame.setLocal(local, interpreter.newParameterValue(isInstanceMethod, local++, argumentType));
+			if (argumentType.getSize() == 2)
+				frame.setLocal(local, interpreter.newEmptyValue(local++));
+		}
+		while (local < method.maxLocals)
+			frame.setLocal(local, interpreter.newEmptyValue(local++));
+		return frame;
+	}
+
+	private void merge(@Nonnull ReFrame[] frames, @Nonnull Worklist worklist,
+	                   int index, @Nonnull ReFrame incoming) throws AnalyzerException {
+		ReFrame existing = frames[index];
+		if (existing == null) {
+			frames[index] = new ReFrame(null, incoming);
+			worklist.push(index);
+		} else if (existing.merge(incoming, interpreter)) {
+			worklist.push(index);
+		}
+	}
+
+	/**
+	 * Stack of instruction indices to visit, where each index is held at most once.
+	 */
+	private static class Worklist {
+		private final int[] indices;
+		private final boolean[] queued;
+		private int top;
+
+		private Worklist(int size) {
+			indices = new int[size];
+			queued = new boolean[size];
+		}
+
+		private boolean isEmpty() {
+			return top == 0;
+		}
+
+		private void push(int index) {
+			if (!queued[index]) {
+				queued[index] = true;
+				indices[top++] = index;
+			}
+		}
+
+		private int pop() {
+			int index = indices[--top];
+			queued[index] = false;
+			return index;
+		}
+	}
+
+	/**
+	 * Results of {@link #analyze(String, MethodNode)}.
+	 */
+	public static class Result {
+		private final InsnList instructions;
+		private final ReFrame[] frames;
+
+		private Result(@Nonnull InsnList instructions, @Nonnull ReFrame[] frames) {
+			this.instructions = instructions;
+			this.frames = frames;
+		}
+
+		/**
+		 * @return Frames for each instruction, in the same order as the method's instructions.
+		 * Instructions that are never executed have {@code null} frames.
+		 */
+		@Nonnull
+		public Frame<ReValue>[] getFrames() {
+			return frames;
+		}
+
+		/**
+		 * @param insn
+		 * 		Some instruction in the analyzed method.
+		 *
+		 * @return Frame before execution of the instruction, or {@code null} if the instruction is never executed.
+		 */
+		@Nullable
+		public ReFrame getFrame(@Nonnull AbstractInsnNode insn) {
+			int index = instructions.indexOf(insn);
+			return index < 0 || index >= frames.length ? null : frames[index];
+		}
+
+		/**
+		 * @param insn
+		 * 		Some instruction in the analyzed method.
+		 *
+		 * @return {@code true} when the instruction can be executed.
+		 */
+		public boolean isReachable(@Nonnull AbstractInsnNode insn) {
+			return getFrame(insn) != null;
+		}
+
+		/**
+		 * @param jump
+		 * 		Some jump in the analyzed method.
+		 *
+		 * @return Branching behavior of the jump. Jumps that are never executed are {@link Branching#NOT_TAKEN not taken}.
+		 */
+		@Nonnull
+		public Branching getBranching(@Nonnull JumpInsnNode jump) {
+			ReFrame frame = getFrame(jump);
+			if (frame == null)
+				return Branching.NOT_TAKEN;
+			return branching(jump, frame);
+		}
+	}
+}
@@ -0,0 +1,545 @@
+package software.coley.recaf.util.analysis;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.JumpInsnNode;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.LookupSwitchInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.TableSwitchInsnNode;
+import org.objectweb.asm.tree.TryCatchBlockNode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Basic block control flow graph of a method, with its dominator tree.
+ * <p>
+ * Blocks are split at jump and switch targets, after any instruction that branches or ends execution, and at the
+ * bounds and handlers of try-catch blocks. Each block has edges to the blocks that normal control flow can continue
+ * to, and exception edges to the handlers covering it. Neither edge kind considers the values on the stack,
+ * see {@link ConditionalConstantAnalyzer} for flow that excludes branches which are never taken.
+ * <p>
+ * The dominator tree is computed with the Lengauer-Tarjan algorithm over both edge kinds, starting from the
+ * entry block.
+ * <p>
+ * Graphs are a snapshot of the method when they are created. After modifying the method,
+ * create a new graph with {@link #of(MethodNode)}.
+ *
+ * @author Matt Coley
+ */
+public final class ControlFlowGraph implements Opcodes {
+	private final AbstractInsnNode[] nodes;
+	private final Map<AbstractInsnNode, Block> insnToBlock;
+	private final List<Block> blocks;
+	private final Block[] immediateDominators;
+	private final int[] dominatorPreorder;
+	private final int[] dominatorPostorder;
+
+	private ControlFlowGraph(@Nonnull MethodNode method) {
+		nodes = method.instructions.toArray();
+		int size = nodes.length;
+		int[] opcodes = new int[size];
+		LabelNode[][] targets = new LabelNode[size][];
+		List<TryCatchBlockNode> methodTryCatches = method.tryCatchBlocks == null ? Collections.emptyList() : method.tryCatchBlocks;
+		TryCatchBlockNode[] tryCatchBlocks = methodTryCatches.toArray(TryCatchBlockNode[]::new);
+
+		// Mark which instructions begin a new block.
+		Map<AbstractInsnNode, Integer> indices = new IdentityHashMap<>(size * 2);
+		for (int i = 0; i < size; i++)
+			indices.put(nodes[i], i);
+		boolean[] leaders = new boolean[size + 1];
+		leaders[0] = true;
+		for (int i = 0; i < size; i++) {
+			AbstractInsnNode insn = nodes[i];
+			int op = insn.getOpcode();
+			opcodes[i] = op;
+			LabelNode[] insnTargets = targetsOf(insn);
+			if (insnTargets != null) {
+				targets[i] = insnTargets;
+				for (LabelNode target : insnTargets)
+					markLeader(leaders, indices, target);
+				leaders[i + 1] = true;
+			} else if (isExit(op)) {
+				leaders[i + 1] = true;
+			}
+		}
+		for (TryCatchBlockNode block : tryCatchBlocks) {
+			markLeader(leaders, indices, block.start);
+			markLeader(leaders, indices, block.end);
+			markLeader(leaders, indices, block.handler);
+		}
+
+		// Create blocks between each leader.
+		List<Block> blockList = new ArrayList<>();
+		insnToBlock = new IdentityHashMap<>(size * 2);
+		Block[] insnBlocks = new Block[size];
+		for (int start = 0; start < size; ) {
+			int end = start + 1;
+			while (end < size && !leaders[end])
+				end++;
+			Block block = new Block(blockList.size(), start, end);
+			blockList.add(block);
+			for (int i = start; i < end; i++) {
+				insnBlocks[i] = block;
+				insnToBlock.put(nodes[i], block);
+			}
+			start = end;
+		}
+		blocks = Collections.unmodifiableList(blockList);
+
+		// Link blocks by normal control flow.
+		for (Block block : blocks) {
+			int last = block.end - 1;
+			int op = opcodes[last];
+			LabelNode[] insnTargets = targets[last];
+			Set<Block> successors = new LinkedHashSet<>();
+			if (insnTargets != null) {
+				for (LabelNode target : insnTargets) {
+					Integer targetIndex = indices.get(target);
+					if (targetIndex != null)
+						successors.add(insnBlocks[targetIndex]);
+				}
+			}
+
+			// Conditional jumps fall through when not taken, and subroutines return to the following instruction.
+			boolean fallsThrough = insnTargets == null ? !isExit(op) :
+					nodes[last] instanceof JumpInsnNode && op != GOTO;
+			if (fallsThrough && block.end < size)
+				successors.add(insnBlocks[block.end]);
+			block.successors.addAll(successors);
+		}
+
+		// Link blocks covered by try-catch blocks to their handlers.
+		for (TryCatchBlockNode tryCatch : tryCatchBlocks) {
+			Integer start = indices.get(tryCatch.start);
+			Integer end = indices.get(tryCatch.end);
+			Integer handlerIndex = indices.get(tryCatch.handler);
+			if (start == null || end == null || handlerIndex == null)
+				continue;
+			Block handler = insnBlocks[handlerIndex];
+			for (int i = start; i < end; i = insnBlocks[i].end) {
+				Block covered = insnBlocks[i];
+				if (!covered.handlers.contains(handler))
+					covered.handlers.add(handler);
+			}
+		}
+		for (Block block : blocks) {
+			for (Block successor : block.successors)
+				if (!successor.predecessors.contains(block))
+					successor.predecessors.add(block);
+			for (Block handler : block.handlers)
+				if (!handler.predecessors.contains(block))
+					handler.predecessors.add(block);
+		}
+
+		immediateDominators = new Block[blocks.size()];
+		dominatorPreorder = new int[blocks.size()];
+		dominatorPostorder = new int[blocks.size()];
+		computeDominators();
+	}
+
+	/**
+	 * @param method
+	 * 		Method to create a graph of.
+	 *
+	 * @return New control flow graph of the method.
+	 */
+	@Nonnull
+	public static ControlFlowGraph of(@Nonnull MethodNode method) {
+		return new ControlFlowGraph(method);
+	}
+
+	/**
+	 * @return All blocks of the method, in the order of their instructions.
+	 */
+	@Nonnull
+	public List<Block> getBlocks() {
+		return blocks;
+	}
+
+	/**
+	 * @return Block where execution of the method begins, or {@code null} if the method has no instructions.
+	 */
+	@Nullable
+	public Block getEntry() {
+		return blocks.isEmpty() ? null : blocks.getFirst();
+	}
+
+	/**
+	 * @param insn
+	 * 		Some instruction in the method.
+	 *
+	 * @return Block containing the instruction, or {@code null} if the instruction does not belong to the method.
+	 */
+	@Nullable
+	public Block getBlock(@Nonnull AbstractInsnNode insn) {
+		return insnToBlock.get(insn);
+	}
+
+	/**
+	 * @param index
+	 * 		Index of some instruction in the method.
+	 *
+	 * @return Block containing the instruction at the given index.
+	 */
+	@Nonnull
+	public Block getBlock(int index) {
+		return insnToBlock.get(nodes[index]);
+	}
+
+	/**
+	 * @param insn
+	 * 		Some instruction in the method.
+	 *
+	 * @return {@code true} when the instruction can be reached from the method entry by normal or exceptional control flow.
+	 */
+	public boolean isReachable(@Nonnull AbstractInsnNode insn) {
+		Block block = getBlock(insn);
+		return block != null && block.isReachable();
+	}
+
+	/**
+	 * @param roots
+	 * 		Blocks to begin walking control flow from.
+	 *
+	 * @return Indices of all blocks reachable from the given blocks by normal or exceptional control flow,
+	 * including the given blocks.
+	 *
+	 * @see Block#getIndex()
+	 */
+	@Nonnull
+	public BitSet reachableFrom(@Nonnull Collection<Block> roots) {
+		BitSet visited = new BitSet(blocks.size());
+		int[] stack = new int[blocks.size()];
+		int top = 0;
+		for (Block root : roots) {
+			if (!visited.get(root.index)) {
+				visited.set(root.index);
+				stack[top++] = root.index;
+			}
+		}
+		while (top > 0) {
+			Block block = blocks.get(stack[--top]);
+			for (Block successor : block.successors) {
+				if (!visited.get(successor.index)) {
+					visited.set(successor.index);
+					stack[top++] = successor.index;
+				}
+			}
+			for (Block handler : block.handlers) {
+				if (!visited.get(handler.index)) {
+					visited.set(handler.index);
+					stack[top++] = handler.index;
+				}
+			}
+		}
+		return visited;
+	}
+
+	/**
+	 * Computes the immediate dominator of each reachable block, and numbers the resulting tree
+	 * so that dominance checks are constant time.
+	 */
+	private void computeDominators() {
+		int count = blocks.size();
+		if (count == 0)
+			return;
+
+		// Number blocks in depth-first order from the entry. All following arrays are indexed by these numbers.
+		int[] dfsNumber = new int[count];
+		Arrays.fill(dfsNumber, -1);
+		Block[] vertex = new Block[count];
+		int[] parent = new int[count];
+		int[] edgeIndex = new int[count];
+		int[] stack = new int[count];
+		int n = 0;
+		int top = 0;
+		dfsNumber[0] = n;
+		vertex[n] = blocks.getFirst();
+		parent[n++] = -1;
+		stack[top++] = 0;
+		while (top > 0) {
+			int v = stack[top - 1];
+			Block block = vertex[v];
+			int edge = edgeIndex[v]++;
+			int successorCount = block.successors.size();
+			if (edge >= successorCount + block.handlers.size()) {
+				top--;
+				continue;
+			}
+			Block next = edge < successorCount ? block.successors.get(edge) : block.handlers.get(edge - successorCount);
+			if (dfsNumber[next.index] < 0) {
+				dfsNumber[next.index] = n;
+				vertex[n] = next;
+				parent[n] = v;
+				stack[top++] = n++;
+			}
+		}
+
+		// Lengauer-Tarjan: compute semi-dominators in reverse depth-first order, deferring
+		// immediate dominator computation through buckets, then fix up the implicit dominators.
+		int[] semi = new int[n];
+		int[] idom = new int[n];
+		int[] ancestor = new int[n];
+		int[] label = new int[n];
+		int[] bucketHead = new int[n];
+		int[] bucketNext = new int[n];
+		for (int v = 0; v < n; v++) {
+			semi[v] = v;
+			label[v] = v;
+			ancestor[v] = -1;
+			bucketHead[v] = -1;
+		}
+		for (int w = n - 1; w > 0; w--) {
+			for (Block predecessor : vertex[w].predecessors) {
+				int v = dfsNumber[predecessor.index];
+				if (v < 0)
+					continue; // Unreachable predecessors do not contribute to dominance.
+				int u = eval(v, ancestor, label, semi, stack);
+				if (semi[u] < semi[w])
+					semi[w] = semi[u];
+			}
+			bucketNext[w] = bucketHead[semi[w]];
+			bucketHead[semi[w]] = w;
+			int p = parent[w];
+			ancestor[w] = p;
+			for (int v = bucketHead[p]; v >= 0; v = bucketNext[v]) {
+				int u = eval(v, ancestor, label, semi, stack);
+				idom[v] = semi[u] < semi[v] ? u : p;
+			}
+			bucketHead[p] = -1;
+		}
+		for (int w = 1; w < n; w++)
+			if (idom[w] != semi[w])
+				idom[w] = idom[idom[w]];
+
+		// Number the dominator tree so that 'a' dominates 'b' when b's interval is within a's interval.
+		int[] childHead = new int[n];
+		int[] childNext = new int[n];
+		Arrays.fill(childHead, -1);
+		for (int w = n - 1; w > 0; w--) {
+			immediateDominators[vertex[w].index] = vertex[idom[w]];
+			childNext[w] = childHead[idom[w]];
+			childHead[idom[w]] = w;
+		}
+		Arrays.fill(dominatorPreorder, -1);
+		Arrays.fill(dominatorPostorder, -1);
+		int preorder = 0;
+		int postorder = 0;
+		int[] nextChild = childHead.clone();
+		top = 0;
+		stack[top++] = 0;
+		dominatorPreorder[vertex[0].index] = preorder++;
+		while (top > 0) {
+			int v = stack[top - 1];
+			int child = nextChild[v];
+			if (child < 0) {
+				dominatorPostorder[vertex[v].index] = postorder++;
+				top--;
+			} else {
+				nextChild[v] = childNext[child];
+				dominatorPreorder[vertex[child].index] = preorder++;
+				stack[top++] = child;
+			}
+		}
+	}
+
+	/**
+	 * @return Vertex with the minimum semi-dominator on the path from the given vertex to the root
+	 * of its tree in the forest of processed vertices.
+	 */
+	private static int eval(int v, @Nonnull int[] ancestor, @Nonnull int[] label, @Nonnull int[] semi, @Nonnull int[] stack) {
+		if (ancestor[v] < 0)
+			return v;
+
+		// Path compression, done iteratively since deep graphs would overflow the call stack.
+		int top = 0;
+		int x = v;
+		while (ancestor[ancestor[x]] >= 0) {
+			stack[top++] = x;
+			x = ancestor[x];
+		}
+		while (top > 0) {
+			x = stack[--top];
+			int a = ancestor[x];
+			if (semi[label[a]] < semi[label[x]])
+				label[x] = label[a];
+			ancestor[x] = ancestor[a];
+		}
+		return label[v];
+	}
+
+	/**
+	 * @param insn
+	 * 		Some instruction.
+	 *
+	 * @return Labels the instruction may branch to, or {@code null} if it is not a jump or switch.
+	 */
+	@Nullable
+	private static LabelNode[] targetsOf(@Nonnull AbstractInsnNode insn) {
+		if (insn instanceof JumpInsnNode jin)
+			return new LabelNode[]{jin.label};
+		if (insn instanceof TableSwitchInsnNode tswitch) {
+			LabelNode[] labels = tswitch.labels.toArray(new LabelNode[tswitch.labels.size() + 1]);
+			labels[labels.length - 1] = tswitch.dflt;
+			return labels;
+		}
+		if (insn instanceof LookupSwitchInsnNode lswitch) {
+			LabelNode[] labels = lswitch.labels.toArray(new LabelNode[lswitch.labels.size() + 1]);
+			labels[labels.length - 1] = lswitch.dflt;
+			return labels;
+		}
+		return null;
+	}
+
+	/**
+	 * @param op
+	 * 		Some opcode.
+	 *
+	 * @return {@code true} when control flow never continues to the following instruction.
+	 */
+	private static boolean isExit(int op) {
+		return (op >= IRETURN && op <= RETURN) || op == ATHROW || op == RET;
+	}
+
+	private static void markLeader(@Nonnull boolean[] leaders, @Nonnull Map<AbstractInsnNode, Integer> indices,
+	                               @Nonnull AbstractInsnNode insn) {
+		Integer index = indices.get(insn);
+		if (index != null)
+			leaders[index] = true;
+	}
+
+	/**
+	 * A sequence of instructions which are always executed in order, with only the last instruction transferring
+	 * control flow to other blocks <i>(Excluding exceptions)</i>.
+	 */
+	public final class Block {
+		private final List<Block> successors = new ArrayList<>(2);
+		private final List<Block> handlers = new ArrayList<>(1);
+		private final List<Block> predecessors = new ArrayList<>(2);
+		private final int index;
+		private final int start;
+		private final int end;
+
+		private Block(int index, int start, int end) {
+			this.index = index;
+			this.start = start;
+			this.end = end;
+		}
+
+		/**
+		 * @return Index of this block in {@link #getBlocks()}.
+		 */
+		public int getIndex() {
+			return index;
+		}
+
+		/**
+		 * @return Index of the first instruction of this block in the method's instructions.
+		 */
+		public int getStartIndex() {
+			return start;
+		}
+
+		/**
+		 * @return Index after the last instruction of this block in the method's instructions.
+		 */
+		public int getEndIndex() {
+			return end;
+		}
+
+		/**
+		 * @return Instructions of this block, in order.
+		 */
+		@Nonnull
+		public List<AbstractInsnNode> getInstructions() {
+			return Arrays.asList(nodes).subList(start, end);
+		}
+
+		/**
+		 * @return First instruction of this block.
+		 */
+		@Nonnull
+		public AbstractInsnNode getFirst() {
+			return nodes[start];
+		}
+
+		/**
+		 * @return Last instruction of this block.
+		 */
+		@Nonnull
+		public AbstractInsnNode getLast() {
+			return nodes[end - 1];
+		}
+
+		/**
+		 * @return Blocks that normal control flow can continue to after this block.
+		 */
+		@Nonnull
+		public List<Block> getSuccessors() {
+			return Collections.unmodifiableList(successors);
+		}
+
+		/**
+		 * @return Handler blocks of try-catch blocks covering this block.
+		 */
+		@Nonnull
+		public List<Block> getHandlers() {
+			return Collections.unmodifiableList(handlers);
+		}
+
+		/**
+		 * @return Blocks that can transfer control to this block, by normal or exceptional control flow.
+		 */
+		@Nonnull
+		public List<Block> getPredecessors() {
+			return Collections.unmodifiableList(predecessors);
+		}
+
+		/**
+		 * @return {@code true} when this block can be reached from the method entry by normal or exceptional control flow.
+		 */
+		public boolean isReachable() {
+			return dominatorPreorder[index] >= 0;
+		}
+
+		/**
+		 * @return Closest block that every path from the method entry to this block must pass through.
+		 * {@code null} for the entry block, and for blocks that are not {@link #isReachable() reachable}.
+		 */
+		@Nullable
+		public Block getImmediateDominator() {
+			return immediateDominators[index];
+		}
+
+		/**
+		 * @param other
+		 * 		Some other block in the same graph.
+		 *
+		 * @return {@code true} when every path from the method entry to the other block passes through this block.
+		 * A reachable block always dominates itself.
+		 */
+		public boolean dominates(@Nonnull Block other) {
+			if (!isReachable() || !other.isReachable())
+				return false;
+			return dominatorPreorder[index] <= dominatorPreorder[other.index]
+					&& dominatorPostorder[other.index] <= dominatorPostorder[index];
+		}
+
+		@Override
+		public String toString() {
+			return "Block " + index + " [" + start + ", " + end + ")";
+		}
+	}
+}
@@ -0,0 +1,229 @@
+package software.coley.recaf.util.analysis.eval;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.InsnList;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.TryCatchBlockNode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Flat form of a method's instructions for the {@link Evaluator} to execute.
+ * <p>
+ * Walking the tree form of a method means stepping over labels and other pseudo-instructions, and resolving
+ * the position of jump targets and try-catch ranges every time they are used. The decoded form holds only
+ * the executable instructions in an array, with every tree node pre-resolved to the index of the instruction
+ * that executes when control reaches it. Try-catch ranges are likewise pre-resolved to index ranges.
+ * <p>
+ * Decoded forms can be cached by callers and re-used while {@link #isCurrent(MethodNode)} holds. That check walks
+ * the method's instructions and try-catch blocks and compares them by identity against those the form was decoded
+ * from, so any insertion, removal, or replacement of a node is detected. Edits made to the fields of an existing
+ * node, such as retargeting a jump, do not need a re-decode as the targets are resolved when they are executed.
+ *
+ * @author Matt Coley
+ */
+public final class DecodedMethod {
+	private final InsnList source;
+	private final int sourceSize;
+	private final AbstractInsnNode[] sourceNodes;
+	private final TryCatchBlockNode[] blocks;
+	private final LabelNode[] blockStarts;
+	private final LabelNode[] blockEnds;
+	private final AbstractInsnNode[] instructions;
+	private final AbstractInsnNode[] fallthroughNodes;
+	private final int[] fallthroughIndices;
+	private final Map<AbstractInsnNode, Integer> indices;
+	private final Handler[] handlers;
+
+	private DecodedMethod(@Nonnull MethodNode method) {
+		source = method.instructions;
+		AbstractInsnNode[] nodes = source.toArray();
+		sourceNodes = nodes;
+		sourceSize = nodes.length;
+		blocks = method.tryCatchBlocks == null ? new TryCatchBlockNode[0] : method.tryCatchBlocks.toArray(TryCatchBlockNode[]::new);
+
+		// Map every node to the index of the next executable instruction at or after it.
+		// Walking backwards lets labels inherit the index of the instruction that follows them.
+		int executableCount = 0;
+		for (AbstractInsnNode node : nodes)
+			if (node.getOpcode() != -1)
+				executableCount++;
+		instructions = new AbstractInsnNode[executableCount];
+		indices = new IdentityHashMap<>(nodes.length * 2);
+		int next = executableCount;
+		for (int i = nodes.length - 1; i >= 0; i--) {
+			AbstractInsnNode node = nodes[i];
+			if (node.getOpcode() != -1)
+				instructions[--next] = node;
+			indices.put(node, next);
+		}
+
+		// Most instructions continue on to the next node, so we can skip map lookups for that case.
+		fallthroughNodes = new AbstractInsnNode[executableCount];
+		fallthroughIndices = new int[executableCount];
+		for (int i = 0; i < executableCount; i++) {
+			AbstractInsnNode following = instructions[i].getNext();
+			fallthroughNodes[i] = following;
+			fallthroughIndices[i] = following == null ? executableCount : indices.get(following);
+		}
+
+		handlers = new Handler[blocks.length];
+		blockStarts = new LabelNode[blocks.length];
+		blockEnds = new LabelNode[blocks.length];
+		for (int i = 0; i < blocks.length; i++) {
+			TryCatchBlockNode block = blocks[i];
+			blockStarts[i] = block.start;
+			blockEnds[i] = block.end;
+			handlers[i] = new Handler(indexOf(block.start), indexOf(block.end), block.type, block.handler);
+		}
+	}
+
+	/**
+	 * @param method
+	 * 		Method to decode.
+	 *
+	 * @return New decoded form of the method.
+	 */
+	@Nonnull
+	public static DecodedMethod of(@Nonnull MethodNode method) {
+		return new DecodedMethod(method);
+	}
+
+	/**
+	 * @param method
+	 * 		Method to decode.
+	 * @param cache
+	 * 		Cache of previously decoded methods to pull from, and to record newly decoded forms in.
+	 *
+	 * @return Decoded form of the method, re-used from the cache if it is still {@link #isCurrent(MethodNode) current}.
+	 */
+	@Nonnull
+	public static DecodedMethod of(@Nonnull MethodNode method, @Nonnull Map<MethodNode, DecodedMethod> cache) {
+		DecodedMethod decoded = cache.get(method);
+		if (decoded == null || !decoded.isCurrent(method)) {
+			decoded = new DecodedMethod(method);
+			cache.put(method, decoded);
+		}
+		return decoded;
+	}
+
+	/**
+	 * @return Number of executable instructions.
+	 */
+	public int size() {
+		return instructions.length;
+	}
+
+	/**
+	 * @param index
+	 * 		Index of an executable instruction.
+	 *
+	 * @return Instruction at the given index.
+	 */
+	@Nonnull
+	public AbstractInsnNode instruction(int index) {
+		return instructions[index];
+	}
+
+	/**
+	 * @param index
+	 * 		Index of the instruction that was executed.
+	 * @param next
+	 * 		Node that control flow continues to after the instruction.
+	 *
+	 * @return Index of the next executable instruction, or {@link #size()} if control flow runs off the end of the method.
+	 * {@code -1} if the node does not belong to this method.
+	 */
+	public int resolve(int index, @Nonnull AbstractInsnNode next) {
+		if (fallthroughNodes[index] == next)
+			return fallthroughIndices[index];
+		return indexOf(next);
+	}
+
+	/**
+	 * @param source
+	 * 		Index of the instruction that threw an exception.
+	 *
+	 * @return Try-catch handlers in order of precedence that cover the instruction.
+	 */
+	@Nonnull
+	public List<Handler> handlersCovering(int source) {
+		if (handlers.length == 0)
+			return Collections.emptyList();
+		List<Handler> covering = null;
+		for (Handler handler : handlers) {
+			if (source < handler.start || source >= handler.end)
+				continue;
+			if (covering == null)
+				covering = new ArrayList<>(2);
+			covering.add(handler);
+		}
+		return covering == null ? Collections.emptyList() : covering;
+	}
+
+	/**
+	 * @param node
+	 * 		Some node in the method.
+	 *
+	 * @return Index of the executable instruction at or after the node, or {@code -1} if the node does not belong to this method.
+	 */
+	public int indexOf(@Nonnull AbstractInsnNode node) {
+		Integer index = indices.get(node);
+		return index == null ? -1 : index;
+	}
+
+	/**
+	 * @param method
+	 * 		Method to check against.
+	 *
+	 * @return {@code true} when the method's instructions and try-catch blocks are still those this form was decoded from.
+	 */
+	public boolean isCurrent(@Nonnull MethodNode method) {
+		// Check the cheap parts first, so most modified methods are rejected without walking the whole list.
+		InsnList instructions = method.instructions;
+		if (instructions != source || instructions.size() != sourceSize
+				|| instructions.getFirst() != (sourceSize == 0 ? null : sourceNodes[0])
+				|| instructions.getLast() != (sourceSize == 0 ? null : sourceNodes[sourceSize - 1]))
+			return false;
+
+		List<TryCatchBlockNode> currentBlocks = method.tryCatchBlocks;
+		int blockCount = currentBlocks == null ? 0 : currentBlocks.size();
+		if (blockCount != blocks.length)
+			return false;
+		for (int i = 0; i < blockCount; i++) {
+			TryCatchBlockNode block = currentBlocks.get(i);
+			Handler handler = handlers[i];
+			if (block != blocks[i] || block.start != blockStarts[i] || block.end != blockEnds[i]
+					|| block.handler != handler.target() || !Objects.equals(block.type, handler.type()))
+				return false;
+		}
+
+		// Instructions replaced in the middle of the list keep the size and bounds the same,
+		// so every node needs to be compared. Walking the links avoids the list's internal index cache.
+		int i = 0;
+		for (AbstractInsnNode insn = instructions.getFirst(); insn != null; insn = insn.getNext())
+			if (i >= sourceSize || insn != sourceNodes[i++])
+				return false;
+		return i == sourceSize;
+	}
+
+	/**
+	 * @param start
+	 * 		Index of the first covered instruction.
+	 * @param end
+	 * 		Index after the last covered instruction.
+	 * @param type
+	 * 		Internal name of the caught exception type, or {@code null} to catch any exception.
+	 * @param target
+	 * 		Label of the handler block.
+	 */
+	public record Handler(int start, int end, @Nullable String type, @Nonnull AbstractInsnNode target) {}
+}
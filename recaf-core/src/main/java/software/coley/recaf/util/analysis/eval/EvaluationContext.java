@@ -33,6 +33,10 @@ public final class EvaluationContext {
 	final EvaluationModelRegistry models;
 	int stepAllocation;
 	EvaluationModelHeap.ThreadState currentThread;
+	/** Set when evaluated code reads or writes static fields tracked by the {@link FieldCacheManager}. */
+	boolean accessedStaticState;
+	/** Set when evaluated code observes the call stack, such as through a throwable's stack trace. */
+	boolean accessedStackTrace;
 
 	EvaluationContext(@Nonnull Evaluator evaluator, int stepAllocation) {
 		this(evaluator, stepAllocation, null);
@@ -85,6 +89,7 @@ ThrowableValue throwable(@Nonnull String internalName) {
 	 */
 	@Nonnull
 	List<StackTraceElement> stackTrace() {
+		accessedStackTrace = true;
 		List<StackTraceElement> trace = new ArrayList<>(callStack.size());
 		for (int i = callStack.size() - 1; i >= 0; i--) {
 			ClassMethodPair pair = callStack.get(i);
@@ -0,0 +1,210 @@
+package software.coley.recaf.util.analysis.eval;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.objectweb.asm.Type;
+import software.coley.recaf.util.ClassMethodPair;
+import software.coley.recaf.util.analysis.value.DoubleValue;
+import software.coley.recaf.util.analysis.value.FloatValue;
+import software.coley.recaf.util.analysis.value.IntValue;
+import software.coley.recaf.util.analysis.value.LongValue;
+import software.coley.recaf.util.analysis.value.ReValue;
+import software.coley.recaf.util.analysis.value.StringValue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of values yielded by evaluating pure methods, keyed by the method and its concrete arguments.
+ * <p>
+ * Evaluations are only recorded when:
+ * <ul>
+ *     <li>All arguments and the yielded value are known primitives or strings, which cannot be mutated.</li>
+ *     <li>The evaluation did not access static fields, since their state is tracked by a
+ *     {@link FieldCacheManager} that may change between evaluations. The exception is {@code static final} fields
+ *     which are only assigned by their class's static initializer, as they do not change once initialized.</li>
+ * </ul>
+ * Static methods called within an evaluation are recorded on their own, so a call to a pure method can be reused
+ * even when the evaluation calling it cannot be.
+ * Evaluations that inspect the call stack are recorded against the callers provided by
+ * {@link Evaluator#setCallStackSeed(List)}, so that they are only reused for the same callers.
+ * <p>
+ * A single cache may be shared between multiple {@link Evaluator} instances, across threads.
+ *
+ * @author Matt Coley
+ * @see Evaluator#setResultCache(EvaluationResultCache)
+ */
+public class EvaluationResultCache {
+	private static final int DEFAULT_MAX_ENTRIES = 10_000;
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final Map<Key, ReValue> results;
+
+	/**
+	 * New cache with a default size bound.
+	 */
+	public EvaluationResultCache() {
+		this(DEFAULT_MAX_ENTRIES);
+	}
+
+	/**
+	 * @param maxEntries
+	 * 		Maximum number of results to hold. The least recently used results are evicted first.
+	 */
+	public EvaluationResultCache(int maxEntries) {
+		results = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, ReValue> eldest) {
+				return size() > maxEntries;
+			}
+		});
+	}
+
+	/**
+	 * @return Number of lookups that yielded a cached result.
+	 */
+	public long getHits() {
+		return hits.get();
+	}
+
+	/**
+	 * @return Number of lookups that did not yield a cached result.
+	 */
+	public long getMisses() {
+		return misses.get();
+	}
+
+	/**
+	 * Clears all cached results.
+	 */
+	public void clear() {
+		results.clear();
+	}
+
+	/**
+	 * @param owner
+	 * 		Name of class defining the method.
+	 * @param name
+	 * 		Name of the method.
+	 * @param descriptor
+	 * 		Descriptor of the method.
+	 * @param parameters
+	 * 		Parameters passed to the method.
+	 *
+	 * @return Key for the evaluation of the method with the given parameters,
+	 * or {@code null} if any parameter is not a known immutable value.
+	 */
+	@Nullable
+	static Key key(@Nonnull String owner, @Nonnull String name, @Nonnull String descriptor,
+	               @Nonnull List<ReValue> parameters) {
+		List<Object> arguments = new ArrayList<>(parameters.size() * 2);
+		for (ReValue parameter : parameters) {
+			Object constant = toConstant(parameter);
+			if (constant == null)
+				return null;
+
+			// Include the type so that values such as 'char' and 'int' with the same content are distinct.
+			arguments.add(parameter.type().getDescriptor());
+			arguments.add(constant);
+		}
+		return new Key(owner, name, descriptor, arguments, null);
+	}
+
+	/**
+	 * @param callStackSeed
+	 * 		Callers of the evaluated method.
+	 *
+	 * @return Caller representation, matching the content visible to evaluated code through stack traces.
+	 */
+	@Nonnull
+	static List<String> callers(@Nullable List<ClassMethodPair> callStackSeed) {
+		if (callStackSeed == null || callStackSeed.isEmpty())
+			return Collections.emptyList();
+		List<String> callers = new ArrayList<>(callStackSeed.size());
+		for (ClassMethodPair pair : callStackSeed)
+			callers.add(pair.classNode().name + '.' + pair.methodNode().name);
+		return callers;
+	}
+
+	/**
+	 * @param key
+	 * 		Evaluation key, from {@link #key(String, String, String, List)}.
+	 * @param callers
+	 * 		Callers of the evaluated method, from {@link #callers(List)}.
+	 *
+	 * @return Cached value yielded by a prior evaluation, or {@code null} if no such evaluation was recorded.
+	 */
+	@Nullable
+	ReValue get(@Nonnull Key key, @Nonnull List<String> callers) {
+		ReValue value = results.get(key);
+		if (value == null)
+			value = results.get(key.withCallers(callers));
+		if (value == null)
+			misses.incrementAndGet();
+		else
+			hits.incrementAndGet();
+		return value;
+	}
+
+	/**
+	 * @param key
+	 * 		Evaluation key, from {@link #key(String, String, String, List)}.
+	 * @param callers
+	 * 		Callers of the evaluated method, from {@link #callers(List)}.
+	 * @param context
+	 * 		Context of the completed evaluation.
+	 * @param value
+	 * 		Value yielded by the evaluation.
+	 */
+	void put(@Nonnull Key key, @Nonnull List<String> callers, @Nonnull EvaluationContext context, @Nonnull ReValue value) {
+		if (context.accessedStaticState || toConstant(value) == null)
+			return;
+		results.put(context.accessedStackTrace ? key.withCallers(callers) : key, value);
+	}
+
+	/**
+	 * @param value
+	 * 		Some value.
+	 *
+	 * @return Boxed constant of the value, or {@code null} if the value is not a known immutable value.
+	 */
+	@Nullable
+	private static Object toConstant(@Nonnull ReValue value) {
+		Type type = value.type();
+		if (type == null || !value.hasKnownValue())
+			return null;
+		return switch (value) {
+			case IntValue intValue -> intValue.value().getAsInt();
+			case LongValue longValue -> longValue.value().getAsLong();
+			case FloatValue floatValue -> floatValue.value().getAsDouble();
+			case DoubleValue doubleValue -> doubleValue.value().getAsDouble();
+			case StringValue stringValue -> stringValue.getText().orElse(null);
+			default -> null;
+		};
+	}
+
+	/**
+	 * @param owner
+	 * 		Name of class defining the method.
+	 * @param name
+	 * 		Name of the method.
+	 * @param descriptor
+	 * 		Descriptor of the method.
+	 * @param arguments
+	 * 		Argument types and constant values.
+	 * @param callers
+	 * 		Callers of the method, for evaluations that inspected the call stack.
+	 * 		Otherwise {@code null}.
+	 */
+	record Key(@Nonnull String owner, @Nonnull String name, @Nonnull String descriptor,
+	           @Nonnull List<Object> arguments, @Nullable List<String> callers) {
+		@Nonnull
+		private Key withCallers(@Nonnull List<String> callers) {
+			return new Key(owner, name, descriptor, arguments, callers);
+		}
+	}
+}
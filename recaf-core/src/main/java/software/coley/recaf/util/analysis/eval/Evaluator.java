@@ -32,6 +32,7 @@
 import software.coley.recaf.path.ClassPathNode;
 import software.coley.recaf.util.AccessFlag;
 import software.coley.recaf.util.ClassMethodPair;
+import software.coley.recaf.util.ClassNodeCache;
 import software.coley.recaf.util.analysis.Branching;
 import software.coley.recaf.util.analysis.Nullness;
 import software.coley.recaf.util.analysis.ReFrame;
@@ -46,15 +47,17 @@
 import software.coley.recaf.util.analysis.value.UninitializedValue;
 import software.coley.recaf.util.analysis.value.impl.ArrayValueImpl;
 import software.coley.recaf.util.analysis.value.impl.ArrayValueMutableImpl;
-import software.coley.recaf.util.visitors.MemberFilteringVisitor;
 import software.coley.recaf.workspace.model.Workspace;
 import software.coley.recaf.workspace.model.resource.RuntimeWorkspaceResource;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.OptionalInt;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.BiPredicate;
 import java.util.function.Consumer;
@@ -70,7 +73,10 @@ public class Evaluator {
 
 	private static final Logger logger = Logging.get(Evaluator.class);
 	private static final InstanceFactory instanceFactory = new InstanceFactory();
+	private static final int NODE_READ_FLAGS = ClassReader.SKIP_FRAMES | ClassReader.SKIP_DEBUG;
 	private final List<EvaluationListener> listeners = new CopyOnWriteArrayList<>();
+	private final Map<ClassNode, Set<String>> constantStaticFields = new ConcurrentHashMap<>();
+	private final Map<MethodNode, DecodedMethod> decodedMethods = new ConcurrentHashMap<>();
 	private final Workspace workspace;
 	private final ReInterpreter interpreter;
 	private final FieldCacheManager fieldCacheManager;
@@ -78,6 +84,7 @@ public class Evaluator {
 	private final boolean evaluateClassInitializers;
 	private final int maxSteps;
 	private List<ClassMethodPair> callStackSeed;
+	private EvaluationResultCache resultCache;
 
 	/**
 	 * @param workspace
@@ -113,6 +120,19 @@ public void setCallStackSeed(@Nullable List<ClassMethodPair> callStackSeed) {
 		this.callStackSeed = callStackSeed;
 	}
 
+	/**
+	 * Enables reuse of values yielded by prior evaluations of pure methods with the same arguments.
+	 * Only applies to evaluations of static methods through {@link #evaluate(ClassNode, MethodNode, ObjectValue, List)},
+	 * and the static methods they call, while no {@link #addListener(EvaluationListener) listeners} are registered.
+	 *
+	 * @param resultCache
+	 * 		Cache to record and pull evaluation results from.
+	 * 		May be {@code null} to disable caching.
+	 */
+	public void setResultCache(@Nullable EvaluationResultCache resultCache) {
+		this.resultCache = resultCache;
+	}
+
 	/**
 	 * Registers a listener for successfully executed instructions.
 	 *
@@ -148,9 +168,11 @@ public boolean canEvaluate(@Nonnull String className,
 			return false;
 
 		// Extract method-node model and delegate to evaluate check.
-		ClassNode node = new ClassNode();
-		jvmClass.getClassReader().accept(new MemberFilteringVisitor(node, method), ClassReader.SKIP_FRAMES | ClassReader.SKIP_DEBUG);
-		return node.methods.size() == 1 && canEvaluate(node.methods.getFirst());
+		ClassNode node = ClassNodeCache.getShared(jvmClass, NODE_READ_FLAGS);
+		for (MethodNode methodNode : node.methods)
+			if (methodName.equals(methodNode.name) && methodDescriptor.equals(methodNode.desc))
+				return canEvaluate(methodNode);
+		return false;
 	}
 
 	/**
@@ -279,9 +301,7 @@ private EvaluationResult evaluate(@Nonnull String className,
 		if (classInfo.getDeclaredMethod(methodName, methodDescriptor) == null)
 			return EvaluationResult.cannotEvaluate("Method not found in class: " + className + "." + methodName + methodDescriptor);
 
-		ClassNode classNode = new ClassNode();
-		ClassReader reader = classInfo.getClassReader();
-		reader.accept(classNode, ClassReader.SKIP_FRAMES | ClassReader.SKIP_DEBUG);
+		ClassNode classNode = ClassNodeCache.getShared(classInfo, NODE_READ_FLAGS);
 
 		for (MethodNode methodNode : classNode.methods)
 			if (methodName.equals(methodNode.name) && methodDescriptor.equals(methodNode.desc))
@@ -310,8 +330,28 @@ public EvaluationResult evaluate(@Nonnull ClassNode classNode,
 	                                 @Nonnull List<ReValue> parameters) {
 		if (Type.getReturnType(methodNode.desc) == Type.VOID_TYPE)
 			return EvaluationResult.cannotEvaluate("Method must yield a value");
+
+		// Check for a prior evaluation of the same method and arguments.
+		// Listeners expect to observe every instruction, so caching is skipped when any are registered.
+		EvaluationResultCache cache = resultCache;
+		EvaluationResultCache.Key key = null;
+		List<String> callers = null;
+		if (cache != null && classInstance == null && listeners.isEmpty()) {
+			key = EvaluationResultCache.key(classNode.name, methodNode.name, methodNode.desc, parameters);
+			if (key != null) {
+				callers = EvaluationResultCache.callers(callStackSeed);
+				ReValue cached = cache.get(key, callers);
+				if (cached != null)
+					return new EvaluationYieldResult(cached);
+			}
+		}
+
 		try {
-			return evaluate(classNode, methodNode, classInstance, parameters, new EvaluationContext(this, maxSteps, callStackSeed));
+			EvaluationContext context = new EvaluationContext(this, maxSteps, callStackSeed);
+			EvaluationResult result = evaluate(classNode, methodNode, classInstance, parameters, context);
+			if (key != null && result instanceof EvaluationYieldResult(ReValue value))
+				cache.put(key, callers, context, value);
+			return result;
 		} catch (UnknownValueException e) {
 			return EvaluationResult.cannotEvaluate(UNKNOWN_VALUE_REASON, e);
 		}
@@ -374,7 +414,8 @@ protected EvaluationResult evaluate(@Nonnull ClassNode classNode,
 			initializeInstanceFields(classInstance, classNode.name);
 
 		// Create initial frame with every slot empty so unused and wide-value slots have valid state.
-		ExecutingFrame frame = new ExecutingFrame(methodNode, context, classNode.name);
+		DecodedMethod decoded = DecodedMethod.of(methodNode, decodedMethods);
+		ExecutingFrame frame = new ExecutingFrame(methodNode, decoded, context, classNode.name);
 		for (int i = 0; i < methodNode.maxLocals; i++)
 			frame.setLocal(i, interpreter.newEmptyValue(i));
 
@@ -392,15 +433,19 @@ protected EvaluationResult evaluate(@Nonnull ClassNode classNode,
 		// Handle execution
 		context.callStack.add(new ClassMethodPair(classNode, methodNode));
 		List<ClassMethodPair> stack = List.copyOf(context.callStack);
-		InsnList instructions = methodNode.instructions;
 		notifyMethodEnter(classNode, methodNode, frame, stack);
 		try {
-			AbstractInsnNode pc = instructions.getFirst();
+			// Execute over the decoded form so that labels and other pseudo-instructions do not cost steps,
+			// and control flow targets are looked up rather than located in the instruction list.
+			int pc = 0;
+			int size = decoded.size();
+			if (size == 0)
+				return EvaluationResult.cannotEvaluate("Method has no executable instructions");
 			while (context.stepAllocation > 0) {
+				AbstractInsnNode executedInstruction = decoded.instruction(pc);
 				try {
 					// Evaluate the instruction and advance the program counter.
-					AbstractInsnNode executedInstruction = pc;
-					pc = frame.evaluate(executedInstruction, interpreter);
+					AbstractInsnNode next = frame.evaluate(executedInstruction, interpreter);
 
 					// Notify observers after state changes so they see the completed instruction.
 					if (!listeners.isEmpty())
@@ -422,10 +467,16 @@ protected EvaluationResult evaluate(@Nonnull ClassNode classNode,
 						notifyMethodReturn(classNode, methodNode, frame, retVal, stack);
 						return new EvaluationYieldResult(retVal);
 					}
+
+					pc = decoded.resolve(pc, next);
+					if (pc < 0)
+						throw new AnalyzerException(executedInstruction, "Control flow target is not in the method");
+					if (pc >= size)
+						throw NoNextException.INSTANCE;
 				} catch (NestedEvaluationFailure e) {
 					return e.result;
 				} catch (AnalyzerException e) {
-					return EvaluationResult.cannotEvaluate("Failed executing instruction: " + JvmPrinterUtil.toString(pc), e);
+					return EvaluationResult.cannotEvaluate("Failed executing instruction: " + JvmPrinterUtil.toString(executedInstruction), e);
 				} catch (NoNextException e) {
 					return EvaluationResult.cannotEvaluate("Execution falls through end", e);
 				} catch (ExceptionHandler.ThrownException e) {
@@ -560,6 +611,9 @@ private EvaluationResult initializeClassIfNeeded(@Nonnull String className, @Non
 
 	/**
 	 * Seeds declared static fields with their JVM defaults unless the static cache already knows them.
+	 * <p>
+	 * This does not count as accessing static state, as the seeded values are only observable through later
+	 * reads and writes of the fields, which are tracked on their own.
 	 *
 	 * @param classNode
 	 * 		Class whose static fields should be seeded.
@@ -812,9 +866,107 @@ private ClassNode getNode(@Nonnull String className) {
 		if (classPath == null)
 			return null;
 
-		ClassNode classNode = new ClassNode();
-		classPath.getValue().asJvmClass().getClassReader().accept(classNode, ClassReader.SKIP_FRAMES | ClassReader.SKIP_DEBUG);
-		return classNode;
+		return ClassNodeCache.getShared(classPath.getValue().asJvmClass(), NODE_READ_FLAGS);
+	}
+
+	/**
+	 * @param owner
+	 * 		Internal name of the class declaring the field.
+	 * @param name
+	 * 		Field name.
+	 * @param desc
+	 * 		Field descriptor.
+	 *
+	 * @return {@code true} when the field is a {@code static final} primitive or string field of a class in the workspace,
+	 * which is only assigned by the class's static initializer.
+	 */
+	private boolean isConstantStaticField(@Nonnull String owner, @Nonnull String name, @Nonnull String desc) {
+		ClassNode node = getNode(owner);
+		if (node == null)
+			return false;
+		return constantStaticFields.computeIfAbsent(node, Evaluator::collectConstantStaticFields)
+				.contains(name + ' ' + desc);
+	}
+
+	/**
+	 * @param node
+	 * 		Class to scan.
+	 *
+	 * @return Set of {@code name + ' ' + desc} of {@code static final} primitive and string fields in the class,
+	 * which are not assigned outside the class's static initializer.
+	 */
+	@Nonnull
+	private static Set<String> collectConstantStaticFields(@Nonnull ClassNode node) {
+		// Only immutable values count. The contents of arrays and other objects held by a final field can still
+		// be modified after initialization, so reading them is still access to static state.
+		Set<String> fields = new HashSet<>();
+		for (FieldNode field : node.fields)
+			if (AccessFlag.isStatic(field.access) && AccessFlag.isFinal(field.access)
+					&& (field.desc.length() == 1 || field.desc.equals("Ljava/lang/String;")))
+				fields.add(field.name + ' ' + field.desc);
+		if (fields.isEmpty())
+			return Collections.emptySet();
+
+		// Class files older than Java 9 allow any method of the declaring class to assign final fields.
+		// Instructions are walked via links rather than an iterator, as the node is shared between threads.
+		for (MethodNode method : node.methods) {
+			if (method.name.equals("<clinit>"))
+				continue;
+			for (AbstractInsnNode insn = method.instructions.getFirst(); insn != null; insn = insn.getNext())
+				if (insn.getOpcode() == Opcodes.PUTSTATIC && insn instanceof FieldInsnNode fin && fin.owner.equals(node.name))
+					fields.remove(fin.name + ' ' + fin.desc);
+		}
+		return fields;
+	}
+
+	/**
+	 * Evaluates a static method called from within another evaluation, reusing prior results of the same call
+	 * when a {@link #setResultCache(EvaluationResultCache) result cache} is set.
+	 *
+	 * @param min
+	 * 		Static method invocation.
+	 * @param parameters
+	 * 		Parameters to pass to the method.
+	 * @param context
+	 * 		Shared evaluation context of the calling evaluation.
+	 *
+	 * @return Result of evaluating the method with the given parameters.
+	 *
+	 * @throws UnknownValueException
+	 * 		When a branch in the method depends on an unknown value.
+	 */
+	@Nonnull
+	private EvaluationResult evaluateStaticCall(@Nonnull MethodInsnNode min, @Nonnull List<ReValue> parameters,
+	                                            @Nonnull EvaluationContext context) throws UnknownValueException {
+		EvaluationResultCache cache = resultCache;
+		EvaluationResultCache.Key key = null;
+		List<String> callers = null;
+		if (cache != null && listeners.isEmpty() && Type.getReturnType(min.desc) != Type.VOID_TYPE) {
+			key = EvaluationResultCache.key(min.owner, min.name, min.desc, parameters);
+			if (key != null) {
+				callers = EvaluationResultCache.callers(context.callStack);
+				ReValue cached = cache.get(key, callers);
+				if (cached != null)
+					return new EvaluationYieldResult(cached);
+			}
+		}
+		if (key == null)
+			return evaluate(min.owner, min.name, min.desc, null, parameters, context);
+
+		// Track state access of the call on its own, so that it can be cached even if the caller cannot be.
+		boolean callerAccessedStaticState = context.accessedStaticState;
+		boolean callerAccessedStackTrace = context.accessedStackTrace;
+		context.accessedStaticState = false;
+		context.accessedStackTrace = false;
+		try {
+			EvaluationResult result = evaluate(min.owner, min.name, min.desc, null, parameters, context);
+			if (result instanceof EvaluationYieldResult(ReValue value))
+				cache.put(key, callers, context, value);
+			return result;
+		} finally {
+			context.accessedStaticState |= callerAccessedStaticState;
+			context.accessedStackTrace |= callerAccessedStackTrace;
+		}
 	}
 
 	/**
@@ -1134,21 +1286,27 @@ private class ExecutingFrame extends ReFrame implements Opcodes {
 
 		public ExecutingFrame(@Nonnull MethodNode method, @Nonnull EvaluationContext context,
 		                      @Nullable String currentClassName) {
-			this(method, method.maxLocals, method.maxStack, method.access, context, currentClassName);
+			this(method, null, context, currentClassName);
+		}
+
+		public ExecutingFrame(@Nonnull MethodNode method, @Nullable DecodedMethod decodedMethod,
+		                      @Nonnull EvaluationContext context, @Nullable String currentClassName) {
+			this(method, decodedMethod, method.maxLocals, method.maxStack, method.access, context, currentClassName);
 		}
 
 		public ExecutingFrame(@Nullable MethodNode method, int maxLocals, int maxStack, int access,
 		                      @Nonnull EvaluationContext context) {
-			this(method, maxLocals, maxStack, access, context, null);
+			this(method, null, maxLocals, maxStack, access, context, null);
 		}
 
-		public ExecutingFrame(@Nullable MethodNode method, int maxLocals, int maxStack, int access,
+		public ExecutingFrame(@Nullable MethodNode method, @Nullable DecodedMethod decodedMethod,
+		                      int maxLocals, int maxStack, int access,
 		                      @Nonnull EvaluationContext context, @Nullable String currentClassName) {
 			super(null, maxLocals, maxStack);
 
 			this.method = method;
 			this.context = context;
-			this.exceptionHandler = new ExceptionHandler(interpreter, method, context::stackTrace);
+			this.exceptionHandler = new ExceptionHandler(interpreter, method, decodedMethod, context::stackTrace);
 			this.currentClassName = currentClassName;
 
 			isStatic = AccessFlag.isStatic(access);
@@ -1433,8 +1591,14 @@ public AbstractInsnNode evaluate(@Nonnull AbstractInsnNode insn, @Nonnull ReInte
 							yield exceptionHandler.routeException(this, exception, insn);
 
 						// Try to get the field value from the static cache.
+						// Reads of tracked static state, or of fields in the workspace which may become tracked state,
+						// prevent the evaluation result from being reused. Constant fields are the exception, as they
+						// hold the same value for all evaluations once their class is initialized.
 						ReValue value = fieldCacheManager.getStaticFieldCache(fieldInsn.owner)
 								.getField(fieldInsn.owner, fieldInsn.name, fieldInsn.desc);
+						if ((value != null || workspace.findClass(evaluateInternals, fieldInsn.owner) != null)
+								&& !isConstantStaticField(fieldInsn.owner, fieldInsn.name, fieldInsn.desc))
+							context.accessedStaticState = true;
 						if (value != null) {
 							value = adaptValue(value, v -> {
 								// If the value is adapted, we need to update the cache with the adapted value.
@@ -1472,6 +1636,13 @@ public AbstractInsnNode evaluate(@Nonnull AbstractInsnNode insn, @Nonnull ReInte
 							yield exceptionHandler.routeException(this, exception, insn);
 
 						// Assign the top value to the static field in the cache.
+						// The static initializer assigning a constant field is part of class initialization,
+						// which yields the same value for all evaluations, so it is not treated as a change in state.
+						boolean initializingConstant = method != null && method.name.equals("<clinit>")
+								&& fin.owner.equals(currentClassName)
+								&& isConstantStaticField(fin.owner, fin.name, fin.desc);
+						if (!initializingConstant)
+							context.accessedStaticState = true;
 						ReValue value = pop();
 						fieldCacheManager.getStaticFieldCache(fin.owner)
 								.setField(fin.owner, fin.name, fin.desc, value);
@@ -1738,7 +1909,7 @@ && getLocals() > 0
 
 						// Check if the method is defined in the workspace and can be evaluated.
 						if (canEvaluate(min.owner, min.name, min.desc)) {
-							EvaluationResult result = Evaluator.this.evaluate(min.owner, min.name, min.desc, null, valueList, context);
+							EvaluationResult result = evaluateStaticCall(min, valueList, context);
 							switch (result) {
 								case EvaluationYieldResult yielded -> {
 									if (isVoid)
@@ -36,6 +36,8 @@ public class ExceptionHandler {
 	private final ReInterpreter interpreter;
 	@Nullable
 	private final MethodNode method;
+	@Nullable
+	private final DecodedMethod decodedMethod;
 	private final Supplier<List<StackTraceElement>> stackTraceSupplier;
 
 	/**
@@ -50,8 +52,27 @@ public class ExceptionHandler {
 	 */
 	public ExceptionHandler(@Nonnull ReInterpreter interpreter, @Nullable MethodNode method,
 	                        @Nonnull Supplier<List<StackTraceElement>> stackTraceSupplier) {
+		this(interpreter, method, null, stackTraceSupplier);
+	}
+
+	/**
+	 * Creates a handler for one executing frame.
+	 *
+	 * @param interpreter
+	 * 		Interpreter used for type assignability checks.
+	 * @param method
+	 * 		Method whose try/catch blocks receive routed exceptions, or {@code null} for block evaluation.
+	 * @param decodedMethod
+	 * 		Decoded form of the method with pre-resolved try/catch ranges, or {@code null} to resolve ranges from the method.
+	 * @param stackTraceSupplier
+	 * 		Supplier for the live evaluator stack trace used when creating throwable values.
+	 */
+	public ExceptionHandler(@Nonnull ReInterpreter interpreter, @Nullable MethodNode method,
+	                        @Nullable DecodedMethod decodedMethod,
+	                        @Nonnull Supplier<List<StackTraceElement>> stackTraceSupplier) {
 		this.interpreter = interpreter;
 		this.method = method;
+		this.decodedMethod = decodedMethod;
 		this.stackTraceSupplier = stackTraceSupplier;
 	}
 
@@ -159,7 +180,15 @@ public AbstractInsnNode routeException(@Nonnull ReFrame frame, @Nonnull ReValue
 			throw new AnalyzerException(source, "Invalid throwable value: " + exception);
 
 		// Check in the current method for a try/catch block that can handle this exception.
-		if (method != null && method.tryCatchBlocks != null) {
+		if (decodedMethod != null) {
+			for (DecodedMethod.Handler handler : decodedMethod.handlersCovering(decodedMethod.indexOf(source))) {
+				if (handler.type() == null || isAssignableFrom(handler.type(), object.type().getInternalName())) {
+					frame.clearStack();
+					frame.push(exception);
+					return handler.target();
+				}
+			}
+		} else if (method != null && method.tryCatchBlocks != null) {
 			int sourceIndex = method.instructions.indexOf(source);
 			for (TryCatchBlockNode block : method.tryCatchBlocks) {
 				int start = method.instructions.indexOf(block.start);
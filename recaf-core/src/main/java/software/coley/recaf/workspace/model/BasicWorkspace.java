@@ -1,11 +1,13 @@
 package software.coley.recaf.workspace.model;
 
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import org.slf4j.Logger;
 import software.coley.collections.Unchecked;
 import software.coley.recaf.analytics.logging.Logging;
 import software.coley.recaf.behavior.Closing;
 import software.coley.recaf.behavior.PrioritySortable;
+import software.coley.recaf.path.ClassPathNode;
 import software.coley.recaf.services.workspace.WorkspaceManager;
 import software.coley.recaf.workspace.model.resource.AndroidApiResource;
 import software.coley.recaf.workspace.model.resource.RuntimeWorkspaceResource;
@@ -28,6 +30,11 @@ public class BasicWorkspace implements Workspace {
 	private final WorkspaceResource primary;
 	private final List<WorkspaceResource> supporting = new ArrayList<>();
 	private final List<WorkspaceResource> internal;
+	private final WorkspaceClassIndex classIndex = new WorkspaceClassIndex(
+			name -> Workspace.super.findJvmClass(true, name),
+			name -> Workspace.super.findJvmClass(false, name),
+			Workspace.super::findVersionedJvmClass,
+			Workspace.super::findAndroidClass);
 	private List<WorkspaceResource> cachedAllResourcesNoInternal;
 	private List<WorkspaceResource> cachedAllResources;
 
@@ -71,6 +78,11 @@ public BasicWorkspace(@Nonnull WorkspaceResource primary, @Nonnull Collection<Wo
 		} else {
 			internal = Collections.emptyList();
 		}
+
+		// Internal resources are not tracked by the index since their contents do not change.
+		classIndex.addResource(primary);
+		for (WorkspaceResource resource : supporting)
+			classIndex.addResource(resource);
 	}
 
 	@Nonnull
@@ -97,6 +109,7 @@ public void addSupportingResource(@Nonnull WorkspaceResource resource) {
 		cachedAllResources = null;
 		cachedAllResourcesNoInternal = null;
 		supporting.add(resource);
+		classIndex.addResource(resource);
 		Unchecked.checkedForEach(modificationListeners, listener -> listener.onAddLibrary(this, resource),
 				(listener, t) -> logger.error("Exception thrown when adding supporting resource", t));
 	}
@@ -107,6 +120,7 @@ public boolean removeSupportingResource(@Nonnull WorkspaceResource resource) {
 		if (remove) {
 			cachedAllResources = null;
 			cachedAllResourcesNoInternal = null;
+			classIndex.removeResource(resource);
 			Unchecked.checkedForEach(modificationListeners, listener -> listener.onRemoveLibrary(this, resource),
 					(listener, t) -> logger.error("Exception thrown when removing supporting resource", t));
 		}
@@ -129,6 +143,24 @@ public void removeWorkspaceModificationListener(@Nonnull WorkspaceModificationLi
 		modificationListeners.remove(listener);
 	}
 
+	@Nullable
+	@Override
+	public ClassPathNode findJvmClass(boolean includeInternal, @Nonnull String name) {
+		return classIndex.findJvmClass(includeInternal, name);
+	}
+
+	@Nullable
+	@Override
+	public ClassPathNode findVersionedJvmClass(@Nonnull String name, int version) {
+		return classIndex.findVersionedJvmClass(name, version);
+	}
+
+	@Nullable
+	@Override
+	public ClassPathNode findAndroidClass(@Nonnull String name) {
+		return classIndex.findAndroidClass(name);
+	}
+
 	@Nonnull
 	@Override
 	public List<WorkspaceResource> getAllResources(boolean includeInternal) {
@@ -153,6 +185,7 @@ public List<WorkspaceResource> getAllResources(boolean includeInternal) {
 	@Override
 	public void close() {
 		modificationListeners.clear();
+		classIndex.invalidateAll();
 		supporting.forEach(Closing::close);
 		primary.close();
 	}
@@ -0,0 +1,287 @@
+package software.coley.recaf.workspace.model;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import software.coley.recaf.behavior.PriorityKeys;
+import software.coley.recaf.info.AndroidClassInfo;
+import software.coley.recaf.info.JvmClassInfo;
+import software.coley.recaf.path.ClassPathNode;
+import software.coley.recaf.workspace.model.bundle.AndroidClassBundle;
+import software.coley.recaf.workspace.model.bundle.JvmClassBundle;
+import software.coley.recaf.workspace.model.resource.ResourceAndroidClassListener;
+import software.coley.recaf.workspace.model.resource.ResourceJvmClassListener;
+import software.coley.recaf.workspace.model.resource.WorkspaceResource;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Index of class names to their resolved {@link ClassPathNode} in a workspace.
+ * <p>
+ * The lookups in {@link Workspace} probe every resource, embedded resource, and bundle on each call.
+ * This index memoizes the results of those lookups so that repeated lookups are a single hash probe.
+ * Misses are also recorded, but only up to {@link #MAX_MISSES} per lookup kind so that probing many
+ * non-existent names cannot grow the index without bound.
+ * <p>
+ * Entries are invalidated via resource listeners when classes of the same name are added, updated, or removed,
+ * and the whole index is dropped when the set of resources in the workspace changes. While a bundle is in a
+ * {@link software.coley.recaf.workspace.model.bundle.Bundle#batch(Runnable) batch} its changes are not delivered
+ * until the batch ends, so the index is dropped when a batch starts and results are not recorded until it ends.
+ * <p>
+ * Internal resources are not listened to, as their contents do not change.
+ *
+ * @author Matt Coley
+ */
+public class WorkspaceClassIndex {
+	/** Maximum number of misses to record per lookup kind before they are dropped. */
+	public static final int MAX_MISSES = 8192;
+	private final LookupCache jvmClasses;
+	private final LookupCache jvmClassesNoInternal;
+	private final LookupCache androidClasses;
+	private final Map<Integer, LookupCache> versionedJvmClasses = new ConcurrentHashMap<>();
+	private final AtomicLong generation = new AtomicLong();
+	private final AtomicInteger activeBatches = new AtomicInteger();
+	private final ListenerHost host = new ListenerHost();
+	private final BiFunction<String, Integer, ClassPathNode> versionedJvmLookup;
+
+	/**
+	 * @param jvmLookup
+	 * 		Uncached lookup for JVM classes, including internal resources.
+	 * @param jvmLookupNoInternal
+	 * 		Uncached lookup for JVM classes, excluding internal resources.
+	 * @param versionedJvmLookup
+	 * 		Uncached lookup for versioned JVM classes, given a name and target version.
+	 * @param androidLookup
+	 * 		Uncached lookup for Android classes.
+	 */
+	public WorkspaceClassIndex(@Nonnull Function<String, ClassPathNode> jvmLookup,
+	                           @Nonnull Function<String, ClassPathNode> jvmLookupNoInternal,
+	                           @Nonnull BiFunction<String, Integer, ClassPathNode> versionedJvmLookup,
+	                           @Nonnull Function<String, ClassPathNode> androidLookup) {
+		this.jvmClasses = new LookupCache(jvmLookup);
+		this.jvmClassesNoInternal = new LookupCache(jvmLookupNoInternal);
+		this.versionedJvmLookup = versionedJvmLookup;
+		this.androidClasses = new LookupCache(androidLookup);
+	}
+
+	/**
+	 * @param includeInternal
+	 * 		Flag to include internal supporting resources.
+	 * @param name
+	 * 		Class name.
+	 *
+	 * @return Path to the first JVM class matching the given name.
+	 *
+	 * @see Workspace#findJvmClass(boolean, String)
+	 */
+	@Nullable
+	public ClassPathNode findJvmClass(boolean includeInternal, @Nonnull String name) {
+		return includeInternal ? jvmClasses.get(name) : jvmClassesNoInternal.get(name);
+	}
+
+	/**
+	 * @param name
+	 * 		Class name.
+	 * @param version
+	 * 		Version to look for.
+	 *
+	 * @return Path to the highest versioned JVM class matching the given name, supporting the given version.
+	 *
+	 * @see Workspace#findVersionedJvmClass(String, int)
+	 */
+	@Nullable
+	public ClassPathNode findVersionedJvmClass(@Nonnull String name, int version) {
+		return versionedJvmClasses.computeIfAbsent(version,
+				v -> new LookupCache(n -> versionedJvmLookup.apply(n, v))).get(name);
+	}
+
+	/**
+	 * @param name
+	 * 		Class name.
+	 *
+	 * @return Path to the first Android class matching the given name.
+	 *
+	 * @see Workspace#findAndroidClass(String)
+	 */
+	@Nullable
+	public ClassPathNode findAndroidClass(@Nonnull String name) {
+		return androidClasses.get(name);
+	}
+
+	/**
+	 * Registers listeners on the given resource so that changes to its classes invalidate the index.
+	 * Any existing entries are dropped, as the new resource may shadow or provide previously looked up classes.
+	 *
+	 * @param resource
+	 * 		Resource to track.
+	 */
+	public void addResource(@Nonnull WorkspaceResource resource) {
+		resource.addResourceJvmClassListener(host);
+		resource.addResourceAndroidClassListener(host);
+		invalidateAll();
+	}
+
+	/**
+	 * Removes listeners on the given resource, and drops all entries in the index.
+	 *
+	 * @param resource
+	 * 		Resource to stop tracking.
+	 */
+	public void removeResource(@Nonnull WorkspaceResource resource) {
+		resource.removeResourceJvmClassListener(host);
+		resource.removeResourceAndroidClassListener(host);
+		invalidateAll();
+	}
+
+	/**
+	 * Drops the entries for the given class name.
+	 *
+	 * @param name
+	 * 		Class name.
+	 */
+	public void invalidate(@Nonnull String name) {
+		generation.incrementAndGet();
+		jvmClasses.remove(name);
+		jvmClassesNoInternal.remove(name);
+		androidClasses.remove(name);
+		for (LookupCache cache : versionedJvmClasses.values())
+			cache.remove(name);
+	}
+
+	/**
+	 * Drops all entries in the index.
+	 */
+	public void invalidateAll() {
+		generation.incrementAndGet();
+		jvmClasses.clear();
+		jvmClassesNoInternal.clear();
+		androidClasses.clear();
+		versionedJvmClasses.clear();
+	}
+
+	private void onBatchStart() {
+		activeBatches.incrementAndGet();
+		invalidateAll();
+	}
+
+	private void onBatchEnd() {
+		invalidateAll();
+		activeBatches.decrementAndGet();
+	}
+
+	/**
+	 * Cache of results for one kind of lookup.
+	 */
+	private class LookupCache {
+		private final Map<String, ClassPathNode> hits = new ConcurrentHashMap<>();
+		private final Set<String> misses = ConcurrentHashMap.newKeySet();
+		private final Function<String, ClassPathNode> lookup;
+
+		private LookupCache(@Nonnull Function<String, ClassPathNode> lookup) {
+			this.lookup = lookup;
+		}
+
+		@Nullable
+		private ClassPathNode get(@Nonnull String name) {
+			ClassPathNode cached = hits.get(name);
+			if (cached != null || misses.contains(name))
+				return cached;
+
+			// Only record the result if no invalidation happened while we were computing it.
+			// Otherwise, we may record a path to a class that has since been updated or removed.
+			// Nothing is recorded while a batch is active, since changes in the batch are not yet visible to us.
+			long start = generation.get();
+			ClassPathNode result = lookup.apply(name);
+			if (activeBatches.get() == 0 && generation.get() == start) {
+				if (result != null) {
+					hits.put(name, result);
+				} else {
+					// Rather than evicting individual misses, all misses are dropped once the limit is reached.
+					if (misses.size() >= MAX_MISSES)
+						misses.clear();
+					misses.add(name);
+				}
+
+				// Handle invalidation racing with the put above.
+				if (activeBatches.get() != 0 || generation.get() != start)
+					remove(name);
+			}
+			return result;
+		}
+
+		private void remove(@Nonnull String name) {
+			hits.remove(name);
+			misses.remove(name);
+		}
+
+		private void clear() {
+			hits.clear();
+			misses.clear();
+		}
+	}
+
+	private class ListenerHost implements ResourceJvmClassListener, ResourceAndroidClassListener {
+		@Override
+		public int getPriority() {
+			// Other listeners may look up classes when handling changes, so the index must be invalidated first.
+			return PriorityKeys.EARLIEST;
+		}
+
+		@Override
+		public void onBatchStart(@Nonnull WorkspaceResource resource, @Nonnull JvmClassBundle bundle) {
+			WorkspaceClassIndex.this.onBatchStart();
+		}
+
+		@Override
+		public void onBatchEnd(@Nonnull WorkspaceResource resource, @Nonnull JvmClassBundle bundle) {
+			WorkspaceClassIndex.this.onBatchEnd();
+		}
+
+		@Override
+		public void onBatchStart(@Nonnull WorkspaceResource resource, @Nonnull AndroidClassBundle bundle) {
+			WorkspaceClassIndex.this.onBatchStart();
+		}
+
+		@Override
+		public void onBatchEnd(@Nonnull WorkspaceResource resource, @Nonnull AndroidClassBundle bundle) {
+			WorkspaceClassIndex.this.onBatchEnd();
+		}
+
+		@Override
+		public void onNewClass(@Nonnull WorkspaceResource resource, @Nonnull JvmClassBundle bundle, @Nonnull JvmClassInfo cls) {
+			invalidate(cls.getName());
+		}
+
+		@Override
+		public void onUpdateClass(@Nonnull WorkspaceResource resource, @Nonnull JvmClassBundle bundle,
+		                          @Nonnull JvmClassInfo oldCls, @Nonnull JvmClassInfo newCls) {
+			invalidate(newCls.getName());
+		}
+
+		@Override
+		public void onRemoveClass(@Nonnull WorkspaceResource resource, @Nonnull JvmClassBundle bundle, @Nonnull JvmClassInfo cls) {
+			invalidate(cls.getName());
+		}
+
+		@Override
+		public void onNewClass(@Nonnull WorkspaceResource resource, @Nonnull AndroidClassBundle bundle, @Nonnull AndroidClassInfo cls) {
+			invalidate(cls.getName());
+		}
+
+		@Override
+		public void onUpdateClass(@Nonnull WorkspaceResource resource, @Nonnull AndroidClassBundle bundle,
+		                          @Nonnull AndroidClassInfo oldCls, @Nonnull AndroidClassInfo newCls) {
+			invalidate(newCls.getName());
+		}
+
+		@Override
+		public void onRemoveClass(@Nonnull WorkspaceResource resource, @Nonnull AndroidClassBundle bundle, @Nonnull AndroidClassInfo cls) {
+			invalidate(cls.getName());
+		}
+	}
+}
@@ -37,6 +37,7 @@
 	private final Map<String, I> backing = new ConcurrentHashMap<>();
 	private final Set<String> initialKeys = ConcurrentHashMap.newKeySet();
 	private final NavigableSet<String> removed = Collections.synchronizedNavigableSet(new TreeSet<>());
+	private final ThreadLocal<BundleChangeSet<I>> batchChanges = new ThreadLocal<>();
 	private int hash;
 
 	/**
@@ -162,10 +163,39 @@ public void decrementHistory(@Nonnull String key) {
 		resetHash();
 
 		// Notify listeners
+		if (recordUpdate(key, currentItem, priorItem))
+			return;
 		Unchecked.checkedForEach(listeners, listener -> listener.onUpdateItem(key, currentItem, priorItem),
 				(listener, t) -> logger.error("Exception thrown when decrementing bundle history", t));
 	}
 
+	@Override
+	public void batch(@Nonnull Runnable modifications) {
+		// Nested batches are folded into the outermost batch of the thread.
+		if (batchChanges.get() != null) {
+			modifications.run();
+			return;
+		}
+
+		BundleChangeSet<I> changes = new BundleChangeSet<>();
+		batchChanges.set(changes);
+		Unchecked.checkedForEach(listeners, BundleListener::onBatchStart,
+				(listener, t) -> logger.error("Exception thrown when handling bundle batch start", t));
+		try {
+			modifications.run();
+		} finally {
+			batchChanges.remove();
+
+			// Notify listeners once the outermost batch completes, even if it did not complete normally,
+			// so that they are not left out of sync with the changes that were made.
+			if (!changes.isEmpty())
+				Unchecked.checkedForEach(listeners, listener -> listener.onBatchUpdate(changes),
+						(listener, t) -> logger.error("Exception thrown when handling bundle batch update", t));
+			Unchecked.checkedForEach(listeners, BundleListener::onBatchEnd,
+					(listener, t) -> logger.error("Exception thrown when handling bundle batch end", t));
+		}
+	}
+
 	@Override
 	public void addBundleListener(@Nonnull BundleListener<I> listener) {
 		PrioritySortable.add(listeners, listener);
@@ -223,6 +253,8 @@ public I put(@Nonnull String key, @Nonnull I newValue) {
 		resetHash();
 
 		// Notify listeners
+		if (oldValue == null ? recordNew(key, newValue) : recordUpdate(key, oldValue, newValue))
+			return oldValue;
 		Unchecked.checkedForEach(listeners, listener -> {
 			if (oldValue == null) {
 				listener.onNewItem(key, newValue);
@@ -251,8 +283,9 @@ public I remove(@Nonnull Object key) {
 			resetHash();
 
 			// Notify listeners
-			Unchecked.checkedForEach(listeners, listener -> listener.onRemoveItem(keyStr, info),
-					(listener, t) -> logger.error("Exception thrown when removing bundle item", t));
+			if (!recordRemove(keyStr, info))
+				Unchecked.checkedForEach(listeners, listener -> listener.onRemoveItem(keyStr, info),
+						(listener, t) -> logger.error("Exception thrown when removing bundle item", t));
 		}
 		return info;
 	}
@@ -273,6 +306,8 @@ public void clear() {
 
 		// Notify listeners
 		copy.forEach((keyStr, info) -> {
+			if (recordRemove(keyStr, info))
+				return;
 			Unchecked.checkedForEach(listeners, listener -> listener.onRemoveItem(keyStr, info),
 					(listener, t) -> logger.error("Exception thrown when removing bundle item", t));
 		});
@@ -299,6 +334,56 @@ public void close() {
 		clear();
 	}
 
+	/**
+	 * @param key
+	 * 		Item key.
+	 * @param value
+	 * 		Item value.
+	 *
+	 * @return {@code true} when a batch is active on the calling thread and the change was recorded for later notification.
+	 * {@code false} when listeners should be notified immediately.
+	 */
+	private boolean recordNew(@Nonnull String key, @Nonnull I value) {
+		BundleChangeSet<I> changes = batchChanges.get();
+		if (changes == null) return false;
+		changes.recordNew(key, value);
+		return true;
+	}
+
+	/**
+	 * @param key
+	 * 		Item key.
+	 * @param oldValue
+	 * 		Prior item value.
+	 * @param newValue
+	 * 		New item value.
+	 *
+	 * @return {@code true} when a batch is active on the calling thread and the change was recorded for later notification.
+	 * {@code false} when listeners should be notified immediately.
+	 */
+	private boolean recordUpdate(@Nonnull String key, @Nonnull I oldValue, @Nonnull I newValue) {
+		BundleChangeSet<I> changes = batchChanges.get();
+		if (changes == null) return false;
+		changes.recordUpdate(key, oldValue, newValue);
+		return true;
+	}
+
+	/**
+	 * @param key
+	 * 		Item key.
+	 * @param value
+	 * 		Item value.
+	 *
+	 * @return {@code true} when a batch is active on the calling thread and the change was recorded for later notification.
+	 * {@code false} when listeners should be notified immediately.
+	 */
+	private boolean recordRemove(@Nonnull String key, @Nonnull I value) {
+		BundleChangeSet<I> changes = batchChanges.get();
+		if (changes == null) return false;
+		changes.recordRemove(key, value);
+		return true;
+	}
+
 	private void resetHash() {
 		hash = 0;
 	}
@@ -91,6 +91,42 @@ default Stream<I> stream() {
 	 */
 	void decrementHistory(String key);
 
+	/**
+	 * Runs the given modifications as a batch. Rather than notifying listeners of each individual change,
+	 * the changes are coalesced and delivered once via {@link BundleListener#onBatchUpdate(BundleChangeSet)}
+	 * when the batch completes. Batches can be nested, in which case listeners are notified when the outermost
+	 * batch completes.
+	 * <p>
+	 * Only changes made by the calling thread are part of the batch. Changes made by other threads while the batch
+	 * is running are delivered to listeners as usual. The default implementation does not coalesce changes,
+	 * and simply runs the modifications.
+	 *
+	 * @param modifications
+	 * 		Action making modifications to the bundle.
+	 */
+	default void batch(@Nonnull Runnable modifications) {
+		modifications.run();
+	}
+
+	/**
+	 * Runs the given modifications as a batch across multiple bundles.
+	 *
+	 * @param bundles
+	 * 		Bundles to batch modifications of.
+	 * @param modifications
+	 * 		Action making modifications to the bundles.
+	 *
+	 * @see #batch(Runnable)
+	 */
+	static void batch(@Nonnull Collection<? extends Bundle<?>> bundles, @Nonnull Runnable modifications) {
+		Runnable action = modifications;
+		for (Bundle<?> bundle : bundles) {
+			Runnable inner = action;
+			action = () -> bundle.batch(inner);
+		}
+		action.run();
+	}
+
 	/**
 	 * @param listener
 	 * 		Listener to add.
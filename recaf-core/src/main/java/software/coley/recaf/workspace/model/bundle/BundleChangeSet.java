@@ -0,0 +1,146 @@
+package software.coley.recaf.workspace.model.bundle;
+
+import jakarta.annotation.Nonnull;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A coalesced set of changes made to a {@link Bundle} over the course of a {@link Bundle#batch(Runnable) batch}.
+ * <p>
+ * Multiple changes to the same key are merged into a single net change:
+ * <ul>
+ *     <li>Adding then updating an item yields a single addition of the latest value.</li>
+ *     <li>Updating an item multiple times yields a single update from the original value to the latest value.</li>
+ *     <li>Removing then re-adding an item yields an update from the original value to the new value.</li>
+ *     <li>Adding then removing an item yields no change at all.</li>
+ * </ul>
+ *
+ * @param <I>
+ * 		Bundle item type.
+ *
+ * @author Matt Coley
+ */
+public class BundleChangeSet<I> {
+	private final Map<String, I> added = new LinkedHashMap<>();
+	private final Map<String, Update<I>> updated = new LinkedHashMap<>();
+	private final Map<String, I> removed = new LinkedHashMap<>();
+
+	/**
+	 * @param key
+	 * 		Item key.
+	 * @param value
+	 * 		Item value.
+	 */
+	public void recordNew(@Nonnull String key, @Nonnull I value) {
+		I priorRemoved = removed.remove(key);
+		if (priorRemoved != null)
+			updated.put(key, new Update<>(priorRemoved, value));
+		else
+			added.put(key, value);
+	}
+
+	/**
+	 * @param key
+	 * 		Item key.
+	 * @param oldValue
+	 * 		Prior item value.
+	 * @param newValue
+	 * 		New item value.
+	 */
+	public void recordUpdate(@Nonnull String key, @Nonnull I oldValue, @Nonnull I newValue) {
+		if (added.containsKey(key)) {
+			added.put(key, newValue);
+			return;
+		}
+		Update<I> priorUpdate = updated.get(key);
+		if (priorUpdate != null)
+			updated.put(key, new Update<>(priorUpdate.oldValue(), newValue));
+		else
+			updated.put(key, new Update<>(oldValue, newValue));
+	}
+
+	/**
+	 * @param key
+	 * 		Item key.
+	 * @param value
+	 * 		Item value.
+	 */
+	public void recordRemove(@Nonnull String key, @Nonnull I value) {
+		if (added.remove(key) != null)
+			return;
+		Update<I> priorUpdate = updated.remove(key);
+		if (priorUpdate != null)
+			removed.put(key, priorUpdate.oldValue());
+		else
+			removed.put(key, value);
+	}
+
+	/**
+	 * @return Map of item keys to newly added values.
+	 */
+	@Nonnull
+	public Map<String, I> getAdded() {
+		return Collections.unmodifiableMap(added);
+	}
+
+	/**
+	 * @return Map of item keys to updates of existing values.
+	 */
+	@Nonnull
+	public Map<String, Update<I>> getUpdated() {
+		return Collections.unmodifiableMap(updated);
+	}
+
+	/**
+	 * @return Map of item keys to removed values.
+	 */
+	@Nonnull
+	public Map<String, I> getRemoved() {
+		return Collections.unmodifiableMap(removed);
+	}
+
+	/**
+	 * @return Number of net changes in the set.
+	 */
+	public int size() {
+		return added.size() + updated.size() + removed.size();
+	}
+
+	/**
+	 * @return {@code true} when there are no net changes in the set.
+	 */
+	public boolean isEmpty() {
+		return added.isEmpty() && updated.isEmpty() && removed.isEmpty();
+	}
+
+	/**
+	 * Passes each change in the set to the listener's individual item handling methods.
+	 * Removals are replayed first, then updates, then additions.
+	 *
+	 * @param listener
+	 * 		Listener to replay changes to.
+	 */
+	public void replay(@Nonnull BundleListener<I> listener) {
+		removed.forEach(listener::onRemoveItem);
+		updated.forEach((key, update) -> listener.onUpdateItem(key, update.oldValue(), update.newValue()));
+		added.forEach(listener::onNewItem);
+	}
+
+	@Override
+	public String toString() {
+		return "BundleChangeSet[added=" + added.size() + ", updated=" + updated.size() + ", removed=" + removed.size() + "]";
+	}
+
+	/**
+	 * @param oldValue
+	 * 		Item value before the batch.
+	 * @param newValue
+	 * 		Item value after the batch.
+	 * @param <I>
+	 * 		Bundle item type.
+	 */
+	public record Update<I>(@Nonnull I oldValue, @Nonnull I newValue) {
+	}
+}
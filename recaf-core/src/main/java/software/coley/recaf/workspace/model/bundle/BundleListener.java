@@ -38,4 +38,29 @@
 	 * 		Item value.
 	 */
 	void onRemoveItem(@Nonnull String key, @Nonnull I value);
+
+	/**
+	 * Called when a {@link Bundle#batch(Runnable) batch} of modifications begins. Changes made by the batching thread
+	 * are not delivered to listeners until the batch ends, so listeners that cache bundle contents should stop
+	 * trusting their cached state until {@link #onBatchEnd()}.
+	 */
+	default void onBatchStart() {}
+
+	/**
+	 * Called when a {@link Bundle#batch(Runnable) batch} of modifications ends,
+	 * after {@link #onBatchUpdate(BundleChangeSet)} has been called with any changes made during the batch.
+	 */
+	default void onBatchEnd() {}
+
+	/**
+	 * Called once at the end of a {@link Bundle#batch(Runnable) batch} of modifications, instead of calling
+	 * the individual item methods for each change. Listeners that can handle many changes in bulk more
+	 * efficiently than one at a time should override this.
+	 *
+	 * @param changes
+	 * 		Coalesced changes made during the batch.
+	 */
+	default void onBatchUpdate(@Nonnull BundleChangeSet<I> changes) {
+		changes.replay(this);
+	}
 }
@@ -14,6 +14,7 @@
 import software.coley.recaf.workspace.model.Workspace;
 import software.coley.recaf.workspace.model.bundle.AndroidClassBundle;
 import software.coley.recaf.workspace.model.bundle.BasicBundle;
+import software.coley.recaf.workspace.model.bundle.BundleChangeSet;
 import software.coley.recaf.workspace.model.bundle.BundleListener;
 import software.coley.recaf.workspace.model.bundle.FileBundle;
 import software.coley.recaf.workspace.model.bundle.JvmClassBundle;
@@ -139,6 +140,24 @@ public void onRemoveItem(@Nonnull String key, @Nonnull JvmClassInfo cls) {
 				Unchecked.checkedForEach(jvmClassListeners, listener -> listener.onRemoveClass(resource, bundle, cls),
 						(listener, t) -> logger.error("Exception thrown when removing class", t));
 			}
+
+			@Override
+			public void onBatchStart() {
+				Unchecked.checkedForEach(jvmClassListeners, listener -> listener.onBatchStart(resource, bundle),
+						(listener, t) -> logger.error("Exception thrown when handling class batch start", t));
+			}
+
+			@Override
+			public void onBatchUpdate(@Nonnull BundleChangeSet<JvmClassInfo> changes) {
+				Unchecked.checkedForEach(jvmClassListeners, listener -> listener.onBatchUpdate(resource, bundle, changes),
+						(listener, t) -> logger.error("Exception thrown when handling class batch update", t));
+			}
+
+			@Override
+			public void onBatchEnd() {
+				Unchecked.checkedForEach(jvmClassListeners, listener -> listener.onBatchEnd(resource, bundle),
+						(listener, t) -> logger.error("Exception thrown when handling class batch end", t));
+			}
 		});
 	}
 
@@ -169,6 +188,24 @@ public void onRemoveItem(@Nonnull String key, @Nonnull AndroidClassInfo cls) {
 				Unchecked.checkedForEach(androidClassListeners, listener -> listener.onRemoveClass(resource, bundle, cls),
 						(listener, t) -> logger.error("Exception thrown when removing class", t));
 			}
+
+			@Override
+			public void onBatchStart() {
+				Unchecked.checkedForEach(androidClassListeners, listener -> listener.onBatchStart(resource, bundle),
+						(listener, t) -> logger.error("Exception thrown when handling class batch start", t));
+			}
+
+			@Override
+			public void onBatchUpdate(@Nonnull BundleChangeSet<AndroidClassInfo> changes) {
+				Unchecked.checkedForEach(androidClassListeners, listener -> listener.onBatchUpdate(resource, bundle, changes),
+						(listener, t) -> logger.error("Exception thrown when handling class batch update", t));
+			}
+
+			@Override
+			public void onBatchEnd() {
+				Unchecked.checkedForEach(androidClassListeners, listener -> listener.onBatchEnd(resource, bundle),
+						(listener, t) -> logger.error("Exception thrown when handling class batch end", t));
+			}
 		});
 	}
 
@@ -199,6 +236,12 @@ public void onRemoveItem(@Nonnull String key, @Nonnull FileInfo file) {
 				Unchecked.checkedForEach(fileListeners, listener -> listener.onRemoveFile(resource, bundle, file),
 						(listener, t) -> logger.error("Exception thrown when removing file", t));
 			}
+
+			@Override
+			public void onBatchUpdate(@Nonnull BundleChangeSet<FileInfo> changes) {
+				Unchecked.checkedForEach(fileListeners, listener -> listener.onBatchUpdate(resource, bundle, changes),
+						(listener, t) -> logger.error("Exception thrown when handling file batch update", t));
+			}
 		});
 	}
 
@@ -4,6 +4,7 @@
 import software.coley.recaf.behavior.PrioritySortable;
 import software.coley.recaf.info.AndroidClassInfo;
 import software.coley.recaf.workspace.model.bundle.AndroidClassBundle;
+import software.coley.recaf.workspace.model.bundle.BundleChangeSet;
 
 /**
  * Listener for handling updates to {@link AndroidClassInfo} values within a {@link AndroidClassBundle}
@@ -44,4 +45,45 @@ void onUpdateClass(@Nonnull WorkspaceResource resource, @Nonnull AndroidClassBun
 	 * 		The removed class.
 	 */
 	void onRemoveClass(@Nonnull WorkspaceResource resource, @Nonnull AndroidClassBundle bundle, @Nonnull AndroidClassInfo cls);
+
+	/**
+	 * Called when a {@link AndroidClassBundle#batch(Runnable) batch} of modifications to a bundle begins.
+	 * Changes made by the batching thread are not delivered until the batch ends.
+	 *
+	 * @param resource
+	 * 		Containing resource.
+	 * @param bundle
+	 * 		Containing bundle.
+	 */
+	default void onBatchStart(@Nonnull WorkspaceResource resource, @Nonnull AndroidClassBundle bundle) {}
+
+	/**
+	 * Called when a {@link AndroidClassBundle#batch(Runnable) batch} of modifications to a bundle ends, after
+	 * {@link #onBatchUpdate(WorkspaceResource, AndroidClassBundle, BundleChangeSet)} has been called with any changes made during the batch.
+	 *
+	 * @param resource
+	 * 		Containing resource.
+	 * @param bundle
+	 * 		Containing bundle.
+	 */
+	default void onBatchEnd(@Nonnull WorkspaceResource resource, @Nonnull AndroidClassBundle bundle) {}
+
+	/**
+	 * Called once at the end of a {@link AndroidClassBundle#batch(Runnable) batch} of modifications to a bundle,
+	 * instead of calling the individual class methods for each change.
+	 * By default the changes are replayed to the individual methods.
+	 *
+	 * @param resource
+	 * 		Containing resource.
+	 * @param bundle
+	 * 		Containing bundle.
+	 * @param changes
+	 * 		Coalesced changes made during the batch.
+	 */
+	default void onBatchUpdate(@Nonnull WorkspaceResource resource, @Nonnull AndroidClassBundle bundle,
+	                           @Nonnull BundleChangeSet<AndroidClassInfo> changes) {
+		changes.getRemoved().values().forEach(cls -> onRemoveClass(resource, bundle, cls));
+		changes.getUpdated().values().forEach(update -> onUpdateClass(resource, bundle, update.oldValue(), update.newValue()));
+		changes.getAdded().values().forEach(cls -> onNewClass(resource, bundle, cls));
+	}
 }
@@ -3,6 +3,7 @@
 import jakarta.annotation.Nonnull;
 import software.coley.recaf.behavior.PrioritySortable;
 import software.coley.recaf.info.FileInfo;
+import software.coley.recaf.workspace.model.bundle.BundleChangeSet;
 import software.coley.recaf.workspace.model.bundle.FileBundle;
 
 /**
@@ -44,4 +45,23 @@ void onUpdateFile(@Nonnull WorkspaceResource resource, @Nonnull FileBundle bundl
 	 * 		The removed file.
 	 */
 	void onRemoveFile(@Nonnull WorkspaceResource resource, @Nonnull FileBundle bundle, @Nonnull FileInfo file);
+
+	/**
+	 * Called once at the end of a {@link FileBundle#batch(Runnable) batch} of modifications to a bundle,
+	 * instead of calling the individual file methods for each change.
+	 * By default the changes are replayed to the individual methods.
+	 *
+	 * @param resource
+	 * 		Containing resource.
+	 * @param bundle
+	 * 		Containing bundle.
+	 * @param changes
+	 * 		Coalesced changes made during the batch.
+	 */
+	default void onBatchUpdate(@Nonnull WorkspaceResource resource, @Nonnull FileBundle bundle,
+	                           @Nonnull BundleChangeSet<FileInfo> changes) {
+		changes.getRemoved().values().forEach(file -> onRemoveFile(resource, bundle, file));
+		changes.getUpdated().values().forEach(update -> onUpdateFile(resource, bundle, update.oldValue(), update.newValue()));
+		changes.getAdded().values().forEach(file -> onNewFile(resource, bundle, file));
+	}
 }
@@ -3,6 +3,7 @@
 import jakarta.annotation.Nonnull;
 import software.coley.recaf.behavior.PrioritySortable;
 import software.coley.recaf.info.JvmClassInfo;
+import software.coley.recaf.workspace.model.bundle.BundleChangeSet;
 import software.coley.recaf.workspace.model.bundle.JvmClassBundle;
 
 /**
@@ -44,4 +45,45 @@ void onUpdateClass(@Nonnull WorkspaceResource resource, @Nonnull JvmClassBundle
 	 * 		The removed class.
 	 */
 	void onRemoveClass(@Nonnull WorkspaceResource resource, @Nonnull JvmClassBundle bundle, @Nonnull JvmClassInfo cls);
+
+	/**
+	 * Called when a {@link JvmClassBundle#batch(Runnable) batch} of modifications to a bundle begins.
+	 * Changes made by the batching thread are not delivered until the batch ends.
+	 *
+	 * @param resource
+	 * 		Containing resource.
+	 * @param bundle
+	 * 		Containing bundle.
+	 */
+	default void onBatchStart(@Nonnull WorkspaceResource resource, @Nonnull JvmClassBundle bundle) {}
+
+	/**
+	 * Called when a {@link JvmClassBundle#batch(Runnable) batch} of modifications to a bundle ends, after
+	 * {@link #onBatchUpdate(WorkspaceResource, JvmClassBundle, BundleChangeSet)} has been called with any changes made during the batch.
+	 *
+	 * @param resource
+	 * 		Containing resource.
+	 * @param bundle
+	 * 		Containing bundle.
+	 */
+	default void onBatchEnd(@Nonnull WorkspaceResource resource, @Nonnull JvmClassBundle bundle) {}
+
+	/**
+	 * Called once at the end of a {@link JvmClassBundle#batch(Runnable) batch} of modifications to a bundle,
+	 * instead of calling the individual class methods for each change.
+	 * By default the changes are replayed to the individual methods.
+	 *
+	 * @param resource
+	 * 		Containing resource.
+	 * @param bundle
+	 * 		Containing bundle.
+	 * @param changes
+	 * 		Coalesced changes made during the batch.
+	 */
+	default void onBatchUpdate(@Nonnull WorkspaceResource resource, @Nonnull JvmClassBundle bundle,
+	                           @Nonnull BundleChangeSet<JvmClassInfo> changes) {
+		changes.getRemoved().values().forEach(cls -> onRemoveClass(resource, bundle, cls));
+		changes.getUpdated().values().forEach(update -> onUpdateClass(resource, bundle, update.oldValue(), update.newValue()));
+		changes.getAdded().values().forEach(cls -> onNewClass(resource, bundle, cls));
+	}
 }
@@ -280,6 +280,20 @@ default <I extends Info> Stream<Bundle<I>> bundleStreamRecursive() {
 				);
 	}
 
+	/**
+	 * Runs the given modifications as a batch over all bundles in the resource, including embedded resources.
+	 * Listeners receive one coalesced change set per modified bundle when the batch completes,
+	 * rather than individual callbacks for each change.
+	 *
+	 * @param modifications
+	 * 		Action making modifications to the resource's bundles.
+	 *
+	 * @see Bundle#batch(Runnable)
+	 */
+	default void batch(@Nonnull Runnable modifications) {
+		Bundle.batch(this.<Info>bundleStreamRecursive().toList(), modifications);
+	}
+
 	/**
 	 * @param listener
 	 * 		Generic object to add as any supported listener type.
@@ -14,6 +14,8 @@
 import software.coley.recaf.info.StubMethodMember;
 import software.coley.recaf.info.builder.JvmClassInfoBuilder;
 import software.coley.recaf.path.ClassPathNode;
+import software.coley.recaf.services.analysis.entry.EntryPoint;
+import software.coley.recaf.services.analysis.entry.EntryPointKind;
 import software.coley.recaf.test.TestClassUtils;
 import software.coley.recaf.test.TestDexUtils;
 import software.coley.recaf.test.dummy.ClassWithLambda;
@@ -84,6 +86,120 @@ void testCalleeCallerRelation() throws IOException {
 		assertTrue(newVertex.getCallers().contains(mainVertex));
 	}
 
+	@Test
+	@Timeout(10)
+	void testReachability() throws IOException {
+		Workspace workspace = TestClassUtils.fromBundle(TestClassUtils.fromClasses(
+				StringConsumer.class,
+				StringConsumerUser.class
+		));
+
+		ClassPathNode pathUser = workspace.findJvmClass(StringConsumerUser.class.getName().replace('.', '/'));
+		ClassPathNode pathFunc = workspace.findJvmClass(StringConsumer.class.getName().replace('.', '/'));
+		assertNotNull(pathUser, "Missing main class");
+		assertNotNull(pathFunc, "Missing function class");
+		JvmClassInfo mainClass = pathUser.getValue().asJvmClass();
+		JvmClassInfo functionClass = pathFunc.getValue().asJvmClass();
+
+		CallGraph callGraph = newCallGraph(workspace);
+		MethodVertex mainVertex = callGraph.getClassMethodsContainer(mainClass).getVertex("main", "([Ljava/lang/String;)V");
+		MethodVertex userInitVertex = callGraph.getClassMethodsContainer(mainClass).getVertex("<init>", "()V");
+		MethodVertex acceptVertex = callGraph.getClassMethodsContainer(functionClass).getVertex("accept", "(Ljava/lang/String;)V");
+		MethodVertex newVertex = callGraph.getClassMethodsContainer(functionClass).getVertex("<init>", "()V");
+		assertNotNull(mainVertex);
+		assertNotNull(userInitVertex);
+		assertNotNull(acceptVertex);
+		assertNotNull(newVertex);
+
+		// Forward from 'main' should reach both methods in 'StringConsumer' but not the unused constructor of the user class.
+		CallGraphReachability reachability = callGraph.newReachability();
+		ReachabilityResult forward = reachability.reachableFrom(List.of(mainVertex));
+		assertFalse(forward.isCancelled());
+		assertTrue(forward.isReachable(mainVertex));
+		assertTrue(forward.isReachable(acceptVertex));
+		assertTrue(forward.isReachable(newVertex));
+		assertFalse(forward.isReachable(userInitVertex));
+		assertTrue(forward.getUnreachable().contains(userInitVertex));
+
+		// Backwards from 'accept' should reach 'main', but not the constructor.
+		ReachabilityResult backward = reachability.reachingTo(List.of(acceptVertex));
+		assertTrue(backward.isReachable(mainVertex));
+		assertFalse(backward.isReachable(newVertex));
+
+		// Cancelled queries should stop after marking the roots.
+		CancellableReachabilityFeedback feedback = new CancellableReachabilityFeedback();
+		feedback.cancel();
+		ReachabilityResult cancelled = reachability.reachableFrom(List.of(mainVertex), feedback);
+		assertTrue(cancelled.isCancelled());
+		assertEquals(1, cancelled.getReachableCount());
+	}
+
+	@Test
+	@Timeout(10)
+	void testReachabilityFromEntryPoints() throws IOException {
+		Workspace workspace = TestClassUtils.fromBundle(TestClassUtils.fromClasses(
+				StringConsumer.class,
+				StringConsumerUser.class
+		));
+
+		ClassPathNode pathUser = workspace.findJvmClass(StringConsumerUser.class.getName().replace('.', '/'));
+		ClassPathNode pathFunc = workspace.findJvmClass(StringConsumer.class.getName().replace('.', '/'));
+		assertNotNull(pathUser, "Missing main class");
+		assertNotNull(pathFunc, "Missing function class");
+		JvmClassInfo functionClass = pathFunc.getValue().asJvmClass();
+
+		CallGraph callGraph = newCallGraph(workspace);
+		MethodVertex acceptVertex = callGraph.getClassMethodsContainer(functionClass).getVertex("accept", "(Ljava/lang/String;)V");
+		assertNotNull(acceptVertex);
+		int containerCount = callGraph.getClassMethodsContainers().size();
+
+		// Entry points for classes/methods outside the snapshot should be reported, not silently dropped.
+		ClassPathNode pathMissing = new ClassPathNode(TestClassUtils.createEmptyClass("Missing"));
+		EntryPoint mainEntry = new EntryPoint(EntryPointKind.JVM_MAIN_METHOD, pathUser, pathUser.child("main", "([Ljava/lang/String;)V"));
+		EntryPoint missingEntry = new EntryPoint(EntryPointKind.JVM_MAIN_METHOD, pathMissing, null);
+		CallGraphReachability reachability = callGraph.newReachability();
+		ReachabilityResult result = reachability.reachableFromEntryPoints(List.of(mainEntry, missingEntry));
+		assertTrue(result.isReachable(acceptVertex));
+		assertEquals(List.of(missingEntry), result.getUnresolvedRoots());
+
+		// The query should not have added anything to the live graph.
+		assertEquals(containerCount, callGraph.getClassMethodsContainers().size());
+	}
+
+	@Test
+	@Timeout(10)
+	void testReachabilityParallelFrontier() throws IOException {
+		Workspace workspace = TestClassUtils.fromBundle(TestClassUtils.fromClasses(
+				StringConsumer.class,
+				StringConsumerUser.class
+		));
+		CallGraph callGraph = newCallGraph(workspace);
+
+		// Force every level to be split into single-vertex tasks on the thread pool,
+		// and check that the results match the sequential traversal.
+		CallGraphReachability sequential = new CallGraphReachability(callGraph, Integer.MAX_VALUE, 1);
+		CallGraphReachability parallel = new CallGraphReachability(callGraph, 1, 1);
+		assertEquals(sequential.size(), parallel.size());
+		for (int i = 0; i < sequential.size(); i++) {
+			MethodVertex root = sequential.vertexAt(i);
+			ReachabilityResult expectedForward = sequential.reachableFrom(List.of(root));
+			ReachabilityResult actualForward = parallel.reachableFrom(List.of(root));
+			assertEquals(expectedForward.getReachable(), actualForward.getReachable());
+			assertEquals(expectedForward.getDepth(), actualForward.getDepth());
+
+			ReachabilityResult expectedBackward = sequential.reachingTo(List.of(root));
+			ReachabilityResult actualBackward = parallel.reachingTo(List.of(root));
+			assertEquals(expectedBackward.getReachable(), actualBackward.getReachable());
+			assertEquals(expectedBackward.getDepth(), actualBackward.getDepth());
+		}
+
+		// Cancellation should still be honored in the parallel path.
+		CancellableReachabilityFeedback feedback = new CancellableReachabilityFeedback();
+		feedback.cancel();
+		ReachabilityResult cancelled = parallel.reachableFrom(List.of(parallel.vertexAt(0)), feedback);
+		assertTrue(cancelled.isCancelled());
+	}
+
 	@Test
 	@Timeout(10)
 	void testUnresolvedCall() {
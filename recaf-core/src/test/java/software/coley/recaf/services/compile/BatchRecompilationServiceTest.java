@@ -0,0 +1,122 @@
+package software.coley.recaf.services.compile;
+
+import jakarta.annotation.Nonnull;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import software.coley.recaf.info.JvmClassInfo;
+import software.coley.recaf.info.builder.JvmClassInfoBuilder;
+import software.coley.recaf.test.TestBase;
+import software.coley.recaf.test.TestClassUtils;
+import software.coley.recaf.workspace.model.Workspace;
+import software.coley.recaf.workspace.model.bundle.BasicJvmClassBundle;
+import software.coley.recaf.workspace.model.bundle.BundleChangeSet;
+import software.coley.recaf.workspace.model.bundle.BundleListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link BatchRecompilationService}
+ */
+public class BatchRecompilationServiceTest extends TestBase {
+	static JavacCompiler javac;
+	static BatchRecompilationService batchRecompilation;
+
+	@BeforeAll
+	static void setup() {
+		assertTrue(JavacCompiler.isAvailable(), "javac not available!");
+		javac = recaf.get(JavacCompiler.class);
+		batchRecompilation = recaf.get(BatchRecompilationService.class);
+	}
+
+	@Test
+	void testEditsSeeEachOther() {
+		// Initial state, where 'B' does not use anything from 'A'.
+		String sourceA = """
+				public class A {
+					public static int one() { return 1; }
+				}""";
+		String sourceB = """
+				public class B {
+					public static int value() { return 0; }
+				}""";
+		BasicJvmClassBundle bundle = new BasicJvmClassBundle();
+		bundle.initialPut(compile("A", sourceA));
+		bundle.initialPut(compile("B", sourceB));
+		Workspace workspace = TestClassUtils.fromBundle(bundle);
+
+		// Edit both, where 'B' now depends on a method only present in the edited 'A'.
+		String editedA = """
+				public class A {
+					public static int one() { return 1; }
+					public static int two() { return 2; }
+				}""";
+		String editedB = """
+				public class B {
+					public static int value() { return A.two(); }
+				}""";
+		batchRecompilation.setPendingSource(workspace,
+				new BatchRecompilationService.PendingSource(bundle, bundle.get("A"), editedA, null));
+		batchRecompilation.setPendingSource(workspace,
+				new BatchRecompilationService.PendingSource(bundle, bundle.get("B"), editedB, null));
+		assertEquals(2, batchRecompilation.getPendingSources(workspace).size());
+
+		// Track how updates are delivered to listeners.
+		List<BundleChangeSet<JvmClassInfo>> batches = new ArrayList<>();
+		bundle.addBundleListener(new BundleListener<>() {
+			@Override
+			public void onNewItem(@Nonnull String key, @Nonnull JvmClassInfo value) {}
+
+			@Override
+			public void onUpdateItem(@Nonnull String key, @Nonnull JvmClassInfo oldValue, @Nonnull JvmClassInfo newValue) {}
+
+			@Override
+			public void onRemoveItem(@Nonnull String key, @Nonnull JvmClassInfo value) {}
+
+			@Override
+			public void onBatchUpdate(@Nonnull BundleChangeSet<JvmClassInfo> changes) {
+				batches.add(changes);
+			}
+		});
+
+		// Recompiling together should succeed, since 'B' sees the new source of 'A' rather than its old bytecode.
+		BatchRecompilationResult result = batchRecompilation.recompilePending(workspace);
+		assertTrue(result.wasSuccess(), "Batch recompilation failed: " + result.diagnostics());
+		assertEquals(List.of("A", "B"), List.copyOf(result.updatedClasses()));
+		assertTrue(bundle.get("A").getMethods().stream().anyMatch(m -> m.getName().equals("two")));
+		assertTrue(batchRecompilation.getPendingSources(workspace).isEmpty(), "Pending edits not cleared");
+
+		// Both updates should be delivered as a single batch.
+		assertEquals(1, batches.size());
+		assertEquals(2, batches.getFirst().getUpdated().size());
+	}
+
+	@Test
+	void testFailureLeavesWorkspaceUnchanged() {
+		BasicJvmClassBundle bundle = new BasicJvmClassBundle();
+		bundle.initialPut(compile("C", "public class C {}"));
+		Workspace workspace = TestClassUtils.fromBundle(bundle);
+		JvmClassInfo original = bundle.get("C");
+
+		// Errors should be attributed to the class whose source they are in.
+		batchRecompilation.setPendingSource(workspace,
+				new BatchRecompilationService.PendingSource(bundle, original, "public class C { int x = \"no\"; }", null));
+		BatchRecompilationResult result = batchRecompilation.recompilePending(workspace);
+		assertFalse(result.wasSuccess());
+		assertTrue(result.diagnostics().containsKey("C"), "Diagnostics not attributed to source class");
+		assertSame(original, bundle.get("C"), "Workspace should not change on failure");
+		assertEquals(1, batchRecompilation.getPendingSources(workspace).size(), "Pending edits should remain on failure");
+	}
+
+	@Nonnull
+	private static JvmClassInfo compile(@Nonnull String name, @Nonnull String source) {
+		CompilerResult result = javac.compile(new JavacArgumentsBuilder()
+				.withClassSources(Map.of(name, source))
+				.build(), null, null);
+		assertTrue(result.wasSuccess(), "Setup compilation failed: " + result.getDiagnostics());
+		return new JvmClassInfoBuilder(result.getCompilations().get(name)).build();
+	}
+}
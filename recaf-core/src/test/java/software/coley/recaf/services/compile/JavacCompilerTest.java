@@ -12,17 +12,21 @@
 import software.coley.recaf.info.JvmClassInfo;
 import software.coley.recaf.info.StubFileInfo;
 import software.coley.recaf.info.builder.JvmClassInfoBuilder;
+import software.coley.recaf.services.phantom.GeneratedPhantomWorkspaceResource;
+import software.coley.recaf.services.phantom.PhantomGenerator;
 import software.coley.recaf.test.TestBase;
 import software.coley.recaf.test.TestClassUtils;
 import software.coley.recaf.test.dummy.StringConsumer;
 import software.coley.recaf.util.JavaVersion;
 import software.coley.recaf.workspace.model.BasicWorkspace;
 import software.coley.recaf.workspace.model.Workspace;
+import software.coley.recaf.workspace.model.bundle.BasicJvmClassBundle;
 import software.coley.recaf.workspace.model.resource.WorkspaceFileResourceBuilder;
 import software.coley.recaf.workspace.model.resource.WorkspaceResource;
 import software.coley.recaf.workspace.model.resource.WorkspaceResourceBuilder;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -158,14 +162,8 @@ public static void main(String[] args) {
 		assertFalse(result.getDiagnostics().isEmpty(), "Expected compilation failure");
 		assertFalse(result.getCompilations().containsKey("HelloWorld"), "Class should have failed compilation");
 
-		// First, create the class that was missing. We cannot use the existing StringConsumer because Javac will find
-		// it on our class-path. So, we remap it to a different package.
-		JvmClassInfo classInfo = TestClassUtils.fromRuntimeClass(StringConsumer.class);
-		ClassReader reader = classInfo.getClassReader();
-		ClassWriter writer = new ClassWriter(reader, 0);
-		ClassRemapper mapper = new ClassRemapper(writer, new SimpleRemapper(RecafConstants.getAsmVersion(), classInfo.getName(), "dummy/StringConsumer"));
-		reader.accept(mapper, 0);
-		classInfo = new JvmClassInfoBuilder(writer.toByteArray()).build();
+		// First, create the class that was missing.
+		JvmClassInfo classInfo = remappedStringConsumer();
 
 		// Put it into a workspace and try again. Should work now that it can pull the missing class from the workspace.
 		Workspace workspace = TestClassUtils.fromBundle(TestClassUtils.fromClasses(classInfo));
@@ -185,6 +183,66 @@ public static void main(String[] args) {
 		assertTrue(result.getCompilations().containsKey("HelloWorld"), "Class missing from compile map output");
 	}
 
+	@Test
+	void testJavacReusedContextTracksWorkspaceChanges() throws IOException {
+		JavacArguments arguments = new JavacArgumentsBuilder()
+				.withClassName("HelloWorld")
+				.withClassSource("""
+						import dummy.StringConsumer;
+						
+						public class HelloWorld {
+							public static void main(String[] args) {
+								new StringConsumer().accept("hello");
+							}
+						}""")
+				.build();
+
+		// Compiling against the workspace creates a reusable context, which should not have 'StringConsumer' yet.
+		BasicJvmClassBundle bundle = new BasicJvmClassBundle();
+		Workspace workspace = TestClassUtils.fromBundle(bundle);
+		CompilerResult result = javac.compile(arguments, workspace, null);
+		assertFalse(result.wasSuccess(), "Expected compilation failure");
+
+		// Adding the missing class should be seen by the next compilation.
+		JvmClassInfo classInfo = remappedStringConsumer();
+		bundle.put(classInfo);
+		result = javac.compile(arguments, workspace, null);
+		assertTrue(result.wasSuccess(), "Added class not seen by reused context");
+
+		// Removing it should be seen as well.
+		bundle.remove(classInfo.getName());
+		result = javac.compile(arguments, workspace, null);
+		assertFalse(result.wasSuccess(), "Removed class still seen by reused context");
+	}
+
+	@Test
+	void testCompileContextPhantomCache() throws IOException {
+		BasicJvmClassBundle bundle = new BasicJvmClassBundle();
+		Workspace workspace = TestClassUtils.fromBundle(bundle);
+		JavacCompileContext context = new JavacCompileContext(workspace);
+		try {
+			JvmClassInfo classInfo = remappedStringConsumer();
+			String key = JavacCompileContext.phantomKey(List.of(classInfo));
+			GeneratedPhantomWorkspaceResource phantoms = PhantomGenerator.wrap(Map.of());
+
+			// Cached phantoms should be returned for the same classes.
+			context.putPhantoms(key, context.getClasspathIndex().getGeneration(), phantoms);
+			assertSame(phantoms, context.getPhantoms(key), "Phantoms not cached");
+
+			// Adding a class changes which references need phantoms, so the entry should be dropped.
+			bundle.put(classInfo);
+			assertNull(context.getPhantoms(key), "Phantoms not invalidated by workspace change");
+
+			// Results generated while the workspace was changing should not be recorded.
+			long generation = context.getClasspathIndex().getGeneration();
+			bundle.remove(classInfo.getName());
+			context.putPhantoms(key, generation, phantoms);
+			assertNull(context.getPhantoms(key), "Phantoms generated against a stale workspace were cached");
+		} finally {
+			context.close();
+		}
+	}
+
 	@Test
 	void testJavacWithMultipleSources() {
 		// Specify multiple sources with a minimal dependency between them.
@@ -214,4 +272,19 @@ public static String message() {
 		assertTrue(result.getCompilations().containsKey("HelloWorld"), "Primary class missing from compile map output");
 		assertTrue(result.getCompilations().containsKey("Helper"), "Dependent class missing from compile map output");
 	}
+
+	/**
+	 * We cannot use the existing StringConsumer because Javac will find it on our class-path.
+	 * So, we remap it to a different package.
+	 *
+	 * @return Copy of {@link StringConsumer} in the {@code dummy} package.
+	 */
+	private static JvmClassInfo remappedStringConsumer() throws IOException {
+		JvmClassInfo classInfo = TestClassUtils.fromRuntimeClass(StringConsumer.class);
+		ClassReader reader = classInfo.getClassReader();
+		ClassWriter writer = new ClassWriter(reader, 0);
+		ClassRemapper mapper = new ClassRemapper(writer, new SimpleRemapper(RecafConstants.getAsmVersion(), classInfo.getName(), "dummy/StringConsumer"));
+		reader.accept(mapper, 0);
+		return new JvmClassInfoBuilder(writer.toByteArray()).build();
+	}
 }
@@ -4,25 +4,46 @@
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.InnerClassNode;
+import org.objectweb.asm.tree.InsnNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.MethodNode;
 import software.coley.observables.ObservableBoolean;
 import software.coley.recaf.info.ClassInfo;
 import software.coley.recaf.info.JvmClassInfo;
+import software.coley.recaf.services.decompile.bulk.BulkDecompilationFeedback;
+import software.coley.recaf.services.decompile.bulk.BulkDecompilationResult;
+import software.coley.recaf.services.decompile.bulk.BulkDecompilationService;
+import software.coley.recaf.services.decompile.bulk.BulkDecompilationSink;
+import software.coley.recaf.services.decompile.bulk.CancellableBulkDecompilationFeedback;
 import software.coley.recaf.services.decompile.cfr.CfrDecompiler;
 import software.coley.recaf.services.decompile.fallback.FallbackDecompiler;
 import software.coley.recaf.services.decompile.filter.JvmBytecodeFilter;
 import software.coley.recaf.services.decompile.filter.OutputTextFilter;
+import software.coley.recaf.services.decompile.prefetch.DecompilationPrefetchService;
 import software.coley.recaf.services.decompile.procyon.ProcyonDecompiler;
 import software.coley.recaf.services.decompile.vineflower.VineflowerDecompiler;
 import software.coley.recaf.test.TestBase;
 import software.coley.recaf.test.TestClassUtils;
+import software.coley.recaf.test.dummy.ClassWithToString;
 import software.coley.recaf.test.dummy.HelloWorld;
 import software.coley.recaf.util.ReflectUtil;
 import software.coley.recaf.workspace.model.Workspace;
+import software.coley.recaf.workspace.model.bundle.JvmClassBundle;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.zip.ZipFile;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -149,6 +170,191 @@ void testFilterHollow() {
 		assertFalse(decompilationAfter.contains("\"Hello world\""));
 	}
 
+	@Test
+	void testDiskCache(@TempDir Path dir) {
+		JvmDecompiler decompiler = decompilerManager.getJvmDecompiler(CfrDecompiler.NAME);
+		assertNotNull(decompiler);
+		DecompilationDiskCache cache = new DecompilationDiskCache(dir);
+
+		// Keys are content based, so the same decompiler + input yields the same key.
+		byte[] bytecode = classHelloWorld.getBytecode();
+		String key = DecompilationDiskCache.key(decompiler, bytecode);
+		assertEquals(key, DecompilationDiskCache.key(decompiler, bytecode.clone()));
+		assertNull(cache.get(key));
+
+		// Related classes like inner classes contribute to the output, so they must be part of the key.
+		byte[] innerBytecode = TestClassUtils.fromRuntimeClass(ClassWithToString.class).getBytecode();
+		String keyWithInner = DecompilationDiskCache.key(decompiler, bytecode, new TreeMap<>(Map.of("Inner", innerBytecode)));
+		assertNotEquals(key, keyWithInner);
+		byte[] modifiedInnerBytecode = innerBytecode.clone();
+		modifiedInnerBytecode[modifiedInnerBytecode.length - 1]++;
+		assertNotEquals(keyWithInner, DecompilationDiskCache.key(decompiler, bytecode, new TreeMap<>(Map.of("Inner", modifiedInnerBytecode))));
+
+		// Entries should round-trip, and new cache instances over the same directory see prior entries.
+		cache.put(key, "class HelloWorld {}", Long.MAX_VALUE);
+		assertEquals("class HelloWorld {}", cache.get(key));
+		assertEquals("class HelloWorld {}", new DecompilationDiskCache(dir).get(key));
+
+		// Exceeding the size limit should evict entries.
+		String text = "x".repeat(10_000);
+		cache.put("00" + key.substring(2), text, 1);
+		assertTrue(cache.size() <= 1);
+		assertNull(cache.get(key));
+	}
+
+	@Test
+	void testDecompilerFiltersAreReported() {
+		// The manager skips the disk cache for decompilers with their own filters, since those are not part of the key.
+		JvmDecompiler decompiler = decompilerManager.getJvmDecompiler(FallbackDecompiler.NAME);
+		assertNotNull(decompiler);
+		assertFalse(decompiler.hasJvmBytecodeFilters());
+		assertFalse(decompiler.hasOutputTextFilters());
+		try {
+			decompiler.addJvmBytecodeFilter(bytecodeFilter);
+			decompiler.addOutputTextFilter(textFilter);
+			assertTrue(decompiler.hasJvmBytecodeFilters());
+			assertTrue(decompiler.hasOutputTextFilters());
+		} finally {
+			decompiler.removeJvmBytecodeFilter(bytecodeFilter);
+			decompiler.removeOutputTextFilter(textFilter);
+		}
+		assertFalse(decompiler.hasJvmBytecodeFilters());
+		assertFalse(decompiler.hasOutputTextFilters());
+	}
+
+	@Test
+	void testBatchDecompilation() {
+		JvmClassInfo classToString = TestClassUtils.fromRuntimeClass(ClassWithToString.class);
+		List<JvmClassInfo> classes = List.of(classHelloWorld, classToString);
+		for (JvmDecompiler decompiler : decompilerManager.getJvmDecompilers()) {
+			// Batch results should match individual results.
+			Map<String, DecompileResult> results = new HashMap<>();
+			decompiler.decompileBatch(workspace, classes, (cls, result) -> results.put(cls.getName(), result));
+			assertEquals(classes.size(), results.size(), "Missing batch results for " + decompiler.getName());
+			for (JvmClassInfo cls : classes) {
+				DecompileResult result = results.get(cls.getName());
+				assertEquals(DecompileResult.ResultType.SUCCESS, result.getType(), "Batch failed for " + decompiler.getName());
+				assertEquals(decompiler.decompile(workspace, cls).getText(), result.getText(),
+						"Batch output differs from individual output for " + decompiler.getName());
+			}
+		}
+
+		// Batches through the manager should yield results keyed by class name.
+		JvmDecompiler decompiler = decompilerManager.getJvmDecompiler(CfrDecompiler.NAME);
+		assertNotNull(decompiler);
+		Map<String, DecompileResult> results = assertDoesNotThrow(() -> decompilerManager.decompile(decompiler, workspace, classes).get(1, TimeUnit.MINUTES));
+		assertEquals(classes.size(), results.size());
+		assertTrue(results.get(classHelloWorld.getName()).getText().contains("\"Hello world\""));
+	}
+
+	@Test
+	void testOutOfProcess() {
+		decompilerManagerConfig.getOutOfProcess().setValue(true);
+		decompilerManagerConfig.getOutOfProcessWorkers().setValue(1);
+		for (String name : List.of(CfrDecompiler.NAME, VineflowerDecompiler.NAME)) {
+			JvmDecompiler decompiler = decompilerManager.getJvmDecompiler(name);
+			assertNotNull(decompiler);
+
+			// Output from workers should match output from the decompiler in this process.
+			DecompileResult result = assertDoesNotThrow(() -> decompilerManager.decompile(decompiler, workspace, classHelloWorld).get(1, TimeUnit.MINUTES));
+			assertEquals(DecompileResult.ResultType.SUCCESS, result.getType(), "Worker failed for " + name);
+			assertEquals(decompiler.decompile(workspace, classHelloWorld).getText(), result.getText(),
+					"Worker output differs from in-process output for " + name);
+
+			// Repeated requests to the same worker reuse the classes sent to it previously.
+			DecompileResult repeated = assertDoesNotThrow(() -> decompilerManager.decompile(decompiler, workspace, classHelloWorld).get(1, TimeUnit.MINUTES));
+			assertEquals(result.getText(), repeated.getText(), "Worker output changed on repeated request for " + name);
+		}
+	}
+
+	@Test
+	void testPrefetch() {
+		JvmDecompiler decompiler = decompilerManager.getJvmDecompiler(CfrDecompiler.NAME);
+		assertNotNull(decompiler);
+		List<JvmClassInfo> classes = List.of(TestClassUtils.fromRuntimeClass(ClassWithToString.class));
+
+		// Prefetching does nothing when results are not cached.
+		int decompiled = assertDoesNotThrow(() -> decompilerManager.prefetch(decompiler, workspace, classes).get(1, TimeUnit.MINUTES));
+		assertEquals(0, decompiled);
+
+		// With caching, prefetched classes are decompiled once and then served from the cache.
+		decompilerManagerConfig.getCacheDecompilations().setValue(true);
+		decompiled = assertDoesNotThrow(() -> decompilerManager.prefetch(decompiler, workspace, classes).get(1, TimeUnit.MINUTES));
+		assertEquals(1, decompiled);
+		decompiled = assertDoesNotThrow(() -> decompilerManager.prefetch(decompiler, workspace, classes).get(1, TimeUnit.MINUTES));
+		assertEquals(0, decompiled, "Prefetch did not populate the cache");
+
+		// Neighbors only include classes in the workspace, and never the class itself.
+		DecompilationPrefetchService prefetchService = recaf.get(DecompilationPrefetchService.class);
+		assertTrue(prefetchService.getNeighbors(workspace, classHelloWorld, 8).isEmpty());
+	}
+
+	@Test
+	void testPrefetchMapsInnerClassesToOuterClass() {
+		InnerClassNode innerClassNode = new InnerClassNode("Outer$Inner", "Outer", "Inner", Opcodes.ACC_STATIC);
+		JvmClassInfo outer = TestClassUtils.createClass("Outer", node -> node.innerClasses.add(innerClassNode));
+		JvmClassInfo inner = TestClassUtils.createClass("Outer$Inner", node -> node.innerClasses.add(innerClassNode));
+		JvmClassInfo caller = TestClassUtils.createClass("Caller", node -> {
+			MethodNode method = new MethodNode(Opcodes.ACC_STATIC, "call", "()V", null, null);
+			method.instructions.add(new MethodInsnNode(Opcodes.INVOKESTATIC, "Outer$Inner", "run", "()V"));
+			method.instructions.add(new InsnNode(Opcodes.RETURN));
+			node.methods.add(method);
+		});
+		Workspace innerWorkspace = TestClassUtils.fromBundle(TestClassUtils.fromClasses(outer, inner, caller));
+		DecompilationPrefetchService prefetchService = recaf.get(DecompilationPrefetchService.class);
+
+		// Inner classes are decompiled as part of their outer class, so the outer class should be prefetched instead.
+		assertEquals(List.of("Outer"), prefetchService.getNeighbors(innerWorkspace, caller, 8).stream()
+				.map(JvmClassInfo::getName).toList());
+
+		// The outer class should not prefetch its own inner class.
+		assertTrue(prefetchService.getNeighbors(innerWorkspace, outer, 8).isEmpty());
+	}
+
+	@Test
+	void testBulkDecompilation(@TempDir Path dir) throws IOException {
+		BulkDecompilationService bulkService = recaf.get(BulkDecompilationService.class);
+		JvmDecompiler decompiler = decompilerManager.getJvmDecompiler(CfrDecompiler.NAME);
+		assertNotNull(decompiler);
+		JvmClassBundle bundle = workspace.getPrimaryResource().getJvmClassBundle();
+		String entryName = classHelloWorld.getName() + ".java";
+
+		// Directory output should have a source file per class, with packages as sub-directories.
+		Path outputDir = dir.resolve("out");
+		BulkDecompilationResult result = bulkService.decompile(workspace, decompiler, bundle, outputDir, BulkDecompilationFeedback.DEFAULT);
+		assertEquals(1, result.written());
+		assertFalse(result.cancelled());
+		assertTrue(Files.readString(outputDir.resolve(entryName)).contains("\"Hello world\""));
+
+		// Archive output should have an entry per class.
+		Path outputZip = dir.resolve("out.zip");
+		result = bulkService.decompile(workspace, decompiler, bundle, outputZip, BulkDecompilationFeedback.DEFAULT);
+		assertEquals(1, result.written());
+		try (ZipFile zip = new ZipFile(outputZip.toFile())) {
+			assertNotNull(zip.getEntry(entryName));
+		}
+
+		// Cancelled feedback should not schedule anything.
+		CancellableBulkDecompilationFeedback feedback = new CancellableBulkDecompilationFeedback();
+		feedback.cancel();
+		result = bulkService.decompile(workspace, decompiler, bundle, dir.resolve("cancelled"), feedback);
+		assertEquals(0, result.total());
+		assertTrue(result.cancelled());
+	}
+
+	@Test
+	void testBulkDirectorySinkSkipsEscapingNames(@TempDir Path dir) throws IOException {
+		Path root = dir.resolve("out");
+		try (BulkDecompilationSink sink = BulkDecompilationSink.directory(root)) {
+			// Names escaping the output directory should be skipped, without failing the remaining output.
+			assertFalse(sink.write("../Escaped", "class Escaped {}"));
+			assertFalse(sink.write("a/../../../Escaped", "class Escaped {}"));
+			assertFalse(Files.exists(dir.resolve("Escaped.java")));
+			assertTrue(sink.write("a/Valid", "class Valid {}"));
+			assertTrue(Files.exists(root.resolve("a/Valid.java")));
+		}
+	}
+
 	@Test
 	void testDisplay() {
 		for (JvmDecompiler decompiler : decompilerManager.getJvmDecompilers()) {
@@ -9,6 +9,7 @@
 import org.objectweb.asm.Type;
 import org.objectweb.asm.tree.AbstractInsnNode;
 import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.InsnNode;
 import org.objectweb.asm.tree.MethodNode;
 import software.coley.recaf.info.JvmClassInfo;
 import software.coley.recaf.services.inheritance.InheritanceGraph;
@@ -18,9 +19,11 @@
 import software.coley.recaf.util.analysis.Nullness;
 import software.coley.recaf.util.analysis.ReFrame;
 import software.coley.recaf.util.analysis.ReInterpreter;
+import software.coley.recaf.util.analysis.eval.DecodedMethod;
 import software.coley.recaf.util.analysis.eval.EvaluationFailureResult;
 import software.coley.recaf.util.analysis.eval.EvaluationListener;
 import software.coley.recaf.util.analysis.eval.EvaluationResult;
+import software.coley.recaf.util.analysis.eval.EvaluationResultCache;
 import software.coley.recaf.util.analysis.eval.EvaluationThrowsResult;
 import software.coley.recaf.util.analysis.eval.EvaluationYieldResult;
 import software.coley.recaf.util.analysis.eval.Evaluator;
@@ -2052,6 +2055,162 @@ void testWorkspaceDistinctAllocationsHaveDistinctIdentity() {
 				get("Base"), get("Child")));
 	}
 
+	@Test
+	void testResultCacheReusesPureEvaluations() {
+		compile("""
+				static int counter;
+				static int scramble(int value) { return value * 31 + 7; }
+				static int impure(int value) { counter = value; return counter * 2; }
+				""");
+		ClassNode node = new ClassNode();
+		get(CLASS_NAME).getClassReader().accept(node, 0);
+		MethodNode scramble = node.methods.stream().filter(m -> m.name.equals("scramble")).findFirst().orElseThrow();
+		MethodNode impure = node.methods.stream().filter(m -> m.name.equals("impure")).findFirst().orElseThrow();
+
+		EvaluationResultCache cache = new EvaluationResultCache();
+		Evaluator evaluator = createEvaluator();
+		evaluator.setResultCache(cache);
+
+		// Repeating a pure evaluation with the same arguments should pull from the cache.
+		// Different arguments should not.
+		EvaluationResult first = evaluator.evaluate(node, scramble, null, List.of(IntValue.of(2)));
+		EvaluationResult second = evaluator.evaluate(node, scramble, null, List.of(IntValue.of(2)));
+		EvaluationResult third = evaluator.evaluate(node, scramble, null, List.of(IntValue.of(3)));
+		assertIntValue(69, assertInstanceOf(EvaluationYieldResult.class, first).value());
+		assertIntValue(69, assertInstanceOf(EvaluationYieldResult.class, second).value());
+		assertIntValue(100, assertInstanceOf(EvaluationYieldResult.class, third).value());
+		assertEquals(1, cache.getHits());
+
+		// Methods touching static state should never be cached.
+		evaluator.evaluate(node, impure, null, List.of(IntValue.of(2)));
+		EvaluationResult impureResult = evaluator.evaluate(node, impure, null, List.of(IntValue.of(2)));
+		assertIntValue(4, assertInstanceOf(EvaluationYieldResult.class, impureResult).value());
+		assertEquals(1, cache.getHits());
+	}
+
+	@Test
+	void testResultCacheReusesNestedEvaluationsReadingConstants() {
+		compile("""
+				static final int KEY;
+				static {
+					int k = 0;
+					for (int i = 0; i < 5; i++) k += i;
+					KEY = k;
+				}
+				static int decrypt(int value) { return value ^ KEY; }
+				static int run(int value) { return decrypt(value) + decrypt(value); }
+				""");
+		ClassNode node = new ClassNode();
+		get(CLASS_NAME).getClassReader().accept(node, 0);
+		MethodNode run = node.methods.stream().filter(m -> m.name.equals("run")).findFirst().orElseThrow();
+
+		EvaluationResultCache cache = new EvaluationResultCache();
+		Evaluator evaluator = createEvaluator(List.of(), true);
+		evaluator.setResultCache(cache);
+
+		// The second nested call to 'decrypt' should pull from the cache, since reading a constant field
+		// assigned only by the static initializer does not count as reading mutable static state.
+		EvaluationResult first = evaluator.evaluate(node, run, null, List.of(IntValue.of(3)));
+		assertIntValue(18, assertInstanceOf(EvaluationYieldResult.class, first).value());
+		assertEquals(1, cache.getHits());
+
+		// The outer evaluation only reads constants through nested calls, so it is also cached.
+		EvaluationResult second = evaluator.evaluate(node, run, null, List.of(IntValue.of(3)));
+		assertIntValue(18, assertInstanceOf(EvaluationYieldResult.class, second).value());
+		assertEquals(2, cache.getHits());
+	}
+
+	@Test
+	void testResultCacheSkipsEvaluationsMutatingConstantArrays() {
+		compile("""
+				static final int[] COUNTER = {0};
+				static int next() { return COUNTER[0]++; }
+				""");
+		ClassNode node = new ClassNode();
+		get(CLASS_NAME).getClassReader().accept(node, 0);
+		MethodNode next = node.methods.stream().filter(m -> m.name.equals("next")).findFirst().orElseThrow();
+
+		EvaluationResultCache cache = new EvaluationResultCache();
+		Evaluator evaluator = createEvaluator(List.of(), true);
+		evaluator.setResultCache(cache);
+
+		// The field is only assigned by the static initializer, but the array it holds is still mutable state.
+		// Each evaluation must observe the store made by the previous one, rather than a cached result.
+		EvaluationResult first = evaluator.evaluate(node, next, null, List.of());
+		EvaluationResult second = evaluator.evaluate(node, next, null, List.of());
+		assertIntValue(0, assertInstanceOf(EvaluationYieldResult.class, first).value());
+		assertIntValue(1, assertInstanceOf(EvaluationYieldResult.class, second).value());
+		assertEquals(0, cache.getHits());
+	}
+
+	@Test
+	void testDecodedMethodSkipsPseudoInstructionsAndTracksEdits() {
+		compile("""
+				static int sum(int count) {
+					int total = 0;
+					for (int i = 0; i < count; i++) total += i;
+					return total;
+				}
+				""");
+		ClassNode node = new ClassNode();
+		get(CLASS_NAME).getClassReader().accept(node, 0);
+		MethodNode sum = node.methods.stream().filter(m -> m.name.equals("sum")).findFirst().orElseThrow();
+
+		// Only executable instructions are decoded, and labels resolve to the instruction that follows them.
+		DecodedMethod decoded = DecodedMethod.of(sum);
+		int executable = 0;
+		for (AbstractInsnNode insn : sum.instructions) {
+			if (insn.getOpcode() != -1)
+				executable++;
+			else if (insn.getNext() != null && insn.getNext().getOpcode() != -1)
+				assertSame(insn.getNext(), decoded.instruction(decoded.indexOf(insn)));
+		}
+		assertEquals(executable, decoded.size());
+
+		// The cached decoded form is re-used until the method is modified.
+		Map<MethodNode, DecodedMethod> cache = new HashMap<>();
+		decoded = DecodedMethod.of(sum, cache);
+		assertTrue(decoded.isCurrent(sum));
+		assertSame(decoded, DecodedMethod.of(sum, cache));
+		sum.instructions.insert(new InsnNode(Opcodes.NOP));
+		assertFalse(decoded.isCurrent(sum));
+		DecodedMethod redecoded = DecodedMethod.of(sum, cache);
+		assertNotSame(decoded, redecoded);
+		assertSame(redecoded, DecodedMethod.of(sum, cache));
+		assertEquals(executable + 1, redecoded.size());
+
+		// Execution over the decoded form still behaves the same.
+		EvaluationResult result = createEvaluator().evaluate(node, sum, null, List.of(IntValue.of(5)));
+		assertIntValue(10, assertInstanceOf(EvaluationYieldResult.class, result).value());
+	}
+
+	@Test
+	void testDecodedMethodTracksSameSizeReplacements() {
+		compile("""
+				static int combine(int a, int b) { return a + b; }
+				""");
+		ClassNode node = new ClassNode();
+		get(CLASS_NAME).getClassReader().accept(node, 0);
+		MethodNode combine = node.methods.stream().filter(m -> m.name.equals("combine")).findFirst().orElseThrow();
+		AbstractInsnNode add = null;
+		for (AbstractInsnNode insn : combine.instructions)
+			if (insn.getOpcode() == Opcodes.IADD)
+				add = insn;
+		assertNotNull(add);
+
+		Evaluator evaluator = createEvaluator();
+		EvaluationResult sum = evaluator.evaluate(node, combine, null, List.of(IntValue.of(5), IntValue.of(3)));
+		assertIntValue(8, assertInstanceOf(EvaluationYieldResult.class, sum).value());
+
+		// Replacing an instruction in the middle of the method keeps its size, first, and last instructions the same.
+		// The decoded form must still be recognized as outdated, and the same evaluator must run the new instruction.
+		DecodedMethod decoded = DecodedMethod.of(combine);
+		combine.instructions.set(add, new InsnNode(Opcodes.ISUB));
+		assertFalse(decoded.isCurrent(combine));
+		EvaluationResult difference = evaluator.evaluate(node, combine, null, List.of(IntValue.of(5), IntValue.of(3)));
+		assertIntValue(2, assertInstanceOf(EvaluationYieldResult.class, difference).value());
+	}
+
 	private void compileStaticState() {
 		compileFull("StaticState", """
 				public class StaticState {
@@ -2139,11 +2298,16 @@ private Evaluator createEvaluator() {
 
 	@Nonnull
 	private Evaluator createEvaluator(@Nonnull List<ClassMethodPair> callStackSeed) {
+		return createEvaluator(callStackSeed, false);
+	}
+
+	@Nonnull
+	private Evaluator createEvaluator(@Nonnull List<ClassMethodPair> callStackSeed, boolean evaluateClassInitializers) {
 		JvmClassInfo assembled = get(CLASS_NAME);
 		Workspace workspace = TestClassUtils.fromBundle(TestClassUtils.fromClasses(assembled));
 		JvmTransformerContext ctx = new JvmTransformerContext(workspace, workspace.getPrimaryResource(), Collections.emptyList());
 		ReInterpreter interpreter = ctx.newInterpreter(new InheritanceGraph(workspace));
-		Evaluator evaluator = new Evaluator(workspace, interpreter, new FieldCacheManager(), 1000, false, false);
+		Evaluator evaluator = new Evaluator(workspace, interpreter, new FieldCacheManager(), 1000, false, evaluateClassInitializers);
 		evaluator.setCallStackSeed(callStackSeed);
 		return evaluator;
 	}
@@ -1,15 +1,20 @@
 package software.coley.recaf.services.deobfuscation;
 
 import org.junit.jupiter.api.Test;
+import software.coley.recaf.info.JvmClassInfo;
 import software.coley.recaf.services.deobfuscation.transform.generic.CallResultInliningTransformer;
 import software.coley.recaf.services.deobfuscation.transform.generic.DeadCodeRemovingTransformer;
 import software.coley.recaf.services.deobfuscation.transform.generic.GotoInliningTransformer;
 import software.coley.recaf.services.deobfuscation.transform.generic.OpaqueConstantFoldingTransformer;
 import software.coley.recaf.services.deobfuscation.transform.generic.OpaquePredicateFoldingTransformer;
 import software.coley.recaf.services.deobfuscation.transform.generic.VariableFoldingTransformer;
+import software.coley.recaf.services.transform.JvmClassTransformer;
+import software.coley.recaf.services.transform.JvmTransformResult;
+import software.coley.recaf.services.transform.TransformationParameters;
 import software.coley.recaf.util.StringUtil;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -1697,6 +1702,84 @@ void foldStaticCallToXorString() {
 				"System.out.println(\"Hello world\");");
 	}
 
+	@Test
+	void parallelCallResultInliningMatchesSequential() {
+		String asm = """
+				.super java/lang/Object
+				.class Example {
+					.method static example ()I {
+					    code: {
+					    A:
+					        iconst_3
+					        iconst_4
+					        invokestatic Example.add (II)I
+					        iconst_5
+					        invokestatic Example.mul (II)I
+					        bipush 9
+					        invokestatic Example.neg (I)I
+					        iconst_2
+					        iconst_2
+					        invokestatic Example.add (II)I
+					        iadd
+					        iadd
+					        ireturn
+					    B:
+					    }
+					}
+					.method static add (II)I {
+					    parameters: { a, b },
+					    code: {
+					    A:
+					        iload a
+					        iload b
+					        iadd
+					        ireturn
+					    B:
+					    }
+					}
+					.method static mul (II)I {
+					    parameters: { a, b },
+					    code: {
+					    A:
+					        iload a
+					        iload b
+					        imul
+					        ireturn
+					    B:
+					    }
+					}
+					.method static neg (I)I {
+					    parameters: { a },
+					    code: {
+					    A:
+					        iload a
+					        ineg
+					        ireturn
+					    B:
+					    }
+					}
+				}
+				""";
+		assemble(asm, true);
+
+		// Evaluating call sites on the applier's threads should yield the same output as evaluating them in turn.
+		List<Class<? extends JvmClassTransformer>> transformers = List.of(CallResultInliningTransformer.class);
+		JvmTransformResult sequential = assertDoesNotThrow(() -> newApplier().transformJvm(transformers,
+				new TransformationParameters(Map.of(CallResultInliningTransformer.KEY_PARALLEL_EVALUATION, false))));
+		JvmTransformResult parallel = assertDoesNotThrow(() -> newApplier().transformJvm(transformers,
+				new TransformationParameters(Map.of(CallResultInliningTransformer.KEY_PARALLEL_EVALUATION, true))));
+		assertTrue(sequential.getTransformerFailures().isEmpty(), "There were sequential transformation failures");
+		assertTrue(parallel.getTransformerFailures().isEmpty(), "There were parallel transformation failures");
+		assertEquals(1, sequential.getTransformedClasses().size(), "Expected sequential transformation to be applied");
+		assertEquals(1, parallel.getTransformedClasses().size(), "Expected parallel transformation to be applied");
+		JvmClassInfo sequentialClass = sequential.getTransformedClasses().values().iterator().next();
+		JvmClassInfo parallelClass = parallel.getTransformedClasses().values().iterator().next();
+		assertArrayEquals(sequentialClass.getBytecode(), parallelClass.getBytecode());
+
+		String dis = disassembleTransformed(parallel, true);
+		assertEquals(0, StringUtil.count("invokestatic Example.", dis), "Expected all calls to be inlined");
+	}
+
 	@Test
 	void foldRedundant1DIntArray() {
 		String asm = """
@@ -2250,6 +2333,72 @@ void foldOpaqueLookupSwitch() {
 		});
 	}
 
+	@Test
+	void foldOpaquePredicateDependingOnValueFromOtherPredicate() {
+		String asm = """
+				.method public static example ()V {
+				    code: {
+				    A:
+				        iconst_0
+				        istore x
+				        iconst_1
+				        ifne C
+				    B:
+				        // Never executed, so this should not make 'x' unknown at the second predicate
+				        iconst_5
+				        istore x
+				    C:
+				        iload x
+				        ifeq E
+				    D:
+				        aconst_null
+				        athrow
+				    E:
+				        return
+				    F:
+				    }
+				}
+				""";
+		validateAfterAssembly(asm, List.of(OpaquePredicateFoldingTransformer.class), dis -> {
+			// Both predicates should be folded in a single pass
+			assertEquals(0, StringUtil.count("ifne", dis), "Expected to remove ifne");
+			assertEquals(0, StringUtil.count("ifeq", dis), "Expected to remove ifeq");
+
+			// Dead code should be removed
+			assertEquals(0, StringUtil.count("iconst_5", dis), "Expected to remove dead store");
+			assertEquals(0, StringUtil.count("athrow", dis), "Expected to remove dead athrow");
+		});
+	}
+
+	@Test
+	void foldConstantDependingOnValueFromOtherPredicate() {
+		String asm = """
+				.method public static example ()I {
+				    code: {
+				    A:
+				        iconst_5
+				        istore x
+				        iconst_0
+				        ifeq C
+				    B:
+				        // Never executed, so this should not make 'x' unknown where the paths join
+				        bipush 9
+				        istore x
+				    C:
+				        iload x
+				        iconst_2
+				        imul
+				        ireturn
+				    D:
+				    }
+				}
+				""";
+		validateAfterAssembly(asm, List.of(OpaqueConstantFoldingTransformer.class), dis -> {
+			assertEquals(0, StringUtil.count("imul", dis), "Expected to fold multiplication");
+			assertEquals(1, StringUtil.count("bipush 10", dis), "Expected to fold to 10");
+		});
+	}
+
 	/** @see #foldLookupSwitchOfUnknownParameterIfIsEffectiveGoto() */
 	@Test
 	void foldTableSwitchOfUnknownParameterIfIsEffectiveGoto() {
@@ -3,11 +3,15 @@
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.api.parallel.Execution;
 import org.junit.jupiter.api.parallel.ExecutionMode;
 import software.coley.recaf.services.compile.CompilerDiagnostic;
 import software.coley.recaf.test.TestBase;
 
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
@@ -269,6 +273,27 @@ public void run() {
 		}
 	}
 
+	@Test
+	void testCompileCacheRoundTrip(@TempDir Path dir) {
+		ScriptCompileCache cache = new ScriptCompileCache(dir);
+		String source = "System.out.println(\"cached\");";
+		String key = ScriptCompileCache.key(source);
+		assertNull(cache.get(key), "Cache should be empty");
+
+		// Cached compilations should be loadable and definable without compiling again.
+		assertEquals(key, ScriptCompileCache.key(source), "Key should be stable for the same source");
+		List<CompilerDiagnostic> diagnostics = List.of(new CompilerDiagnostic(1, 2, 3, "note", CompilerDiagnostic.Level.INFO));
+		cache.put(key, new ScriptTemplate.Generated("Dummy", Map.of("Dummy", new byte[]{1, 2, 3}), diagnostics));
+		ScriptTemplate.Generated cached = cache.get(key);
+		assertNotNull(cached, "Missing cache entry");
+		assertEquals("Dummy", cached.className());
+		assertArrayEquals(new byte[]{1, 2, 3}, cached.classMap().get("Dummy"));
+		assertEquals(diagnostics, cached.diagnostics());
+
+		// Different source should not hit the cache.
+		assertNull(cache.get(ScriptCompileCache.key(source + " ")), "Different source should not share entries");
+	}
+
 	static void assertSuccess(String code) {
 		try {
 			engine.run(code).thenAccept(result -> {
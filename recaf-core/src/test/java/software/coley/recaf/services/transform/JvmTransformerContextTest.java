@@ -0,0 +1,50 @@
+package software.coley.recaf.services.transform;
+
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.InsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.analysis.Frame;
+import software.coley.recaf.info.JvmClassInfo;
+import software.coley.recaf.services.inheritance.InheritanceGraph;
+import software.coley.recaf.services.inheritance.InheritanceGraphService;
+import software.coley.recaf.test.TestBase;
+import software.coley.recaf.test.TestClassUtils;
+import software.coley.recaf.test.dummy.HelloWorld;
+import software.coley.recaf.util.analysis.value.ReValue;
+import software.coley.recaf.workspace.model.Workspace;
+import software.coley.recaf.workspace.model.bundle.JvmClassBundle;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link JvmTransformerContext}
+ */
+class JvmTransformerContextTest extends TestBase {
+	@Test
+	void analysisIsReusedUntilMethodChanges() throws IOException, TransformationException {
+		JvmClassBundle bundle = TestClassUtils.fromClasses(HelloWorld.class);
+		Workspace workspace = TestClassUtils.fromBundle(bundle);
+		InheritanceGraph graph = recaf.get(InheritanceGraphService.class).newInheritanceGraph(workspace);
+		JvmTransformerContext context = new JvmTransformerContext(workspace, workspace.getPrimaryResource(), Collections.emptyList());
+		JvmClassInfo classInfo = bundle.values().iterator().next();
+
+		// Each call to get the node yields a new copy, but the analysis of the same content should be shared.
+		ClassNode first = context.getNode(bundle, classInfo);
+		ClassNode second = context.getNode(bundle, classInfo);
+		MethodNode firstMain = first.methods.stream().filter(m -> m.name.equals("main")).findFirst().orElseThrow();
+		MethodNode secondMain = second.methods.stream().filter(m -> m.name.equals("main")).findFirst().orElseThrow();
+		Frame<ReValue>[] frames = context.analyze(graph, first, firstMain);
+		assertSame(frames, context.analyze(graph, second, secondMain));
+
+		// Once the method is modified, it must be analyzed again.
+		secondMain.instructions.insert(new InsnNode(Opcodes.NOP));
+		Frame<ReValue>[] modifiedFrames = context.analyze(graph, second, secondMain);
+		assertNotSame(frames, modifiedFrames);
+		assertEquals(secondMain.instructions.size(), modifiedFrames.length);
+	}
+}
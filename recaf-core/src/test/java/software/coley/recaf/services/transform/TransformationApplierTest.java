@@ -2,6 +2,14 @@
 
 import jakarta.annotation.Nonnull;
 import org.junit.jupiter.api.Test;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.FrameNode;
+import org.objectweb.asm.tree.MethodNode;
+import software.coley.recaf.info.ClassInfo;
 import software.coley.recaf.info.JvmClassInfo;
 import software.coley.recaf.services.inheritance.InheritanceGraph;
 import software.coley.recaf.services.inheritance.InheritanceGraphService;
@@ -11,18 +19,28 @@
 import software.coley.recaf.test.TestClassUtils;
 import software.coley.recaf.test.dummy.HelloWorld;
 import software.coley.recaf.workspace.model.Workspace;
+import software.coley.recaf.workspace.model.bundle.ClassBundle;
 import software.coley.recaf.workspace.model.bundle.JvmClassBundle;
 import software.coley.recaf.workspace.model.resource.WorkspaceResource;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 /**
@@ -134,6 +152,405 @@ void missingRegistration() {
 		assertThrows(TransformationException.class, () -> applier.transformJvm(Collections.singletonList(JvmCycleSingle.class)));
 	}
 
+	@Test
+	void laterPassesOnlyVisitAffectedClasses() throws TransformationException {
+		// Three classes where:
+		//  - 'Modified' is changed by the transformer in the first pass
+		//  - 'Referencing' has a field of type 'Modified'
+		//  - 'Unrelated' has no relation to the other classes
+		JvmClassBundle bundle = TestClassUtils.fromClasses(
+				TestClassUtils.createEmptyClass("Modified"),
+				TestClassUtils.createClass("Referencing", node -> node.visitField(Opcodes.ACC_PRIVATE, "f", "LModified;", null, null)),
+				TestClassUtils.createEmptyClass("Unrelated")
+		);
+		Workspace workspace = TestClassUtils.fromBundle(bundle);
+		InheritanceGraph graph = recaf.get(InheritanceGraphService.class).newInheritanceGraph(workspace);
+		MappingApplier applier = recaf.get(MappingApplierService.class).inWorkspace(workspace);
+
+		JvmModifyOnce transformer = new JvmModifyOnce("Modified");
+		TransformationManager manager = new TransformationManager(Map.of(JvmModifyOnce.class, () -> transformer));
+		TransformationApplier transformationApplier = new TransformationApplier(manager, config, graph, applier, workspace);
+		transformationApplier.setMaxPasses(5);
+
+		// Record which classes are visited in each pass.
+		Map<Integer, Set<String>> visitedPerPass = new ConcurrentSkipListMap<>();
+		TransformationFeedback feedback = new TransformationFeedback() {
+			@Override
+			public boolean shouldTransform(@Nonnull Workspace workspace, @Nonnull WorkspaceResource resource,
+			                               @Nonnull ClassBundle<?> bundle, @Nonnull ClassInfo classInfo,
+			                               @Nonnull ClassTransformer transformer, int pass) {
+				visitedPerPass.computeIfAbsent(pass, p -> new ConcurrentSkipListSet<>()).add(classInfo.getName());
+				return true;
+			}
+		};
+		JvmTransformResult result = transformationApplier.transformJvm(Collections.singletonList(JvmModifyOnce.class), feedback);
+		assertEquals(1, result.getTransformedClasses().size());
+
+		// The first pass visits everything, the second only visits the modified class and the class referencing it.
+		// Since nothing is modified in the second pass, there should not be a third pass.
+		assertEquals(Map.of(
+				1, Set.of("Modified", "Referencing", "Unrelated"),
+				2, Set.of("Modified", "Referencing")
+		), visitedPerPass);
+	}
+
+	@Test
+	void laterPassesVisitOnlyDirectDependents() throws TransformationException {
+		// Classes where:
+		//  - 'Z' is changed by the transformer in the first pass, and has a static field
+		//  - 'Y' has a method 'decrypt()' reading the static field from 'Z'
+		//  - 'X' calls 'Y.decrypt()', but never refers to 'Z' itself
+		//  - 'ZChild' extends 'Z', and 'ZGrandchild' extends 'ZChild'
+		//  - 'Unrelated' has no relation to the other classes
+		JvmClassBundle bundle = TestClassUtils.fromClasses(
+				TestClassUtils.createClass("Z", node -> node.visitField(Opcodes.ACC_STATIC, "key", "I", null, null)),
+				TestClassUtils.createClass("Y", node -> {
+					MethodVisitor mv = node.visitMethod(Opcodes.ACC_STATIC, "decrypt", "()I", null, null);
+					mv.visitCode();
+					mv.visitFieldInsn(Opcodes.GETSTATIC, "Z", "key", "I");
+					mv.visitInsn(Opcodes.IRETURN);
+					mv.visitMaxs(1, 0);
+					mv.visitEnd();
+				}),
+				TestClassUtils.createClass("X", node -> {
+					MethodVisitor mv = node.visitMethod(Opcodes.ACC_STATIC, "run", "()I", null, null);
+					mv.visitCode();
+					mv.visitMethodInsn(Opcodes.INVOKESTATIC, "Y", "decrypt", "()I", false);
+					mv.visitInsn(Opcodes.IRETURN);
+					mv.visitMaxs(1, 0);
+					mv.visitEnd();
+				}),
+				TestClassUtils.createClass("ZChild", node -> node.superName = "Z"),
+				TestClassUtils.createClass("ZGrandchild", node -> node.superName = "ZChild"),
+				TestClassUtils.createEmptyClass("Unrelated")
+		);
+		Workspace workspace = TestClassUtils.fromBundle(bundle);
+		InheritanceGraph graph = recaf.get(InheritanceGraphService.class).newInheritanceGraph(workspace);
+		MappingApplier applier = recaf.get(MappingApplierService.class).inWorkspace(workspace);
+
+		JvmModifyOnce transformer = new JvmModifyOnce("Z");
+		TransformationManager manager = new TransformationManager(Map.of(JvmModifyOnce.class, () -> transformer));
+		TransformationApplier transformationApplier = new TransformationApplier(manager, config, graph, applier, workspace);
+		transformationApplier.setMaxPasses(5);
+
+		Map<Integer, Set<String>> visitedPerPass = new ConcurrentSkipListMap<>();
+		TransformationFeedback feedback = new TransformationFeedback() {
+			@Override
+			public boolean shouldTransform(@Nonnull Workspace workspace, @Nonnull WorkspaceResource resource,
+			                               @Nonnull ClassBundle<?> bundle, @Nonnull ClassInfo classInfo,
+			                               @Nonnull ClassTransformer transformer, int pass) {
+				visitedPerPass.computeIfAbsent(pass, p -> new ConcurrentSkipListSet<>()).add(classInfo.getName());
+				return true;
+			}
+		};
+		transformationApplier.transformJvm(Collections.singletonList(JvmModifyOnce.class), feedback);
+
+		// The second pass only revisits 'Z' and the classes directly referencing or extending it.
+		// Since none of those are modified again, the classes further out are never revisited.
+		assertEquals(Map.of(
+				1, Set.of("X", "Y", "Z", "ZChild", "ZGrandchild", "Unrelated"),
+				2, Set.of("Y", "Z", "ZChild")
+		), visitedPerPass);
+	}
+
+	@Test
+	void classLocalTransformersArePipelined() throws TransformationException {
+		JvmClassBundle bundle = TestClassUtils.fromClasses(
+				TestClassUtils.createEmptyClass("First"),
+				TestClassUtils.createEmptyClass("Second")
+		);
+		Workspace workspace = TestClassUtils.fromBundle(bundle);
+		InheritanceGraph graph = recaf.get(InheritanceGraphService.class).newInheritanceGraph(workspace);
+		MappingApplier applier = recaf.get(MappingApplierService.class).inWorkspace(workspace);
+
+		// Use a single thread so the order of visits is deterministic.
+		TransformationApplierConfig sequentialConfig = new TransformationApplierConfig();
+		sequentialConfig.doParallelize().setValue(false);
+
+		List<String> visits = Collections.synchronizedList(new ArrayList<>());
+		Map<Class<? extends JvmClassTransformer>, Supplier<JvmClassTransformer>> map = new IdentityHashMap<>();
+		map.put(JvmLocalA.class, () -> new JvmLocalA(visits));
+		map.put(JvmLocalB.class, () -> new JvmLocalB(visits));
+		map.put(JvmNonLocal.class, () -> new JvmNonLocal(visits));
+		TransformationManager manager = new TransformationManager(map);
+		TransformationApplier transformationApplier = new TransformationApplier(manager, sequentialConfig, graph, applier, workspace);
+		transformationApplier.transformJvm(List.of(JvmLocalA.class, JvmLocalB.class, JvmNonLocal.class));
+
+		// Each class should be carried through both class-local transformers before the next class is visited.
+		// The non-local transformer should only run once both classes have gone through the class-local ones.
+		assertEquals(6, visits.size());
+		for (int i = 0; i < 4; i += 2) {
+			String className = visits.get(i).substring(0, visits.get(i).indexOf(':'));
+			assertEquals(className + ":local-a", visits.get(i));
+			assertEquals(className + ":local-b", visits.get(i + 1));
+		}
+		assertTrue(visits.get(4).endsWith(":non-local"));
+		assertTrue(visits.get(5).endsWith(":non-local"));
+	}
+
+	@Test
+	void framesOnlyRecomputedForChangedMethods() throws TransformationException {
+		// Both methods declare their frame in full form, where ASM would compute the compressed 'same' form.
+		JvmClassBundle bundle = TestClassUtils.fromClasses(TestClassUtils.createClass("Frames", node -> {
+			addBranchingMethod(node, "changed");
+			addBranchingMethod(node, "unchanged");
+		}));
+		Workspace workspace = TestClassUtils.fromBundle(bundle);
+		InheritanceGraph graph = recaf.get(InheritanceGraphService.class).newInheritanceGraph(workspace);
+		MappingApplier applier = recaf.get(MappingApplierService.class).inWorkspace(workspace);
+
+		TransformationManager manager = new TransformationManager(Map.of(JvmStripFrames.class, JvmStripFrames::new));
+		TransformationApplier transformationApplier = new TransformationApplier(manager, config, graph, applier, workspace);
+		JvmTransformResult result = transformationApplier.transformJvm(Collections.singletonList(JvmStripFrames.class));
+		JvmClassInfo transformed = result.getTransformedClasses().values().iterator().next();
+
+		// The changed method gets newly computed frames, while the other keeps its existing frames as-is.
+		ClassNode node = new ClassNode();
+		transformed.getClassReader().accept(node, 0);
+		for (MethodNode method : node.methods) {
+			FrameNode frame = (FrameNode) Arrays.stream(method.instructions.toArray())
+					.filter(insn -> insn instanceof FrameNode)
+					.findFirst().orElseThrow();
+			int expectedType = method.name.equals("changed") ? Opcodes.F_SAME : Opcodes.F_FULL;
+			assertEquals(expectedType, frame.type, "Unexpected frame type in " + method.name);
+		}
+	}
+
+	@Test
+	void estimateRunsTransformersInIsolationOnSample() throws TransformationException {
+		JvmClassBundle bundle = TestClassUtils.fromClasses(
+				TestClassUtils.createEmptyClass("Modified"),
+				TestClassUtils.createEmptyClass("Other1"),
+				TestClassUtils.createEmptyClass("Other2"),
+				TestClassUtils.createEmptyClass("Other3")
+		);
+		Workspace workspace = TestClassUtils.fromBundle(bundle);
+		InheritanceGraph graph = recaf.get(InheritanceGraphService.class).newInheritanceGraph(workspace);
+		MappingApplier applier = recaf.get(MappingApplierService.class).inWorkspace(workspace);
+		JvmClassInfo original = bundle.get("Modified");
+
+		Map<Class<? extends JvmClassTransformer>, Supplier<JvmClassTransformer>> map = new IdentityHashMap<>();
+		map.put(JvmModifyOnce.class, () -> new JvmModifyOnce("Modified"));
+		map.put(JvmStripFrames.class, JvmStripFrames::new);
+		TransformationManager manager = new TransformationManager(map);
+		TransformationApplier transformationApplier = new TransformationApplier(manager, config, graph, applier, workspace);
+
+		// With a sample covering all classes, only the targeted class should be affected.
+		List<TransformerImpactEstimate> estimates = transformationApplier.estimateJvmImpact(List.of(JvmModifyOnce.class, JvmStripFrames.class), 10);
+		assertEquals(2, estimates.size());
+		TransformerImpactEstimate modifyEstimate = estimates.getFirst();
+		assertEquals(JvmModifyOnce.class, modifyEstimate.transformerClass());
+		assertEquals(4, modifyEstimate.totalClasses());
+		assertEquals(4, modifyEstimate.sampledClasses());
+		assertEquals(1, modifyEstimate.affectedClasses());
+		assertEquals(0.25, modifyEstimate.affectedRatio());
+		assertEquals(4, estimates.get(1).affectedClasses(), "Transformer setting every node should affect all classes");
+
+		// The sample should be bounded, and the workspace should not be modified by the dry-run.
+		estimates = transformationApplier.estimateJvmImpact(List.of(JvmStripFrames.class), 2);
+		assertEquals(2, estimates.getFirst().sampledClasses());
+		assertEquals(4, estimates.getFirst().estimatedAffectedClasses());
+		assertSame(original, bundle.get("Modified"), "Estimation should not modify the workspace");
+	}
+
+	@Test
+	void estimateRunsDependenciesOnSampleBeforeTarget() throws TransformationException {
+		JvmClassBundle bundle = TestClassUtils.fromClasses(
+				TestClassUtils.createEmptyClass("Class1"),
+				TestClassUtils.createEmptyClass("Class2"),
+				TestClassUtils.createEmptyClass("Class3")
+		);
+		Workspace workspace = TestClassUtils.fromBundle(bundle);
+		InheritanceGraph graph = recaf.get(InheritanceGraphService.class).newInheritanceGraph(workspace);
+		MappingApplier applier = recaf.get(MappingApplierService.class).inWorkspace(workspace);
+
+		Map<Class<? extends JvmClassTransformer>, Supplier<JvmClassTransformer>> map = new IdentityHashMap<>();
+		map.put(JvmCollectNames.class, JvmCollectNames::new);
+		map.put(JvmModifyCollected.class, JvmModifyCollected::new);
+		TransformationManager manager = new TransformationManager(map);
+		TransformationApplier transformationApplier = new TransformationApplier(manager, config, graph, applier, workspace);
+
+		// The collector must visit every sampled class before the dependent transformer runs, as it would in a full run.
+		// The collector's own visits should not count towards the dependent transformer's estimate.
+		List<TransformerImpactEstimate> estimates = transformationApplier.estimateJvmImpact(List.of(JvmModifyCollected.class), 10);
+		TransformerImpactEstimate estimate = estimates.getFirst();
+		assertEquals(JvmModifyCollected.class, estimate.transformerClass());
+		assertEquals(3, estimate.sampledClasses());
+		assertEquals(3, estimate.affectedClasses(), "Dependent transformer should see the work of its collector");
+		assertEquals(0, estimate.failedClasses());
+	}
+
+	private static void addBranchingMethod(@Nonnull ClassNode node, @Nonnull String name) {
+		MethodVisitor mv = node.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC, name, "(I)I", null, null);
+		mv.visitCode();
+		Label zero = new Label();
+		mv.visitVarInsn(Opcodes.ILOAD, 0);
+		mv.visitJumpInsn(Opcodes.IFEQ, zero);
+		mv.visitInsn(Opcodes.ICONST_1);
+		mv.visitInsn(Opcodes.IRETURN);
+		mv.visitLabel(zero);
+		mv.visitFrame(Opcodes.F_FULL, 1, new Object[]{Opcodes.INTEGER}, 0, new Object[0]);
+		mv.visitInsn(Opcodes.ICONST_0);
+		mv.visitInsn(Opcodes.IRETURN);
+		mv.visitMaxs(1, 1);
+		mv.visitEnd();
+	}
+
+	static class JvmStripFrames implements JvmClassTransformer {
+		@Override
+		public void transform(@Nonnull JvmTransformerContext context, @Nonnull Workspace workspace,
+		                      @Nonnull WorkspaceResource resource, @Nonnull JvmClassBundle bundle,
+		                      @Nonnull JvmClassInfo initialClassState) {
+			ClassNode node = context.getNode(bundle, initialClassState);
+			for (MethodNode method : node.methods)
+				if (method.name.equals("changed"))
+					for (AbstractInsnNode insn : method.instructions.toArray())
+						if (insn instanceof FrameNode)
+							method.instructions.remove(insn);
+			context.setNode(bundle, initialClassState, node);
+			context.setRecomputeFrames(initialClassState.getName());
+		}
+
+		@Nonnull
+		@Override
+		public String name() {
+			return "jvm-strip-frames";
+		}
+	}
+
+	static class JvmModifyOnce implements JvmClassTransformer {
+		private final String target;
+		private final AtomicBoolean modified = new AtomicBoolean();
+
+		JvmModifyOnce(@Nonnull String target) {
+			this.target = target;
+		}
+
+		@Override
+		public void transform(@Nonnull JvmTransformerContext context, @Nonnull Workspace workspace,
+		                      @Nonnull WorkspaceResource resource, @Nonnull JvmClassBundle bundle,
+		                      @Nonnull JvmClassInfo initialClassState) {
+			if (initialClassState.getName().equals(target) && modified.compareAndSet(false, true)) {
+				ClassNode node = context.getNode(bundle, initialClassState);
+				node.visitField(Opcodes.ACC_PRIVATE, "added", "I", null, null);
+				context.setNode(bundle, initialClassState, node);
+			}
+		}
+
+		@Nonnull
+		@Override
+		public String name() {
+			return "jvm-modify-once";
+		}
+	}
+
+	static class JvmCollectNames implements JvmClassTransformer {
+		private final Set<String> names = new ConcurrentSkipListSet<>();
+
+		@Override
+		public void transform(@Nonnull JvmTransformerContext context, @Nonnull Workspace workspace,
+		                      @Nonnull WorkspaceResource resource, @Nonnull JvmClassBundle bundle,
+		                      @Nonnull JvmClassInfo initialClassState) {
+			names.add(initialClassState.getName());
+		}
+
+		@Nonnull
+		public Set<String> getNames() {
+			return names;
+		}
+
+		@Nonnull
+		@Override
+		public String name() {
+			return "jvm-collect-names";
+		}
+	}
+
+	static class JvmModifyCollected implements JvmClassTransformer {
+		@Override
+		public void transform(@Nonnull JvmTransformerContext context, @Nonnull Workspace workspace,
+		                      @Nonnull WorkspaceResource resource, @Nonnull JvmClassBundle bundle,
+		                      @Nonnull JvmClassInfo initialClassState) throws TransformationException {
+			// Only modify classes once the collector has seen every class in the bundle.
+			JvmCollectNames collector = context.getTransformer(JvmCollectNames.class);
+			if (collector.getNames().size() == bundle.size() && collector.getNames().contains(initialClassState.getName())) {
+				ClassNode node = context.getNode(bundle, initialClassState);
+				node.visitField(Opcodes.ACC_PRIVATE, "added", "I", null, null);
+				context.setNode(bundle, initialClassState, node);
+			}
+		}
+
+		@Nonnull
+		@Override
+		public Set<Class<? extends ClassTransformer>> dependencies() {
+			return Collections.singleton(JvmCollectNames.class);
+		}
+
+		@Nonnull
+		@Override
+		public String name() {
+			return "jvm-modify-collected";
+		}
+	}
+
+	static class JvmLocalA extends JvmVisitRecording {
+		JvmLocalA(@Nonnull List<String> visits) {
+			super(visits, true);
+		}
+
+		@Nonnull
+		@Override
+		public String name() {
+			return "local-a";
+		}
+	}
+
+	static class JvmLocalB extends JvmVisitRecording {
+		JvmLocalB(@Nonnull List<String> visits) {
+			super(visits, true);
+		}
+
+		@Nonnull
+		@Override
+		public String name() {
+			return "local-b";
+		}
+	}
+
+	static class JvmNonLocal extends JvmVisitRecording {
+		JvmNonLocal(@Nonnull List<String> visits) {
+			super(visits, false);
+		}
+
+		@Nonnull
+		@Override
+		public String name() {
+			return "non-local";
+		}
+	}
+
+	static abstract class JvmVisitRecording implements JvmClassTransformer {
+		private final List<String> visits;
+		private final boolean classLocal;
+
+		JvmVisitRecording(@Nonnull List<String> visits, boolean classLocal) {
+			this.visits = visits;
+			this.classLocal = classLocal;
+		}
+
+		@Override
+		public void transform(@Nonnull JvmTransformerContext context, @Nonnull Workspace workspace,
+		                      @Nonnull WorkspaceResource resource, @Nonnull JvmClassBundle bundle,
+		                      @Nonnull JvmClassInfo initialClassState) {
+			visits.add(initialClassState.getName() + ":" + name());
+		}
+
+		@Override
+		public boolean isClassLocal() {
+			return classLocal;
+		}
+	}
+
 	static class JvmTransformerA implements JvmClassTransformer {
 
 		@Override
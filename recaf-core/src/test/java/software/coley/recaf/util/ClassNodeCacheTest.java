@@ -0,0 +1,84 @@
+package software.coley.recaf.util;
+
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.InsnNode;
+import org.objectweb.asm.tree.JumpInsnNode;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.VarInsnNode;
+import software.coley.recaf.info.JvmClassInfo;
+import software.coley.recaf.test.TestClassUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link ClassNodeCache}.
+ */
+class ClassNodeCacheTest {
+	@Test
+	void sharedNodesAreCachedPerFlags() {
+		JvmClassInfo classInfo = newClass();
+
+		ClassNode shared = ClassNodeCache.getShared(classInfo, 0);
+		assertSame(shared, ClassNodeCache.getShared(classInfo, 0), "Same flags should yield the same node");
+		assertNotSame(shared, ClassNodeCache.getShared(classInfo, ClassReader.SKIP_FRAMES), "Different flags should yield different nodes");
+
+		// Invalidation drops the cached nodes.
+		ClassNodeCache.invalidate(classInfo);
+		assertNotSame(shared, ClassNodeCache.getShared(classInfo, 0));
+	}
+
+	@Test
+	void updatedClassModelDoesNotSeeStaleNode() {
+		JvmClassInfo classInfo = newClass();
+		ClassNode shared = ClassNodeCache.getShared(classInfo, 0);
+
+		// New class models start with an empty cache.
+		JvmClassInfo updated = classInfo.toJvmClassBuilder().build();
+		assertNotSame(shared, ClassNodeCache.getShared(updated, 0));
+	}
+
+	@Test
+	void copiesAreIndependentOfSharedNode() {
+		JvmClassInfo classInfo = newClass();
+		ClassNode shared = ClassNodeCache.getShared(classInfo, 0);
+		ClassNode copy = ClassNodeCache.getCopy(classInfo, 0);
+		assertNotSame(shared, copy);
+
+		MethodNode sharedMethod = shared.methods.getFirst();
+		MethodNode copyMethod = copy.methods.getFirst();
+		assertNotSame(sharedMethod.instructions, copyMethod.instructions);
+		assertEquals(sharedMethod.instructions.size(), copyMethod.instructions.size());
+
+		// Jumps in the copy must target labels in the copy, not in the shared node.
+		JumpInsnNode copyJump = (JumpInsnNode) copyMethod.instructions.get(1);
+		assertTrue(copyMethod.instructions.contains(copyJump.label));
+		assertFalse(sharedMethod.instructions.contains(copyJump.label));
+
+		// Modifying the copy should not affect the shared node, or later copies.
+		int size = sharedMethod.instructions.size();
+		copyMethod.instructions.clear();
+		assertEquals(size, sharedMethod.instructions.size());
+		assertEquals(size, ClassNodeCache.getCopy(classInfo, 0).methods.getFirst().instructions.size());
+	}
+
+	private static JvmClassInfo newClass() {
+		return TestClassUtils.createClass("Example", node -> {
+			MethodNode method = new MethodNode(Opcodes.ACC_STATIC, "check", "(I)I", null, null);
+			LabelNode label = new LabelNode();
+			method.instructions.add(new VarInsnNode(Opcodes.ILOAD, 0));
+			method.instructions.add(new JumpInsnNode(Opcodes.IFEQ, label));
+			method.instructions.add(new InsnNode(Opcodes.ICONST_1));
+			method.instructions.add(new InsnNode(Opcodes.IRETURN));
+			method.instructions.add(label);
+			method.instructions.add(new InsnNode(Opcodes.ICONST_0));
+			method.instructions.add(new InsnNode(Opcodes.IRETURN));
+			method.maxStack = 1;
+			method.maxLocals = 1;
+			node.methods.add(method);
+		});
+	}
+}
@@ -0,0 +1,84 @@
+package software.coley.recaf.util.analysis;
+
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.tree.InsnNode;
+import org.objectweb.asm.tree.JumpInsnNode;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.VarInsnNode;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.objectweb.asm.Opcodes.*;
+
+/**
+ * Tests for {@link ControlFlowGraph}.
+ */
+class ControlFlowGraphTest {
+	@Test
+	void testBlocksAndDominators() {
+		// if (arg == 0) x = 2; else x = 1; return x;
+		// followed by a dead block.
+		LabelNode elseLabel = new LabelNode();
+		LabelNode joinLabel = new LabelNode();
+		LabelNode deadLabel = new LabelNode();
+		JumpInsnNode branch = new JumpInsnNode(IFEQ, elseLabel);
+		MethodNode method = new MethodNode(ACC_STATIC, "example", "(I)I", null, null);
+		method.instructions.add(new LabelNode());
+		method.instructions.add(new VarInsnNode(ILOAD, 0));
+		method.instructions.add(branch);
+		method.instructions.add(new LabelNode());
+		method.instructions.add(new InsnNode(ICONST_1));
+		method.instructions.add(new VarInsnNode(ISTORE, 1));
+		method.instructions.add(new JumpInsnNode(GOTO, joinLabel));
+		method.instructions.add(elseLabel);
+		method.instructions.add(new InsnNode(ICONST_2));
+		method.instructions.add(new VarInsnNode(ISTORE, 1));
+		method.instructions.add(joinLabel);
+		method.instructions.add(new VarInsnNode(ILOAD, 1));
+		method.instructions.add(new InsnNode(IRETURN));
+		method.instructions.add(deadLabel);
+		method.instructions.add(new InsnNode(ICONST_0));
+		method.instructions.add(new InsnNode(IRETURN));
+
+		ControlFlowGraph graph = ControlFlowGraph.of(method);
+		List<ControlFlowGraph.Block> blocks = graph.getBlocks();
+		assertEquals(5, blocks.size());
+		ControlFlowGraph.Block entry = blocks.get(0);
+		ControlFlowGraph.Block thenBlock = blocks.get(1);
+		ControlFlowGraph.Block elseBlock = blocks.get(2);
+		ControlFlowGraph.Block join = blocks.get(3);
+		ControlFlowGraph.Block dead = blocks.get(4);
+		assertSame(entry, graph.getEntry());
+		assertSame(join, graph.getBlock(joinLabel));
+		assertEquals(List.of(elseBlock, thenBlock), entry.getSuccessors());
+		assertEquals(List.of(thenBlock, elseBlock), join.getPredecessors());
+
+		// Both branches join back up, so only the entry dominates the join.
+		assertNull(entry.getImmediateDominator());
+		assertSame(entry, thenBlock.getImmediateDominator());
+		assertSame(entry, elseBlock.getImmediateDominator());
+		assertSame(entry, join.getImmediateDominator());
+		assertTrue(entry.dominates(join));
+		assertTrue(join.dominates(join));
+		assertFalse(thenBlock.dominates(join));
+		assertFalse(elseBlock.dominates(join));
+
+		// Nothing reaches the trailing block.
+		assertFalse(dead.isReachable());
+		assertFalse(graph.isReachable(deadLabel));
+		assertNull(dead.getImmediateDominator());
+		assertFalse(entry.dominates(dead));
+
+		// Graphs are snapshots, so after retargeting a jump a new graph reflects the new flow.
+		branch.label = deadLabel;
+		ControlFlowGraph updated = ControlFlowGraph.of(method);
+		assertNotSame(graph, updated);
+		assertTrue(updated.isReachable(deadLabel));
+		assertFalse(updated.isReachable(elseLabel));
+
+		// With the else block no longer reachable, the join can only be reached through the then block.
+		assertSame(updated.getBlock(joinLabel).getPredecessors().getFirst(), updated.getBlock(joinLabel).getImmediateDominator());
+	}
+}
@@ -4,6 +4,7 @@
 import jakarta.annotation.Nullable;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import software.coley.recaf.info.JvmClassInfo;
 import software.coley.recaf.info.StubFileInfo;
 import software.coley.recaf.path.ClassPathNode;
 import software.coley.recaf.test.dummy.AccessibleFields;
@@ -13,8 +14,14 @@
 import software.coley.recaf.test.dummy.ClassWithConstructor;
 import software.coley.recaf.test.dummy.ClassWithExceptions;
 import software.coley.recaf.workspace.model.bundle.BasicAndroidClassBundle;
+import software.coley.recaf.workspace.model.bundle.BasicJvmClassBundle;
+import software.coley.recaf.workspace.model.bundle.BasicVersionedJvmClassBundle;
 import software.coley.recaf.workspace.model.bundle.Bundle;
+import software.coley.recaf.workspace.model.bundle.BundleChangeSet;
+import software.coley.recaf.workspace.model.bundle.JvmClassBundle;
+import software.coley.recaf.workspace.model.bundle.VersionedJvmClassBundle;
 import software.coley.recaf.workspace.model.resource.AndroidApiResource;
+import software.coley.recaf.workspace.model.resource.ResourceJvmClassListener;
 import software.coley.recaf.workspace.model.resource.RuntimeWorkspaceResource;
 import software.coley.recaf.workspace.model.resource.WorkspaceFileResource;
 import software.coley.recaf.workspace.model.resource.WorkspaceFileResourceBuilder;
@@ -22,13 +29,17 @@
 import software.coley.recaf.workspace.model.resource.WorkspaceResourceBuilder;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.SortedSet;
+import java.util.TreeMap;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
+import static software.coley.recaf.test.TestClassUtils.createEmptyClass;
 import static software.coley.recaf.test.TestClassUtils.fromClasses;
 
 /**
@@ -283,4 +294,222 @@ private static ClassPathNode findClass(@Nonnull Workspace workspace, @Nonnull Cl
 			return workspace.findClass(includeInternal, type.getName().replace('.', '/'));
 		}
 	}
+
+	@Nested
+	class Batching {
+		@Test
+		void batchDeliversSingleCoalescedUpdate() {
+			JvmClassInfo a = createEmptyClass("A");
+			JvmClassInfo b = createEmptyClass("B");
+			BasicJvmClassBundle bundle = fromClasses(a, b);
+			WorkspaceResource resource = new WorkspaceResourceBuilder().withJvmClassBundle(bundle).build();
+
+			List<BundleChangeSet<JvmClassInfo>> batches = new ArrayList<>();
+			ResourceJvmClassListener listener = spy(new ResourceJvmClassListener() {
+				@Override
+				public void onNewClass(@Nonnull WorkspaceResource resource, @Nonnull JvmClassBundle bundle, @Nonnull JvmClassInfo cls) {}
+
+				@Override
+				public void onUpdateClass(@Nonnull WorkspaceResource resource, @Nonnull JvmClassBundle bundle,
+				                          @Nonnull JvmClassInfo oldCls, @Nonnull JvmClassInfo newCls) {}
+
+				@Override
+				public void onRemoveClass(@Nonnull WorkspaceResource resource, @Nonnull JvmClassBundle bundle, @Nonnull JvmClassInfo cls) {}
+
+				@Override
+				public void onBatchUpdate(@Nonnull WorkspaceResource resource, @Nonnull JvmClassBundle bundle,
+				                          @Nonnull BundleChangeSet<JvmClassInfo> changes) {
+					batches.add(changes);
+				}
+			});
+			resource.addResourceJvmClassListener(listener);
+
+			JvmClassInfo a2 = createEmptyClass("A");
+			JvmClassInfo a3 = createEmptyClass("A");
+			JvmClassInfo c = createEmptyClass("C");
+			JvmClassInfo d = createEmptyClass("D");
+			bundle.batch(() -> {
+				// Nested batches are only delivered when the outermost batch completes
+				bundle.batch(() -> bundle.put(a2));
+				bundle.put(a3);
+				bundle.remove("B");
+				bundle.put(c);
+				bundle.put(d);
+				bundle.remove("D");
+			});
+
+			// No individual callbacks, just one batch
+			verify(listener, never()).onNewClass(any(), any(), any());
+			verify(listener, never()).onUpdateClass(any(), any(), any(), any());
+			verify(listener, never()).onRemoveClass(any(), any(), any());
+			assertEquals(1, batches.size());
+
+			// Changes to the same key are coalesced:
+			//  - A updated twice --> one update from original to latest
+			//  - D added then removed --> no change
+			BundleChangeSet<JvmClassInfo> changes = batches.getFirst();
+			assertEquals(3, changes.size());
+			assertSame(a, changes.getUpdated().get("A").oldValue());
+			assertSame(a3, changes.getUpdated().get("A").newValue());
+			assertSame(b, changes.getRemoved().get("B"));
+			assertSame(c, changes.getAdded().get("C"));
+			assertFalse(changes.getAdded().containsKey("D"));
+			assertFalse(changes.getRemoved().containsKey("D"));
+
+			// Outside a batch, individual callbacks resume
+			bundle.put(createEmptyClass("E"));
+			verify(listener, times(1)).onNewClass(any(), any(), any());
+			assertEquals(1, batches.size());
+		}
+
+		@Test
+		void defaultBatchHandlingReplaysChanges() {
+			JvmClassInfo a = createEmptyClass("A");
+			BasicJvmClassBundle bundle = fromClasses(a);
+			WorkspaceResource resource = new WorkspaceResourceBuilder().withJvmClassBundle(bundle).build();
+			ResourceJvmClassListener listener = mock(ResourceJvmClassListener.class, CALLS_REAL_METHODS);
+			resource.addResourceJvmClassListener(listener);
+
+			JvmClassInfo a2 = createEmptyClass("A");
+			resource.batch(() -> {
+				bundle.remove("A");
+				bundle.put(a2);
+				bundle.put(createEmptyClass("B"));
+			});
+
+			// Removing then re-adding 'A' is seen as an update
+			verify(listener, times(1)).onUpdateClass(resource, bundle, a, a2);
+			verify(listener, times(1)).onNewClass(any(), any(), any());
+			verify(listener, never()).onRemoveClass(any(), any(), any());
+		}
+
+		@Test
+		void batchOnlyCapturesChangesOfCallingThread() {
+			BasicJvmClassBundle bundle = fromClasses(createEmptyClass("A"));
+			WorkspaceResource resource = new WorkspaceResourceBuilder().withJvmClassBundle(bundle).build();
+			ResourceJvmClassListener listener = mock(ResourceJvmClassListener.class);
+			resource.addResourceJvmClassListener(listener);
+
+			JvmClassInfo b = createEmptyClass("B");
+			JvmClassInfo c = createEmptyClass("C");
+			bundle.batch(() -> {
+				bundle.put(b);
+
+				// Changes from another thread are not deferred into this thread's batch
+				Thread thread = new Thread(() -> bundle.put(c));
+				thread.start();
+				assertDoesNotThrow(() -> thread.join());
+				verify(listener, times(1)).onNewClass(resource, bundle, c);
+				verify(listener, never()).onBatchUpdate(any(), any(JvmClassBundle.class), any());
+			});
+
+			// Only the change from the batching thread is in the batch
+			verify(listener, times(1)).onBatchUpdate(eq(resource), eq(bundle),
+					argThat(changes -> changes.size() == 1 && changes.getAdded().get("B") == b));
+		}
+
+		@Test
+		void defaultBatchRunsModifications() {
+			Bundle<JvmClassInfo> bundle = mock(Bundle.class, CALLS_REAL_METHODS);
+			Runnable modifications = mock(Runnable.class);
+			bundle.batch(modifications);
+			verify(modifications, times(1)).run();
+		}
+	}
+
+	@Nested
+	class ClassIndex {
+		@Test
+		void lookupsReflectBundleChanges() {
+			BasicJvmClassBundle bundle = fromClasses(createEmptyClass("A"));
+			Workspace workspace = new BasicWorkspace(new WorkspaceResourceBuilder().withJvmClassBundle(bundle).build());
+
+			// Repeated lookups yield the same cached path
+			ClassPathNode path = workspace.findJvmClass("A");
+			assertNotNull(path);
+			assertSame(path, workspace.findJvmClass("A"));
+			assertNull(workspace.findJvmClass("B"));
+
+			// Adding a class previously looked up as missing should be visible
+			JvmClassInfo b = createEmptyClass("B");
+			bundle.put(b);
+			ClassPathNode pathB = workspace.findJvmClass("B");
+			assertNotNull(pathB);
+			assertSame(b, pathB.getValue());
+
+			// Updating a class should yield a path to the new value
+			JvmClassInfo a2 = createEmptyClass("A");
+			bundle.put(a2);
+			assertSame(a2, workspace.findClass("A").getValue());
+
+			// Removing a class should no longer yield a path
+			bundle.remove("A");
+			assertNull(workspace.findJvmClass("A"));
+		}
+
+		@Test
+		void lookupsReflectSupportingResourceChanges() {
+			Workspace workspace = new BasicWorkspace(new WorkspaceResourceBuilder().build());
+			assertNull(workspace.findJvmClass("A"));
+
+			WorkspaceResource library = new WorkspaceResourceBuilder()
+					.withJvmClassBundle(fromClasses(createEmptyClass("A")))
+					.build();
+			workspace.addSupportingResource(library);
+			ClassPathNode path = workspace.findJvmClass("A");
+			assertNotNull(path);
+			assertSame(library, path.getValueOfType(WorkspaceResource.class));
+
+			workspace.removeSupportingResource(library);
+			assertNull(workspace.findJvmClass("A"));
+		}
+
+		@Test
+		void lookupsDuringBatchSeeChanges() {
+			BasicJvmClassBundle bundle = fromClasses(createEmptyClass("A"));
+			Workspace workspace = new BasicWorkspace(new WorkspaceResourceBuilder().withJvmClassBundle(bundle).build());
+			ClassPathNode path = workspace.findJvmClass("A");
+			assertNotNull(path);
+			assertNull(workspace.findJvmClass("B"));
+
+			// Changes in a batch are not delivered until it ends, but lookups within the batch should still see them
+			JvmClassInfo a2 = createEmptyClass("A");
+			JvmClassInfo b = createEmptyClass("B");
+			bundle.batch(() -> {
+				assertNull(workspace.findJvmClass("C"));
+				bundle.put(a2);
+				bundle.put(b);
+				bundle.put(createEmptyClass("C"));
+				assertSame(a2, workspace.findJvmClass("A").getValue());
+				assertSame(b, workspace.findJvmClass("B").getValue());
+				assertNotNull(workspace.findJvmClass("C"));
+			});
+			assertSame(a2, workspace.findJvmClass("A").getValue());
+			assertSame(workspace.findJvmClass("B"), workspace.findJvmClass("B"));
+		}
+
+		@Test
+		void versionedLookupsReflectBundleChanges() {
+			BasicVersionedJvmClassBundle v9 = new BasicVersionedJvmClassBundle(9);
+			BasicVersionedJvmClassBundle v11 = new BasicVersionedJvmClassBundle(11);
+			JvmClassInfo a9 = createEmptyClass("A");
+			v9.initialPut(a9);
+			NavigableMap<Integer, VersionedJvmClassBundle> versioned = new TreeMap<>(Map.of(9, v9, 11, v11));
+			Workspace workspace = new BasicWorkspace(new WorkspaceResourceBuilder().withVersionedJvmClassBundles(versioned).build());
+
+			// Repeated lookups yield the same cached path
+			ClassPathNode path = workspace.findVersionedJvmClass("A", 11);
+			assertNotNull(path);
+			assertSame(a9, path.getValue());
+			assertSame(path, workspace.findVersionedJvmClass("A", 11));
+			assertNull(workspace.findVersionedJvmClass("A", 8));
+
+			// Adding a class to a higher version should shadow the lower version for lookups supporting it
+			JvmClassInfo a11 = createEmptyClass("A");
+			v11.put(a11);
+			assertSame(a11, workspace.findVersionedJvmClass("A", 11).getValue());
+			assertSame(a11, workspace.findLatestVersionedJvmClass("A").getValue());
+			assertSame(a9, workspace.findVersionedJvmClass("A", 10).getValue());
+		}
+	}
 }
@@ -58,6 +58,7 @@ public class KeybindingConfig extends BasicConfigContainer {
 	private static final String ID_FIND = "editor.find";
 	private static final String ID_REPLACE = "editor.replace";
 	private static final String ID_SAVE = "editor.save";
+	private static final String ID_SAVE_ALL = "editor.saveall";
 	private static final String ID_UNDO = "editor.undo";
 	private static final String ID_CLOSE_TAB = "editor.closetab";
 	private static final String ID_RENAME = "editor.rename";
@@ -79,6 +80,7 @@ public KeybindingConfig(@Nonnull GsonProvider gsonProvider, @Nonnull ConfigCompo
 				createBindForPlatform(ID_FIND, CONTROL, F),
 				createBindForPlatform(ID_REPLACE, CONTROL, R),
 				createBindForPlatform(ID_SAVE, CONTROL, S),
+				createBindForPlatform(ID_SAVE_ALL, CONTROL, SHIFT, S),
 				createBindForPlatform(ID_UNDO, CONTROL, U),
 				createBindForPlatform(ID_CLOSE_TAB, CONTROL, W),
 				createBindForPlatform(ID_RENAME, ALT, R),
@@ -166,6 +168,14 @@ public Binding getSave() {
 		return Objects.requireNonNull(bundle.get(ID_SAVE));
 	}
 
+	/**
+	 * @return Keybinding to save all unsaved edits of classes in the workspace at once.
+	 */
+	@Nonnull
+	public Binding getSaveAll() {
+		return Objects.requireNonNull(bundle.get(ID_SAVE_ALL));
+	}
+
 	/**
 	 * @return Keybinding to undo the last saved state within a {@link ClassPane} or {@link FilePane}.
 	 */
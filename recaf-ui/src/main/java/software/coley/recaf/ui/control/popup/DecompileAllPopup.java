@@ -1,6 +1,7 @@
 package software.coley.recaf.ui.control.popup;
 
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import jakarta.enterprise.context.Dependent;
 import jakarta.inject.Inject;
 import javafx.beans.property.BooleanProperty;
@@ -19,36 +20,35 @@
 import software.coley.observables.ObservableObject;
 import software.coley.recaf.analytics.logging.Logging;
 import software.coley.recaf.info.ClassInfo;
-import software.coley.recaf.info.JvmClassInfo;
+import software.coley.recaf.services.decompile.DecompileResult;
 import software.coley.recaf.services.decompile.DecompilerManager;
 import software.coley.recaf.services.decompile.JvmDecompiler;
+import software.coley.recaf.services.decompile.bulk.BulkDecompilationFeedback;
+import software.coley.recaf.services.decompile.bulk.BulkDecompilationResult;
+import software.coley.recaf.services.decompile.bulk.BulkDecompilationService;
+import software.coley.recaf.services.decompile.bulk.BulkDecompilationSink;
 import software.coley.recaf.services.workspace.WorkspaceManager;
 import software.coley.recaf.ui.config.RecentFilesConfig;
 import software.coley.recaf.ui.control.ActionButton;
 import software.coley.recaf.ui.control.BoundLabel;
 import software.coley.recaf.ui.control.ObservableComboBox;
-import software.coley.recaf.ui.pane.editing.jvm.DecompilerPaneConfig;
 import software.coley.recaf.ui.window.RecafScene;
 import software.coley.recaf.ui.window.RecafStage;
 import software.coley.recaf.util.FileChooserBuilder;
 import software.coley.recaf.util.FxThreadUtil;
 import software.coley.recaf.util.Lang;
 import software.coley.recaf.util.StringUtil;
-import software.coley.recaf.util.io.ZipCreationUtils;
+import software.coley.recaf.util.threading.ThreadUtil;
 import software.coley.recaf.workspace.model.Workspace;
 import software.coley.recaf.workspace.model.bundle.ClassBundle;
 import software.coley.recaf.workspace.model.resource.WorkspaceFileResource;
 
 import java.io.File;
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Predicate;
 
 /**
@@ -67,8 +67,8 @@ public class DecompileAllPopup extends RecafStage {
 
 	@Inject
 	public DecompileAllPopup(@Nonnull DecompilerManager decompilerManager,
+	                         @Nonnull BulkDecompilationService bulkDecompilationService,
 	                         @Nonnull RecentFilesConfig recentFilesConfig,
-	                         @Nonnull DecompilerPaneConfig decompilerPaneConfig,
 	                         @Nonnull WorkspaceManager workspaceManager) {
 		Workspace workspace = workspaceManager.getCurrent();
 		String defaultName = buildName(workspace);
@@ -96,88 +96,38 @@ public DecompileAllPopup(@Nonnull DecompilerManager decompilerManager,
 			}
 		});
 		Button decompileButton = new ActionButton(CarbonIcons.SAVE_SERIES, Lang.getBinding("menu.file.decompileall"), () -> {
-			try {
-				inProgressProperty.setValue(true);
-				progress.setProgress(0);
-
-				// Determine which classes to decompile.
-				//
-				// We'll also map any class models in the bundle to JVM models (which will convert android classes if needed)
-				// since we only support decompilation of JVM classes.
-				List<JvmClassInfo> targetClasses = new ArrayList<>();
-				for (ClassInfo cls : targetBundle.valuesAsCopy()) {
-					// Skip inner classes
-					if (cls.isInnerClass())
-						continue;
-
-					// Skip special case classes like 'module-info' and 'package-info'
-					String name = cls.getName();
-					if (cls.getSuperName() == null || name.equals("module-info") || name.endsWith("package-info"))
-						continue;
-
-					// Pass to name predicate for final say
-					if (!namePredicate.test(name))
-						continue;
-
-					// Require the class to be a JVM class, converting if needed.
-					// If conversion fails, skip the class.
-					try {
-						targetClasses.add(cls.asJvmClass());
-					} catch (Throwable t) {
-						logger.warn("Failed to convert Android class '{}' to JVM bytecode for decompilation", name, t);
-					}
-				}
-
-				// Determine delta of each decompilation
-				int targetCount = targetClasses.size();
-				if (targetCount == 0) {
-					logger.warn("No classes could be selected for decompilation");
-					inProgressProperty.setValue(false);
-					progress.setProgress(1);
-					return;
+			inProgressProperty.setValue(true);
+			progress.setProgress(0);
+
+			// Decompile all classes in the background, streaming outputs to the target path as they complete.
+			JvmDecompiler decompiler = decompilerProperty.getValue();
+			Path path = pathProperty.get();
+			List<ClassInfo> classes = new ArrayList<>(targetBundle.valuesAsCopy());
+			CompletableFuture.runAsync(() -> {
+				try (BulkDecompilationSink sink = BulkDecompilationSink.forPath(path)) {
+					BulkDecompilationResult result = bulkDecompilationService.decompile(workspace, decompiler, classes, sink, new BulkDecompilationFeedback() {
+						@Override
+						public boolean doDecompile(@Nonnull ClassInfo cls) {
+							return namePredicate.test(cls.getName());
+						}
+
+						@Override
+						public void onClassCompleted(@Nonnull ClassInfo cls, @Nullable DecompileResult result,
+						                             @Nullable Throwable error, int completed, int total) {
+							FxThreadUtil.run(() -> progress.setProgress((double) completed / total));
+						}
+					});
+					if (result.total() == 0)
+						logger.warn("No classes could be selected for decompilation");
+				} catch (Throwable t) {
+					logger.error("Failed to write archive of decompiled classes to '{}'", path, t);
+				} finally {
+					FxThreadUtil.run(() -> {
+						inProgressProperty.setValue(false);
+						progress.setProgress(1);
+					});
 				}
-				AtomicInteger actionedClasses = new AtomicInteger(targetCount);
-
-				// Decompile all classes
-				JvmDecompiler decompiler = decompilerProperty.getValue();
-				ZipCreationUtils.ZipBuilder builder = ZipCreationUtils.builder();
-				targetClasses.forEach(cls -> {
-					String name = cls.getName();
-					decompilerManager.decompile(decompiler, workspace, cls)
-							.orTimeout(decompilerPaneConfig.getTimeoutSeconds().getValue(), TimeUnit.SECONDS)
-							.whenComplete((result, error) -> {
-								int remaining = actionedClasses.decrementAndGet();
-								if (result != null) {
-									// Handle errors
-									if (result.getException() != null) {
-										logger.error("Failed to decompile '{}'", name, result.getException());
-										return;
-									}
-
-									// Write decompilation output
-									String text = result.getText();
-									if (text != null)
-										builder.add(name + ".java", text.getBytes(StandardCharsets.UTF_8));
-								} else {
-									logger.error("Failed to decompile '{}'", name, error);
-								}
-
-								// If done, write the zip file
-								if (remaining <= 0) {
-									inProgressProperty.setValue(false);
-									Path path = pathProperty.get();
-									try {
-										Files.write(path, builder.bytes());
-									} catch (IOException ex) {
-										logger.error("Failed to write archive of decompiled classes to '{}'", path, ex);
-									}
-								}
-							}).thenRunAsync(() -> progress.setProgress(1 - (actionedClasses.doubleValue() / targetCount)), FxThreadUtil.executor());
-				});
-			} catch (Throwable t) {
-				logger.error("Failed to schedule all classes for decompilation", t);
-				inProgressProperty.setValue(false);
-			}
+			}, ThreadUtil.executor());
 		});
 		decompileButton.disableProperty().bind(pathProperty.isNull().or(inProgressProperty));
 
@@ -11,6 +11,7 @@
 import software.coley.recaf.workspace.model.WorkspaceModificationListener;
 import software.coley.recaf.workspace.model.bundle.AndroidClassBundle;
 import software.coley.recaf.workspace.model.bundle.Bundle;
+import software.coley.recaf.workspace.model.bundle.BundleChangeSet;
 import software.coley.recaf.workspace.model.bundle.JvmClassBundle;
 import software.coley.recaf.workspace.model.resource.ResourceAndroidClassListener;
 import software.coley.recaf.workspace.model.resource.ResourceJvmClassListener;
@@ -30,6 +31,8 @@
  */
 public final class CacheEntry {
 	private static final Logger logger = Logging.get(CacheEntry.class);
+	/** Number of changes in a single batch past which we drop the index and rebuild it lazily instead of patching it. */
+	private static final int BATCH_REBUILD_THRESHOLD = 2048;
 
 	private final Workspace workspace;
 	private final WorkspaceModificationListener workspaceListener = new WorkspaceModificationListener() {
@@ -63,6 +66,12 @@ public void onUpdateClass(@Nonnull WorkspaceResource resource,
 		public void onRemoveClass(@Nonnull WorkspaceResource resource, @Nonnull JvmClassBundle bundle, @Nonnull JvmClassInfo cls) {
 			recordChange(new ClassChange(resource, bundle, cls, null));
 		}
+
+		@Override
+		public void onBatchUpdate(@Nonnull WorkspaceResource resource, @Nonnull JvmClassBundle bundle,
+		                          @Nonnull BundleChangeSet<JvmClassInfo> changes) {
+			recordBatch(resource, bundle, changes);
+		}
 	};
 	private final ResourceAndroidClassListener androidClassListener = new ResourceAndroidClassListener() {
 		@Override
@@ -82,6 +91,12 @@ public void onUpdateClass(@Nonnull WorkspaceResource resource,
 		public void onRemoveClass(@Nonnull WorkspaceResource resource, @Nonnull AndroidClassBundle bundle, @Nonnull AndroidClassInfo cls) {
 			recordChange(new ClassChange(resource, bundle, cls, null));
 		}
+
+		@Override
+		public void onBatchUpdate(@Nonnull WorkspaceResource resource, @Nonnull AndroidClassBundle bundle,
+		                          @Nonnull BundleChangeSet<AndroidClassInfo> changes) {
+			recordBatch(resource, bundle, changes);
+		}
 	};
 	private final List<PendingChange> pendingChanges = new ArrayList<>();
 
@@ -171,6 +186,28 @@ private synchronized void recordChange(@Nonnull PendingChange change) {
 		pendingChanges.add(change);
 	}
 
+	/**
+	 * @param resource
+	 * 		Containing resource.
+	 * @param bundle
+	 * 		Containing bundle.
+	 * @param changes
+	 * 		Changes to record for later application to the index.
+	 */
+	private synchronized void recordBatch(@Nonnull WorkspaceResource resource,
+	                                      @Nonnull Bundle<?> bundle,
+	                                      @Nonnull BundleChangeSet<? extends ClassInfo> changes) {
+		// Patching the index one class at a time for very large batches is slower than a full rebuild.
+		if (changes.size() > BATCH_REBUILD_THRESHOLD) {
+			fullRebuildRequired = true;
+			pendingChanges.clear();
+			return;
+		}
+		changes.getRemoved().values().forEach(cls -> recordChange(new ClassChange(resource, bundle, cls, null)));
+		changes.getUpdated().values().forEach(update -> recordChange(new ClassChange(resource, bundle, update.oldValue(), update.newValue())));
+		changes.getAdded().values().forEach(cls -> recordChange(new ClassChange(resource, bundle, null, cls)));
+	}
+
 	/**
 	 * Attaches listeners to the workspace and all current resources.
 	 */
@@ -20,6 +20,7 @@
 import software.coley.recaf.workspace.model.Workspace;
 import software.coley.recaf.workspace.model.WorkspaceModificationListener;
 import software.coley.recaf.workspace.model.bundle.AndroidClassBundle;
+import software.coley.recaf.workspace.model.bundle.BundleChangeSet;
 import software.coley.recaf.workspace.model.bundle.ClassBundle;
 import software.coley.recaf.workspace.model.bundle.FileBundle;
 import software.coley.recaf.workspace.model.bundle.JvmClassBundle;
@@ -596,6 +597,12 @@ public void onRemoveClass(@Nonnull WorkspaceResource resource, @Nonnull JvmClass
 			removeClass(resource, bundle, cls);
 		}
 
+		@Override
+		public void onBatchUpdate(@Nonnull WorkspaceResource resource, @Nonnull JvmClassBundle bundle,
+		                          @Nonnull BundleChangeSet<JvmClassInfo> changes) {
+			batchClasses(resource, bundle, changes);
+		}
+
 		@Override
 		public void onNewClass(@Nonnull WorkspaceResource resource, @Nonnull AndroidClassBundle bundle, @Nonnull AndroidClassInfo cls) {
 			newClass(resource, bundle, cls);
@@ -611,6 +618,12 @@ public void onRemoveClass(@Nonnull WorkspaceResource resource, @Nonnull AndroidC
 			removeClass(resource, bundle, cls);
 		}
 
+		@Override
+		public void onBatchUpdate(@Nonnull WorkspaceResource resource, @Nonnull AndroidClassBundle bundle,
+		                          @Nonnull BundleChangeSet<AndroidClassInfo> changes) {
+			batchClasses(resource, bundle, changes);
+		}
+
 		@Override
 		public void onNewFile(@Nonnull WorkspaceResource resource, @Nonnull FileBundle bundle, @Nonnull FileInfo file) {
 			FxThreadUtil.run(() -> {
@@ -652,6 +665,34 @@ public void onRemoveFile(@Nonnull WorkspaceResource resource, @Nonnull FileBundl
 			});
 		}
 
+		@Override
+		public void onBatchUpdate(@Nonnull WorkspaceResource resource, @Nonnull FileBundle bundle,
+		                          @Nonnull BundleChangeSet<FileInfo> changes) {
+			// Apply all changes in a single FX task rather than scheduling one per file.
+			FxThreadUtil.run(() -> {
+				ResourcePathNode resourcePath = getTargetResourcePath(resource);
+				if (resourcePath == null)
+					return;
+				BundlePathNode bundlePath = resourcePath.child(bundle);
+				changes.getRemoved().values().forEach(file -> removeNodeByPath(bundlePath
+						.child(interceptDirectoryName(file.getDirectoryName()))
+						.child(file)));
+				changes.getUpdated().values().forEach(update -> {
+					FileInfo oldFile = update.oldValue();
+					FileInfo newFile = update.newValue();
+					WorkspaceTreeNode node = getOrCreateNodeByPath(bundlePath
+							.child(interceptDirectoryName(oldFile.getDirectoryName()))
+							.child(oldFile));
+					node.setValue(bundlePath
+							.child(interceptDirectoryName(newFile.getDirectoryName()))
+							.child(newFile));
+				});
+				changes.getAdded().values().forEach(file -> getOrCreateNodeByPath(bundlePath
+						.child(interceptDirectoryName(file.getDirectoryName()))
+						.child(file)));
+			});
+		}
+
 		private void newClass(@Nonnull WorkspaceResource resource, @Nonnull ClassBundle<?> bundle, @Nonnull ClassInfo cls) {
 			FxThreadUtil.run(() -> {
 				ResourcePathNode resourcePath = getTargetResourcePath(resource);
@@ -689,5 +730,32 @@ private void removeClass(@Nonnull WorkspaceResource resource, @Nonnull ClassBund
 							.child(cls));
 			});
 		}
+
+		private void batchClasses(@Nonnull WorkspaceResource resource, @Nonnull ClassBundle<?> bundle,
+		                          @Nonnull BundleChangeSet<? extends ClassInfo> changes) {
+			// Apply all changes in a single FX task rather than scheduling one per class.
+			FxThreadUtil.run(() -> {
+				ResourcePathNode resourcePath = getTargetResourcePath(resource);
+				if (resourcePath == null)
+					return;
+				BundlePathNode bundlePath = resourcePath.child(bundle);
+				changes.getRemoved().values().forEach(cls -> removeNodeByPath(bundlePath
+						.child(interceptDirectoryName(cls.getPackageName()))
+						.child(cls)));
+				changes.getUpdated().values().forEach(update -> {
+					ClassInfo oldCls = update.oldValue();
+					ClassInfo newCls = update.newValue();
+					WorkspaceTreeNode node = getOrCreateNodeByPath(bundlePath
+							.child(interceptDirectoryName(oldCls.getPackageName()))
+							.child(oldCls));
+					node.setValue(bundlePath
+							.child(interceptDirectoryName(newCls.getPackageName()))
+							.child(newCls));
+				});
+				changes.getAdded().values().forEach(cls -> getOrCreateNodeByPath(bundlePath
+						.child(interceptDirectoryName(cls.getPackageName()))
+						.child(cls)));
+			});
+		}
 	}
 }
@@ -32,6 +32,7 @@
 import software.coley.recaf.services.decompile.DecompilerManager;
 import software.coley.recaf.services.decompile.JvmDecompiler;
 import software.coley.recaf.services.decompile.NoopJvmDecompiler;
+import software.coley.recaf.services.decompile.prefetch.DecompilationPrefetchService;
 import software.coley.recaf.services.info.association.FileTypeSyntaxAssociationService;
 import software.coley.recaf.services.mapping.MappingResults;
 import software.coley.recaf.services.mapping.Mappings;
@@ -72,6 +73,7 @@
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -94,10 +96,13 @@ public class AbstractDecompilePane extends BorderPane implements ClassNavigable,
 	protected final AstService astService;
 	protected final JavaContextActionSupport contextActionSupport;
 	protected final DecompilerManager decompilerManager;
+	protected final DecompilationPrefetchService prefetchService;
 	protected final DecompilerPaneConfig decompileConfig;
 	protected final TutorialConfig tutorialConfig;
 	protected final Editor editor;
 	protected ClassPathNode path;
+	/** Text of the {@link #editor} as last decompiled or saved. Editor text that differs from this is unsaved. */
+	protected volatile String baselineText;
 
 	protected AbstractDecompilePane(@Nonnull DecompilerPaneConfig decompileConfig,
 	                                @Nonnull TutorialConfig tutorialConfig,
@@ -109,6 +114,7 @@ protected AbstractDecompilePane(@Nonnull DecompilerPaneConfig decompileConfig,
 	                                @Nonnull CellConfigurationService cellConfigurationService,
 	                                @Nonnull FileTypeSyntaxAssociationService languageAssociation,
 	                                @Nonnull DecompilerManager decompilerManager,
+	                                @Nonnull DecompilationPrefetchService prefetchService,
 	                                @Nonnull JavaTypeIndexService javaTypeIndexService,
 	                                @Nonnull TabCompletionConfig tabCompletionConfig,
 	                                @Nonnull TextConfig textConfig,
@@ -116,6 +122,7 @@ protected AbstractDecompilePane(@Nonnull DecompilerPaneConfig decompileConfig,
 		this.astService = astService;
 		this.contextActionSupport = contextActionSupport;
 		this.decompilerManager = decompilerManager;
+		this.prefetchService = prefetchService;
 		this.decompileConfig = decompileConfig;
 		this.tutorialConfig = tutorialConfig;
 
@@ -321,6 +328,7 @@ private boolean handleRemapUpdate(@Nonnull ClassInfo classInfo) {
 					// the areas of the text that are modified. In most situations this will be much faster
 					// than re-assigning the whole text (which will require restyling the entire document)
 					List<StringDiff.Diff> diffs = StringDiff.diff(currentText, modifiedSource);
+					boolean unmodified = currentText.equals(baselineText);
 					FxThreadUtil.run(() -> {
 						// Track where caret was.
 						CodeArea area = editor.getCodeArea();
@@ -340,6 +348,10 @@ else if (diff.type() == StringDiff.DiffType.REMOVE)
 
 						// Reset caret.
 						area.moveTo(currentParagraph, currentColumn);
+
+						// Mapping changes are not user edits, so only unsaved user edits should remain unsaved.
+						if (unmodified)
+							baselineText = editor.getText();
 					});
 					return true;
 				}
@@ -359,8 +371,15 @@ public void decompile() {
 		// Schedule decompilation task, update the editor's text asynchronously on the JavaFX UI thread when complete.
 		decompileInProgress.setValue(true);
 		editor.setMouseTransparent(true);
-		decompilerManager.decompile(decompiler.getValue(), workspace, classInfo)
-				.completeOnTimeout(timeoutResult(), decompileConfig.getTimeoutSeconds().getValue(), TimeUnit.SECONDS)
+		JvmDecompiler currentDecompiler = decompiler.getValue();
+		CompletableFuture<DecompileResult> future = decompilerManager.decompile(currentDecompiler, workspace, classInfo);
+
+		// Once decompiled, decompile the classes the user is likely to navigate to next in the background.
+		future.thenAccept(result -> {
+			if (result.getType() == DecompileResult.ResultType.SUCCESS)
+				prefetchService.prefetchNeighbors(workspace, currentDecompiler, classInfo);
+		});
+		future.completeOnTimeout(timeoutResult(), decompileConfig.getTimeoutSeconds().getValue(), TimeUnit.SECONDS)
 				.whenCompleteAsync((result, throwable) -> {
 					editor.setMouseTransparent(false);
 					decompileInProgress.setValue(false);
@@ -368,26 +387,28 @@ public void decompile() {
 					// Handle uncaught exceptions
 					if (throwable != null) {
 						String trace = StringUtil.traceToString(throwable);
-						editor.setText("/*\nUncaught exception when decompiling:\n" + trace + "\n*/");
+						setBaselineText("/*\nUncaught exception when decompiling:\n" + trace + "\n*/");
 						return;
 					}
 
 					// Handle decompilation result
 					String text = result.getText();
-					if (Objects.equals(text, editor.getText()))
+					if (Objects.equals(text, editor.getText())) {
+						baselineText = text;
 						return; // Skip if existing text is the same
+					}
 					DecompileResult.ResultType resultType = result.getType();
 					decompileOutputErrored.setValue(resultType == DecompileResult.ResultType.FAILURE);
 					switch (resultType) {
-						case SUCCESS -> editor.setText(text);
-						case SKIPPED -> editor.setText(text == null ? "// Decompilation skipped" : text);
+						case SUCCESS -> setBaselineText(text);
+						case SKIPPED -> setBaselineText(text == null ? "// Decompilation skipped" : text);
 						case FAILURE -> {
 							Throwable exception = result.getException();
 							if (exception != null) {
 								String trace = StringUtil.traceToString(exception);
-								editor.setText("/*\nDecompile failed:\n" + trace + "\n*/");
+								setBaselineText("/*\nDecompile failed:\n" + trace + "\n*/");
 							} else {
-								editor.setText("/*\nDecompile failed, but no trace was attached.\n*/");
+								setBaselineText("/*\nDecompile failed, but no trace was attached.\n*/");
 							}
 						}
 					}
@@ -400,6 +421,17 @@ public void decompile() {
 				}, FxThreadUtil.executor());
 	}
 
+	/**
+	 * Sets the {@link #editor}'s text, marking it as the {@link #baselineText baseline} which has no unsaved edits.
+	 *
+	 * @param text
+	 * 		Text to set.
+	 */
+	protected void setBaselineText(@Nonnull String text) {
+		baselineText = text;
+		editor.setText(text);
+	}
+
 	/**
 	 * @return Result made for timed out decompilations.
 	 */
@@ -6,6 +6,7 @@
 import software.coley.recaf.info.AndroidClassInfo;
 import software.coley.recaf.services.cell.CellConfigurationService;
 import software.coley.recaf.services.decompile.DecompilerManager;
+import software.coley.recaf.services.decompile.prefetch.DecompilationPrefetchService;
 import software.coley.recaf.services.info.association.FileTypeSyntaxAssociationService;
 import software.coley.recaf.services.navigation.Actions;
 import software.coley.recaf.services.navigation.NavigationHistoryService;
@@ -42,12 +43,13 @@ public AndroidDecompilerPane(@Nonnull DecompilerPaneConfig decompilerConfig,
 	                             @Nonnull CellConfigurationService cellConfigurationService,
 	                             @Nonnull FileTypeSyntaxAssociationService languageAssociation,
 	                             @Nonnull DecompilerManager decompilerManager,
+	                             @Nonnull DecompilationPrefetchService prefetchService,
 	                             @Nonnull JavaTypeIndexService javaTypeIndexService,
 	                             @Nonnull TabCompletionConfig tabCompletionConfig,
 	                             @Nonnull TextConfig textConfig,
 	                             @Nonnull Actions actions) {
 		super(decompilerConfig, tutorialConfig, keys, searchBar, astService, contextActionSupport, navigationHistoryService, cellConfigurationService,
-				languageAssociation, decompilerManager, javaTypeIndexService, tabCompletionConfig, textConfig, actions);
+				languageAssociation, decompilerManager, prefetchService, javaTypeIndexService, tabCompletionConfig, textConfig, actions);
 
 		// Install tools container with configurator
 		new AndroidDecompilerPaneConfigurator(toolsContainer, decompilerConfig, decompiler, decompilerManager);
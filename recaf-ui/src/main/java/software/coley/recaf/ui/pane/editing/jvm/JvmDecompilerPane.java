@@ -23,6 +23,8 @@
 import software.coley.recaf.info.properties.builtin.CachedDecompileProperty;
 import software.coley.recaf.path.ClassPathNode;
 import software.coley.recaf.services.cell.CellConfigurationService;
+import software.coley.recaf.services.compile.BatchRecompilationResult;
+import software.coley.recaf.services.compile.BatchRecompilationService;
 import software.coley.recaf.services.compile.CompileMap;
 import software.coley.recaf.services.compile.CompilerDiagnostic;
 import software.coley.recaf.services.compile.JavacArgumentsBuilder;
@@ -31,6 +33,7 @@
 import software.coley.recaf.services.decompile.DecompileResult;
 import software.coley.recaf.services.decompile.DecompilerManager;
 import software.coley.recaf.services.decompile.JvmDecompiler;
+import software.coley.recaf.services.decompile.prefetch.DecompilationPrefetchService;
 import software.coley.recaf.services.info.association.FileTypeSyntaxAssociationService;
 import software.coley.recaf.services.navigation.Actions;
 import software.coley.recaf.services.navigation.NavigationHistoryService;
@@ -87,6 +90,7 @@ public class JvmDecompilerPane extends AbstractDecompilePane {
 	private final ObservableBoolean javacDebug;
 	private final ModalPaneComponent overlayModal = new ModalPaneComponent();
 	private final JavacCompiler javac;
+	private final BatchRecompilationService batchRecompilation;
 
 	@Inject
 	public JvmDecompilerPane(@Nonnull DecompilerPaneConfig decompileConfig,
@@ -100,18 +104,21 @@ public JvmDecompilerPane(@Nonnull DecompilerPaneConfig decompileConfig,
 	                         @Nonnull CellConfigurationService cellConfigurationService,
 	                         @Nonnull FileTypeSyntaxAssociationService languageAssociation,
 	                         @Nonnull DecompilerManager decompilerManager,
+	                         @Nonnull DecompilationPrefetchService prefetchService,
 	                         @Nonnull JavaTypeIndexService javaTypeIndexService,
 	                         @Nonnull JavacCompiler javac,
 	                         @Nonnull JavacCompilerConfig javacConfig,
+	                         @Nonnull BatchRecompilationService batchRecompilation,
 	                         @Nonnull TabCompletionConfig tabCompletionConfig,
 	                         @Nonnull TextConfig textConfig,
 	                         @Nonnull Actions actions) {
 		super(decompileConfig, tutorialConfig, keys, searchBar, astService, contextActionSupport, navigationHistoryService, cellConfigurationService,
-				languageAssociation, decompilerManager, javaTypeIndexService, tabCompletionConfig, textConfig, actions);
+				languageAssociation, decompilerManager, prefetchService, javaTypeIndexService, tabCompletionConfig, textConfig, actions);
 		this.javacDebug = new ObservableBoolean(javacConfig.getDefaultEmitDebug().getValue());
 		this.javacTarget = new ObservableInteger(javacConfig.getDefaultTargetVersion().getValue());
 		this.javacDownsampleTarget = new ObservableInteger(javacConfig.getDefaultDownsampleTargetVersion().getValue());
 		this.javac = javac;
+		this.batchRecompilation = batchRecompilation;
 
 		// Install tools container with configurator
 		new JvmDecompilerPaneConfigurator(toolsContainer, decompileConfig, decompiler, javacTarget, javacDownsampleTarget, javacDebug, decompilerManager);
@@ -122,6 +129,8 @@ public JvmDecompilerPane(@Nonnull DecompilerPaneConfig decompileConfig,
 		setOnKeyPressed(e -> {
 			if (keys.getSave().match(e)) {
 				save();
+			} else if (keys.getSaveAll().match(e)) {
+				saveAll();
 			} else if (keys.getUndo().match(e)) {
 				Bundle<?> bundle = path.getValueOfType(Bundle.class);
 				if (bundle != null)
@@ -129,11 +138,107 @@ public JvmDecompilerPane(@Nonnull DecompilerPaneConfig decompileConfig,
 			}
 		});
 
+		// Track unsaved edits so they can be recompiled together with those of other classes.
+		editor.getTextChangeEventStream()
+				.successionEnds(java.time.Duration.ofMillis(Editor.SHORT_DELAY_MS))
+				.addObserver(change -> updatePendingSource());
+
 		// Install overlay modal
 		overlayModal.setPersistent(true);
 		overlayModal.install(editor);
 	}
 
+	@Override
+	public void disable() {
+		// Edits in a closed editor are discarded, so they should not be included in later batch recompilations.
+		Workspace workspace = path == null ? null : path.getValueOfType(Workspace.class);
+		if (workspace != null)
+			batchRecompilation.clearPendingSource(workspace, path.getValue().getName());
+		super.disable();
+	}
+
+	/**
+	 * Records or clears the pending edit of the current class in the {@link BatchRecompilationService},
+	 * depending on if the editor text differs from the {@link #baselineText}.
+	 */
+	private void updatePendingSource() {
+		if (path == null)
+			return;
+		Workspace workspace = path.getValueOfType(Workspace.class);
+		JvmClassBundle bundle = (JvmClassBundle) path.getValueOfType(Bundle.class);
+		if (workspace == null || bundle == null)
+			return;
+		JvmClassInfo info = path.getValue().asJvmClass();
+		String text = editor.getText();
+		if (baselineText == null || text.equals(baselineText))
+			batchRecompilation.clearPendingSource(workspace, info.getName());
+		else
+			batchRecompilation.setPendingSource(workspace,
+					new BatchRecompilationService.PendingSource(bundle, info, text, decompiler.getValue()));
+	}
+
+	/**
+	 * Called when {@link KeybindingConfig#getSaveAll()} is pressed.
+	 * <br>
+	 * Compiles the unsaved edits of all open classes in the workspace together,
+	 * and updates the workspace with the newly compiled classes.
+	 */
+	private void saveAll() {
+		Workspace workspace = path.getValueOfType(Workspace.class);
+		if (workspace == null)
+			throw new IllegalStateException("Workspace missing from class path node");
+
+		// Ensure our own latest edits are included, as the text change observer is delayed.
+		updatePendingSource();
+
+		// Clear old errors emitted by compilation.
+		problemTracking.removeByPhase(ProblemPhase.BUILD);
+
+		String infoName = path.getValue().getName();
+		String text = editor.getText();
+		CompletableFuture.supplyAsync(() -> batchRecompilation.recompilePending(workspace), compilePool)
+				.whenCompleteAsync((result, throwable) -> {
+					if (result != null && result.wasSuccess()) {
+						if (result.updatedClasses().contains(infoName))
+							baselineText = text;
+						Animations.animateSuccess(this, 1000);
+					} else {
+						if (result != null)
+							showBatchProblems(infoName, result);
+						else
+							logger.error("Batch recompilation encountered an error", throwable);
+						Animations.animateFailure(this, 1000);
+					}
+
+					// Redraw paragraph graphics to update things like in-line problem graphics.
+					editor.redrawParagraphGraphics();
+				}, FxThreadUtil.executor());
+	}
+
+	/**
+	 * @param infoName
+	 * 		Name of the class in this pane.
+	 * @param result
+	 * 		Failed batch recompilation result.
+	 */
+	private void showBatchProblems(@Nonnull String infoName, @Nonnull BatchRecompilationResult result) {
+		Throwable exception = result.compilerResult().getException();
+		if (exception != null)
+			problemTracking.addItem(new Problem(-1, -1, 0,
+					ProblemLevel.ERROR, ProblemPhase.BUILD, exception.getMessage()));
+
+		// Problems in our own class are shown in the editor, problems in other classes are logged.
+		result.diagnostics().forEach((name, diagnostics) -> {
+			if (name.equals(infoName)) {
+				for (CompilerDiagnostic diagnostic : diagnostics)
+					problemTracking.addItem(Problem.fromDiagnostic(diagnostic));
+			} else {
+				for (CompilerDiagnostic diagnostic : diagnostics)
+					logger.warn("Batch recompilation error in '{}': {}", name, diagnostic);
+			}
+		});
+	}
+
 	/**
 	 * Called when {@link KeybindingConfig#getSave()} is pressed.
 	 * <br>
@@ -246,7 +351,10 @@ private void save() {
 				}
 
 				// Compilation map has contents, update the workspace.
+				// The saved text no longer has pending edits.
 				Animations.animateSuccess(this, 1000);
+				baselineText = editor.getText();
+				batchRecompilation.clearPendingSource(workspace, infoName);
 				updateLock.set(true);
 				compilations.forEach((name, bytecode) -> {
 					JvmClassInfo newInfo;